@@ -17,6 +17,9 @@ public class FeatureToggles {
   @XmlElement(defaultValue = "false")
   private boolean enableMultiplePrivateStates;
 
+  @XmlElement(defaultValue = "false")
+  private boolean enableAsyncDelivery;
+
   public FeatureToggles() {}
 
   public boolean isEnableRemoteKeyValidation() {
@@ -43,6 +46,14 @@ public class FeatureToggles {
     this.enableMultiplePrivateStates = enableMultiplePrivateStates;
   }
 
+  public boolean isEnableAsyncDelivery() {
+    return enableAsyncDelivery;
+  }
+
+  public void setEnableAsyncDelivery(boolean enableAsyncDelivery) {
+    this.enableAsyncDelivery = enableAsyncDelivery;
+  }
+
   @Override
   public boolean equals(final Object o) {
     if (!(o instanceof FeatureToggles)) {
@@ -52,7 +63,8 @@ public class FeatureToggles {
     final FeatureToggles that = (FeatureToggles) o;
     return isEnableRemoteKeyValidation() == that.isEnableRemoteKeyValidation()
         && isEnablePrivacyEnhancements() == that.isEnablePrivacyEnhancements()
-        && isEnableMultiplePrivateStates() == that.isEnableMultiplePrivateStates();
+        && isEnableMultiplePrivateStates() == that.isEnableMultiplePrivateStates()
+        && isEnableAsyncDelivery() == that.isEnableAsyncDelivery();
   }
 
   @Override
@@ -60,6 +72,7 @@ public class FeatureToggles {
     return Objects.hash(
         isEnableRemoteKeyValidation(),
         isEnablePrivacyEnhancements(),
-        isEnableMultiplePrivateStates());
+        isEnableMultiplePrivateStates(),
+        isEnableAsyncDelivery());
   }
 }
@@ -1,9 +1,13 @@
 package com.quorum.tessera.config;
 
+import com.quorum.tessera.config.adapters.MapAdapter;
 import jakarta.validation.constraints.NotNull;
 import jakarta.xml.bind.annotation.XmlAccessType;
 import jakarta.xml.bind.annotation.XmlAccessorType;
 import jakarta.xml.bind.annotation.XmlElement;
+import jakarta.xml.bind.annotation.adapters.XmlJavaTypeAdapter;
+import java.util.Collections;
+import java.util.Map;
 
 @XmlAccessorType(XmlAccessType.FIELD)
 public class JdbcConfig extends ConfigItem {
@@ -22,6 +26,37 @@ public class JdbcConfig extends ConfigItem {
 
   @XmlElement private int fetchSize;
 
+  /** Number of decoded transactions to keep in memory, zero disables the cache */
+  @XmlElement private int payloadCacheSize;
+
+  /* Connection pool settings, zero keeps the pool's own default */
+
+  /** Maximum number of connections in the pool, both in use and idle */
+  @XmlElement private int maximumPoolSize;
+
+  /** Minimum number of idle connections the pool tries to keep open */
+  @XmlElement private int minimumIdle;
+
+  /** Longest time a caller waits for a connection before failing */
+  @XmlElement private long connectionTimeoutMillis;
+
+  /** Longest time a connection above the minimum may sit idle before it is closed */
+  @XmlElement private long idleTimeoutMillis;
+
+  /** Longest time a connection is kept open before it is replaced */
+  @XmlElement private long maxLifetimeMillis;
+
+  /** Time a connection may be held before it is logged as a possible leak, zero disables it */
+  @XmlElement private long leakDetectionThresholdMillis;
+
+  /**
+   * Properties passed on to the JDBC driver, e.g. to enable prepared statement caching with
+   * cachePrepStmts and prepStmtCacheSize
+   */
+  @XmlJavaTypeAdapter(MapAdapter.class)
+  @XmlElement
+  private Map<String, String> dataSourceProperties = Collections.emptyMap();
+
   public JdbcConfig(String username, String password, String url) {
     this.username = username;
     this.password = password;
@@ -71,4 +106,68 @@ public class JdbcConfig extends ConfigItem {
   public void setFetchSize(int fetchSize) {
     this.fetchSize = fetchSize;
   }
+
+  public int getPayloadCacheSize() {
+    return payloadCacheSize;
+  }
+
+  public void setPayloadCacheSize(int payloadCacheSize) {
+    this.payloadCacheSize = payloadCacheSize;
+  }
+
+  public int getMaximumPoolSize() {
+    return maximumPoolSize;
+  }
+
+  public void setMaximumPoolSize(int maximumPoolSize) {
+    this.maximumPoolSize = maximumPoolSize;
+  }
+
+  public int getMinimumIdle() {
+    return minimumIdle;
+  }
+
+  public void setMinimumIdle(int minimumIdle) {
+    this.minimumIdle = minimumIdle;
+  }
+
+  public long getConnectionTimeoutMillis() {
+    return connectionTimeoutMillis;
+  }
+
+  public void setConnectionTimeoutMillis(long connectionTimeoutMillis) {
+    this.connectionTimeoutMillis = connectionTimeoutMillis;
+  }
+
+  public long getIdleTimeoutMillis() {
+    return idleTimeoutMillis;
+  }
+
+  public void setIdleTimeoutMillis(long idleTimeoutMillis) {
+    this.idleTimeoutMillis = idleTimeoutMillis;
+  }
+
+  public long getMaxLifetimeMillis() {
+    return maxLifetimeMillis;
+  }
+
+  public void setMaxLifetimeMillis(long maxLifetimeMillis) {
+    this.maxLifetimeMillis = maxLifetimeMillis;
+  }
+
+  public long getLeakDetectionThresholdMillis() {
+    return leakDetectionThresholdMillis;
+  }
+
+  public void setLeakDetectionThresholdMillis(long leakDetectionThresholdMillis) {
+    this.leakDetectionThresholdMillis = leakDetectionThresholdMillis;
+  }
+
+  public Map<String, String> getDataSourceProperties() {
+    return dataSourceProperties;
+  }
+
+  public void setDataSourceProperties(Map<String, String> dataSourceProperties) {
+    this.dataSourceProperties = dataSourceProperties;
+  }
 }
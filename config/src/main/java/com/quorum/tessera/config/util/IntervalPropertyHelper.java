@@ -32,6 +32,15 @@ public class IntervalPropertyHelper {
     }
   }
 
+  public long enclaveKeyCacheExpiry() {
+    try {
+      return Long.parseLong(properties.getOrDefault("enclaveKeyCacheExpiry", "60000"));
+    } catch (NumberFormatException ex) {
+      LOGGER.warn("Not able to parse configured property. Will use default value instead");
+      return 60000L;
+    }
+  }
+
   public long syncInterval() {
     try {
       return Long.parseLong(properties.getOrDefault("syncInterval", "60000"));
@@ -15,6 +15,7 @@ public class IntervalPropertyHelperTest {
 
     assertThat(util.partyInfoInterval()).isEqualTo(5000);
     assertThat(util.enclaveKeySyncInterval()).isEqualTo(2000);
+    assertThat(util.enclaveKeyCacheExpiry()).isEqualTo(60000);
     assertThat(util.syncInterval()).isEqualTo(60000);
     assertThat(util.resendWaitTime()).isEqualTo("7200000");
   }
@@ -24,6 +25,7 @@ public class IntervalPropertyHelperTest {
     final Map<String, String> props = new HashMap<>();
     props.put("partyInfoInterval", "2000");
     props.put("enclaveKeySyncInterval", "3000");
+    props.put("enclaveKeyCacheExpiry", "5000");
     props.put("syncInterval", "4000");
     props.put("resendWaitTime", "4000");
 
@@ -31,6 +33,7 @@ public class IntervalPropertyHelperTest {
 
     assertThat(util.partyInfoInterval()).isEqualTo(2000);
     assertThat(util.enclaveKeySyncInterval()).isEqualTo(3000);
+    assertThat(util.enclaveKeyCacheExpiry()).isEqualTo(5000);
     assertThat(util.syncInterval()).isEqualTo(4000);
     assertThat(util.resendWaitTime()).isEqualTo("4000");
   }
@@ -40,6 +43,7 @@ public class IntervalPropertyHelperTest {
     final Map<String, String> props = new HashMap<>();
     props.put("partyInfoInterval", null);
     props.put("enclaveKeySyncInterval", "abc");
+    props.put("enclaveKeyCacheExpiry", "never");
     props.put("syncInterval", "4000L");
     props.put("resendWaitTime", "4000L");
 
@@ -47,6 +51,7 @@ public class IntervalPropertyHelperTest {
 
     assertThat(util.partyInfoInterval()).isEqualTo(5000);
     assertThat(util.enclaveKeySyncInterval()).isEqualTo(2000);
+    assertThat(util.enclaveKeyCacheExpiry()).isEqualTo(60000);
     assertThat(util.syncInterval()).isEqualTo(60000);
     assertThat(util.resendWaitTime()).isEqualTo("7200000");
   }
@@ -0,0 +1 @@
+CREATE TABLE ENCRYPTED_TRANSACTION_DELIVERY (HASH LONGVARBINARY NOT NULL, RECIPIENT LONGVARBINARY NOT NULL, ATTEMPTS INTEGER NOT NULL, TIMESTAMP BIGINT, PRIMARY KEY (HASH, RECIPIENT));
@@ -0,0 +1 @@
+CREATE TABLE ENCRYPTED_TRANSACTION_DELIVERY (HASH VARBINARY(100) NOT NULL, RECIPIENT VARBINARY(100) NOT NULL, ATTEMPTS INT NOT NULL, TIMESTAMP BIGINT, PRIMARY KEY (HASH, RECIPIENT));
@@ -0,0 +1 @@
+CREATE TABLE ENCRYPTED_TRANSACTION_DELIVERY (HASH RAW(100) NOT NULL, RECIPIENT RAW(100) NOT NULL, ATTEMPTS NUMBER(10) NOT NULL, TIMESTAMP NUMBER(19), PRIMARY KEY (HASH, RECIPIENT));
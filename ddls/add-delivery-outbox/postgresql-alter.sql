@@ -0,0 +1 @@
+CREATE TABLE ENCRYPTED_TRANSACTION_DELIVERY (HASH BYTEA NOT NULL, RECIPIENT BYTEA NOT NULL, ATTEMPTS INTEGER NOT NULL, TIMESTAMP BIGINT, PRIMARY KEY (HASH, RECIPIENT));
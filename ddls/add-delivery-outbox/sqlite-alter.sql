@@ -0,0 +1 @@
+CREATE TABLE ENCRYPTED_TRANSACTION_DELIVERY (HASH BLOB NOT NULL, RECIPIENT BLOB NOT NULL, ATTEMPTS NUMBER(10) NOT NULL, TIMESTAMP NUMBER(19), PRIMARY KEY (HASH, RECIPIENT));
@@ -0,0 +1,2 @@
+CREATE TABLE ENCRYPTED_TRANSACTION_RECIPIENT (RECIPIENT VARBINARY(100) NOT NULL, HASH VARBINARY(100) NOT NULL, PRIMARY KEY (RECIPIENT, HASH));
+ALTER TABLE ENCRYPTED_TRANSACTION_RECIPIENT ADD INDEX ENC_TX_RECIPIENT_HASH (HASH);
@@ -0,0 +1,2 @@
+CREATE TABLE ENCRYPTED_TRANSACTION_RECIPIENT (RECIPIENT RAW(100) NOT NULL, HASH RAW(100) NOT NULL, PRIMARY KEY (RECIPIENT, HASH));
+CREATE INDEX ENC_TX_RECIPIENT_HASH ON ENCRYPTED_TRANSACTION_RECIPIENT(HASH);
@@ -0,0 +1,2 @@
+CREATE TABLE ENCRYPTED_TRANSACTION_RECIPIENT (RECIPIENT BYTEA NOT NULL, HASH BYTEA NOT NULL, PRIMARY KEY (RECIPIENT, HASH));
+CREATE INDEX IF NOT EXISTS ENC_TX_RECIPIENT_HASH ON ENCRYPTED_TRANSACTION_RECIPIENT (HASH);
@@ -0,0 +1,2 @@
+UPDATE ENCRYPTED_TRANSACTION SET TIMESTAMP = 0 WHERE TIMESTAMP IS NULL;
+ALTER TABLE ENCRYPTED_TRANSACTION ADD INDEX ENC_TX_TIMESTAMP_HASH (TIMESTAMP, HASH);
@@ -0,0 +1,2 @@
+UPDATE ENCRYPTED_TRANSACTION SET TIMESTAMP = 0 WHERE TIMESTAMP IS NULL;
+CREATE INDEX ENC_TX_TIMESTAMP_HASH ON ENCRYPTED_TRANSACTION(TIMESTAMP, HASH);
@@ -0,0 +1 @@
+CREATE TABLE ENCRYPTED_TRANSACTION_METADATA (HASH LONGVARBINARY NOT NULL, SENDER LONGVARBINARY, PRIVACY_MODE INTEGER NOT NULL, EXEC_HASH LONGVARBINARY, RECIPIENTS LONGVARBINARY, MANDATORY_RECIPIENTS LONGVARBINARY, AFFECTED_TRANSACTIONS LONGVARBINARY, PRIMARY KEY (HASH));
@@ -0,0 +1 @@
+CREATE TABLE ENCRYPTED_TRANSACTION_METADATA (HASH VARBINARY(100) NOT NULL, SENDER VARBINARY(100), PRIVACY_MODE INT NOT NULL, EXEC_HASH BLOB, RECIPIENTS BLOB, MANDATORY_RECIPIENTS BLOB, AFFECTED_TRANSACTIONS BLOB, PRIMARY KEY (HASH));
@@ -0,0 +1 @@
+CREATE TABLE ENCRYPTED_TRANSACTION_METADATA (HASH RAW(100) NOT NULL, SENDER RAW(100), PRIVACY_MODE NUMBER(10) NOT NULL, EXEC_HASH BLOB, RECIPIENTS BLOB, MANDATORY_RECIPIENTS BLOB, AFFECTED_TRANSACTIONS BLOB, PRIMARY KEY (HASH));
@@ -0,0 +1 @@
+CREATE TABLE ENCRYPTED_TRANSACTION_METADATA (HASH BYTEA NOT NULL, SENDER BYTEA, PRIVACY_MODE INTEGER NOT NULL, EXEC_HASH BYTEA, RECIPIENTS BYTEA, MANDATORY_RECIPIENTS BYTEA, AFFECTED_TRANSACTIONS BYTEA, PRIMARY KEY (HASH));
@@ -1,4 +1,9 @@
 CREATE TABLE ENCRYPTED_TRANSACTION (ENCODED_PAYLOAD LONGVARBINARY NOT NULL, PAYLOAD_CODEC VARCHAR(50), TIMESTAMP BIGINT, HASH LONGVARBINARY NOT NULL, PRIMARY KEY (HASH));
+CREATE INDEX IF NOT EXISTS ENC_TX_TIMESTAMP_HASH ON ENCRYPTED_TRANSACTION(TIMESTAMP, HASH);
+CREATE TABLE ENCRYPTED_TRANSACTION_RECIPIENT (RECIPIENT LONGVARBINARY NOT NULL, HASH LONGVARBINARY NOT NULL, PRIMARY KEY (RECIPIENT, HASH));
+CREATE INDEX IF NOT EXISTS ENC_TX_RECIPIENT_HASH ON ENCRYPTED_TRANSACTION_RECIPIENT(HASH);
+CREATE TABLE ENCRYPTED_TRANSACTION_METADATA (HASH LONGVARBINARY NOT NULL, SENDER LONGVARBINARY, PRIVACY_MODE INTEGER NOT NULL, EXEC_HASH LONGVARBINARY, RECIPIENTS LONGVARBINARY, MANDATORY_RECIPIENTS LONGVARBINARY, AFFECTED_TRANSACTIONS LONGVARBINARY, PRIMARY KEY (HASH));
+CREATE TABLE ENCRYPTED_TRANSACTION_DELIVERY (HASH LONGVARBINARY NOT NULL, RECIPIENT LONGVARBINARY NOT NULL, ATTEMPTS INTEGER NOT NULL, TIMESTAMP BIGINT, PRIMARY KEY (HASH, RECIPIENT));
 CREATE TABLE ENCRYPTED_RAW_TRANSACTION (ENCRYPTED_KEY LONGVARBINARY NOT NULL, ENCRYPTED_PAYLOAD LONGVARBINARY NOT NULL, NONCE LONGVARBINARY NOT NULL, SENDER LONGVARBINARY NOT NULL, TIMESTAMP BIGINT, HASH LONGVARBINARY NOT NULL, PRIMARY KEY (HASH));
 CREATE TABLE PRIVACY_GROUP(ID LONGVARBINARY NOT NULL, LOOKUP_ID LONGVARBINARY NOT NULL, DATA LONGVARBINARY NOT NULL, TIMESTAMP BIGINT, PRIMARY KEY (ID));
 CREATE TABLE ST_TRANSACTION(ID BIGINT NOT NULL PRIMARY KEY, PAYLOAD_CODEC VARCHAR(50), HASH VARCHAR(100) NOT NULL, PAYLOAD LONGVARBINARY, PRIVACY_MODE INTEGER, TIMESTAMP BIGINT, VALIDATION_STAGE BIGINT);
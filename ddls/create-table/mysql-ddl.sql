@@ -1,4 +1,9 @@
 CREATE TABLE ENCRYPTED_TRANSACTION (ENCODED_PAYLOAD BLOB NOT NULL, PAYLOAD_CODEC VARCHAR(50), HASH VARBINARY(100) NOT NULL, TIMESTAMP BIGINT, PRIMARY KEY (HASH));
+ALTER TABLE ENCRYPTED_TRANSACTION ADD INDEX ENC_TX_TIMESTAMP_HASH (TIMESTAMP, HASH);
+CREATE TABLE ENCRYPTED_TRANSACTION_RECIPIENT (RECIPIENT VARBINARY(100) NOT NULL, HASH VARBINARY(100) NOT NULL, PRIMARY KEY (RECIPIENT, HASH));
+ALTER TABLE ENCRYPTED_TRANSACTION_RECIPIENT ADD INDEX ENC_TX_RECIPIENT_HASH (HASH);
+CREATE TABLE ENCRYPTED_TRANSACTION_METADATA (HASH VARBINARY(100) NOT NULL, SENDER VARBINARY(100), PRIVACY_MODE INT NOT NULL, EXEC_HASH BLOB, RECIPIENTS BLOB, MANDATORY_RECIPIENTS BLOB, AFFECTED_TRANSACTIONS BLOB, PRIMARY KEY (HASH));
+CREATE TABLE ENCRYPTED_TRANSACTION_DELIVERY (HASH VARBINARY(100) NOT NULL, RECIPIENT VARBINARY(100) NOT NULL, ATTEMPTS INT NOT NULL, TIMESTAMP BIGINT, PRIMARY KEY (HASH, RECIPIENT));
 CREATE TABLE ENCRYPTED_RAW_TRANSACTION (ENCRYPTED_KEY BLOB NOT NULL, ENCRYPTED_PAYLOAD BLOB NOT NULL, NONCE BLOB NOT NULL, SENDER BLOB NOT NULL, TIMESTAMP BIGINT, HASH VARBINARY(100) NOT NULL, PRIMARY KEY (HASH));
 CREATE TABLE PRIVACY_GROUP(ID VARBINARY(100) NOT NULL, LOOKUP_ID BLOB NOT NULL, DATA BLOB NOT NULL, TIMESTAMP BIGINT, PRIMARY KEY (ID));
 CREATE TABLE ST_TRANSACTION(ID BIGINT(19) NOT NULL, PAYLOAD_CODEC VARCHAR(50), HASH VARCHAR(100) NOT NULL, PAYLOAD BLOB, PRIVACY_MODE BIGINT(10), TIMESTAMP BIGINT(19), VALIDATION_STAGE BIGINT(19), PRIMARY KEY (ID));
@@ -1,4 +1,9 @@
 CREATE TABLE ENCRYPTED_TRANSACTION (ENCODED_PAYLOAD BLOB NOT NULL, PAYLOAD_CODEC VARCHAR(50), HASH RAW(100) NOT NULL, TIMESTAMP NUMBER(19), PRIMARY KEY (HASH));
+CREATE INDEX ENC_TX_TIMESTAMP_HASH ON ENCRYPTED_TRANSACTION(TIMESTAMP, HASH);
+CREATE TABLE ENCRYPTED_TRANSACTION_RECIPIENT (RECIPIENT RAW(100) NOT NULL, HASH RAW(100) NOT NULL, PRIMARY KEY (RECIPIENT, HASH));
+CREATE INDEX ENC_TX_RECIPIENT_HASH ON ENCRYPTED_TRANSACTION_RECIPIENT(HASH);
+CREATE TABLE ENCRYPTED_TRANSACTION_METADATA (HASH RAW(100) NOT NULL, SENDER RAW(100), PRIVACY_MODE NUMBER(10) NOT NULL, EXEC_HASH BLOB, RECIPIENTS BLOB, MANDATORY_RECIPIENTS BLOB, AFFECTED_TRANSACTIONS BLOB, PRIMARY KEY (HASH));
+CREATE TABLE ENCRYPTED_TRANSACTION_DELIVERY (HASH RAW(100) NOT NULL, RECIPIENT RAW(100) NOT NULL, ATTEMPTS NUMBER(10) NOT NULL, TIMESTAMP NUMBER(19), PRIMARY KEY (HASH, RECIPIENT));
 CREATE TABLE ENCRYPTED_RAW_TRANSACTION (ENCRYPTED_KEY BLOB NOT NULL, ENCRYPTED_PAYLOAD BLOB NOT NULL, NONCE BLOB NOT NULL, SENDER BLOB NOT NULL, TIMESTAMP NUMBER(19), HASH RAW(100) NOT NULL, PRIMARY KEY (HASH));
 CREATE TABLE PRIVACY_GROUP(ID RAW(100) NOT NULL, LOOKUP_ID BLOB NOT NULL, DATA BLOB NOT NULL, TIMESTAMP NUMBER(19), PRIMARY KEY (ID));
 CREATE TABLE ST_TRANSACTION(ID NUMBER(19) NOT NULL PRIMARY KEY, PAYLOAD_CODEC VARCHAR(50), HASH VARCHAR(100) NOT NULL, PAYLOAD BLOB, PRIVACY_MODE INTEGER, TIMESTAMP NUMBER(19), VALIDATION_STAGE NUMBER(19));
@@ -1,191 +1,264 @@
 package com.quorum.tessera.enclave;
 
 import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.StreamReadFeature;
+import com.fasterxml.jackson.core.StreamWriteFeature;
+import com.fasterxml.jackson.core.io.SerializedString;
 import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
 import com.fasterxml.jackson.dataformat.cbor.CBORGenerator;
 import com.fasterxml.jackson.dataformat.cbor.CBORParser;
 import com.quorum.tessera.encryption.PublicKey;
 import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.*;
 
+/**
+ * Encodes payloads as a CBOR map of named fields.
+ *
+ * <p>Field names are written from pre-encoded constants, and matched on read against the names
+ * the parser canonicalises, so neither side builds field name strings per payload. The shared
+ * factory recycles the parser and generator buffers between payloads on the same thread, and
+ * leaves the streams it is given open so that entity streams can be written and read in place.
+ */
 public class CBOREncoder implements PayloadEncoder {
 
-  final CBORFactory cborFactory = new CBORFactory();
+  private static final String SENDER = "sender";
 
-  @Override
-  public byte[] encode(EncodedPayload payload) {
+  private static final String CIPHER_TEXT = "cipherText";
 
-    ByteArrayOutputStream output = new ByteArrayOutputStream();
+  private static final String NONCE = "nonce";
 
-    try (CBORGenerator generator = cborFactory.createGenerator(output)) {
+  private static final String RECIPIENT_NONCE = "recipientNonce";
 
-      generator.writeStartObject(11);
-      generator.writeBinaryField("sender", payload.getSenderKey().getKeyBytes());
-      generator.writeBinaryField("cipherText", payload.getCipherText());
-      generator.writeBinaryField("nonce", payload.getCipherTextNonce().getNonceBytes());
-      generator.writeBinaryField("recipientNonce", payload.getRecipientNonce().getNonceBytes());
+  private static final String RECIPIENT_BOXES = "recipientBoxes";
 
-      generator.writeFieldName("recipientBoxes");
-      generator.writeStartArray(payload.getRecipientBoxes().size());
-      for (RecipientBox box : payload.getRecipientBoxes()) {
-        generator.writeBinary(box.getData());
-      }
-      generator.writeEndArray();
+  private static final String RECIPIENTS = "recipients";
 
-      generator.writeFieldName("recipients");
-      generator.writeStartArray(payload.getRecipientKeys().size());
-      for (PublicKey key : payload.getRecipientKeys()) {
-        generator.writeBinary(key.getKeyBytes());
-      }
-      generator.writeEndArray();
+  private static final String PRIVACY_FLAG = "privacyFlag";
 
-      generator.writeNumberField("privacyFlag", payload.getPrivacyMode().getPrivacyFlag());
+  private static final String AFFECTED = "affected";
 
-      generator.writeFieldName("affected");
-      generator.writeStartObject(payload.getAffectedContractTransactions().size());
-      for (Map.Entry<TxHash, SecurityHash> entry :
-          payload.getAffectedContractTransactions().entrySet()) {
-        generator.writeFieldName(entry.getKey().encodeToBase64());
-        generator.writeBinary(entry.getValue().getData());
-      }
-      generator.writeEndObject();
+  private static final String EXEC_HASH = "execHash";
 
-      generator.writeBinaryField("execHash", payload.getExecHash());
+  private static final String MANDATORY_FOR = "mandatoryFor";
 
-      generator.writeFieldName("mandatoryFor");
-      generator.writeStartArray(payload.getMandatoryRecipients().size());
-      for (PublicKey recipient : payload.getMandatoryRecipients()) {
-        generator.writeBinary(recipient.getKeyBytes());
-      }
-      generator.writeEndArray();
+  private static final String PRIVACY_GROUP_ID = "privacyGroupId";
+
+  private static final SerializableString SENDER_FIELD = new SerializedString(SENDER);
+
+  private static final SerializableString CIPHER_TEXT_FIELD = new SerializedString(CIPHER_TEXT);
 
-      final byte[] privacyGroupId =
-          payload.getPrivacyGroupId().map(PrivacyGroup.Id::getBytes).orElse(new byte[0]);
+  private static final SerializableString NONCE_FIELD = new SerializedString(NONCE);
 
-      generator.writeBinaryField("privacyGroupId", privacyGroupId);
+  private static final SerializableString RECIPIENT_NONCE_FIELD =
+      new SerializedString(RECIPIENT_NONCE);
 
-      generator.writeEndObject();
+  private static final SerializableString RECIPIENT_BOXES_FIELD =
+      new SerializedString(RECIPIENT_BOXES);
 
-      generator.flush();
+  private static final SerializableString RECIPIENTS_FIELD = new SerializedString(RECIPIENTS);
 
+  private static final SerializableString PRIVACY_FLAG_FIELD = new SerializedString(PRIVACY_FLAG);
+
+  private static final SerializableString AFFECTED_FIELD = new SerializedString(AFFECTED);
+
+  private static final SerializableString EXEC_HASH_FIELD = new SerializedString(EXEC_HASH);
+
+  private static final SerializableString MANDATORY_FOR_FIELD = new SerializedString(MANDATORY_FOR);
+
+  private static final SerializableString PRIVACY_GROUP_ID_FIELD =
+      new SerializedString(PRIVACY_GROUP_ID);
+
+  private static final byte[] NO_PRIVACY_GROUP_ID = new byte[0];
+
+  final CBORFactory cborFactory =
+      CBORFactory.builder()
+          .disable(StreamWriteFeature.AUTO_CLOSE_TARGET)
+          .disable(StreamReadFeature.AUTO_CLOSE_SOURCE)
+          .build();
+
+  @Override
+  public byte[] encode(EncodedPayload payload) {
+    final ByteArrayOutputStream output = new ByteArrayOutputStream(sizeHint(payload));
+    encode(payload, output);
+    return output.toByteArray();
+  }
+
+  @Override
+  public void encode(EncodedPayload payload, OutputStream output) {
+    try (CBORGenerator generator = cborFactory.createGenerator(output)) {
+      write(payload, generator);
     } catch (Exception ex) {
       throw new RuntimeException("Unable to encode payload. ", ex);
     }
-
-    return output.toByteArray();
   }
 
   @Override
   public EncodedPayload decode(byte[] input) {
+    try (CBORParser parser = cborFactory.createParser(input)) {
+      return read(parser);
+    } catch (Exception ex) {
+      throw new RuntimeException("Unable to decode payload data. ", ex);
+    }
+  }
+
+  @Override
+  public EncodedPayload decode(InputStream input) {
+    try (CBORParser parser = cborFactory.createParser(input)) {
+      return read(parser);
+    } catch (Exception ex) {
+      throw new RuntimeException("Unable to decode payload data. ", ex);
+    }
+  }
 
-    EncodedPayload.Builder payloadBuilder = EncodedPayload.Builder.create();
+  @Override
+  public EncodedPayloadCodec encodedPayloadCodec() {
+    return EncodedPayloadCodec.CBOR;
+  }
+
+  private void write(EncodedPayload payload, CBORGenerator generator) throws Exception {
 
-    try (final CBORParser parser = cborFactory.createParser(input)) {
+    generator.writeStartObject(11);
 
-      validateToken(JsonToken.START_OBJECT, parser.nextToken());
+    generator.writeFieldName(SENDER_FIELD);
+    generator.writeBinary(payload.getSenderKey().getKeyBytes());
 
-      while (parser.nextFieldName() != null) {
+    generator.writeFieldName(CIPHER_TEXT_FIELD);
+    generator.writeBinary(payload.getCipherText());
 
-        if (parser.getCurrentName().equals("sender")) {
-          validateToken(JsonToken.VALUE_EMBEDDED_OBJECT, parser.nextToken());
-          final byte[] senderKey = parser.getBinaryValue();
-          payloadBuilder.withSenderKey(PublicKey.from(senderKey));
-          continue;
-        }
+    generator.writeFieldName(NONCE_FIELD);
+    generator.writeBinary(payload.getCipherTextNonce().getNonceBytes());
 
-        if (parser.getCurrentName().equals("cipherText")) {
-          validateToken(JsonToken.VALUE_EMBEDDED_OBJECT, parser.nextToken());
-          final byte[] cipherText = parser.getBinaryValue();
-          payloadBuilder.withCipherText(cipherText);
-          continue;
-        }
+    generator.writeFieldName(RECIPIENT_NONCE_FIELD);
+    generator.writeBinary(payload.getRecipientNonce().getNonceBytes());
+
+    generator.writeFieldName(RECIPIENT_BOXES_FIELD);
+    generator.writeStartArray(payload.getRecipientBoxes().size());
+    for (RecipientBox box : payload.getRecipientBoxes()) {
+      generator.writeBinary(box.getData());
+    }
+    generator.writeEndArray();
+
+    generator.writeFieldName(RECIPIENTS_FIELD);
+    generator.writeStartArray(payload.getRecipientKeys().size());
+    for (PublicKey key : payload.getRecipientKeys()) {
+      generator.writeBinary(key.getKeyBytes());
+    }
+    generator.writeEndArray();
+
+    generator.writeFieldName(PRIVACY_FLAG_FIELD);
+    generator.writeNumber(payload.getPrivacyMode().getPrivacyFlag());
+
+    generator.writeFieldName(AFFECTED_FIELD);
+    generator.writeStartObject(payload.getAffectedContractTransactions().size());
+    for (Map.Entry<TxHash, SecurityHash> entry :
+        payload.getAffectedContractTransactions().entrySet()) {
+      generator.writeFieldName(entry.getKey().encodeToBase64());
+      generator.writeBinary(entry.getValue().getData());
+    }
+    generator.writeEndObject();
+
+    generator.writeFieldName(EXEC_HASH_FIELD);
+    generator.writeBinary(payload.getExecHash());
+
+    generator.writeFieldName(MANDATORY_FOR_FIELD);
+    generator.writeStartArray(payload.getMandatoryRecipients().size());
+    for (PublicKey recipient : payload.getMandatoryRecipients()) {
+      generator.writeBinary(recipient.getKeyBytes());
+    }
+    generator.writeEndArray();
 
-        if (parser.getCurrentName().equals("nonce")) {
-          validateToken(JsonToken.VALUE_EMBEDDED_OBJECT, parser.nextToken());
-          final byte[] nonceBytes = parser.getBinaryValue();
-          payloadBuilder.withCipherTextNonce(nonceBytes);
-          continue;
-        }
+    generator.writeFieldName(PRIVACY_GROUP_ID_FIELD);
+    generator.writeBinary(
+        payload.getPrivacyGroupId().map(PrivacyGroup.Id::getBytes).orElse(NO_PRIVACY_GROUP_ID));
 
-        if (parser.getCurrentName().equals("recipientNonce")) {
-          validateToken(JsonToken.VALUE_EMBEDDED_OBJECT, parser.nextToken());
-          final byte[] recipientNonceBytes = parser.getBinaryValue();
-          payloadBuilder.withRecipientNonce(recipientNonceBytes);
-          continue;
-        }
+    generator.writeEndObject();
 
-        if (parser.getCurrentName().equals("recipients")) {
+    generator.flush();
+  }
+
+  private EncodedPayload read(CBORParser parser) throws Exception {
+
+    final EncodedPayload.Builder payloadBuilder = EncodedPayload.Builder.create();
+
+    validateToken(JsonToken.START_OBJECT, parser.nextToken());
+
+    String fieldName;
+    while ((fieldName = parser.nextFieldName()) != null) {
+      switch (fieldName) {
+        case SENDER:
+          payloadBuilder.withSenderKey(PublicKey.from(nextBinaryValue(parser)));
+          break;
+        case CIPHER_TEXT:
+          payloadBuilder.withCipherText(nextBinaryValue(parser));
+          break;
+        case NONCE:
+          payloadBuilder.withCipherTextNonce(nextBinaryValue(parser));
+          break;
+        case RECIPIENT_NONCE:
+          payloadBuilder.withRecipientNonce(nextBinaryValue(parser));
+          break;
+        case RECIPIENTS:
           validateToken(JsonToken.START_ARRAY, parser.nextToken());
           while (parser.nextToken() != JsonToken.END_ARRAY) {
-            final byte[] recipientBytes = parser.getBinaryValue();
-            payloadBuilder.withRecipientKey(PublicKey.from(recipientBytes));
+            payloadBuilder.withRecipientKey(PublicKey.from(parser.getBinaryValue()));
           }
-          continue;
-        }
-
-        if (parser.getCurrentName().equals("recipientBoxes")) {
+          break;
+        case RECIPIENT_BOXES:
           validateToken(JsonToken.START_ARRAY, parser.nextToken());
           while (parser.nextToken() != JsonToken.END_ARRAY) {
-            final byte[] box = parser.getBinaryValue();
-            payloadBuilder.withRecipientBox(box);
+            payloadBuilder.withRecipientBox(parser.getBinaryValue());
           }
-          continue;
-        }
-
-        if (parser.getCurrentName().equals("privacyFlag")) {
-          final int flag = parser.nextIntValue(0);
-          payloadBuilder.withPrivacyFlag(flag);
-          continue;
-        }
-
-        if (parser.getCurrentName().equals("affected")) {
+          break;
+        case PRIVACY_FLAG:
+          payloadBuilder.withPrivacyFlag(parser.nextIntValue(0));
+          break;
+        case AFFECTED:
           validateToken(JsonToken.START_OBJECT, parser.nextToken());
           final Map<TxHash, byte[]> affectedTxs = new HashMap<>();
           while (parser.nextToken() != JsonToken.END_OBJECT) {
             final TxHash txHash = new TxHash(parser.currentName());
-            validateToken(JsonToken.VALUE_EMBEDDED_OBJECT, parser.nextToken());
-            final byte[] securityHashBytes = parser.getBinaryValue();
-            affectedTxs.put(txHash, securityHashBytes);
+            affectedTxs.put(txHash, nextBinaryValue(parser));
           }
           payloadBuilder.withAffectedContractTransactions(affectedTxs);
-          continue;
-        }
-
-        if (parser.getCurrentName().equals("execHash")) {
-          validateToken(JsonToken.VALUE_EMBEDDED_OBJECT, parser.nextToken());
-          final byte[] execHash = parser.getBinaryValue();
-          payloadBuilder.withExecHash(execHash);
-          continue;
-        }
-
-        if (parser.getCurrentName().equals("mandatoryFor")) {
+          break;
+        case EXEC_HASH:
+          payloadBuilder.withExecHash(nextBinaryValue(parser));
+          break;
+        case MANDATORY_FOR:
           validateToken(JsonToken.START_ARRAY, parser.nextToken());
           final Set<PublicKey> mandatoryRecipients = new HashSet<>();
           while (parser.nextToken() != JsonToken.END_ARRAY) {
-            final byte[] recipient = parser.getBinaryValue();
-            mandatoryRecipients.add(PublicKey.from(recipient));
+            mandatoryRecipients.add(PublicKey.from(parser.getBinaryValue()));
           }
           payloadBuilder.withMandatoryRecipients(mandatoryRecipients);
-          continue;
-        }
-
-        if (parser.getCurrentName().equals("privacyGroupId")) {
-          validateToken(JsonToken.VALUE_EMBEDDED_OBJECT, parser.nextToken());
-          final byte[] groupId = parser.getBinaryValue();
-          if (groupId.length > 0)
+          break;
+        case PRIVACY_GROUP_ID:
+          final byte[] groupId = nextBinaryValue(parser);
+          if (groupId.length > 0) {
             payloadBuilder.withPrivacyGroupId(PrivacyGroup.Id.fromBytes(groupId));
-        }
+          }
+          break;
+        default:
+          parser.nextToken();
+          parser.skipChildren();
       }
-    } catch (Exception ex) {
-      throw new RuntimeException("Unable to decode payload data. ", ex);
     }
 
     return payloadBuilder.build();
   }
 
-  @Override
-  public EncodedPayloadCodec encodedPayloadCodec() {
-    return EncodedPayloadCodec.CBOR;
+  private byte[] nextBinaryValue(CBORParser parser) throws Exception {
+    validateToken(JsonToken.VALUE_EMBEDDED_OBJECT, parser.nextToken());
+    return parser.getBinaryValue();
+  }
+
+  /* the cipher text makes up nearly all of the encoded payload */
+  private static int sizeHint(EncodedPayload payload) {
+    final byte[] cipherText = payload.getCipherText();
+    return (Objects.nonNull(cipherText) ? cipherText.length : 0) + 1024;
   }
 
   private void validateToken(JsonToken expected, JsonToken current) {
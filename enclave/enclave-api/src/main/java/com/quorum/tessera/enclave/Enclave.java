@@ -1,10 +1,13 @@
 package com.quorum.tessera.enclave;
 
+import com.quorum.tessera.encryption.EncryptorException;
 import com.quorum.tessera.encryption.PublicKey;
 import com.quorum.tessera.service.Service;
 import java.util.List;
+import java.util.Optional;
 import java.util.ServiceLoader;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 /**
  * An {@link Enclave} provides encryption/decryption functions and keeps hold of all the nodes
@@ -108,6 +111,28 @@ public interface Enclave extends Service {
    */
   byte[] unencryptRawPayload(RawTransaction payload);
 
+  /**
+   * Finds which of the keys managed by this Enclave is able to decrypt the given payload, for
+   * payloads that don't list their recipient keys (e.g. those from older versions of Tessera).
+   *
+   * <p>This default tries to decrypt the whole payload with each managed key in turn.
+   * Implementations that hold the private keys should only try to open the recipient box.
+   *
+   * @param payload the encrypted payload
+   * @return the managed key the payload can be decrypted with, or empty if there is none
+   */
+  default Optional<PublicKey> findRecipientKey(EncodedPayload payload) {
+    for (final PublicKey potentialMatchingKey : getPublicKeys()) {
+      try {
+        unencryptTransaction(payload, potentialMatchingKey);
+        return Optional.of(potentialMatchingKey);
+      } catch (EnclaveException | IndexOutOfBoundsException | EncryptorException ex) {
+        // wrong key, try the next one
+      }
+    }
+    return Optional.empty();
+  }
+
   /**
    * Creates a new recipient box for the payload, for which we must be the originator. At least one
    * recipient must already be available to be able to decrypt the master key.
@@ -117,6 +142,36 @@ public interface Enclave extends Service {
    */
   byte[] createNewRecipientBox(EncodedPayload payload, PublicKey recipientKey);
 
+  /**
+   * Decrypts a batch of transactions using the same provided key for each, see {@link
+   * #unencryptTransaction(EncodedPayload, PublicKey)}. Any failure to decrypt one of the payloads
+   * fails the whole batch.
+   *
+   * @param payloads the encrypted payloads
+   * @param providedKey the key to use for decryption, if the payloads weren't sent by this Enclave
+   * @return the original, decrypted messages, in the same order as the given payloads
+   */
+  default List<byte[]> unencryptTransactions(List<EncodedPayload> payloads, PublicKey providedKey) {
+    return payloads.stream()
+        .map(payload -> unencryptTransaction(payload, providedKey))
+        .collect(Collectors.toList());
+  }
+
+  /**
+   * Creates a new recipient box for each of the given recipients, see {@link
+   * #createNewRecipientBox(EncodedPayload, PublicKey)}.
+   *
+   * @param payload the payload to add the recipients to
+   * @param recipientKeys the new recipient keys to add
+   * @return the new recipient boxes, in the same order as the given recipient keys
+   */
+  default List<byte[]> createNewRecipientBoxes(
+      EncodedPayload payload, List<PublicKey> recipientKeys) {
+    return recipientKeys.stream()
+        .map(recipientKey -> createNewRecipientBox(payload, recipientKey))
+        .collect(Collectors.toList());
+  }
+
   @Override
   default void start() {}
 
@@ -13,6 +13,18 @@ public interface EnclaveClient extends Enclave {
     }
   }
 
+  /**
+   * Re-fetches any keys the client holds locally for the remote enclave. Clients that do not hold
+   * keys locally do nothing.
+   */
+  default void refreshKeys() {}
+
+  /**
+   * Discards any keys the client holds locally for the remote enclave, so that they are fetched
+   * again on next use. Clients that do not hold keys locally do nothing.
+   */
+  default void invalidateKeys() {}
+
   static EnclaveClient create() {
     return ServiceLoaderUtil.loadSingle(ServiceLoader.load(EnclaveClient.class));
   }
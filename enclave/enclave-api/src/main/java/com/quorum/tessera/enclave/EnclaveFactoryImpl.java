@@ -59,7 +59,11 @@ public class EnclaveFactoryImpl {
     KeyEncryptor keyEncryptor = KeyEncryptorFactory.newFactory().create(encryptorConfig);
 
     final KeyPairConverter keyPairConverter =
-        new KeyPairConverter(config, new EnvironmentVariableProvider());
+        new KeyPairConverter(
+            config,
+            new EnvironmentVariableProvider(),
+            KeyPairConverter.parallelismFrom(encryptorConfig.getProperties()),
+            KeyPairConverter.argonMemoryBudgetFrom(encryptorConfig.getProperties()));
     final Collection<KeyPair> keys =
         keyPairConverter.convert(
             config.getKeys().getKeyData().stream()
@@ -70,7 +74,16 @@ public class EnclaveFactoryImpl {
 
     LOGGER.debug("Creating enclave");
 
-    Enclave enclave = new EnclaveImpl(encryptor, new KeyManagerImpl(keys, forwardKeys));
+    final SharedKeyCache sharedKeyCache = SharedKeyCache.from(encryptorConfig.getProperties());
+    final RecipientBoxSealer recipientBoxSealer =
+        RecipientBoxSealer.from(encryptorConfig.getProperties());
+
+    Enclave enclave =
+        new EnclaveImpl(
+            encryptor,
+            new KeyManagerImpl(keys, forwardKeys),
+            sharedKeyCache,
+            recipientBoxSealer);
 
     LOGGER.debug("Created enclave {}", enclave);
 
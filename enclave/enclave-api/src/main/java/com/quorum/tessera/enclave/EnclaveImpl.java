@@ -16,9 +16,27 @@ public class EnclaveImpl implements Enclave {
 
   private final KeyManager keyManager;
 
+  private final SharedKeyCache sharedKeyCache;
+
+  private final RecipientBoxSealer recipientBoxSealer;
+
   public EnclaveImpl(Encryptor encryptor, KeyManager keyManager) {
+    this(encryptor, keyManager, SharedKeyCache.disabled());
+  }
+
+  EnclaveImpl(Encryptor encryptor, KeyManager keyManager, SharedKeyCache sharedKeyCache) {
+    this(encryptor, keyManager, sharedKeyCache, RecipientBoxSealer.sequential());
+  }
+
+  EnclaveImpl(
+      Encryptor encryptor,
+      KeyManager keyManager,
+      SharedKeyCache sharedKeyCache,
+      RecipientBoxSealer recipientBoxSealer) {
     this.encryptor = Objects.requireNonNull(encryptor);
     this.keyManager = Objects.requireNonNull(keyManager);
+    this.sharedKeyCache = Objects.requireNonNull(sharedKeyCache);
+    this.recipientBoxSealer = Objects.requireNonNull(recipientBoxSealer);
   }
 
   @Override
@@ -93,21 +111,25 @@ public class EnclaveImpl implements Enclave {
 
   @Override
   public byte[] createNewRecipientBox(final EncodedPayload payload, final PublicKey publicKey) {
+    return this.createNewRecipientBoxes(payload, List.of(publicKey)).get(0);
+  }
+
+  @Override
+  public List<byte[]> createNewRecipientBoxes(
+      final EncodedPayload payload, final List<PublicKey> recipientKeys) {
 
     if (payload.getRecipientKeys().isEmpty() || payload.getRecipientBoxes().isEmpty()) {
       throw new RuntimeException("No key or recipient-box to use");
     }
 
+    // the master key only needs opening once, however many boxes are being added
     final MasterKey master =
         this.getMasterKey(
             payload.getRecipientKeys().get(0), payload.getSenderKey(),
             payload.getRecipientNonce(), payload.getRecipientBoxes().get(0).getData());
 
-    final List<byte[]> sealedMasterKeyList =
-        this.buildRecipientMasterKeys(
-            payload.getSenderKey(), List.of(publicKey), payload.getRecipientNonce(), master);
-
-    return sealedMasterKeyList.get(0);
+    return this.buildRecipientMasterKeys(
+        payload.getSenderKey(), recipientKeys, payload.getRecipientNonce(), master);
   }
 
   @Override
@@ -186,13 +208,11 @@ public class EnclaveImpl implements Enclave {
       final MasterKey masterKey) {
     final PrivateKey privateKey = keyManager.getPrivateKeyForPublicKey(senderPublicKey);
 
-    return recipientPublicKeys.stream()
-        .map(publicKey -> encryptor.computeSharedKey(publicKey, privateKey))
-        .map(
-            sharedKey ->
-                encryptor.sealAfterPrecomputation(
-                    masterKey.getKeyBytes(), recipientNonce, sharedKey))
-        .collect(Collectors.toList());
+    return recipientBoxSealer.seal(
+        recipientPublicKeys,
+        publicKey ->
+            encryptor.sealAfterPrecomputation(
+                masterKey.getKeyBytes(), recipientNonce, computeSharedKey(publicKey, privateKey)));
   }
 
   @Override
@@ -204,7 +224,7 @@ public class EnclaveImpl implements Enclave {
 
     final PrivateKey privateKey = keyManager.getPrivateKeyForPublicKey(sender);
 
-    final SharedKey sharedKey = encryptor.computeSharedKey(sender, privateKey);
+    final SharedKey sharedKey = computeSharedKey(sender, privateKey);
     final byte[] encryptedMasterKey =
         encryptor.sealAfterPrecomputation(masterKey.getKeyBytes(), nonce, sharedKey);
 
@@ -214,6 +234,32 @@ public class EnclaveImpl implements Enclave {
   @Override
   public byte[] unencryptTransaction(
       final EncodedPayload payload, final PublicKey publicToFindPrivateFor) {
+
+    final MasterKey masterKey = openMasterKey(payload, publicToFindPrivateFor);
+
+    final byte[] cipherText = payload.getCipherText();
+    final Nonce cipherTextNonce = payload.getCipherTextNonce();
+
+    return encryptor.openAfterPrecomputation(cipherText, cipherTextNonce, masterKey);
+  }
+
+  @Override
+  public Optional<PublicKey> findRecipientKey(final EncodedPayload payload) {
+    // the recipient box is authenticated, so only the right key can open it and the (much larger)
+    // cipher text never needs to be touched
+    for (final PublicKey potentialMatchingKey : getPublicKeys()) {
+      try {
+        openMasterKey(payload, potentialMatchingKey);
+        return Optional.of(potentialMatchingKey);
+      } catch (EnclaveException | IndexOutOfBoundsException | EncryptorException ex) {
+        LOGGER.debug("Attempted to open recipient box using wrong key, discarding.");
+      }
+    }
+    return Optional.empty();
+  }
+
+  private MasterKey openMasterKey(
+      final EncodedPayload payload, final PublicKey publicToFindPrivateFor) {
     PublicKey senderPublicKey = payload.getSenderKey();
     final RecipientBox recipientBox;
 
@@ -282,19 +328,14 @@ public class EnclaveImpl implements Enclave {
     }
 
     final PrivateKey privateKey = keyManager.getPrivateKeyForPublicKey(publicToFindPrivateFor);
-    final SharedKey sharedKey = encryptor.computeSharedKey(senderPublicKey, privateKey);
+    final SharedKey sharedKey = computeSharedKey(senderPublicKey, privateKey);
 
     final Nonce recipientNonce = payload.getRecipientNonce();
 
     final byte[] masterKeyBytes =
         encryptor.openAfterPrecomputation(recipientBox.getData(), recipientNonce, sharedKey);
 
-    final MasterKey masterKey = MasterKey.from(masterKeyBytes);
-
-    final byte[] cipherText = payload.getCipherText();
-    final Nonce cipherTextNonce = payload.getCipherTextNonce();
-
-    return encryptor.openAfterPrecomputation(cipherText, cipherTextNonce, masterKey);
+    return MasterKey.from(masterKeyBytes);
   }
 
   @Override
@@ -302,7 +343,7 @@ public class EnclaveImpl implements Enclave {
 
     final PrivateKey senderPrivateKey = keyManager.getPrivateKeyForPublicKey(payload.getFrom());
 
-    final SharedKey sharedKey = encryptor.computeSharedKey(payload.getFrom(), senderPrivateKey);
+    final SharedKey sharedKey = computeSharedKey(payload.getFrom(), senderPrivateKey);
 
     final byte[] recipientBox = payload.getEncryptedKey();
 
@@ -323,13 +364,17 @@ public class EnclaveImpl implements Enclave {
       PublicKey recipient, PublicKey sender, Nonce nonce, byte[] encryptedKey) {
 
     final SharedKey sharedKey =
-        encryptor.computeSharedKey(recipient, keyManager.getPrivateKeyForPublicKey(sender));
+        computeSharedKey(recipient, keyManager.getPrivateKeyForPublicKey(sender));
 
     final byte[] masterKeyBytes = encryptor.openAfterPrecomputation(encryptedKey, nonce, sharedKey);
 
     return MasterKey.from(masterKeyBytes);
   }
 
+  private SharedKey computeSharedKey(PublicKey publicKey, PrivateKey privateKey) {
+    return sharedKeyCache.computeIfAbsent(publicKey, privateKey, encryptor::computeSharedKey);
+  }
+
   private MasterKey getMasterKey(
       PublicKey recipient, PublicKey sender, Nonce nonce, RecipientBox encryptedKey) {
     return getMasterKey(recipient, sender, nonce, encryptedKey.getData());
@@ -173,6 +173,59 @@ public class EncodedPayload {
       return builder;
     }
 
+    /**
+     * Strips a payload of any data that isn't relevant to the given recipients, which are expected
+     * to be hosted on the same node. Used to format a payload before it is pushed to a node hosting
+     * several of the recipients at once
+     *
+     * <p>The resulting payload contains one box per given recipient, in the same order as the
+     * given recipients, which form the start of the recipient key list. For private state
+     * validation payloads, which must carry every recipient key, the keys are instead kept in their
+     * original order and every key that is not one of the given recipients is given an empty box.
+     * Either way, splitting it with {@link #forRecipient(EncodedPayload, PublicKey)} for each of
+     * the given recipients gives the same payloads as stripping the original payload for each of
+     * them
+     *
+     * @param payload the full payload from which data needs to be stripped
+     * @param recipients the recipients to retain information about
+     * @return a payload which contains a subset of data from the input, which is relevant to the
+     *     recipients
+     */
+    public static Builder forRecipients(
+        final EncodedPayload payload, final List<PublicKey> recipients) {
+
+      final Builder builder = from(payload);
+
+      for (final PublicKey recipient : recipients) {
+        if (!payload.getRecipientKeys().contains(recipient)) {
+          throw new InvalidRecipientException(
+              "Recipient " + recipient.encodeToBase64() + " is not a recipient of transaction ");
+        }
+      }
+
+      if (PrivacyMode.PRIVATE_STATE_VALIDATION == payload.getPrivacyMode()) {
+        final List<byte[]> recipientBoxes = new ArrayList<>(payload.getRecipientKeys().size());
+        for (int i = 0; i < payload.getRecipientKeys().size(); i++) {
+          final boolean retained = recipients.contains(payload.getRecipientKeys().get(i));
+          recipientBoxes.add(retained ? payload.getRecipientBoxes().get(i).getData() : new byte[0]);
+        }
+        builder.withRecipientBoxes(recipientBoxes);
+        builder.withNewRecipientKeys(new ArrayList<>(payload.getRecipientKeys()));
+        return builder;
+      }
+
+      final List<byte[]> recipientBoxes = new ArrayList<>(recipients.size());
+      for (final PublicKey recipient : recipients) {
+        final int recipientIndex = payload.getRecipientKeys().indexOf(recipient);
+        recipientBoxes.add(payload.getRecipientBoxes().get(recipientIndex).getData());
+      }
+
+      builder.withRecipientBoxes(recipientBoxes);
+      builder.withNewRecipientKeys(new ArrayList<>(recipients));
+
+      return builder;
+    }
+
     private PublicKey senderKey;
 
     private byte[] cipherText;
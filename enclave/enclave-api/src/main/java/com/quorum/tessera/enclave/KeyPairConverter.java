@@ -1,33 +1,235 @@
 package com.quorum.tessera.enclave;
 
+import com.quorum.tessera.config.ArgonOptions;
 import com.quorum.tessera.config.Config;
+import com.quorum.tessera.config.KeyDataConfig;
 import com.quorum.tessera.config.KeyVaultType;
+import com.quorum.tessera.config.PrivateKeyType;
 import com.quorum.tessera.config.keypairs.AWSKeyPair;
 import com.quorum.tessera.config.keypairs.AzureVaultKeyPair;
 import com.quorum.tessera.config.keypairs.ConfigKeyPair;
+import com.quorum.tessera.config.keypairs.FilesystemKeyPair;
 import com.quorum.tessera.config.keypairs.HashicorpVaultKeyPair;
+import com.quorum.tessera.config.keypairs.InlineKeypair;
 import com.quorum.tessera.config.util.EnvironmentVariableProvider;
 import com.quorum.tessera.encryption.KeyPair;
 import com.quorum.tessera.encryption.PrivateKey;
 import com.quorum.tessera.encryption.PublicKey;
 import com.quorum.tessera.key.vault.KeyVaultService;
 import com.quorum.tessera.key.vault.KeyVaultServiceFactory;
+import com.quorum.tessera.threading.ExecutorFactory;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
+/**
+ * Converts the configured key pairs into usable {@link KeyPair}s, unlocking locked keys and
+ * fetching vault secrets as needed.
+ *
+ * <p>When more than one key pair is configured they are converted on a bounded pool of worker
+ * threads. Unlocking a key runs Argon2, which allocates the configured amount of native memory
+ * outside the Java heap, so locked keys additionally share a memory budget and wait for each other
+ * once it is used up. The budget is set in KiB by the {@code keyLoadingArgonMemoryBudget} encryptor
+ * property, and defaults to enough memory for {@value #DEFAULT_ARGON_CONCURRENCY} unlocks of the
+ * most memory hungry configured key at once. The returned key pairs are always in the same order
+ * as the configured ones.
+ */
 public class KeyPairConverter {
 
+  private static final Logger LOGGER = LoggerFactory.getLogger(KeyPairConverter.class);
+
+  static final String PARALLELISM_PROPERTY = "keyLoadingParallelism";
+
+  static final String ARGON_MEMORY_BUDGET_PROPERTY = "keyLoadingArgonMemoryBudget";
+
+  static final int DEFAULT_ARGON_CONCURRENCY = 2;
+
+  /* Derive the budget from the configured keys */
+  static final long DEFAULT_ARGON_MEMORY_BUDGET = 0;
+
   private final Config config;
 
   private final EnvironmentVariableProvider envProvider;
 
+  private final int parallelism;
+
+  /* In KiB, or DEFAULT_ARGON_MEMORY_BUDGET */
+  private final long argonMemoryBudget;
+
+  private final Map<KeyVaultType, KeyVaultService> keyVaultServices = new ConcurrentHashMap<>();
+
   public KeyPairConverter(Config config, EnvironmentVariableProvider envProvider) {
+    this(config, envProvider, Runtime.getRuntime().availableProcessors());
+  }
+
+  public KeyPairConverter(
+      Config config, EnvironmentVariableProvider envProvider, int parallelism) {
+    this(config, envProvider, parallelism, DEFAULT_ARGON_MEMORY_BUDGET);
+  }
+
+  KeyPairConverter(
+      Config config,
+      EnvironmentVariableProvider envProvider,
+      int parallelism,
+      long argonMemoryBudget) {
     this.config = config;
     this.envProvider = envProvider;
+    this.parallelism = Math.max(1, parallelism);
+    this.argonMemoryBudget = Math.max(DEFAULT_ARGON_MEMORY_BUDGET, argonMemoryBudget);
+  }
+
+  static int parallelismFrom(final Map<String, String> properties) {
+    final Map<String, String> props =
+        Optional.ofNullable(properties).orElse(Collections.emptyMap());
+
+    final int defaultParallelism = Runtime.getRuntime().availableProcessors();
+    try {
+      return Optional.ofNullable(props.get(PARALLELISM_PROPERTY))
+          .map(Integer::parseInt)
+          .orElse(defaultParallelism);
+    } catch (NumberFormatException ex) {
+      LOGGER.warn("Not able to parse configured property. Will use default value instead");
+      return defaultParallelism;
+    }
+  }
+
+  static long argonMemoryBudgetFrom(final Map<String, String> properties) {
+    final Map<String, String> props =
+        Optional.ofNullable(properties).orElse(Collections.emptyMap());
+
+    try {
+      final long budget =
+          Optional.ofNullable(props.get(ARGON_MEMORY_BUDGET_PROPERTY))
+              .map(Long::parseLong)
+              .orElse(DEFAULT_ARGON_MEMORY_BUDGET);
+      if (budget >= DEFAULT_ARGON_MEMORY_BUDGET) {
+        return budget;
+      }
+    } catch (NumberFormatException ex) {
+      // fall through to the default
+    }
+    LOGGER.warn("Not able to parse configured property. Will use default value instead");
+    return DEFAULT_ARGON_MEMORY_BUDGET;
+  }
+
+  /**
+   * @return the memory in KiB that the given key pairs may take to unlock at once, as configured or
+   *     else enough for {@value #DEFAULT_ARGON_CONCURRENCY} unlocks of the most memory hungry key
+   */
+  static int argonMemoryBudgetFor(
+      final Collection<ConfigKeyPair> configKeyPairs, final long configuredBudget) {
+    final long budget =
+        configuredBudget > DEFAULT_ARGON_MEMORY_BUDGET
+            ? configuredBudget
+            : DEFAULT_ARGON_CONCURRENCY
+                * configKeyPairs.stream()
+                    .mapToLong(KeyPairConverter::argonMemoryOf)
+                    .max()
+                    .orElse(0L);
+    return (int) Math.max(1, Math.min(budget, Integer.MAX_VALUE));
   }
 
   public Collection<KeyPair> convert(Collection<ConfigKeyPair> configKeyPairs) {
-    return configKeyPairs.stream().map(this::convert).collect(Collectors.toList());
+    final long start = System.nanoTime();
+    final LoadTimings timings = new LoadTimings();
+
+    final int threads = Math.min(parallelism, configKeyPairs.size());
+    final List<KeyPair> keyPairs;
+    if (threads < 2) {
+      keyPairs =
+          configKeyPairs.stream()
+              .map(configKeyPair -> timings.time(configKeyPair, () -> convert(configKeyPair)))
+              .collect(Collectors.toList());
+    } else {
+      keyPairs = convertConcurrently(configKeyPairs, threads, timings);
+    }
+
+    timings.log(keyPairs.size(), System.nanoTime() - start);
+    return keyPairs;
+  }
+
+  private List<KeyPair> convertConcurrently(
+      Collection<ConfigKeyPair> configKeyPairs, int threads, LoadTimings timings) {
+
+    LOGGER.debug("Loading {} key pairs with a parallelism of {}", configKeyPairs.size(), threads);
+
+    final int argonBudget = argonMemoryBudgetFor(configKeyPairs, argonMemoryBudget);
+    LOGGER.debug("Unlocking keys with an Argon2 memory budget of {} KiB", argonBudget);
+
+    final Semaphore argonMemory = new Semaphore(argonBudget);
+    final ExecutorService executorService =
+        ExecutorFactory.createDaemonPool("key-loader", threads);
+    try {
+      final List<CompletableFuture<KeyPair>> futures =
+          configKeyPairs.stream()
+              .map(
+                  configKeyPair ->
+                      CompletableFuture.supplyAsync(
+                          () ->
+                              timings.time(
+                                  configKeyPair,
+                                  () -> convertThrottled(configKeyPair, argonMemory, argonBudget)),
+                          executorService))
+              .collect(Collectors.toList());
+
+      return futures.stream().map(CompletableFuture::join).collect(Collectors.toList());
+    } catch (CompletionException ex) {
+      if (ex.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) ex.getCause();
+      }
+      throw ex;
+    } finally {
+      executorService.shutdownNow();
+    }
+  }
+
+  private KeyPair convertThrottled(
+      ConfigKeyPair configKeyPair, Semaphore argonMemory, int argonBudget) {
+    final int permits = (int) Math.min(argonMemoryOf(configKeyPair), argonBudget);
+    if (permits == 0) {
+      return convert(configKeyPair);
+    }
+
+    argonMemory.acquireUninterruptibly(permits);
+    try {
+      return convert(configKeyPair);
+    } finally {
+      argonMemory.release(permits);
+    }
+  }
+
+  /** The memory in KiB that unlocking the key pair will take, or zero if it is not locked. */
+  static long argonMemoryOf(ConfigKeyPair configKeyPair) {
+    final InlineKeypair inlineKeypair;
+    if (configKeyPair instanceof InlineKeypair) {
+      inlineKeypair = (InlineKeypair) configKeyPair;
+    } else if (configKeyPair instanceof FilesystemKeyPair) {
+      inlineKeypair = ((FilesystemKeyPair) configKeyPair).getInlineKeypair();
+    } else {
+      return 0;
+    }
+
+    return Optional.ofNullable(inlineKeypair)
+        .map(InlineKeypair::getPrivateKeyConfig)
+        .filter(c -> c.getType() == PrivateKeyType.LOCKED)
+        .map(KeyDataConfig::getArgonOptions)
+        .map(ArgonOptions::getMemory)
+        .map(Integer::longValue)
+        .orElse(0L);
+  }
+
+  private KeyVaultService keyVaultService(KeyVaultType keyVaultType) {
+    // vault clients are thread safe, so one is shared by all the key pairs stored in the vault
+    return keyVaultServices.computeIfAbsent(
+        keyVaultType, t -> KeyVaultServiceFactory.getInstance(t).create(config, envProvider));
   }
 
   private KeyPair convert(ConfigKeyPair configKeyPair) {
@@ -36,10 +238,7 @@ public class KeyPairConverter {
 
     if (configKeyPair instanceof AzureVaultKeyPair) {
 
-      KeyVaultServiceFactory keyVaultServiceFactory =
-          KeyVaultServiceFactory.getInstance(KeyVaultType.AZURE);
-
-      KeyVaultService keyVaultService = keyVaultServiceFactory.create(config, envProvider);
+      KeyVaultService keyVaultService = keyVaultService(KeyVaultType.AZURE);
 
       AzureVaultKeyPair akp = (AzureVaultKeyPair) configKeyPair;
 
@@ -55,10 +254,7 @@ public class KeyPairConverter {
       base64PrivateKey = keyVaultService.getSecret(getPrivateKeyData);
     } else if (configKeyPair instanceof HashicorpVaultKeyPair) {
 
-      KeyVaultServiceFactory keyVaultServiceFactory =
-          KeyVaultServiceFactory.getInstance(KeyVaultType.HASHICORP);
-
-      KeyVaultService keyVaultService = keyVaultServiceFactory.create(config, envProvider);
+      KeyVaultService keyVaultService = keyVaultService(KeyVaultType.HASHICORP);
 
       HashicorpVaultKeyPair hkp = (HashicorpVaultKeyPair) configKeyPair;
 
@@ -79,10 +275,8 @@ public class KeyPairConverter {
       base64PublicKey = keyVaultService.getSecret(getPublicKeyData);
       base64PrivateKey = keyVaultService.getSecret(getPrivateKeyData);
     } else if (configKeyPair instanceof AWSKeyPair) {
-      KeyVaultServiceFactory keyVaultServiceFactory =
-          KeyVaultServiceFactory.getInstance(KeyVaultType.AWS);
 
-      KeyVaultService keyVaultService = keyVaultServiceFactory.create(config, envProvider);
+      KeyVaultService keyVaultService = keyVaultService(KeyVaultType.AWS);
 
       AWSKeyPair akp = (AWSKeyPair) configKeyPair;
 
@@ -108,4 +302,41 @@ public class KeyPairConverter {
         .map(PublicKey::from)
         .collect(Collectors.toList());
   }
+
+  /** Load times per kind of key source, e.g. locked filesystem keys or AWS secrets. */
+  private static class LoadTimings {
+
+    private final Map<String, LongAdder> counts = new ConcurrentHashMap<>();
+
+    private final Map<String, LongAdder> nanos = new ConcurrentHashMap<>();
+
+    KeyPair time(ConfigKeyPair configKeyPair, Supplier<KeyPair> loader) {
+      final String source = sourceOf(configKeyPair);
+      final long start = System.nanoTime();
+      final KeyPair keyPair = loader.get();
+      final long elapsed = System.nanoTime() - start;
+
+      counts.computeIfAbsent(source, s -> new LongAdder()).increment();
+      nanos.computeIfAbsent(source, s -> new LongAdder()).add(elapsed);
+      LOGGER.debug("Loaded {} key pair in {} ms", source, elapsed / 1_000_000);
+      return keyPair;
+    }
+
+    void log(int total, long elapsed) {
+      new TreeMap<>(counts)
+          .forEach(
+              (source, count) ->
+                  LOGGER.info(
+                      "Loaded {} {} key pairs, {} ms spent loading",
+                      count.sum(),
+                      source,
+                      nanos.get(source).sum() / 1_000_000));
+      LOGGER.info("Loaded {} key pairs in {} ms", total, elapsed / 1_000_000);
+    }
+
+    private static String sourceOf(ConfigKeyPair configKeyPair) {
+      final String type = configKeyPair.getClass().getSimpleName();
+      return argonMemoryOf(configKeyPair) > 0 ? "locked " + type : type;
+    }
+  }
 }
@@ -1,6 +1,9 @@
 package com.quorum.tessera.enclave;
 
-import java.util.*;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 
 /** Encodes and decodes a {@link EncodedPayload} to and from its binary representation */
 public interface PayloadEncoder {
@@ -21,18 +24,46 @@ public interface PayloadEncoder {
    */
   EncodedPayload decode(byte[] input);
 
+  /**
+   * Encodes the payload straight into the given stream, such as a request entity stream, rather
+   * than into an intermediate byte array. The stream is left open.
+   *
+   * @param payload the payload to encode
+   * @param output the stream to write the encoded payload to
+   */
+  default void encode(EncodedPayload payload, OutputStream output) {
+    try {
+      output.write(encode(payload));
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+  }
+
+  /**
+   * Decodes an encoded payload read from the given stream, such as a request entity stream. The
+   * stream is left open.
+   *
+   * @param input the stream to read the encoded payload from
+   * @return the decoded payload
+   */
+  default EncodedPayload decode(InputStream input) {
+    try {
+      return decode(input.readAllBytes());
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+  }
+
   EncodedPayloadCodec encodedPayloadCodec();
 
+  /**
+   * Returns the encoder for the given codec. Encoders are resolved from the service loader once per
+   * codec and shared between callers, so implementations must be thread-safe.
+   *
+   * @param encodedPayloadCodec the codec to find an encoder for
+   * @return the shared encoder instance for the codec
+   */
   static PayloadEncoder create(EncodedPayloadCodec encodedPayloadCodec) {
-    return ServiceLoader.load(PayloadEncoder.class).stream()
-        .map(ServiceLoader.Provider::get)
-        .filter(e -> e.encodedPayloadCodec() == encodedPayloadCodec)
-        .reduce(
-            (l, r) -> {
-              throw new IllegalStateException(
-                  "Resolved multiple encoders for codec " + encodedPayloadCodec);
-            })
-        .orElseThrow(
-            () -> new IllegalStateException("No encoder found for " + encodedPayloadCodec));
+    return PayloadEncoderRegistry.INSTANCE.get(encodedPayloadCodec);
   }
 }
@@ -0,0 +1,38 @@
+package com.quorum.tessera.enclave;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.ServiceLoader;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Resolves each {@link EncodedPayloadCodec} to its {@link PayloadEncoder} once, rather than
+ * scanning the service loader on every lookup.
+ */
+enum PayloadEncoderRegistry {
+  INSTANCE;
+
+  private final Map<EncodedPayloadCodec, PayloadEncoder> encoders = new ConcurrentHashMap<>();
+
+  PayloadEncoder get(EncodedPayloadCodec encodedPayloadCodec) {
+    Objects.requireNonNull(encodedPayloadCodec, "Codec is required");
+    return encoders.computeIfAbsent(encodedPayloadCodec, PayloadEncoderRegistry::load);
+  }
+
+  static PayloadEncoder load(EncodedPayloadCodec encodedPayloadCodec) {
+    return ServiceLoader.load(PayloadEncoder.class).stream()
+        .map(ServiceLoader.Provider::get)
+        .filter(e -> e.encodedPayloadCodec() == encodedPayloadCodec)
+        .reduce(
+            (l, r) -> {
+              throw new IllegalStateException(
+                  "Resolved multiple encoders for codec " + encodedPayloadCodec);
+            })
+        .orElseThrow(
+            () -> new IllegalStateException("No encoder found for " + encodedPayloadCodec));
+  }
+
+  void reset() {
+    encoders.clear();
+  }
+}
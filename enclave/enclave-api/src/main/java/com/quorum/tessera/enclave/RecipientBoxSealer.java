@@ -0,0 +1,87 @@
+package com.quorum.tessera.enclave;
+
+import com.quorum.tessera.encryption.PublicKey;
+import com.quorum.tessera.threading.ExecutorFactory;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Seals the master key of a transaction for each of its recipients, either one after another on
+ * the calling thread or spread over a bounded pool of worker threads.
+ *
+ * <p>The returned boxes are always in the same order as the recipient keys they were sealed for.
+ */
+class RecipientBoxSealer {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(RecipientBoxSealer.class);
+
+  static final String PARALLELISM_PROPERTY = "recipientSealingParallelism";
+
+  private final ExecutorService executorService;
+
+  RecipientBoxSealer(final ExecutorService executorService) {
+    this.executorService = executorService;
+  }
+
+  static RecipientBoxSealer sequential() {
+    return new RecipientBoxSealer(null);
+  }
+
+  static RecipientBoxSealer from(final Map<String, String> properties) {
+    final Map<String, String> props =
+        Optional.ofNullable(properties).orElse(Collections.emptyMap());
+
+    int parallelism;
+    try {
+      parallelism = Integer.parseInt(props.getOrDefault(PARALLELISM_PROPERTY, "1"));
+    } catch (NumberFormatException ex) {
+      LOGGER.warn("Not able to parse configured property. Will use default value instead");
+      parallelism = 1;
+    }
+
+    if (parallelism <= 1) {
+      return sequential();
+    }
+
+    LOGGER.debug("Sealing recipient boxes with a parallelism of {}", parallelism);
+    return new RecipientBoxSealer(
+        ExecutorFactory.createDaemonPool("recipient-sealer", parallelism));
+  }
+
+  List<byte[]> seal(
+      final List<PublicKey> recipientPublicKeys, final Function<PublicKey, byte[]> sealer) {
+
+    if (executorService == null || recipientPublicKeys.size() < 2) {
+      return recipientPublicKeys.stream().map(sealer).collect(Collectors.toList());
+    }
+
+    final List<CompletableFuture<byte[]>> futures =
+        recipientPublicKeys.stream()
+            .map(
+                publicKey ->
+                    CompletableFuture.supplyAsync(() -> sealer.apply(publicKey), executorService))
+            .collect(Collectors.toList());
+
+    try {
+      return futures.stream().map(CompletableFuture::join).collect(Collectors.toList());
+    } catch (CompletionException ex) {
+      if (ex.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) ex.getCause();
+      }
+      throw ex;
+    }
+  }
+
+  boolean isParallel() {
+    return executorService != null;
+  }
+}
@@ -0,0 +1,162 @@
+package com.quorum.tessera.enclave;
+
+import com.quorum.tessera.encryption.PrivateKey;
+import com.quorum.tessera.encryption.PublicKey;
+import com.quorum.tessera.encryption.SharedKey;
+import java.time.Clock;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiFunction;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A bounded, thread-safe cache of precomputed {@link SharedKey}s keyed by the (local private key,
+ * remote public key) pair they were derived from.
+ *
+ * <p>Entries are evicted in least-recently-used order once {@code maxSize} is reached, and are
+ * discarded on read once they are older than {@code expiryMillis}. A cache with a max size of zero
+ * never stores anything and always delegates to the supplied computation.
+ */
+class SharedKeyCache {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(SharedKeyCache.class);
+
+  static final String MAX_SIZE_PROPERTY = "sharedKeyCacheSize";
+
+  static final String EXPIRY_PROPERTY = "sharedKeyCacheExpiry";
+
+  static final int DEFAULT_MAX_SIZE = 1024;
+
+  static final long DEFAULT_EXPIRY_MILLIS = 3600000L; // 1 hour
+
+  private final int maxSize;
+
+  private final long expiryMillis;
+
+  private final Clock clock;
+
+  private final Map<Map.Entry<PublicKey, PrivateKey>, CacheEntry> entries;
+
+  private final LongAdder hits = new LongAdder();
+
+  private final LongAdder misses = new LongAdder();
+
+  SharedKeyCache(final int maxSize, final long expiryMillis, final Clock clock) {
+    if (maxSize < 0) {
+      throw new IllegalArgumentException("Shared key cache size cannot be negative");
+    }
+    if (expiryMillis <= 0) {
+      throw new IllegalArgumentException("Shared key cache expiry must be positive");
+    }
+    this.maxSize = maxSize;
+    this.expiryMillis = expiryMillis;
+    this.clock = Objects.requireNonNull(clock);
+    this.entries =
+        Collections.synchronizedMap(
+            new LinkedHashMap<Map.Entry<PublicKey, PrivateKey>, CacheEntry>(16, 0.75f, true) {
+              @Override
+              protected boolean removeEldestEntry(
+                  Map.Entry<Map.Entry<PublicKey, PrivateKey>, CacheEntry> eldest) {
+                return size() > maxSize;
+              }
+            });
+  }
+
+  SharedKeyCache(final int maxSize, final long expiryMillis) {
+    this(maxSize, expiryMillis, Clock.systemUTC());
+  }
+
+  static SharedKeyCache disabled() {
+    return new SharedKeyCache(0, DEFAULT_EXPIRY_MILLIS);
+  }
+
+  static SharedKeyCache from(final Map<String, String> properties) {
+    final Map<String, String> props =
+        Optional.ofNullable(properties).orElse(Collections.emptyMap());
+
+    int maxSize;
+    long expiryMillis;
+    try {
+      maxSize =
+          Integer.parseInt(props.getOrDefault(MAX_SIZE_PROPERTY, String.valueOf(DEFAULT_MAX_SIZE)));
+      expiryMillis =
+          Long.parseLong(
+              props.getOrDefault(EXPIRY_PROPERTY, String.valueOf(DEFAULT_EXPIRY_MILLIS)));
+    } catch (NumberFormatException ex) {
+      LOGGER.warn("Not able to parse configured property. Will use default value instead");
+      maxSize = DEFAULT_MAX_SIZE;
+      expiryMillis = DEFAULT_EXPIRY_MILLIS;
+    }
+
+    LOGGER.debug("Creating shared key cache with size {} and expiry {}ms", maxSize, expiryMillis);
+    return new SharedKeyCache(maxSize, expiryMillis);
+  }
+
+  /**
+   * Fetches the shared key for the given key pair, computing and storing it if it is absent or has
+   * expired. The computation runs outside of any lock, so two threads missing on the same pair at
+   * the same time may both compute the (identical) key.
+   *
+   * @param publicKey the remote public key
+   * @param privateKey the local private key
+   * @param computation the function used to derive the shared key on a cache miss
+   * @return the shared key for the key pair
+   */
+  SharedKey computeIfAbsent(
+      final PublicKey publicKey,
+      final PrivateKey privateKey,
+      final BiFunction<PublicKey, PrivateKey, SharedKey> computation) {
+
+    if (maxSize == 0) {
+      misses.increment();
+      return computation.apply(publicKey, privateKey);
+    }
+
+    final Map.Entry<PublicKey, PrivateKey> cacheKey = Map.entry(publicKey, privateKey);
+    final long now = clock.millis();
+
+    final CacheEntry cached = entries.get(cacheKey);
+    if (cached != null && now - cached.createdAt < expiryMillis) {
+      hits.increment();
+      return cached.sharedKey;
+    }
+
+    misses.increment();
+    final SharedKey sharedKey = computation.apply(publicKey, privateKey);
+    entries.put(cacheKey, new CacheEntry(sharedKey, now));
+    return sharedKey;
+  }
+
+  void clear() {
+    entries.clear();
+  }
+
+  int size() {
+    return entries.size();
+  }
+
+  long getHitCount() {
+    return hits.sum();
+  }
+
+  long getMissCount() {
+    return misses.sum();
+  }
+
+  private static final class CacheEntry {
+
+    private final SharedKey sharedKey;
+
+    private final long createdAt;
+
+    private CacheEntry(SharedKey sharedKey, long createdAt) {
+      this.sharedKey = sharedKey;
+      this.createdAt = createdAt;
+    }
+  }
+}
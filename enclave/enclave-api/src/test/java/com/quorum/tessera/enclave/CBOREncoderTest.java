@@ -2,10 +2,16 @@ package com.quorum.tessera.enclave;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
-import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.*;
 
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.cbor.CBORGenerator;
 import com.quorum.tessera.encryption.Nonce;
 import com.quorum.tessera.encryption.PublicKey;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.Base64;
 import java.util.List;
 import java.util.Map;
@@ -182,6 +188,75 @@ public class CBOREncoderTest {
     assertThat(result.getPrivacyGroupId()).isPresent().get().isEqualTo(groupId);
   }
 
+  @Test
+  public void streamedEncodingMatchesEncodedBytes() throws Exception {
+    final EncodedPayload payload =
+        EncodedPayload.Builder.from(standardPayload)
+            .withPrivacyMode(PrivacyMode.MANDATORY_RECIPIENTS)
+            .withAffectedContractTransactions(
+                Map.of(TxHash.from("txHash1".getBytes()), "securityHash1".getBytes()))
+            .withMandatoryRecipients(Set.of(PublicKey.from("recipient1".getBytes())))
+            .withPrivacyGroupId(PrivacyGroup.Id.fromBytes("group".getBytes()))
+            .build();
+    final OutputStream output = spy(new ByteArrayOutputStream());
+
+    encoder.encode(payload, output);
+
+    assertThat(((ByteArrayOutputStream) output).toByteArray()).isEqualTo(encoder.encode(payload));
+    verify(output, never()).close();
+  }
+
+  @Test
+  public void decodeFromStream() throws Exception {
+    final InputStream input = spy(new ByteArrayInputStream(encoder.encode(standardPayload)));
+
+    final EncodedPayload result = encoder.decode(input);
+
+    assertThat(result).isEqualTo(standardPayload);
+    verify(input, never()).close();
+  }
+
+  @Test
+  public void decodeSkipsUnknownFields() throws Exception {
+    final ByteArrayOutputStream output = new ByteArrayOutputStream();
+    try (CBORGenerator generator = new CBORFactory().createGenerator(output)) {
+      generator.writeStartObject();
+      generator.writeFieldName("unknown");
+      generator.writeStartArray();
+      generator.writeBinary("value".getBytes());
+      generator.writeEndArray();
+      generator.writeBinaryField("sender", "sender".getBytes());
+      generator.writeEndObject();
+    }
+
+    final EncodedPayload result = encoder.decode(new ByteArrayInputStream(output.toByteArray()));
+
+    assertThat(result.getSenderKey()).isEqualTo(PublicKey.from("sender".getBytes()));
+  }
+
+  @Test
+  public void decodeDoesNotTrustDeclaredEntryCounts() throws Exception {
+    // each container declares 100,000,000 entries but holds only one before the data ends
+    final byte[] oversizedMandatoryFor =
+        concat(
+            new byte[] {(byte) 0xA1, 0x6C},
+            "mandatoryFor".getBytes(),
+            new byte[] {(byte) 0x9A, 0x05, (byte) 0xF5, (byte) 0xE1, 0x00, 0x41, 0x01});
+    final byte[] oversizedAffected =
+        concat(
+            new byte[] {(byte) 0xA1, 0x68},
+            "affected".getBytes(),
+            new byte[] {(byte) 0xBA, 0x05, (byte) 0xF5, (byte) 0xE1, 0x00, 0x64},
+            "AAAA".getBytes(),
+            new byte[] {0x41, 0x01});
+
+    for (byte[] input : List.of(oversizedMandatoryFor, oversizedAffected)) {
+      assertThatExceptionOfType(RuntimeException.class)
+          .isThrownBy(() -> encoder.decode(new ByteArrayInputStream(input)))
+          .withMessageContaining("Unable to decode payload data");
+    }
+  }
+
   @Test
   public void encodeError() {
     EncodedPayload payload = mock(EncodedPayload.class);
@@ -199,8 +274,33 @@ public class CBOREncoderTest {
         .withMessageContaining("Unable to decode payload data");
   }
 
+  @Test
+  public void streamedEncodeError() {
+    EncodedPayload payload = mock(EncodedPayload.class);
+    assertThatExceptionOfType(RuntimeException.class)
+        .isThrownBy(() -> encoder.encode(payload, new ByteArrayOutputStream()))
+        .withMessageContaining("Unable to encode payload");
+  }
+
+  @Test
+  public void streamedDecodeError() {
+    String invalid = "oWZzZW5kZXKA";
+    byte[] raw = Base64.getDecoder().decode(invalid);
+    assertThatExceptionOfType(RuntimeException.class)
+        .isThrownBy(() -> encoder.decode(new ByteArrayInputStream(raw)))
+        .withMessageContaining("Unable to decode payload data");
+  }
+
   @Test
   public void codec() {
     assertThat(encoder.encodedPayloadCodec()).isEqualTo(EncodedPayloadCodec.CBOR);
   }
+
+  private static byte[] concat(byte[]... parts) throws Exception {
+    final ByteArrayOutputStream output = new ByteArrayOutputStream();
+    for (byte[] part : parts) {
+      output.write(part);
+    }
+    return output.toByteArray();
+  }
 }
@@ -0,0 +1,78 @@
+package com.quorum.tessera.enclave;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+import static org.mockito.Mockito.*;
+
+import com.quorum.tessera.encryption.PublicKey;
+import java.util.List;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class EnclaveBatchOperationsTest {
+
+  private Enclave enclave;
+
+  @Before
+  public void onSetUp() {
+    enclave = mock(Enclave.class);
+    doCallRealMethod().when(enclave).unencryptTransactions(anyList(), any());
+    doCallRealMethod().when(enclave).createNewRecipientBoxes(any(), anyList());
+  }
+
+  @After
+  public void onTearDown() {
+    verifyNoMoreInteractions(enclave);
+  }
+
+  @Test
+  public void unencryptTransactionsDecryptsEachPayloadInOrder() {
+    final EncodedPayload first = mock(EncodedPayload.class);
+    final EncodedPayload second = mock(EncodedPayload.class);
+    final PublicKey providedKey = PublicKey.from("providedKey".getBytes());
+    when(enclave.unencryptTransaction(first, providedKey)).thenReturn("first".getBytes());
+    when(enclave.unencryptTransaction(second, providedKey)).thenReturn("second".getBytes());
+
+    final List<byte[]> result = enclave.unencryptTransactions(List.of(first, second), providedKey);
+
+    assertThat(result).containsExactly("first".getBytes(), "second".getBytes());
+
+    verify(enclave).unencryptTransactions(List.of(first, second), providedKey);
+    verify(enclave).unencryptTransaction(first, providedKey);
+    verify(enclave).unencryptTransaction(second, providedKey);
+  }
+
+  @Test
+  public void unencryptTransactionsFailsOnFirstFailure() {
+    final EncodedPayload first = mock(EncodedPayload.class);
+    final EncodedPayload second = mock(EncodedPayload.class);
+    final EnclaveException exception = new EnclaveException("BANG");
+    when(enclave.unencryptTransaction(first, null)).thenThrow(exception);
+
+    final Throwable throwable =
+        catchThrowable(() -> enclave.unencryptTransactions(List.of(first, second), null));
+
+    assertThat(throwable).isSameAs(exception);
+
+    verify(enclave).unencryptTransactions(List.of(first, second), null);
+    verify(enclave).unencryptTransaction(first, null);
+  }
+
+  @Test
+  public void createNewRecipientBoxesCreatesEachBoxInOrder() {
+    final EncodedPayload payload = mock(EncodedPayload.class);
+    final PublicKey first = PublicKey.from("first".getBytes());
+    final PublicKey second = PublicKey.from("second".getBytes());
+    when(enclave.createNewRecipientBox(payload, first)).thenReturn("firstBox".getBytes());
+    when(enclave.createNewRecipientBox(payload, second)).thenReturn("secondBox".getBytes());
+
+    final List<byte[]> result = enclave.createNewRecipientBoxes(payload, List.of(first, second));
+
+    assertThat(result).containsExactly("firstBox".getBytes(), "secondBox".getBytes());
+
+    verify(enclave).createNewRecipientBoxes(payload, List.of(first, second));
+    verify(enclave).createNewRecipientBox(payload, first);
+    verify(enclave).createNewRecipientBox(payload, second);
+  }
+}
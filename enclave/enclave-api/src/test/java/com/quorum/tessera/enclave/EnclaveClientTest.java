@@ -52,6 +52,18 @@ public class EnclaveClientTest {
     verify(enclaveClient).validateEnclaveStatus();
   }
 
+  @Test
+  public void refreshAndInvalidateKeysDoNothingByDefault() {
+    doCallRealMethod().when(enclaveClient).refreshKeys();
+    doCallRealMethod().when(enclaveClient).invalidateKeys();
+
+    enclaveClient.refreshKeys();
+    enclaveClient.invalidateKeys();
+
+    verify(enclaveClient).refreshKeys();
+    verify(enclaveClient).invalidateKeys();
+  }
+
   @Test
   public void create() {
     try (var serviceLoaderUtilMockedStatic = mockStatic(ServiceLoaderUtil.class);
@@ -8,6 +8,8 @@ import com.quorum.tessera.encryption.*;
 import com.quorum.tessera.service.Service;
 import java.nio.ByteBuffer;
 import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import org.bouncycastle.jcajce.provider.digest.SHA3;
 import org.junit.After;
 import org.junit.Before;
@@ -178,6 +180,89 @@ public class EnclaveTest {
     verify(keyManager).getPrivateKeyForPublicKey(recipientKey);
   }
 
+  @Test
+  public void findRecipientKeyOnlyOpensRecipientBox() {
+    final PublicKey senderKey = PublicKey.from("senderKey".getBytes());
+    final PublicKey otherKey = PublicKey.from("otherKey".getBytes());
+    final PublicKey recipientKey = PublicKey.from("recipientKey".getBytes());
+    final RecipientBox recipientBox = RecipientBox.from("RecipientBox".getBytes());
+    final Nonce recipientNonce = mock(Nonce.class);
+
+    final EncodedPayload payload =
+        EncodedPayload.Builder.create()
+            .withSenderKey(senderKey)
+            .withCipherText("cipherText".getBytes())
+            .withCipherTextNonce(mock(Nonce.class))
+            .withRecipientBox(recipientBox.getData())
+            .withRecipientNonce(recipientNonce)
+            .withPrivacyMode(PrivacyMode.STANDARD_PRIVATE)
+            .build();
+
+    final Set<PublicKey> publicKeys = new LinkedHashSet<>(List.of(otherKey, recipientKey));
+    when(keyManager.getPublicKeys()).thenReturn(publicKeys);
+
+    final PrivateKey otherPrivateKey = PrivateKey.from("other-private-key".getBytes());
+    final PrivateKey recipientPrivateKey = PrivateKey.from("private-key".getBytes());
+    when(keyManager.getPrivateKeyForPublicKey(otherKey)).thenReturn(otherPrivateKey);
+    when(keyManager.getPrivateKeyForPublicKey(recipientKey)).thenReturn(recipientPrivateKey);
+
+    final SharedKey otherSharedKey = SharedKey.from("other-shared-key".getBytes());
+    final SharedKey sharedKey = SharedKey.from("shared-key".getBytes());
+    when(nacl.computeSharedKey(senderKey, otherPrivateKey)).thenReturn(otherSharedKey);
+    when(nacl.computeSharedKey(senderKey, recipientPrivateKey)).thenReturn(sharedKey);
+
+    when(nacl.openAfterPrecomputation(recipientBox.getData(), recipientNonce, otherSharedKey))
+        .thenThrow(new EncryptorException("wrong key"));
+    when(nacl.openAfterPrecomputation(recipientBox.getData(), recipientNonce, sharedKey))
+        .thenReturn("sharedOrMasterKeyBytes".getBytes());
+
+    final Optional<PublicKey> result = enclave.findRecipientKey(payload);
+
+    assertThat(result).contains(recipientKey);
+
+    verify(keyManager).getPublicKeys();
+    verify(keyManager).getPrivateKeyForPublicKey(otherKey);
+    verify(keyManager).getPrivateKeyForPublicKey(recipientKey);
+    verify(nacl).computeSharedKey(senderKey, otherPrivateKey);
+    verify(nacl).computeSharedKey(senderKey, recipientPrivateKey);
+    verify(nacl).openAfterPrecomputation(recipientBox.getData(), recipientNonce, otherSharedKey);
+    verify(nacl).openAfterPrecomputation(recipientBox.getData(), recipientNonce, sharedKey);
+  }
+
+  @Test
+  public void findRecipientKeyWhenNoKeyOpensRecipientBox() {
+    final PublicKey senderKey = PublicKey.from("senderKey".getBytes());
+    final PublicKey otherKey = PublicKey.from("otherKey".getBytes());
+    final RecipientBox recipientBox = RecipientBox.from("RecipientBox".getBytes());
+    final Nonce recipientNonce = mock(Nonce.class);
+
+    final EncodedPayload payload =
+        EncodedPayload.Builder.create()
+            .withSenderKey(senderKey)
+            .withRecipientBox(recipientBox.getData())
+            .withRecipientNonce(recipientNonce)
+            .withPrivacyMode(PrivacyMode.STANDARD_PRIVATE)
+            .build();
+
+    when(keyManager.getPublicKeys()).thenReturn(Set.of(otherKey));
+
+    final PrivateKey otherPrivateKey = PrivateKey.from("other-private-key".getBytes());
+    when(keyManager.getPrivateKeyForPublicKey(otherKey)).thenReturn(otherPrivateKey);
+
+    final SharedKey otherSharedKey = SharedKey.from("other-shared-key".getBytes());
+    when(nacl.computeSharedKey(senderKey, otherPrivateKey)).thenReturn(otherSharedKey);
+
+    when(nacl.openAfterPrecomputation(recipientBox.getData(), recipientNonce, otherSharedKey))
+        .thenThrow(new EncryptorException("wrong key"));
+
+    assertThat(enclave.findRecipientKey(payload)).isEmpty();
+
+    verify(keyManager).getPublicKeys();
+    verify(keyManager).getPrivateKeyForPublicKey(otherKey);
+    verify(nacl).computeSharedKey(senderKey, otherPrivateKey);
+    verify(nacl).openAfterPrecomputation(recipientBox.getData(), recipientNonce, otherSharedKey);
+  }
+
   // Case 3 - decrypt using the recipient key
   @Test
   public void unencryptTransactionWeSentUsingRecipientKey() {
@@ -553,6 +638,39 @@ public class EnclaveTest {
     verify(nacl).computeSharedKey(senderKey, senderPrivateKey);
   }
 
+  @Test
+  public void unencryptRawPayloadTwiceUsesCachedSharedKey() {
+
+    final Enclave cachingEnclave = new EnclaveImpl(nacl, keyManager, new SharedKeyCache(10, 1000L));
+
+    PublicKey senderKey = mock(PublicKey.class);
+    Nonce nonce = mock(Nonce.class);
+    RawTransaction rawTransaction =
+        new RawTransaction("cipherText".getBytes(), "RecipientBox".getBytes(), nonce, senderKey);
+
+    PrivateKey senderPrivateKey = mock(PrivateKey.class);
+    when(keyManager.getPrivateKeyForPublicKey(senderKey)).thenReturn(senderPrivateKey);
+
+    SharedKey sharedKey = mock(SharedKey.class);
+    when(nacl.computeSharedKey(senderKey, senderPrivateKey)).thenReturn(sharedKey);
+
+    byte[] expectedOutcome = "SUCCESS".getBytes();
+    when(nacl.openAfterPrecomputation(any(byte[].class), any(Nonce.class), any(SharedKey.class)))
+        .thenReturn("sharedOrMasterKeyBytes".getBytes());
+    when(nacl.openAfterPrecomputation(any(byte[].class), any(Nonce.class), any(MasterKey.class)))
+        .thenReturn(expectedOutcome);
+
+    assertThat(cachingEnclave.unencryptRawPayload(rawTransaction)).isSameAs(expectedOutcome);
+    assertThat(cachingEnclave.unencryptRawPayload(rawTransaction)).isSameAs(expectedOutcome);
+
+    verify(nacl, times(2))
+        .openAfterPrecomputation(any(byte[].class), any(Nonce.class), eq(sharedKey));
+    verify(nacl, times(2))
+        .openAfterPrecomputation(any(byte[].class), any(Nonce.class), any(MasterKey.class));
+    verify(keyManager, times(2)).getPrivateKeyForPublicKey(senderKey);
+    verify(nacl).computeSharedKey(senderKey, senderPrivateKey);
+  }
+
   @Test
   public void encryptPayload() {
 
@@ -606,6 +724,86 @@ public class EnclaveTest {
     verify(keyManager).getPrivateKeyForPublicKey(senderPublicKey);
   }
 
+  @Test
+  public void encryptPayloadWithParallelSealingKeepsRecipientOrder() {
+
+    final ExecutorService executorService = Executors.newFixedThreadPool(2);
+    final Enclave parallelEnclave =
+        new EnclaveImpl(
+            nacl,
+            keyManager,
+            SharedKeyCache.disabled(),
+            new RecipientBoxSealer(executorService));
+
+    byte[] message = "MESSAGE".getBytes();
+
+    PublicKey senderPublicKey = mock(PublicKey.class);
+    PublicKey firstRecipient = mock(PublicKey.class);
+    PublicKey secondRecipient = mock(PublicKey.class);
+    PublicKey thirdRecipient = mock(PublicKey.class);
+
+    byte[] masterKeyBytes = "masterKeyBytes".getBytes();
+    MasterKey masterKey = MasterKey.from(masterKeyBytes);
+    Nonce cipherNonce = mock(Nonce.class);
+    Nonce recipientNonce = mock(Nonce.class);
+
+    when(nacl.createMasterKey()).thenReturn(masterKey);
+    when(nacl.randomNonce()).thenReturn(cipherNonce, recipientNonce);
+    when(nacl.sealAfterPrecomputation(message, cipherNonce, masterKey))
+        .thenReturn("cipherText".getBytes());
+
+    PrivateKey senderPrivateKey = mock(PrivateKey.class);
+    when(keyManager.getPrivateKeyForPublicKey(senderPublicKey)).thenReturn(senderPrivateKey);
+
+    SharedKey firstSharedKey = mock(SharedKey.class);
+    SharedKey secondSharedKey = mock(SharedKey.class);
+    SharedKey thirdSharedKey = mock(SharedKey.class);
+    when(nacl.computeSharedKey(firstRecipient, senderPrivateKey)).thenReturn(firstSharedKey);
+    when(nacl.computeSharedKey(secondRecipient, senderPrivateKey)).thenReturn(secondSharedKey);
+    when(nacl.computeSharedKey(thirdRecipient, senderPrivateKey)).thenReturn(thirdSharedKey);
+
+    when(nacl.sealAfterPrecomputation(masterKeyBytes, recipientNonce, firstSharedKey))
+        .thenReturn("first".getBytes());
+    when(nacl.sealAfterPrecomputation(masterKeyBytes, recipientNonce, secondSharedKey))
+        .thenReturn("second".getBytes());
+    when(nacl.sealAfterPrecomputation(masterKeyBytes, recipientNonce, thirdSharedKey))
+        .thenReturn("third".getBytes());
+
+    final PrivacyMetadata metaData =
+        PrivacyMetadata.Builder.create().withPrivacyMode(PrivacyMode.STANDARD_PRIVATE).build();
+
+    EncodedPayload result;
+    try {
+      result =
+          parallelEnclave.encryptPayload(
+              message,
+              senderPublicKey,
+              List.of(firstRecipient, secondRecipient, thirdRecipient),
+              metaData);
+    } finally {
+      executorService.shutdownNow();
+    }
+
+    assertThat(result.getRecipientKeys())
+        .containsExactly(firstRecipient, secondRecipient, thirdRecipient);
+    assertThat(result.getRecipientBoxes())
+        .containsExactly(
+            RecipientBox.from("first".getBytes()),
+            RecipientBox.from("second".getBytes()),
+            RecipientBox.from("third".getBytes()));
+
+    verify(nacl).createMasterKey();
+    verify(nacl, times(2)).randomNonce();
+    verify(nacl).sealAfterPrecomputation(message, cipherNonce, masterKey);
+    verify(nacl).sealAfterPrecomputation(masterKeyBytes, recipientNonce, firstSharedKey);
+    verify(nacl).sealAfterPrecomputation(masterKeyBytes, recipientNonce, secondSharedKey);
+    verify(nacl).sealAfterPrecomputation(masterKeyBytes, recipientNonce, thirdSharedKey);
+    verify(nacl).computeSharedKey(firstRecipient, senderPrivateKey);
+    verify(nacl).computeSharedKey(secondRecipient, senderPrivateKey);
+    verify(nacl).computeSharedKey(thirdRecipient, senderPrivateKey);
+    verify(keyManager).getPrivateKeyForPublicKey(senderPublicKey);
+  }
+
   @Test
   public void encryptPayloadWithAffectedTransactions() {
 
@@ -1115,6 +1313,52 @@ public class EnclaveTest {
     verify(keyManager, times(2)).getPrivateKeyForPublicKey(senderKey);
   }
 
+  @Test
+  public void createNewRecipientBoxesOpensMasterKeyOnce() {
+
+    final PublicKey recipientKey = PublicKey.from("recipient".getBytes());
+    final PublicKey senderKey = PublicKey.from("sender".getBytes());
+    final PublicKey firstNewKey = PublicKey.from("first".getBytes());
+    final PublicKey secondNewKey = PublicKey.from("second".getBytes());
+    final PrivateKey privateKey = PrivateKey.from("sender-priv".getBytes());
+    final SharedKey recipientSenderShared = SharedKey.from("shared-one".getBytes());
+    final SharedKey firstShared = SharedKey.from("shared-two".getBytes());
+    final SharedKey secondShared = SharedKey.from("shared-three".getBytes());
+    final RecipientBox closedbox = RecipientBox.from("closed".getBytes());
+    final byte[] openbox = "open".getBytes();
+    final Nonce nonce = new Nonce("nonce".getBytes());
+
+    EncodedPayload payload = mock(EncodedPayload.class);
+    when(payload.getSenderKey()).thenReturn(senderKey);
+    when(payload.getRecipientBoxes()).thenReturn(singletonList(closedbox));
+    when(payload.getRecipientNonce()).thenReturn(nonce);
+    when(payload.getRecipientKeys()).thenReturn(singletonList(recipientKey));
+
+    when(nacl.computeSharedKey(recipientKey, privateKey)).thenReturn(recipientSenderShared);
+    when(nacl.computeSharedKey(firstNewKey, privateKey)).thenReturn(firstShared);
+    when(nacl.computeSharedKey(secondNewKey, privateKey)).thenReturn(secondShared);
+    when(nacl.openAfterPrecomputation(closedbox.getData(), nonce, recipientSenderShared))
+        .thenReturn(openbox);
+    when(nacl.sealAfterPrecomputation(openbox, nonce, firstShared))
+        .thenReturn("firstbox".getBytes());
+    when(nacl.sealAfterPrecomputation(openbox, nonce, secondShared))
+        .thenReturn("secondbox".getBytes());
+    when(keyManager.getPrivateKeyForPublicKey(senderKey)).thenReturn(privateKey);
+
+    final List<byte[]> newRecipientBoxes =
+        enclave.createNewRecipientBoxes(payload, List.of(firstNewKey, secondNewKey));
+
+    assertThat(newRecipientBoxes).containsExactly("firstbox".getBytes(), "secondbox".getBytes());
+
+    verify(nacl).computeSharedKey(recipientKey, privateKey);
+    verify(nacl).computeSharedKey(firstNewKey, privateKey);
+    verify(nacl).computeSharedKey(secondNewKey, privateKey);
+    verify(nacl).openAfterPrecomputation(closedbox.getData(), nonce, recipientSenderShared);
+    verify(nacl).sealAfterPrecomputation(openbox, nonce, firstShared);
+    verify(nacl).sealAfterPrecomputation(openbox, nonce, secondShared);
+    verify(keyManager, times(2)).getPrivateKeyForPublicKey(senderKey);
+  }
+
   @Test
   public void findInvalidSecurityHashesTransactionSentToCurrentNode() {
 
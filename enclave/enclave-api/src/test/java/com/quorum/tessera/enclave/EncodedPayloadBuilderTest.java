@@ -364,4 +364,113 @@ public class EncodedPayloadBuilderTest {
 
     EncodedPayload.Builder.forRecipient(original, recipientKey);
   }
+
+  @Test
+  public void encodeForSpecificRecipientsNoPsv() {
+
+    final PublicKey key1 = PublicKey.from("key1".getBytes());
+    final PublicKey key2 = PublicKey.from("key2".getBytes());
+    final PublicKey key3 = PublicKey.from("key3".getBytes());
+
+    final byte[] box1 = "box1".getBytes();
+    final byte[] box2 = "box2".getBytes();
+    final byte[] box3 = "box3".getBytes();
+
+    final EncodedPayload original =
+        EncodedPayload.Builder.create()
+            .withSenderKey(senderKey)
+            .withCipherText(cipherText)
+            .withCipherTextNonce(cipherTextNonce)
+            .withRecipientBoxes(List.of(box1, box2, box3))
+            .withRecipientNonce(recipientNonce)
+            .withRecipientKeys(List.of(key1, key2, key3))
+            .build();
+
+    final EncodedPayload result =
+        EncodedPayload.Builder.forRecipients(original, List.of(key3, key1)).build();
+
+    assertThat(result.getCipherText()).isEqualTo(original.getCipherText());
+    assertThat(result.getSenderKey()).isEqualTo(original.getSenderKey());
+    assertThat(result.getRecipientNonce()).isEqualTo(original.getRecipientNonce());
+    assertThat(result.getCipherTextNonce()).isEqualTo(original.getCipherTextNonce());
+    assertThat(result.getRecipientKeys()).containsExactly(key3, key1);
+    assertThat(result.getRecipientBoxes())
+        .containsExactly(RecipientBox.from(box3), RecipientBox.from(box1));
+
+    final EncodedPayload split = EncodedPayload.Builder.forRecipient(result, key1).build();
+    final EncodedPayload stripped = EncodedPayload.Builder.forRecipient(original, key1).build();
+    assertThat(split.getRecipientKeys()).isEqualTo(stripped.getRecipientKeys());
+    assertThat(split.getRecipientBoxes()).isEqualTo(stripped.getRecipientBoxes());
+  }
+
+  @Test
+  public void encodeForSpecificRecipientsWithPsv() {
+
+    final PublicKey key1 = PublicKey.from("key1".getBytes());
+    final PublicKey key2 = PublicKey.from("key2".getBytes());
+    final PublicKey key3 = PublicKey.from("key3".getBytes());
+    final PublicKey key4 = PublicKey.from("key4".getBytes());
+    final PublicKey key5 = PublicKey.from("key5".getBytes());
+
+    final EncodedPayload original =
+        EncodedPayload.Builder.create()
+            .withSenderKey(senderKey)
+            .withCipherText(cipherText)
+            .withCipherTextNonce(cipherTextNonce)
+            .withRecipientBoxes(
+                List.of(
+                    "box1".getBytes(),
+                    "box2".getBytes(),
+                    "box3".getBytes(),
+                    "box4".getBytes(),
+                    "box5".getBytes()))
+            .withRecipientNonce(recipientNonce)
+            .withRecipientKeys(List.of(key1, key2, key3, key4, key5))
+            .withPrivacyMode(PrivacyMode.PRIVATE_STATE_VALIDATION)
+            .withExecHash("execHash".getBytes())
+            .build();
+
+    final EncodedPayload result =
+        EncodedPayload.Builder.forRecipients(original, List.of(key4, key2)).build();
+
+    assertThat(result.getRecipientKeys()).containsExactly(key1, key2, key3, key4, key5);
+    assertThat(result.getRecipientBoxes())
+        .containsExactly(
+            RecipientBox.from(new byte[0]),
+            RecipientBox.from("box2".getBytes()),
+            RecipientBox.from(new byte[0]),
+            RecipientBox.from("box4".getBytes()),
+            RecipientBox.from(new byte[0]));
+    assertThat(result.getPrivacyMode()).isEqualTo(PrivacyMode.PRIVATE_STATE_VALIDATION);
+
+    for (final PublicKey recipient : List.of(key4, key2)) {
+      final EncodedPayload split = EncodedPayload.Builder.forRecipient(result, recipient).build();
+      final EncodedPayload stripped =
+          EncodedPayload.Builder.forRecipient(original, recipient).build();
+      assertThat(split.getRecipientKeys()).isEqualTo(stripped.getRecipientKeys());
+      assertThat(split.getRecipientBoxes()).isEqualTo(stripped.getRecipientBoxes());
+    }
+
+    final EncodedPayload split = EncodedPayload.Builder.forRecipient(result, key4).build();
+    assertThat(split.getRecipientKeys()).containsExactly(key4, key1, key2, key3, key5);
+    assertThat(split.getRecipientBoxes()).containsExactly(RecipientBox.from("box4".getBytes()));
+  }
+
+
+  @Test(expected = InvalidRecipientException.class)
+  public void encodeForSpecificRecipientsNotContainedInPayload() {
+
+    final EncodedPayload original =
+        EncodedPayload.Builder.create()
+            .withSenderKey(senderKey)
+            .withCipherText(cipherText)
+            .withCipherTextNonce(cipherTextNonce)
+            .withRecipientBox(recipientBox)
+            .withRecipientNonce(recipientNonce)
+            .withRecipientKey(recipientKey)
+            .build();
+
+    EncodedPayload.Builder.forRecipients(
+        original, List.of(recipientKey, PublicKey.from("other".getBytes())));
+  }
 }
@@ -1,10 +1,14 @@
 package com.quorum.tessera.enclave;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
 import static org.mockito.Mockito.*;
 
+import com.quorum.tessera.config.ArgonOptions;
 import com.quorum.tessera.config.Config;
+import com.quorum.tessera.config.KeyDataConfig;
 import com.quorum.tessera.config.KeyVaultType;
+import com.quorum.tessera.config.PrivateKeyType;
 import com.quorum.tessera.config.keypairs.*;
 import com.quorum.tessera.config.util.EnvironmentVariableProvider;
 import com.quorum.tessera.encryption.KeyPair;
@@ -13,6 +17,9 @@ import com.quorum.tessera.encryption.PublicKey;
 import com.quorum.tessera.key.vault.KeyVaultService;
 import com.quorum.tessera.key.vault.KeyVaultServiceFactory;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import org.junit.Before;
 import org.junit.Test;
 
@@ -241,6 +248,209 @@ public class KeyPairConverterTest {
     assertThat(resultB).isEqualToComparingFieldByField(expectedB);
   }
 
+  @Test
+  public void convertManyKeyPairsConcurrentlyKeepsOrder() {
+    final KeyPairConverter concurrentConverter = new KeyPairConverter(config, envProvider, 4);
+
+    final List<String> publicKeys =
+        IntStream.range(0, 20)
+            .mapToObj(i -> Base64.getEncoder().encodeToString(("public" + i).getBytes()))
+            .collect(Collectors.toList());
+
+    final List<ConfigKeyPair> keyPairs =
+        publicKeys.stream()
+            .map(k -> new DirectKeyPair(k, "private"))
+            .collect(Collectors.toList());
+
+    final Collection<KeyPair> result = concurrentConverter.convert(keyPairs);
+
+    assertThat(result)
+        .extracting(KeyPair::getPublicKey)
+        .containsExactlyElementsOf(
+            publicKeys.stream()
+                .map(k -> PublicKey.from(decodeBase64(k)))
+                .collect(Collectors.toList()));
+  }
+
+  @Test
+  public void lockedKeysLargerThanMemoryBudgetAreStillUnlocked() {
+    final KeyPairConverter concurrentConverter = new KeyPairConverter(config, envProvider, 4, 10);
+
+    final List<ConfigKeyPair> keyPairs =
+        IntStream.range(0, 6).mapToObj(i -> lockedKeyPair(1024)).collect(Collectors.toList());
+
+    final Collection<KeyPair> result = concurrentConverter.convert(keyPairs);
+
+    assertThat(result).hasSize(6);
+    keyPairs.forEach(k -> verify(k).getPrivateKey());
+  }
+
+  @Test
+  public void failureToConvertConcurrentlyIsRethrown() {
+    final KeyPairConverter concurrentConverter = new KeyPairConverter(config, envProvider, 2);
+
+    final ConfigKeyPair failing = mock(ConfigKeyPair.class);
+    when(failing.getPublicKey()).thenReturn("public");
+    when(failing.getPrivateKey()).thenThrow(new IllegalStateException("Cannot unlock"));
+
+    final Throwable throwable =
+        catchThrowable(
+            () ->
+                concurrentConverter.convert(
+                    List.of(new DirectKeyPair("public", "private"), failing)));
+
+    assertThat(throwable)
+        .isExactlyInstanceOf(IllegalStateException.class)
+        .hasMessage("Cannot unlock");
+  }
+
+  @Test
+  public void argonMemoryIsOnlyCountedForLockedKeys() {
+    assertThat(KeyPairConverter.argonMemoryOf(lockedKeyPair(2048))).isEqualTo(2048L);
+    assertThat(KeyPairConverter.argonMemoryOf(new DirectKeyPair("public", "private"))).isZero();
+
+    final KeyDataConfig unlockedConfig = mock(KeyDataConfig.class);
+    when(unlockedConfig.getType()).thenReturn(PrivateKeyType.UNLOCKED);
+    final InlineKeypair unlocked = mock(InlineKeypair.class);
+    when(unlocked.getPrivateKeyConfig()).thenReturn(unlockedConfig);
+    assertThat(KeyPairConverter.argonMemoryOf(unlocked)).isZero();
+
+    final FilesystemKeyPair unreadable = mock(FilesystemKeyPair.class);
+    assertThat(KeyPairConverter.argonMemoryOf(unreadable)).isZero();
+  }
+
+  @Test
+  public void vaultServiceIsCreatedOncePerVaultType() {
+
+    try (var staticKeyVaultServiceFactory = mockStatic(KeyVaultServiceFactory.class)) {
+      KeyVaultServiceFactory keyVaultServiceFactory = mock(KeyVaultServiceFactory.class);
+      KeyVaultService keyVaultService = mock(KeyVaultService.class);
+      when(keyVaultService.getSecret(any(Map.class))).thenReturn("publicSecret");
+
+      when(keyVaultServiceFactory.create(any(Config.class), any(EnvironmentVariableProvider.class)))
+          .thenReturn(keyVaultService);
+
+      staticKeyVaultServiceFactory
+          .when(() -> KeyVaultServiceFactory.getInstance(KeyVaultType.AWS))
+          .thenReturn(keyVaultServiceFactory);
+
+      // static mocks only apply to the calling thread, so convert sequentially
+      final KeyPairConverter sequentialConverter = new KeyPairConverter(config, envProvider, 1);
+
+      Collection<KeyPair> result =
+          sequentialConverter.convert(
+              List.of(new AWSKeyPair("pub1", "priv1"), new AWSKeyPair("pub2", "priv2")));
+
+      assertThat(result).hasSize(2);
+      verify(keyVaultService, times(4)).getSecret(any(Map.class));
+      verify(keyVaultServiceFactory)
+          .create(any(Config.class), any(EnvironmentVariableProvider.class));
+      staticKeyVaultServiceFactory.verify(
+          () -> KeyVaultServiceFactory.getInstance(KeyVaultType.AWS));
+
+      staticKeyVaultServiceFactory.verifyNoMoreInteractions();
+      verifyNoMoreInteractions(keyVaultService);
+      verifyNoMoreInteractions(keyVaultServiceFactory);
+    }
+  }
+
+  @Test
+  public void parallelismFromProperties() {
+    final int defaultParallelism = Runtime.getRuntime().availableProcessors();
+
+    assertThat(KeyPairConverter.parallelismFrom(null)).isEqualTo(defaultParallelism);
+    assertThat(KeyPairConverter.parallelismFrom(Map.of())).isEqualTo(defaultParallelism);
+    assertThat(
+            KeyPairConverter.parallelismFrom(
+                Map.of(KeyPairConverter.PARALLELISM_PROPERTY, "bogus")))
+        .isEqualTo(defaultParallelism);
+    assertThat(
+            KeyPairConverter.parallelismFrom(Map.of(KeyPairConverter.PARALLELISM_PROPERTY, "3")))
+        .isEqualTo(3);
+  }
+
+  @Test
+  public void argonMemoryBudgetFromProperties() {
+    final long defaultBudget = KeyPairConverter.DEFAULT_ARGON_MEMORY_BUDGET;
+
+    assertThat(KeyPairConverter.argonMemoryBudgetFrom(null)).isEqualTo(defaultBudget);
+    assertThat(KeyPairConverter.argonMemoryBudgetFrom(Map.of())).isEqualTo(defaultBudget);
+    assertThat(
+            KeyPairConverter.argonMemoryBudgetFrom(
+                Map.of(KeyPairConverter.ARGON_MEMORY_BUDGET_PROPERTY, "bogus")))
+        .isEqualTo(defaultBudget);
+    assertThat(
+            KeyPairConverter.argonMemoryBudgetFrom(
+                Map.of(KeyPairConverter.ARGON_MEMORY_BUDGET_PROPERTY, "-1")))
+        .isEqualTo(defaultBudget);
+    assertThat(
+            KeyPairConverter.argonMemoryBudgetFrom(
+                Map.of(KeyPairConverter.ARGON_MEMORY_BUDGET_PROPERTY, "1048576")))
+        .isEqualTo(1048576L);
+  }
+
+  @Test
+  public void argonMemoryBudgetDefaultsToUnlockingLargestKeyTwiceAtOnce() {
+    final List<ConfigKeyPair> keyPairs =
+        List.of(lockedKeyPair(1024), lockedKeyPair(4096), new DirectKeyPair("public", "private"));
+
+    assertThat(
+            KeyPairConverter.argonMemoryBudgetFor(
+                keyPairs, KeyPairConverter.DEFAULT_ARGON_MEMORY_BUDGET))
+        .isEqualTo(KeyPairConverter.DEFAULT_ARGON_CONCURRENCY * 4096);
+    assertThat(KeyPairConverter.argonMemoryBudgetFor(keyPairs, 3000)).isEqualTo(3000);
+    assertThat(
+            KeyPairConverter.argonMemoryBudgetFor(
+                List.of(new DirectKeyPair("public", "private")),
+                KeyPairConverter.DEFAULT_ARGON_MEMORY_BUDGET))
+        .isEqualTo(1);
+    assertThat(KeyPairConverter.argonMemoryBudgetFor(keyPairs, Long.MAX_VALUE))
+        .isEqualTo(Integer.MAX_VALUE);
+  }
+
+  @Test
+  public void defaultArgonMemoryBudgetLimitsConcurrentUnlocks() {
+    final KeyPairConverter concurrentConverter = new KeyPairConverter(config, envProvider, 4);
+
+    final AtomicInteger unlocking = new AtomicInteger();
+    final AtomicInteger mostUnlockingAtOnce = new AtomicInteger();
+    final List<ConfigKeyPair> keyPairs =
+        IntStream.range(0, 6)
+            .mapToObj(
+                i -> {
+                  final InlineKeypair keyPair = lockedKeyPair(1024);
+                  when(keyPair.getPrivateKey())
+                      .then(
+                          invocation -> {
+                            mostUnlockingAtOnce.accumulateAndGet(
+                                unlocking.incrementAndGet(), Math::max);
+                            Thread.sleep(50);
+                            unlocking.decrementAndGet();
+                            return "private";
+                          });
+                  return keyPair;
+                })
+            .collect(Collectors.toList());
+
+    final Collection<KeyPair> result = concurrentConverter.convert(keyPairs);
+
+    assertThat(result).hasSize(6);
+    assertThat(mostUnlockingAtOnce.get())
+        .isBetween(1, KeyPairConverter.DEFAULT_ARGON_CONCURRENCY);
+  }
+
+  private static InlineKeypair lockedKeyPair(int argonMemory) {
+    final KeyDataConfig keyDataConfig = mock(KeyDataConfig.class);
+    when(keyDataConfig.getType()).thenReturn(PrivateKeyType.LOCKED);
+    when(keyDataConfig.getArgonOptions()).thenReturn(new ArgonOptions("i", 10, argonMemory, 4));
+
+    final InlineKeypair keyPair = mock(InlineKeypair.class);
+    when(keyPair.getPrivateKeyConfig()).thenReturn(keyDataConfig);
+    when(keyPair.getPublicKey()).thenReturn("public");
+    when(keyPair.getPrivateKey()).thenReturn("private");
+    return keyPair;
+  }
+
   @Test
   public void convertKeyPairWithNewlineOrSpace() {
     final DirectKeyPair keyPair =
@@ -0,0 +1,47 @@
+package com.quorum.tessera.enclave;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class PayloadEncoderRegistryTest {
+
+  @Before
+  @After
+  public void onSetUpAndTearDown() {
+    PayloadEncoderRegistry.INSTANCE.reset();
+  }
+
+  @Test
+  public void getReturnsSameInstanceForCodec() {
+    PayloadEncoder legacy = PayloadEncoderRegistry.INSTANCE.get(EncodedPayloadCodec.LEGACY);
+    PayloadEncoder cbor = PayloadEncoderRegistry.INSTANCE.get(EncodedPayloadCodec.CBOR);
+
+    assertThat(legacy).isExactlyInstanceOf(PayloadEncoderImpl.class);
+    assertThat(cbor).isExactlyInstanceOf(CBOREncoder.class);
+
+    assertThat(PayloadEncoderRegistry.INSTANCE.get(EncodedPayloadCodec.LEGACY)).isSameAs(legacy);
+    assertThat(PayloadEncoderRegistry.INSTANCE.get(EncodedPayloadCodec.CBOR)).isSameAs(cbor);
+  }
+
+  @Test
+  public void resetDiscardsResolvedEncoders() {
+    PayloadEncoder cbor = PayloadEncoderRegistry.INSTANCE.get(EncodedPayloadCodec.CBOR);
+
+    PayloadEncoderRegistry.INSTANCE.reset();
+
+    assertThat(PayloadEncoderRegistry.INSTANCE.get(EncodedPayloadCodec.CBOR))
+        .isNotSameAs(cbor)
+        .isExactlyInstanceOf(CBOREncoder.class);
+  }
+
+  @Test
+  public void nullCodecIsRejected() {
+    Throwable ex = catchThrowable(() -> PayloadEncoderRegistry.INSTANCE.get(null));
+
+    assertThat(ex).isExactlyInstanceOf(NullPointerException.class).hasMessage("Codec is required");
+  }
+}
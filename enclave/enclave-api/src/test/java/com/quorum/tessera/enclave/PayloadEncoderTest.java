@@ -2,6 +2,7 @@ package com.quorum.tessera.enclave;
 
 import static java.util.Collections.*;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
 import static org.assertj.core.api.Assertions.failBecauseExceptionWasNotThrown;
 import static org.mockito.Mockito.*;
 
@@ -9,8 +10,15 @@ import com.quorum.tessera.enclave.encoder.LegacyEncodedPayload;
 import com.quorum.tessera.enclave.encoder.LegacyPayloadEncoder;
 import com.quorum.tessera.encryption.Nonce;
 import com.quorum.tessera.encryption.PublicKey;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.util.*;
 import java.util.stream.Stream;
+import org.junit.After;
+import org.junit.Before;
 import org.junit.Test;
 import org.mockito.Mockito;
 
@@ -20,6 +28,12 @@ public class PayloadEncoderTest {
 
   private final LegacyPayloadEncoder legacyPayloadEncoder = new LegacyPayloadEncoder();
 
+  @Before
+  @After
+  public void resetRegistry() {
+    PayloadEncoderRegistry.INSTANCE.reset();
+  }
+
   // This tests a payload that has no data for the recipient list
   // NOT the case where the list is present but empty
   @Test
@@ -2295,4 +2309,68 @@ public class PayloadEncoderTest {
 
     verifyNoMoreInteractions(payloadEncoder, payloadEncoderProvider);
   }
+
+  @Test
+  public void createResolvesEachCodecOnce() {
+
+    ServiceLoader<PayloadEncoder> serviceLoader = mock(ServiceLoader.class);
+    PayloadEncoder payloadEncoder = mock(PayloadEncoder.class);
+    when(payloadEncoder.encodedPayloadCodec()).thenReturn(EncodedPayloadCodec.CBOR);
+
+    ServiceLoader.Provider<PayloadEncoder> payloadEncoderProvider =
+        mock(ServiceLoader.Provider.class);
+    when(payloadEncoderProvider.get()).thenReturn(payloadEncoder);
+
+    when(serviceLoader.stream()).thenReturn(Stream.of(payloadEncoderProvider));
+
+    try (var serviceLoaderMockedStatic = Mockito.mockStatic(ServiceLoader.class)) {
+      serviceLoaderMockedStatic
+          .when(() -> ServiceLoader.load(PayloadEncoder.class))
+          .thenReturn(serviceLoader);
+
+      PayloadEncoder first = PayloadEncoder.create(EncodedPayloadCodec.CBOR);
+      PayloadEncoder second = PayloadEncoder.create(EncodedPayloadCodec.CBOR);
+
+      assertThat(first).isSameAs(payloadEncoder).isSameAs(second);
+
+      serviceLoaderMockedStatic.verify(() -> ServiceLoader.load(PayloadEncoder.class));
+      serviceLoaderMockedStatic.verifyNoMoreInteractions();
+    }
+
+    verify(payloadEncoder).encodedPayloadCodec();
+    verify(payloadEncoderProvider).get();
+
+    verifyNoMoreInteractions(payloadEncoder, payloadEncoderProvider);
+  }
+
+  @Test
+  public void streamedEncodeDecodeUsesByteEncoding() {
+    final EncodedPayload originalPayload =
+        EncodedPayload.Builder.create()
+            .withSenderKey(PublicKey.from("sender".getBytes()))
+            .withCipherText("cipherText".getBytes())
+            .withCipherTextNonce(new Nonce("nonce".getBytes()))
+            .withRecipientBoxes(singletonList("box".getBytes()))
+            .withRecipientNonce(new Nonce("recipientNonce".getBytes()))
+            .withRecipientKeys(singletonList(PublicKey.from("recipient".getBytes())))
+            .build();
+    final ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+    payloadEncoder.encode(originalPayload, output);
+
+    assertThat(output.toByteArray()).isEqualTo(payloadEncoder.encode(originalPayload));
+    assertThat(payloadEncoder.decode(new ByteArrayInputStream(output.toByteArray())))
+        .isEqualTo(originalPayload);
+  }
+
+  @Test
+  public void streamedDecodeReadFailure() throws Exception {
+    final InputStream input = mock(InputStream.class);
+    final IOException readFailure = new IOException("Connection reset");
+    when(input.readAllBytes()).thenThrow(readFailure);
+
+    final Throwable throwable = catchThrowable(() -> payloadEncoder.decode(input));
+
+    assertThat(throwable).isInstanceOf(UncheckedIOException.class).hasCause(readFailure);
+  }
 }
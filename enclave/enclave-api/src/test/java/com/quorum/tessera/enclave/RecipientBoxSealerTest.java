@@ -0,0 +1,143 @@
+package com.quorum.tessera.enclave;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+import com.quorum.tessera.encryption.EncryptorException;
+import com.quorum.tessera.encryption.PublicKey;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class RecipientBoxSealerTest {
+
+  private ExecutorService executorService;
+
+  private final Function<PublicKey, byte[]> sealer = PublicKey::getKeyBytes;
+
+  @Before
+  public void beforeTest() {
+    executorService = Executors.newFixedThreadPool(4);
+  }
+
+  @After
+  public void afterTest() {
+    executorService.shutdownNow();
+  }
+
+  @Test
+  public void sequentialSealingKeepsOrder() {
+    final RecipientBoxSealer recipientBoxSealer = RecipientBoxSealer.sequential();
+    final List<PublicKey> keys = keys(20);
+
+    final List<byte[]> result = recipientBoxSealer.seal(keys, sealer);
+
+    assertThat(recipientBoxSealer.isParallel()).isFalse();
+    assertThat(result)
+        .containsExactlyElementsOf(
+            keys.stream().map(PublicKey::getKeyBytes).collect(Collectors.toList()));
+  }
+
+  @Test
+  public void parallelSealingKeepsOrder() {
+    final RecipientBoxSealer recipientBoxSealer = new RecipientBoxSealer(executorService);
+    final List<PublicKey> keys = keys(200);
+
+    final List<byte[]> result = recipientBoxSealer.seal(keys, sealer);
+
+    assertThat(recipientBoxSealer.isParallel()).isTrue();
+    assertThat(result)
+        .containsExactlyElementsOf(
+            keys.stream().map(PublicKey::getKeyBytes).collect(Collectors.toList()));
+  }
+
+  @Test
+  public void parallelSealingOfSingleRecipientRunsOnCallingThread() {
+    final RecipientBoxSealer recipientBoxSealer = new RecipientBoxSealer(executorService);
+    final Thread caller = Thread.currentThread();
+
+    final List<byte[]> result =
+        recipientBoxSealer.seal(
+            keys(1),
+            k -> {
+              assertThat(Thread.currentThread()).isSameAs(caller);
+              return k.getKeyBytes();
+            });
+
+    assertThat(result).hasSize(1);
+  }
+
+  @Test
+  public void parallelSealingRethrowsRuntimeExceptions() {
+    final RecipientBoxSealer recipientBoxSealer = new RecipientBoxSealer(executorService);
+    final EncryptorException cause = new EncryptorException("BANG");
+
+    final Throwable ex =
+        catchThrowable(
+            () ->
+                recipientBoxSealer.seal(
+                    keys(5),
+                    k -> {
+                      throw cause;
+                    }));
+
+    assertThat(ex).isSameAs(cause);
+  }
+
+  @Test
+  public void parallelSealingWrapsErrors() {
+    final RecipientBoxSealer recipientBoxSealer = new RecipientBoxSealer(executorService);
+    final Error cause = new AssertionError("BANG");
+
+    final Throwable ex =
+        catchThrowable(
+            () ->
+                recipientBoxSealer.seal(
+                    keys(5),
+                    k -> {
+                      throw cause;
+                    }));
+
+    assertThat(ex).isExactlyInstanceOf(CompletionException.class).hasCause(cause);
+  }
+
+  @Test
+  public void createFromProperties() {
+    final RecipientBoxSealer recipientBoxSealer =
+        RecipientBoxSealer.from(Map.of("recipientSealingParallelism", "4"));
+
+    assertThat(recipientBoxSealer.isParallel()).isTrue();
+    assertThat(recipientBoxSealer.seal(keys(10), sealer)).hasSize(10);
+  }
+
+  @Test
+  public void createFromPropertiesWithParallelismOfOneIsSequential() {
+    assertThat(RecipientBoxSealer.from(Map.of("recipientSealingParallelism", "1")).isParallel())
+        .isFalse();
+  }
+
+  @Test
+  public void createFromNullPropertiesIsSequential() {
+    assertThat(RecipientBoxSealer.from(null).isParallel()).isFalse();
+  }
+
+  @Test
+  public void createFromInvalidPropertiesIsSequential() {
+    assertThat(RecipientBoxSealer.from(Map.of("recipientSealingParallelism", "many")).isParallel())
+        .isFalse();
+  }
+
+  private static List<PublicKey> keys(int count) {
+    return IntStream.range(0, count)
+        .mapToObj(i -> PublicKey.from(("key" + i).getBytes()))
+        .collect(Collectors.toList());
+  }
+}
@@ -0,0 +1,222 @@
+package com.quorum.tessera.enclave;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+import static org.mockito.Mockito.*;
+
+import com.quorum.tessera.encryption.PrivateKey;
+import com.quorum.tessera.encryption.PublicKey;
+import com.quorum.tessera.encryption.SharedKey;
+import java.time.Clock;
+import java.util.Map;
+import java.util.function.BiFunction;
+import org.junit.Before;
+import org.junit.Test;
+
+public class SharedKeyCacheTest {
+
+  private Clock clock;
+
+  private BiFunction<PublicKey, PrivateKey, SharedKey> computation;
+
+  @Before
+  public void beforeTest() {
+    clock = mock(Clock.class);
+    when(clock.millis()).thenReturn(0L);
+    computation = mock(BiFunction.class);
+  }
+
+  @Test
+  public void secondLookupIsServedFromCache() {
+    final SharedKeyCache cache = new SharedKeyCache(10, 1000L, clock);
+
+    final PublicKey publicKey = PublicKey.from("public".getBytes());
+    final PrivateKey privateKey = PrivateKey.from("private".getBytes());
+    final SharedKey sharedKey = SharedKey.from("shared".getBytes());
+    when(computation.apply(publicKey, privateKey)).thenReturn(sharedKey);
+
+    assertThat(cache.computeIfAbsent(publicKey, privateKey, computation)).isSameAs(sharedKey);
+    assertThat(
+            cache.computeIfAbsent(
+                PublicKey.from("public".getBytes()),
+                PrivateKey.from("private".getBytes()),
+                computation))
+        .isSameAs(sharedKey);
+
+    assertThat(cache.getHitCount()).isEqualTo(1);
+    assertThat(cache.getMissCount()).isEqualTo(1);
+    assertThat(cache.size()).isEqualTo(1);
+
+    verify(computation).apply(publicKey, privateKey);
+    verifyNoMoreInteractions(computation);
+  }
+
+  @Test
+  public void differentPrivateKeyIsADifferentEntry() {
+    final SharedKeyCache cache = new SharedKeyCache(10, 1000L, clock);
+
+    final PublicKey publicKey = PublicKey.from("public".getBytes());
+    final PrivateKey privateKey = PrivateKey.from("private".getBytes());
+    final PrivateKey otherPrivateKey = PrivateKey.from("other".getBytes());
+    final SharedKey sharedKey = SharedKey.from("shared".getBytes());
+    final SharedKey otherSharedKey = SharedKey.from("othershared".getBytes());
+    when(computation.apply(publicKey, privateKey)).thenReturn(sharedKey);
+    when(computation.apply(publicKey, otherPrivateKey)).thenReturn(otherSharedKey);
+
+    assertThat(cache.computeIfAbsent(publicKey, privateKey, computation)).isSameAs(sharedKey);
+    assertThat(cache.computeIfAbsent(publicKey, otherPrivateKey, computation))
+        .isSameAs(otherSharedKey);
+
+    assertThat(cache.getHitCount()).isZero();
+    assertThat(cache.getMissCount()).isEqualTo(2);
+    assertThat(cache.size()).isEqualTo(2);
+  }
+
+  @Test
+  public void expiredEntryIsRecomputed() {
+    final SharedKeyCache cache = new SharedKeyCache(10, 1000L, clock);
+
+    final PublicKey publicKey = PublicKey.from("public".getBytes());
+    final PrivateKey privateKey = PrivateKey.from("private".getBytes());
+    final SharedKey sharedKey = SharedKey.from("shared".getBytes());
+    when(computation.apply(publicKey, privateKey)).thenReturn(sharedKey);
+
+    cache.computeIfAbsent(publicKey, privateKey, computation);
+
+    when(clock.millis()).thenReturn(1000L);
+    cache.computeIfAbsent(publicKey, privateKey, computation);
+
+    assertThat(cache.getHitCount()).isZero();
+    assertThat(cache.getMissCount()).isEqualTo(2);
+    verify(computation, times(2)).apply(publicKey, privateKey);
+  }
+
+  @Test
+  public void leastRecentlyUsedEntryIsEvictedWhenFull() {
+    final SharedKeyCache cache = new SharedKeyCache(2, 1000L, clock);
+
+    final PrivateKey privateKey = PrivateKey.from("private".getBytes());
+    final PublicKey first = PublicKey.from("first".getBytes());
+    final PublicKey second = PublicKey.from("second".getBytes());
+    final PublicKey third = PublicKey.from("third".getBytes());
+    when(computation.apply(any(), any())).thenReturn(SharedKey.from("shared".getBytes()));
+
+    cache.computeIfAbsent(first, privateKey, computation);
+    cache.computeIfAbsent(second, privateKey, computation);
+    // touch the first entry so the second becomes the eldest
+    cache.computeIfAbsent(first, privateKey, computation);
+    cache.computeIfAbsent(third, privateKey, computation);
+
+    assertThat(cache.size()).isEqualTo(2);
+
+    cache.computeIfAbsent(first, privateKey, computation);
+    cache.computeIfAbsent(second, privateKey, computation);
+
+    verify(computation).apply(first, privateKey);
+    verify(computation, times(2)).apply(second, privateKey);
+    verify(computation).apply(third, privateKey);
+  }
+
+  @Test
+  public void disabledCacheAlwaysComputes() {
+    final SharedKeyCache cache = SharedKeyCache.disabled();
+
+    final PublicKey publicKey = PublicKey.from("public".getBytes());
+    final PrivateKey privateKey = PrivateKey.from("private".getBytes());
+    when(computation.apply(publicKey, privateKey)).thenReturn(SharedKey.from("shared".getBytes()));
+
+    cache.computeIfAbsent(publicKey, privateKey, computation);
+    cache.computeIfAbsent(publicKey, privateKey, computation);
+
+    assertThat(cache.size()).isZero();
+    assertThat(cache.getHitCount()).isZero();
+    assertThat(cache.getMissCount()).isEqualTo(2);
+    verify(computation, times(2)).apply(publicKey, privateKey);
+  }
+
+  @Test
+  public void clearRemovesAllEntries() {
+    final SharedKeyCache cache = new SharedKeyCache(10, 1000L, clock);
+    when(computation.apply(any(), any())).thenReturn(SharedKey.from("shared".getBytes()));
+
+    cache.computeIfAbsent(
+        PublicKey.from("public".getBytes()), PrivateKey.from("private".getBytes()), computation);
+    assertThat(cache.size()).isEqualTo(1);
+
+    cache.clear();
+
+    assertThat(cache.size()).isZero();
+  }
+
+  @Test
+  public void createFromProperties() {
+    final SharedKeyCache cache =
+        SharedKeyCache.from(Map.of("sharedKeyCacheSize", "1", "sharedKeyCacheExpiry", "500"));
+    when(computation.apply(any(), any())).thenReturn(SharedKey.from("shared".getBytes()));
+
+    final PrivateKey privateKey = PrivateKey.from("private".getBytes());
+    cache.computeIfAbsent(PublicKey.from("first".getBytes()), privateKey, computation);
+    cache.computeIfAbsent(PublicKey.from("second".getBytes()), privateKey, computation);
+
+    assertThat(cache.size()).isEqualTo(1);
+  }
+
+  @Test
+  public void createFromNullPropertiesUsesDefaults() {
+    final SharedKeyCache cache = SharedKeyCache.from(null);
+    when(computation.apply(any(), any())).thenReturn(SharedKey.from("shared".getBytes()));
+
+    final PublicKey publicKey = PublicKey.from("public".getBytes());
+    final PrivateKey privateKey = PrivateKey.from("private".getBytes());
+    cache.computeIfAbsent(publicKey, privateKey, computation);
+    cache.computeIfAbsent(publicKey, privateKey, computation);
+
+    assertThat(cache.getHitCount()).isEqualTo(1);
+  }
+
+  @Test
+  public void createFromInvalidPropertiesUsesDefaults() {
+    final SharedKeyCache cache = SharedKeyCache.from(Map.of("sharedKeyCacheSize", "lots"));
+    when(computation.apply(any(), any())).thenReturn(SharedKey.from("shared".getBytes()));
+
+    final PublicKey publicKey = PublicKey.from("public".getBytes());
+    final PrivateKey privateKey = PrivateKey.from("private".getBytes());
+    cache.computeIfAbsent(publicKey, privateKey, computation);
+    cache.computeIfAbsent(publicKey, privateKey, computation);
+
+    assertThat(cache.getHitCount()).isEqualTo(1);
+  }
+
+  @Test
+  public void negativeSizeIsRejected() {
+    final Throwable ex = catchThrowable(() -> new SharedKeyCache(-1, 1000L));
+
+    assertThat(ex)
+        .isExactlyInstanceOf(IllegalArgumentException.class)
+        .hasMessage("Shared key cache size cannot be negative");
+  }
+
+  @Test
+  public void nonPositiveExpiryIsRejected() {
+    final Throwable ex = catchThrowable(() -> new SharedKeyCache(1, 0L));
+
+    assertThat(ex)
+        .isExactlyInstanceOf(IllegalArgumentException.class)
+        .hasMessage("Shared key cache expiry must be positive");
+  }
+
+  @Test
+  public void cacheKeyEquality() {
+    final SharedKeyCache cache = new SharedKeyCache(10, 1000L, clock);
+    final PublicKey publicKey = PublicKey.from("public".getBytes());
+    final PrivateKey privateKey = PrivateKey.from("private".getBytes());
+    when(computation.apply(any(), any())).thenReturn(SharedKey.from("shared".getBytes()));
+
+    cache.computeIfAbsent(publicKey, privateKey, computation);
+    cache.computeIfAbsent(publicKey, privateKey, computation);
+    cache.computeIfAbsent(PublicKey.from("private".getBytes()), privateKey, computation);
+
+    assertThat(cache.size()).isEqualTo(2);
+    assertThat(cache.getHitCount()).isEqualTo(1);
+  }
+}
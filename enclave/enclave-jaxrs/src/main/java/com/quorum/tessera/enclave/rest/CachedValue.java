@@ -0,0 +1,78 @@
+package com.quorum.tessera.enclave.rest;
+
+import java.time.Clock;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * Holds the last value fetched from the remote enclave for a limited time, so that repeated reads
+ * of data that rarely changes (such as the enclave's keys) do not each cost a round-trip.
+ *
+ * <p>An expiry of zero disables caching, and every read goes to the loader. Failed loads are never
+ * cached.
+ */
+class CachedValue<T> {
+
+  private final Supplier<T> loader;
+
+  private final long expiryMillis;
+
+  private final Clock clock;
+
+  private volatile Snapshot snapshot;
+
+  CachedValue(final Supplier<T> loader, final long expiryMillis, final Clock clock) {
+    this.loader = Objects.requireNonNull(loader);
+    this.expiryMillis = expiryMillis;
+    this.clock = Objects.requireNonNull(clock);
+  }
+
+  T get() {
+    if (expiryMillis <= 0) {
+      return loader.get();
+    }
+
+    final Snapshot current = snapshot;
+    if (current != null && !current.isExpired()) {
+      return current.value;
+    }
+
+    synchronized (this) {
+      final Snapshot latest = snapshot;
+      if (latest != null && !latest.isExpired()) {
+        return latest.value;
+      }
+      return refresh();
+    }
+  }
+
+  /** Fetches a new value from the remote enclave, replacing any value currently held */
+  synchronized T refresh() {
+    final T value = loader.get();
+    if (expiryMillis > 0) {
+      snapshot = new Snapshot(value, clock.millis() + expiryMillis);
+    }
+    return value;
+  }
+
+  /** Discards the held value so that the next read fetches it from the remote enclave */
+  void invalidate() {
+    snapshot = null;
+  }
+
+  private final class Snapshot {
+
+    private final T value;
+
+    private final long expiresAt;
+
+    private Snapshot(T value, long expiresAt) {
+      this.value = value;
+      this.expiresAt = expiresAt;
+    }
+
+    private boolean isExpired() {
+      return clock.millis() >= expiresAt;
+    }
+  }
+}
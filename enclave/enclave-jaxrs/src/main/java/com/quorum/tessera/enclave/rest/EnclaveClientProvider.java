@@ -1,10 +1,12 @@
 package com.quorum.tessera.enclave.rest;
 
 import com.quorum.tessera.config.*;
+import com.quorum.tessera.config.util.IntervalPropertyHelper;
 import com.quorum.tessera.enclave.EnclaveClient;
 import com.quorum.tessera.jaxrs.client.ClientFactory;
 import jakarta.ws.rs.client.Client;
 import java.util.Optional;
+import java.util.concurrent.Executors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -28,6 +30,11 @@ public class EnclaveClientProvider {
 
     Client client = clientFactory.buildFrom(serverConfig);
     LOGGER.info("Creating remoted enclave for {}", serverConfig.getServerUri());
-    return new RestfulEnclaveClient(client, serverConfig.getServerUri());
+
+    final long keyCacheExpiry =
+        new IntervalPropertyHelper(serverConfig.getProperties()).enclaveKeyCacheExpiry();
+
+    return new RestfulEnclaveClient(
+        client, serverConfig.getServerUri(), Executors.newSingleThreadExecutor(), keyCacheExpiry);
   }
 }
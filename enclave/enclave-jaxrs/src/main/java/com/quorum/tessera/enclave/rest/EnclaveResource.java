@@ -247,6 +247,21 @@ public class EnclaveResource {
     return Response.ok(streamingOutput).build();
   }
 
+  @POST
+  @Path("unencrypt/recipient")
+  @Consumes(MediaType.APPLICATION_JSON)
+  @Produces(MediaType.APPLICATION_OCTET_STREAM)
+  public Response findRecipientKey(EnclaveUnencryptPayload enclaveUnencryptPayload) {
+
+    EncodedPayload payload = payloadEncoder.decode(enclaveUnencryptPayload.getData());
+
+    return enclave
+        .findRecipientKey(payload)
+        .map(PublicKey::getKeyBytes)
+        .map(key -> Response.ok((StreamingOutput) out -> out.write(key)).build())
+        .orElseGet(() -> Response.status(Status.NOT_FOUND).build());
+  }
+
   @POST
   @Path("addRecipient")
   @Consumes(MediaType.APPLICATION_JSON)
@@ -262,6 +277,45 @@ public class EnclaveResource {
     return Response.ok(streamingOutput).build();
   }
 
+  @POST
+  @Path("unencrypt/batch")
+  @Consumes(MediaType.APPLICATION_JSON)
+  @Produces(MediaType.APPLICATION_JSON)
+  public Response unencryptTransactions(EnclaveUnencryptBatchPayload enclaveUnencryptBatchPayload) {
+
+    List<EncodedPayload> payloads =
+        enclaveUnencryptBatchPayload.getData().stream()
+            .map(payloadEncoder::decode)
+            .collect(Collectors.toList());
+    PublicKey providedKey =
+        Optional.ofNullable(enclaveUnencryptBatchPayload.getProvidedKey())
+            .map(PublicKey::from)
+            .orElse(null);
+
+    EnclaveBatchResponsePayload responsePayload = new EnclaveBatchResponsePayload();
+    responsePayload.setResults(enclave.unencryptTransactions(payloads, providedKey));
+
+    return Response.ok(responsePayload).build();
+  }
+
+  @POST
+  @Path("addRecipient/batch")
+  @Consumes(MediaType.APPLICATION_JSON)
+  @Produces(MediaType.APPLICATION_JSON)
+  public Response createNewRecipientBoxes(EnclaveAddRecipientsPayload enclaveAddRecipientsPayload) {
+
+    EncodedPayload payload = payloadEncoder.decode(enclaveAddRecipientsPayload.getData());
+    List<PublicKey> recipientKeys =
+        enclaveAddRecipientsPayload.getRecipientKeys().stream()
+            .map(PublicKey::from)
+            .collect(Collectors.toList());
+
+    EnclaveBatchResponsePayload responsePayload = new EnclaveBatchResponsePayload();
+    responsePayload.setResults(enclave.createNewRecipientBoxes(payload, recipientKeys));
+
+    return Response.ok(responsePayload).build();
+  }
+
   private List<AffectedTransaction> convertToAffectedTransactions(
       final List<KeyValuePair> keyValuePairs) {
     return keyValuePairs.stream()
@@ -0,0 +1,32 @@
+package com.quorum.tessera.enclave.rest;
+
+import jakarta.xml.bind.annotation.XmlMimeType;
+import jakarta.xml.bind.annotation.XmlRootElement;
+import java.io.Serializable;
+import java.util.List;
+
+@XmlRootElement
+public class EnclaveUnencryptBatchPayload implements Serializable {
+
+  @XmlMimeType("base64Binary")
+  private List<byte[]> data;
+
+  @XmlMimeType("base64Binary")
+  private byte[] providedKey;
+
+  public List<byte[]> getData() {
+    return data;
+  }
+
+  public void setData(List<byte[]> data) {
+    this.data = data;
+  }
+
+  public byte[] getProvidedKey() {
+    return providedKey;
+  }
+
+  public void setProvidedKey(byte[] providedKey) {
+    this.providedKey = providedKey;
+  }
+}
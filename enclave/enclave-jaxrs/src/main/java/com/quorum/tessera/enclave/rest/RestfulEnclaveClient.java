@@ -8,9 +8,11 @@ import jakarta.ws.rs.client.Client;
 import jakarta.ws.rs.client.Entity;
 import jakarta.ws.rs.core.Response;
 import java.net.URI;
+import java.time.Clock;
 import java.util.Base64;
 import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.*;
 import java.util.stream.Collectors;
@@ -23,6 +25,8 @@ public class RestfulEnclaveClient implements EnclaveClient {
   private static final Logger LOGGER = LoggerFactory.getLogger(RestfulEnclaveClient.class);
   public static final int TIMEOUT = 2;
 
+  public static final long DEFAULT_KEY_CACHE_EXPIRY = 60000L;
+
   private final Client client;
 
   private final URI uri;
@@ -31,19 +35,79 @@ public class RestfulEnclaveClient implements EnclaveClient {
 
   private final PayloadEncoder payloadEncoder;
 
+  private final CachedValue<PublicKey> defaultPublicKey;
+
+  private final CachedValue<Set<PublicKey>> forwardingKeys;
+
+  private final CachedValue<Set<PublicKey>> publicKeys;
+
+  private final long keyCacheExpiryMillis;
+
   public RestfulEnclaveClient(Client client, URI uri) {
     this(client, uri, Executors.newSingleThreadExecutor());
   }
 
   public RestfulEnclaveClient(Client client, URI uri, ExecutorService executorService) {
+    this(client, uri, executorService, DEFAULT_KEY_CACHE_EXPIRY);
+  }
+
+  public RestfulEnclaveClient(
+      Client client, URI uri, ExecutorService executorService, long keyCacheExpiryMillis) {
+    this(client, uri, executorService, keyCacheExpiryMillis, Clock.systemUTC());
+  }
+
+  RestfulEnclaveClient(
+      Client client,
+      URI uri,
+      ExecutorService executorService,
+      long keyCacheExpiryMillis,
+      Clock clock) {
     this.client = Objects.requireNonNull(client);
     this.uri = Objects.requireNonNull(uri);
     this.payloadEncoder = PayloadEncoder.create(EncodedPayloadCodec.LEGACY);
     this.executorService = executorService;
+    this.keyCacheExpiryMillis = keyCacheExpiryMillis;
+    this.defaultPublicKey =
+        new CachedValue<>(this::fetchDefaultPublicKey, keyCacheExpiryMillis, clock);
+    this.forwardingKeys = new CachedValue<>(this::fetchForwardingKeys, keyCacheExpiryMillis, clock);
+    this.publicKeys = new CachedValue<>(this::fetchPublicKeys, keyCacheExpiryMillis, clock);
   }
 
   @Override
   public PublicKey defaultPublicKey() {
+    return defaultPublicKey.get();
+  }
+
+  @Override
+  public Set<PublicKey> getForwardingKeys() {
+    return forwardingKeys.get();
+  }
+
+  @Override
+  public Set<PublicKey> getPublicKeys() {
+    return publicKeys.get();
+  }
+
+  @Override
+  public void refreshKeys() {
+    if (keyCacheExpiryMillis <= 0) {
+      // nothing is cached, so every read already fetches the keys
+      return;
+    }
+    LOGGER.debug("Refreshing keys from remote enclave {}", uri);
+    defaultPublicKey.refresh();
+    forwardingKeys.refresh();
+    publicKeys.refresh();
+  }
+
+  @Override
+  public void invalidateKeys() {
+    defaultPublicKey.invalidate();
+    forwardingKeys.invalidate();
+    publicKeys.invalidate();
+  }
+
+  private PublicKey fetchDefaultPublicKey() {
 
     return ClientCallback.execute(
         () -> {
@@ -57,8 +121,7 @@ public class RestfulEnclaveClient implements EnclaveClient {
         });
   }
 
-  @Override
-  public Set<PublicKey> getForwardingKeys() {
+  private Set<PublicKey> fetchForwardingKeys() {
     return ClientCallback.execute(
         () -> {
           Response response = client.target(uri).path("forwarding").request().get();
@@ -71,12 +134,11 @@ public class RestfulEnclaveClient implements EnclaveClient {
               .mapToObj(results::getString)
               .map(s -> Base64.getDecoder().decode(s))
               .map(PublicKey::from)
-              .collect(Collectors.toSet());
+              .collect(Collectors.toUnmodifiableSet());
         });
   }
 
-  @Override
-  public Set<PublicKey> getPublicKeys() {
+  private Set<PublicKey> fetchPublicKeys() {
     return ClientCallback.execute(
         () -> {
           Response response = client.target(uri).path("public").request().get();
@@ -89,7 +151,7 @@ public class RestfulEnclaveClient implements EnclaveClient {
               .mapToObj(results::getString)
               .map(s -> Base64.getDecoder().decode(s))
               .map(PublicKey::from)
-              .collect(Collectors.toSet());
+              .collect(Collectors.toUnmodifiableSet());
         });
   }
 
@@ -259,6 +321,32 @@ public class RestfulEnclaveClient implements EnclaveClient {
         });
   }
 
+  @Override
+  public Optional<PublicKey> findRecipientKey(final EncodedPayload payload) {
+
+    return ClientCallback.execute(
+        () -> {
+          final EnclaveUnencryptPayload dto = new EnclaveUnencryptPayload();
+          dto.setData(payloadEncoder.encode(payload));
+
+          final Response response =
+              client
+                  .target(uri)
+                  .path("unencrypt")
+                  .path("recipient")
+                  .request()
+                  .post(Entity.json(dto));
+
+          if (response.getStatus() == Response.Status.NOT_FOUND.getStatusCode()) {
+            return Optional.empty();
+          }
+
+          validateResponseIsOk(response);
+
+          return Optional.of(PublicKey.from(response.readEntity(byte[].class)));
+        });
+  }
+
   @Override
   public byte[] createNewRecipientBox(final EncodedPayload payload, final PublicKey recipientKey) {
 
@@ -279,6 +367,53 @@ public class RestfulEnclaveClient implements EnclaveClient {
         });
   }
 
+  @Override
+  public List<byte[]> unencryptTransactions(
+      final List<EncodedPayload> payloads, final PublicKey providedKey) {
+
+    return ClientCallback.execute(
+        () -> {
+          final EnclaveUnencryptBatchPayload dto = new EnclaveUnencryptBatchPayload();
+          dto.setData(payloads.stream().map(payloadEncoder::encode).collect(Collectors.toList()));
+
+          if (providedKey != null) {
+            dto.setProvidedKey(providedKey.getKeyBytes());
+          }
+
+          final Response response =
+              client.target(uri).path("unencrypt").path("batch").request().post(Entity.json(dto));
+
+          validateResponseIsOk(response);
+
+          return response.readEntity(EnclaveBatchResponsePayload.class).getResults();
+        });
+  }
+
+  @Override
+  public List<byte[]> createNewRecipientBoxes(
+      final EncodedPayload payload, final List<PublicKey> recipientKeys) {
+
+    return ClientCallback.execute(
+        () -> {
+          final EnclaveAddRecipientsPayload dto = new EnclaveAddRecipientsPayload();
+          dto.setData(payloadEncoder.encode(payload));
+          dto.setRecipientKeys(
+              recipientKeys.stream().map(PublicKey::getKeyBytes).collect(Collectors.toList()));
+
+          final Response response =
+              client
+                  .target(uri)
+                  .path("addRecipient")
+                  .path("batch")
+                  .request()
+                  .post(Entity.json(dto));
+
+          validateResponseIsOk(response);
+
+          return response.readEntity(EnclaveBatchResponsePayload.class).getResults();
+        });
+  }
+
   @Override
   public Set<TxHash> findInvalidSecurityHashes(
       EncodedPayload encodedPayload, List<AffectedTransaction> affectedContractTransactions) {
@@ -0,0 +1,93 @@
+package com.quorum.tessera.enclave.rest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+import static org.mockito.Mockito.*;
+
+import java.time.Clock;
+import java.util.function.Supplier;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class CachedValueTest {
+
+  private Supplier<String> loader;
+
+  private Clock clock;
+
+  @Before
+  public void beforeTest() {
+    loader = mock(Supplier.class);
+    clock = mock(Clock.class);
+    when(clock.millis()).thenReturn(0L);
+  }
+
+  @After
+  public void afterTest() {
+    verifyNoMoreInteractions(loader);
+  }
+
+  @Test
+  public void valueIsLoadedOnceUntilExpired() {
+    when(loader.get()).thenReturn("first", "second");
+    CachedValue<String> cachedValue = new CachedValue<>(loader, 100L, clock);
+
+    assertThat(cachedValue.get()).isEqualTo("first");
+    assertThat(cachedValue.get()).isEqualTo("first");
+
+    when(clock.millis()).thenReturn(100L);
+
+    assertThat(cachedValue.get()).isEqualTo("second");
+    verify(loader, times(2)).get();
+  }
+
+  @Test
+  public void refreshReplacesHeldValue() {
+    when(loader.get()).thenReturn("first", "second");
+    CachedValue<String> cachedValue = new CachedValue<>(loader, 100L, clock);
+
+    assertThat(cachedValue.get()).isEqualTo("first");
+    assertThat(cachedValue.refresh()).isEqualTo("second");
+    assertThat(cachedValue.get()).isEqualTo("second");
+
+    verify(loader, times(2)).get();
+  }
+
+  @Test
+  public void invalidateForcesReload() {
+    when(loader.get()).thenReturn("first", "second");
+    CachedValue<String> cachedValue = new CachedValue<>(loader, 100L, clock);
+
+    assertThat(cachedValue.get()).isEqualTo("first");
+    cachedValue.invalidate();
+    assertThat(cachedValue.get()).isEqualTo("second");
+
+    verify(loader, times(2)).get();
+  }
+
+  @Test
+  public void zeroExpiryAlwaysLoads() {
+    when(loader.get()).thenReturn("first", "second", "third");
+    CachedValue<String> cachedValue = new CachedValue<>(loader, 0L, clock);
+
+    assertThat(cachedValue.get()).isEqualTo("first");
+    assertThat(cachedValue.get()).isEqualTo("second");
+    assertThat(cachedValue.refresh()).isEqualTo("third");
+
+    verify(loader, times(3)).get();
+  }
+
+  @Test
+  public void failedLoadIsNotCached() {
+    when(loader.get()).thenThrow(new IllegalStateException("BANG")).thenReturn("value");
+    CachedValue<String> cachedValue = new CachedValue<>(loader, 100L, clock);
+
+    Throwable ex = catchThrowable(cachedValue::get);
+
+    assertThat(ex).isExactlyInstanceOf(IllegalStateException.class).hasMessage("BANG");
+    assertThat(cachedValue.get()).isEqualTo("value");
+
+    verify(loader, times(2)).get();
+  }
+}
@@ -130,6 +130,107 @@ public class RestfulEnclaveClientTest {
     verify(enclave).getForwardingKeys();
   }
 
+  @Test
+  public void keysAreFetchedOnceWhileCached() {
+
+    PublicKey key = PublicKey.from("HELLOW".getBytes());
+
+    when(enclave.defaultPublicKey()).thenReturn(key);
+    when(enclave.getPublicKeys()).thenReturn(Collections.singleton(key));
+    when(enclave.getForwardingKeys()).thenReturn(Collections.singleton(key));
+
+    for (int i = 0; i < 3; i++) {
+      assertThat(enclaveClient.defaultPublicKey()).isEqualTo(key);
+      assertThat(enclaveClient.getPublicKeys()).containsExactly(key);
+      assertThat(enclaveClient.getForwardingKeys()).containsExactly(key);
+    }
+
+    verify(enclave).defaultPublicKey();
+    verify(enclave).getPublicKeys();
+    verify(enclave).getForwardingKeys();
+  }
+
+  @Test
+  public void refreshKeysFetchesAllKeys() {
+
+    PublicKey key = PublicKey.from("HELLOW".getBytes());
+    PublicKey otherKey = PublicKey.from("OTHER".getBytes());
+
+    when(enclave.defaultPublicKey()).thenReturn(key, otherKey);
+    when(enclave.getPublicKeys()).thenReturn(Set.of(key), Set.of(otherKey));
+    when(enclave.getForwardingKeys()).thenReturn(Set.of(key), Set.of(otherKey));
+
+    enclaveClient.refreshKeys();
+
+    assertThat(enclaveClient.defaultPublicKey()).isEqualTo(key);
+    assertThat(enclaveClient.getPublicKeys()).containsExactly(key);
+    assertThat(enclaveClient.getForwardingKeys()).containsExactly(key);
+
+    enclaveClient.refreshKeys();
+
+    assertThat(enclaveClient.defaultPublicKey()).isEqualTo(otherKey);
+    assertThat(enclaveClient.getPublicKeys()).containsExactly(otherKey);
+    assertThat(enclaveClient.getForwardingKeys()).containsExactly(otherKey);
+
+    verify(enclave, times(2)).defaultPublicKey();
+    verify(enclave, times(2)).getPublicKeys();
+    verify(enclave, times(2)).getForwardingKeys();
+  }
+
+  @Test
+  public void invalidateKeysFetchesKeysOnNextUse() {
+
+    PublicKey key = PublicKey.from("HELLOW".getBytes());
+
+    when(enclave.defaultPublicKey()).thenReturn(key);
+    when(enclave.getPublicKeys()).thenReturn(Set.of(key));
+    when(enclave.getForwardingKeys()).thenReturn(Set.of(key));
+
+    enclaveClient.defaultPublicKey();
+    enclaveClient.getPublicKeys();
+    enclaveClient.getForwardingKeys();
+
+    enclaveClient.invalidateKeys();
+
+    enclaveClient.defaultPublicKey();
+    enclaveClient.getPublicKeys();
+    enclaveClient.getForwardingKeys();
+
+    verify(enclave, times(2)).defaultPublicKey();
+    verify(enclave, times(2)).getPublicKeys();
+    verify(enclave, times(2)).getForwardingKeys();
+  }
+
+  @Test
+  public void keysAreAlwaysFetchedWhenCachingDisabled() {
+
+    RestfulEnclaveClient uncachedClient =
+        new RestfulEnclaveClient(
+            jersey.client(), jersey.target().getUri(), mock(ExecutorService.class), 0L);
+
+    PublicKey key = PublicKey.from("HELLOW".getBytes());
+    when(enclave.getPublicKeys()).thenReturn(Set.of(key));
+
+    uncachedClient.getPublicKeys();
+    uncachedClient.getPublicKeys();
+
+    verify(enclave, times(2)).getPublicKeys();
+  }
+
+  @Test
+  public void refreshKeysFetchesNothingWhenCachingDisabled() {
+
+    RestfulEnclaveClient uncachedClient =
+        new RestfulEnclaveClient(
+            jersey.client(), jersey.target().getUri(), mock(ExecutorService.class), 0L);
+
+    uncachedClient.refreshKeys();
+
+    verify(enclave, never()).defaultPublicKey();
+    verify(enclave, never()).getPublicKeys();
+    verify(enclave, never()).getForwardingKeys();
+  }
+
   @Test
   public void encryptPayload() {
 
@@ -458,6 +559,124 @@ public class RestfulEnclaveClientTest {
     verify(enclave).createNewRecipientBox(any(EncodedPayload.class), any(PublicKey.class));
   }
 
+  @Test
+  public void findRecipientKey() {
+
+    EncodedPayload payload = Fixtures.createSample();
+
+    PublicKey recipientKey = PublicKey.from("RecipientKey".getBytes());
+
+    when(enclave.findRecipientKey(any(EncodedPayload.class)))
+        .thenReturn(Optional.of(recipientKey));
+
+    Optional<PublicKey> result = enclaveClient.findRecipientKey(payload);
+
+    assertThat(result).contains(recipientKey);
+
+    verify(enclave).findRecipientKey(any(EncodedPayload.class));
+  }
+
+  @Test
+  public void findRecipientKeyNotFound() {
+
+    EncodedPayload payload = Fixtures.createSample();
+
+    when(enclave.findRecipientKey(any(EncodedPayload.class))).thenReturn(Optional.empty());
+
+    Optional<PublicKey> result = enclaveClient.findRecipientKey(payload);
+
+    assertThat(result).isEmpty();
+
+    verify(enclave).findRecipientKey(any(EncodedPayload.class));
+  }
+
+  @Test
+  public void unencryptTransactions() {
+
+    EncodedPayload payload = Fixtures.createSample();
+
+    PublicKey providedKey = PublicKey.from("ProvidedKey".getBytes());
+
+    when(enclave.unencryptTransactions(anyList(), any(PublicKey.class)))
+        .thenReturn(List.of("FIRST".getBytes(), "SECOND".getBytes()));
+
+    List<byte[]> result =
+        enclaveClient.unencryptTransactions(List.of(payload, payload), providedKey);
+
+    assertThat(result).containsExactly("FIRST".getBytes(), "SECOND".getBytes());
+
+    ArgumentCaptor<List<EncodedPayload>> payloadsCaptor = ArgumentCaptor.forClass(List.class);
+    verify(enclave).unencryptTransactions(payloadsCaptor.capture(), eq(providedKey));
+    assertThat(payloadsCaptor.getValue()).hasSize(2);
+  }
+
+  @Test
+  public void unencryptTransactionsWithoutProvidedKey() {
+
+    EncodedPayload payload = Fixtures.createSample();
+
+    when(enclave.unencryptTransactions(anyList(), isNull()))
+        .thenReturn(List.of("SUCCESS".getBytes()));
+
+    List<byte[]> result = enclaveClient.unencryptTransactions(List.of(payload), null);
+
+    assertThat(result).containsExactly("SUCCESS".getBytes());
+
+    verify(enclave).unencryptTransactions(anyList(), isNull());
+  }
+
+  @Test
+  public void unencryptTransactionsRemoteEnclaveReturnsError() {
+
+    EncodedPayload payload = Fixtures.createSample();
+
+    when(enclave.unencryptTransactions(anyList(), isNull())).thenThrow(new RuntimeException());
+
+    Throwable ex =
+        catchThrowable(() -> enclaveClient.unencryptTransactions(List.of(payload), null));
+
+    assertThat(ex).isInstanceOf(EnclaveNotAvailableException.class);
+
+    verify(enclave).unencryptTransactions(anyList(), isNull());
+  }
+
+  @Test
+  public void createNewRecipientBoxes() {
+
+    EncodedPayload payload = Fixtures.createSample();
+
+    PublicKey first = PublicKey.from("First".getBytes());
+    PublicKey second = PublicKey.from("Second".getBytes());
+
+    when(enclave.createNewRecipientBoxes(any(EncodedPayload.class), anyList()))
+        .thenReturn(List.of("FIRST".getBytes(), "SECOND".getBytes()));
+
+    List<byte[]> result = enclaveClient.createNewRecipientBoxes(payload, List.of(first, second));
+
+    assertThat(result).containsExactly("FIRST".getBytes(), "SECOND".getBytes());
+
+    verify(enclave).createNewRecipientBoxes(any(EncodedPayload.class), eq(List.of(first, second)));
+  }
+
+  @Test
+  public void createNewRecipientBoxesRemoteEnclaveReturnsError() {
+
+    EncodedPayload payload = Fixtures.createSample();
+
+    when(enclave.createNewRecipientBoxes(any(EncodedPayload.class), anyList()))
+        .thenThrow(new RuntimeException());
+
+    Throwable ex =
+        catchThrowable(
+            () ->
+                enclaveClient.createNewRecipientBoxes(
+                    payload, List.of(PublicKey.from("First".getBytes()))));
+
+    assertThat(ex).isInstanceOf(EnclaveNotAvailableException.class);
+
+    verify(enclave).createNewRecipientBoxes(any(EncodedPayload.class), anyList());
+  }
+
   @Test
   public void statusStarted() {
     when(enclave.status()).thenReturn(Status.STARTED);
@@ -8,10 +8,8 @@ import com.quorum.tessera.enclave.SecurityHash;
 import com.quorum.tessera.enclave.TxHash;
 import com.quorum.tessera.encryption.PublicKey;
 import jakarta.persistence.EntityManager;
-import jakarta.persistence.TypedQuery;
 import java.util.*;
 import java.util.stream.Collectors;
-import java.util.stream.IntStream;
 
 public class EncryptedTransactionMigrator {
 
@@ -29,51 +27,59 @@ public class EncryptedTransactionMigrator {
 
   public void migrate() {
 
-    final long secondaryTxCount =
+    List<EncryptedTransaction> batch =
         secondaryEntityManager
-            .createQuery("select count(e) from EncryptedTransaction e", Long.class)
-            .getSingleResult();
-    final int batchCount = calculateBatchCount(maxBatchSize, secondaryTxCount);
-
-    IntStream.range(0, batchCount)
-        .map(i -> i * maxBatchSize)
-        .mapToObj(
-            offset ->
-                secondaryEntityManager
-                    .createNamedQuery("EncryptedTransaction.FindAll", EncryptedTransaction.class)
-                    .setFirstResult(offset)
-                    .setMaxResults(maxBatchSize))
-        .flatMap(TypedQuery::getResultStream)
-        .forEach(
-            et -> {
-              final Optional<EncryptedTransaction> existing =
-                  primaryEntityManager
-                      .createNamedQuery(
-                          "EncryptedTransaction.FindByHash", EncryptedTransaction.class)
-                      .setParameter("hash", et.getHash().getHashBytes())
-                      .getResultStream()
-                      .findAny();
-
-              if (existing.isEmpty()) {
-                primaryEntityManager.getTransaction().begin();
-                primaryEntityManager.persist(et);
-                primaryEntityManager.getTransaction().commit();
-                return;
-              }
-
-              final EncryptedTransaction outerTx = existing.get();
-
-              final EncodedPayload primaryTx = outerTx.getPayload();
-              final EncodedPayload secondaryTx = et.getPayload();
-
-              final EncodedPayload updatedPayload =
-                  this.handleSingleTransaction(primaryTx, secondaryTx);
-
-              outerTx.setPayload(updatedPayload);
-              primaryEntityManager.getTransaction().begin();
-              primaryEntityManager.merge(outerTx);
-              primaryEntityManager.getTransaction().commit();
-            });
+            .createNamedQuery("EncryptedTransaction.FindAll", EncryptedTransaction.class)
+            .setMaxResults(maxBatchSize)
+            .getResultList();
+
+    while (!batch.isEmpty()) {
+      batch.forEach(this::migrateTransaction);
+
+      if (batch.size() < maxBatchSize) {
+        return;
+      }
+
+      // continue from the last row read rather than an offset, so that with the
+      // ENC_TX_TIMESTAMP_HASH index each batch starts with a seek instead of re-reading the rows
+      // before it
+      final EncryptedTransaction last = batch.get(batch.size() - 1);
+      batch =
+          secondaryEntityManager
+              .createNamedQuery("EncryptedTransaction.FindAllAfter", EncryptedTransaction.class)
+              .setParameter("timestamp", last.getTimestamp())
+              .setParameter("hash", last.getHash().getHashBytes())
+              .setMaxResults(maxBatchSize)
+              .getResultList();
+    }
+  }
+
+  private void migrateTransaction(final EncryptedTransaction et) {
+    final Optional<EncryptedTransaction> existing =
+        primaryEntityManager
+            .createNamedQuery("EncryptedTransaction.FindByHash", EncryptedTransaction.class)
+            .setParameter("hash", et.getHash().getHashBytes())
+            .getResultStream()
+            .findAny();
+
+    if (existing.isEmpty()) {
+      primaryEntityManager.getTransaction().begin();
+      primaryEntityManager.persist(et);
+      primaryEntityManager.getTransaction().commit();
+      return;
+    }
+
+    final EncryptedTransaction outerTx = existing.get();
+
+    final EncodedPayload primaryTx = outerTx.getPayload();
+    final EncodedPayload secondaryTx = et.getPayload();
+
+    final EncodedPayload updatedPayload = this.handleSingleTransaction(primaryTx, secondaryTx);
+
+    outerTx.setPayload(updatedPayload);
+    primaryEntityManager.getTransaction().begin();
+    primaryEntityManager.merge(outerTx);
+    primaryEntityManager.getTransaction().commit();
   }
 
   public EncodedPayload handleSingleTransaction(
@@ -193,8 +199,4 @@ public class EncryptedTransactionMigrator {
     return combinedAffectedTxs.entrySet().stream()
         .collect(Collectors.toUnmodifiableMap(Map.Entry::getKey, e -> e.getValue().getData()));
   }
-
-  static int calculateBatchCount(long maxResults, long total) {
-    return (int) Math.ceil((double) total / maxResults);
-  }
 }
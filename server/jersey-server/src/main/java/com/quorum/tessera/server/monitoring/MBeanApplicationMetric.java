@@ -0,0 +1,39 @@
+package com.quorum.tessera.server.monitoring;
+
+import java.util.Map;
+
+/** A metric read from one of Tessera's own MBeans, rather than from a Jersey resource. */
+public class MBeanApplicationMetric implements MBeanMetric {
+
+  private final String type;
+
+  private final Map<String, String> labels;
+
+  private final String name;
+
+  private final String value;
+
+  public MBeanApplicationMetric(
+      String type, Map<String, String> labels, String name, String value) {
+    this.type = type;
+    this.labels = Map.copyOf(labels);
+    this.name = name;
+    this.value = value;
+  }
+
+  public String getType() {
+    return type;
+  }
+
+  public Map<String, String> getLabels() {
+    return labels;
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public String getValue() {
+    return value;
+  }
+}
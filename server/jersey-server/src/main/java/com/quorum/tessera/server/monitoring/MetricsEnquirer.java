@@ -1,6 +1,7 @@
 package com.quorum.tessera.server.monitoring;
 
 import com.quorum.tessera.config.AppType;
+import com.quorum.tessera.metrics.MBeanRegistry;
 import java.util.*;
 import javax.management.*;
 
@@ -40,6 +41,53 @@ public class MetricsEnquirer {
     return Collections.unmodifiableList(mBeanMetrics);
   }
 
+  /**
+   * Reads every numeric attribute of the MBeans registered by Tessera itself, i.e. those under the
+   * {@link MBeanRegistry#DOMAIN} domain.
+   *
+   * @return the application metrics, ordered by MBean and attribute name
+   */
+  public List<MBeanApplicationMetric> getApplicationMetrics() {
+    final List<MBeanApplicationMetric> metrics = new ArrayList<>();
+
+    try {
+      final Set<ObjectName> mBeanNames =
+          new TreeSet<>(
+              this.mBeanServer.queryNames(new ObjectName(MBeanRegistry.DOMAIN + ":*"), null));
+
+      for (ObjectName mBeanName : mBeanNames) {
+        final Map<String, String> labels = new TreeMap<>();
+        mBeanName.getKeyPropertyList().entrySet().stream()
+            .filter(e -> !"type".equals(e.getKey()))
+            .forEach(e -> labels.put(e.getKey(), unquote(e.getValue())));
+
+        for (MBeanAttributeInfo attribute :
+            this.mBeanServer.getMBeanInfo(mBeanName).getAttributes()) {
+          final Object value = this.mBeanServer.getAttribute(mBeanName, attribute.getName());
+          if (value instanceof Number) {
+            metrics.add(
+                new MBeanApplicationMetric(
+                    mBeanName.getKeyProperty("type"),
+                    labels,
+                    attribute.getName(),
+                    value.toString()));
+          }
+        }
+      }
+    } catch (JMException e) {
+      throw new RuntimeException(e);
+    }
+
+    return Collections.unmodifiableList(metrics);
+  }
+
+  private static String unquote(String value) {
+    if (value.startsWith("\"")) {
+      return ObjectName.unquote(value);
+    }
+    return value;
+  }
+
   private Set<ObjectName> getTesseraResourceMBeanNames(AppType appType)
       throws MalformedObjectNameException {
 
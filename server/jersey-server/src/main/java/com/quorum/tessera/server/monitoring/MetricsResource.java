@@ -34,6 +34,10 @@ public class MetricsResource {
       formattedMetrics.append(formatter.format(metrics, type));
     }
 
+    formattedMetrics.append(
+        new PrometheusProtocolFormatter()
+            .formatApplicationMetrics(metricsEnquirer.getApplicationMetrics()));
+
     return Response.status(Response.Status.OK)
         .header(HttpHeaders.CONTENT_TYPE, TEXT_PLAIN)
         .entity(formattedMetrics.toString())
@@ -2,6 +2,8 @@ package com.quorum.tessera.server.monitoring;
 
 import com.quorum.tessera.config.AppType;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 public class PrometheusProtocolFormatter {
 
@@ -26,6 +28,38 @@ public class PrometheusProtocolFormatter {
     return formattedMetrics.toString();
   }
 
+  public String formatApplicationMetrics(final List<MBeanApplicationMetric> metrics) {
+    StringBuilder formattedMetrics = new StringBuilder();
+
+    for (final MBeanApplicationMetric metric : metrics) {
+      formattedMetrics
+          .append("tessera_")
+          .append(toSnakeCase(metric.getType()))
+          .append("_")
+          .append(toSnakeCase(metric.getName()));
+
+      if (!metric.getLabels().isEmpty()) {
+        formattedMetrics.append(
+            metric.getLabels().entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .map(e -> e.getKey() + "=\"" + escapeLabelValue(e.getValue()) + "\"")
+                .collect(Collectors.joining(",", "{", "}")));
+      }
+
+      formattedMetrics.append(" ").append(metric.getValue()).append("\n");
+    }
+
+    return formattedMetrics.toString();
+  }
+
+  private static String toSnakeCase(final String input) {
+    return input.replaceAll("([a-z0-9])([A-Z])", "$1_$2").toLowerCase();
+  }
+
+  private static String escapeLabelValue(final String input) {
+    return input.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+  }
+
   private String sanitize(final String input) {
     return input
         .replaceAll("(#.*)|(_total)|\\(\\)|\\)|\\[\\]|\\]|;", "")
@@ -8,6 +8,7 @@ import static org.mockito.Mockito.when;
 import com.quorum.tessera.config.AppType;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import javax.management.*;
 import org.junit.Before;
@@ -329,4 +330,76 @@ public class MetricsEnquirerTest {
     assertThat(metrics.get(0).getName()).isEqualTo("name3_total");
     assertThat(metrics.get(1).getName()).isEqualTo("name_total");
   }
+
+  @Test
+  public void applicationMetricsIncludeNumericAttributes() throws Exception {
+    ObjectName executorName = new ObjectName("com.quorum.tessera:type=PublisherExecutor");
+    ObjectName nodeName =
+        new ObjectName("com.quorum.tessera:type=PayloadPush,node=" + ObjectName.quote("http://a/"));
+
+    when(mBeanServer.queryNames(new ObjectName("com.quorum.tessera:*"), null))
+        .thenReturn(Set.of(executorName, nodeName));
+
+    MBeanAttributeInfo[] executorAttributes = {
+      new MBeanAttributeInfo("QueueDepth", "long", "desc", true, false, false),
+      new MBeanAttributeInfo("Name", "java.lang.String", "desc", true, false, false)
+    };
+    MBeanAttributeInfo[] nodeAttributes = {
+      new MBeanAttributeInfo("Count", "long", "desc", true, false, false)
+    };
+    when(mBeanServer.getMBeanInfo(executorName))
+        .thenReturn(new MBeanInfo(null, null, executorAttributes, null, null, null));
+    when(mBeanServer.getMBeanInfo(nodeName))
+        .thenReturn(new MBeanInfo(null, null, nodeAttributes, null, null, null));
+    when(mBeanServer.getAttribute(executorName, "QueueDepth")).thenReturn(3L);
+    when(mBeanServer.getAttribute(executorName, "Name")).thenReturn("executor");
+    when(mBeanServer.getAttribute(nodeName, "Count")).thenReturn(5L);
+
+    List<MBeanApplicationMetric> metrics = metricsEnquirer.getApplicationMetrics();
+
+    assertThat(metrics).hasSize(2);
+
+    assertThat(metrics.get(0).getType()).isEqualTo("PayloadPush");
+    assertThat(metrics.get(0).getLabels()).containsExactly(Map.entry("node", "http://a/"));
+    assertThat(metrics.get(0).getName()).isEqualTo("Count");
+    assertThat(metrics.get(0).getValue()).isEqualTo("5");
+
+    assertThat(metrics.get(1).getType()).isEqualTo("PublisherExecutor");
+    assertThat(metrics.get(1).getLabels()).isEmpty();
+    assertThat(metrics.get(1).getName()).isEqualTo("QueueDepth");
+    assertThat(metrics.get(1).getValue()).isEqualTo("3");
+  }
+
+  @Test
+  public void applicationMetricsWithUnquotedLabel() throws Exception {
+    ObjectName mBeanName = new ObjectName("com.quorum.tessera:type=Cache,name=payloads");
+
+    when(mBeanServer.queryNames(new ObjectName("com.quorum.tessera:*"), null))
+        .thenReturn(Set.of(mBeanName));
+    MBeanAttributeInfo[] attributes = {
+      new MBeanAttributeInfo("HitCount", "long", "desc", true, false, false)
+    };
+    when(mBeanServer.getMBeanInfo(mBeanName))
+        .thenReturn(new MBeanInfo(null, null, attributes, null, null, null));
+    when(mBeanServer.getAttribute(mBeanName, "HitCount")).thenReturn(1L);
+
+    List<MBeanApplicationMetric> metrics = metricsEnquirer.getApplicationMetrics();
+
+    assertThat(metrics).hasSize(1);
+    assertThat(metrics.get(0).getLabels()).containsExactly(Map.entry("name", "payloads"));
+  }
+
+  @Test
+  public void applicationMetricsUnreadableMBean() throws Exception {
+    ObjectName mBeanName = new ObjectName("com.quorum.tessera:type=Broken");
+
+    when(mBeanServer.queryNames(new ObjectName("com.quorum.tessera:*"), null))
+        .thenReturn(Set.of(mBeanName));
+    when(mBeanServer.getMBeanInfo(mBeanName)).thenThrow(new InstanceNotFoundException());
+
+    Throwable ex = catchThrowable(() -> metricsEnquirer.getApplicationMetrics());
+
+    assertThat(ex).isExactlyInstanceOf(RuntimeException.class);
+    assertThat(ex).hasCauseExactlyInstanceOf(InstanceNotFoundException.class);
+  }
 }
@@ -5,6 +5,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import com.quorum.tessera.config.AppType;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import org.junit.Before;
 import org.junit.Test;
 
@@ -94,4 +95,28 @@ public class PrometheusProtocolFormatterTest {
 
     assertThat(protocolFormatter.format(mockMetrics, type)).isEmpty();
   }
+
+  @Test
+  public void applicationMetricsCorrectlyFormatted() {
+    List<MBeanApplicationMetric> metrics =
+        List.of(
+            new MBeanApplicationMetric("PublisherExecutor", Map.of(), "QueueDepth", "3"),
+            new MBeanApplicationMetric(
+                "PayloadPush",
+                Map.of("node", "http://node1:9001/", "kind", "say \"hi\"\\\n"),
+                "AverageTimeMillis",
+                "12"));
+
+    String expectedResponse =
+        "tessera_publisher_executor_queue_depth 3\n"
+            + "tessera_payload_push_average_time_millis"
+            + "{kind=\"say \\\"hi\\\"\\\\\\n\",node=\"http://node1:9001/\"} 12\n";
+
+    assertThat(protocolFormatter.formatApplicationMetrics(metrics)).isEqualTo(expectedResponse);
+  }
+
+  @Test
+  public void noApplicationMetricsToFormatIsHandled() {
+    assertThat(protocolFormatter.formatApplicationMetrics(List.of())).isEmpty();
+  }
 }
@@ -0,0 +1,53 @@
+package com.quorum.tessera.metrics;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/** Counts the hits and misses of a cache, and reports how many entries it currently holds. */
+public class CacheStats implements CacheStatsMBean {
+
+  private final LongAdder hits = new LongAdder();
+
+  private final LongAdder misses = new LongAdder();
+
+  private final LongSupplier size;
+
+  /** @param size reports the number of entries currently held by the cache */
+  public CacheStats(final LongSupplier size) {
+    this.size = Objects.requireNonNull(size);
+  }
+
+  public void recordHit() {
+    hits.increment();
+  }
+
+  public void recordMiss() {
+    misses.increment();
+  }
+
+  @Override
+  public long getHitCount() {
+    return hits.sum();
+  }
+
+  @Override
+  public long getMissCount() {
+    return misses.sum();
+  }
+
+  @Override
+  public double getHitRatio() {
+    final long hitCount = hits.sum();
+    final long total = hitCount + misses.sum();
+    if (total == 0) {
+      return 0;
+    }
+    return (double) hitCount / total;
+  }
+
+  @Override
+  public long getSize() {
+    return size.getAsLong();
+  }
+}
@@ -0,0 +1,12 @@
+package com.quorum.tessera.metrics;
+
+public interface CacheStatsMBean {
+
+  long getHitCount();
+
+  long getMissCount();
+
+  double getHitRatio();
+
+  long getSize();
+}
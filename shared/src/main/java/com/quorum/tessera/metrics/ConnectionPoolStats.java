@@ -0,0 +1,103 @@
+package com.quorum.tessera.metrics;
+
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntSupplier;
+
+/**
+ * Reports how busy a database connection pool is, and counts how long callers waited to get a
+ * connection from it. A growing number of pending threads or acquire time means the pool is too
+ * small for the load.
+ */
+public class ConnectionPoolStats implements ConnectionPoolStatsMBean {
+
+  private final IntSupplier activeConnections;
+
+  private final IntSupplier idleConnections;
+
+  private final IntSupplier pendingThreads;
+
+  private final LongAdder acquireCount = new LongAdder();
+
+  private final LongAdder acquireTimeoutCount = new LongAdder();
+
+  private final LongAdder totalAcquireTimeNanos = new LongAdder();
+
+  private final LongAccumulator maxAcquireTimeNanos = new LongAccumulator(Math::max, 0L);
+
+  /**
+   * @param activeConnections reports the number of connections currently in use
+   * @param idleConnections reports the number of open connections not currently in use
+   * @param pendingThreads reports the number of callers waiting for a connection
+   */
+  public ConnectionPoolStats(
+      final IntSupplier activeConnections,
+      final IntSupplier idleConnections,
+      final IntSupplier pendingThreads) {
+    this.activeConnections = Objects.requireNonNull(activeConnections);
+    this.idleConnections = Objects.requireNonNull(idleConnections);
+    this.pendingThreads = Objects.requireNonNull(pendingThreads);
+  }
+
+  /**
+   * Records a connection handed out by the pool.
+   *
+   * @param elapsedNanos how long the caller waited for the connection
+   */
+  public void recordAcquire(final long elapsedNanos) {
+    acquireCount.increment();
+    totalAcquireTimeNanos.add(elapsedNanos);
+    maxAcquireTimeNanos.accumulate(elapsedNanos);
+  }
+
+  /** Records a caller that gave up waiting for a connection. */
+  public void recordAcquireTimeout() {
+    acquireTimeoutCount.increment();
+  }
+
+  @Override
+  public int getActiveConnections() {
+    return activeConnections.getAsInt();
+  }
+
+  @Override
+  public int getIdleConnections() {
+    return idleConnections.getAsInt();
+  }
+
+  @Override
+  public int getTotalConnections() {
+    return activeConnections.getAsInt() + idleConnections.getAsInt();
+  }
+
+  @Override
+  public int getPendingThreads() {
+    return pendingThreads.getAsInt();
+  }
+
+  @Override
+  public long getAcquireCount() {
+    return acquireCount.sum();
+  }
+
+  @Override
+  public long getAcquireTimeoutCount() {
+    return acquireTimeoutCount.sum();
+  }
+
+  @Override
+  public long getAverageAcquireTimeMicros() {
+    final long total = acquireCount.sum();
+    if (total == 0) {
+      return 0;
+    }
+    return TimeUnit.NANOSECONDS.toMicros(totalAcquireTimeNanos.sum() / total);
+  }
+
+  @Override
+  public long getMaxAcquireTimeMicros() {
+    return TimeUnit.NANOSECONDS.toMicros(maxAcquireTimeNanos.get());
+  }
+}
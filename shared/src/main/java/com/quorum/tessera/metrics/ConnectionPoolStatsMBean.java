@@ -0,0 +1,20 @@
+package com.quorum.tessera.metrics;
+
+public interface ConnectionPoolStatsMBean {
+
+  int getActiveConnections();
+
+  int getIdleConnections();
+
+  int getTotalConnections();
+
+  int getPendingThreads();
+
+  long getAcquireCount();
+
+  long getAcquireTimeoutCount();
+
+  long getAverageAcquireTimeMicros();
+
+  long getMaxAcquireTimeMicros();
+}
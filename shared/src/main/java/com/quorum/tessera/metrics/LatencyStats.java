@@ -0,0 +1,61 @@
+package com.quorum.tessera.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/** Counts timed operations, how many of them failed and how long they took. */
+public class LatencyStats implements LatencyStatsMBean {
+
+  private final LongAdder count = new LongAdder();
+
+  private final LongAdder failureCount = new LongAdder();
+
+  private final LongAdder totalTimeNanos = new LongAdder();
+
+  private final LongAccumulator maxTimeNanos = new LongAccumulator(Math::max, 0L);
+
+  /**
+   * Records a single operation.
+   *
+   * @param elapsedNanos how long the operation took
+   * @param failed whether the operation failed
+   */
+  public void record(final long elapsedNanos, final boolean failed) {
+    count.increment();
+    if (failed) {
+      failureCount.increment();
+    }
+    totalTimeNanos.add(elapsedNanos);
+    maxTimeNanos.accumulate(elapsedNanos);
+  }
+
+  @Override
+  public long getCount() {
+    return count.sum();
+  }
+
+  @Override
+  public long getFailureCount() {
+    return failureCount.sum();
+  }
+
+  @Override
+  public long getTotalTimeMillis() {
+    return TimeUnit.NANOSECONDS.toMillis(totalTimeNanos.sum());
+  }
+
+  @Override
+  public long getMaxTimeMillis() {
+    return TimeUnit.NANOSECONDS.toMillis(maxTimeNanos.get());
+  }
+
+  @Override
+  public long getAverageTimeMillis() {
+    final long total = count.sum();
+    if (total == 0) {
+      return 0;
+    }
+    return TimeUnit.NANOSECONDS.toMillis(totalTimeNanos.sum() / total);
+  }
+}
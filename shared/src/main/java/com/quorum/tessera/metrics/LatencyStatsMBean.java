@@ -0,0 +1,14 @@
+package com.quorum.tessera.metrics;
+
+public interface LatencyStatsMBean {
+
+  long getCount();
+
+  long getFailureCount();
+
+  long getTotalTimeMillis();
+
+  long getMaxTimeMillis();
+
+  long getAverageTimeMillis();
+}
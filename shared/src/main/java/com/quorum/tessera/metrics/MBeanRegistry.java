@@ -0,0 +1,71 @@
+package com.quorum.tessera.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.Objects;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.MalformedObjectNameException;
+import javax.management.ObjectName;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Registers Tessera's own MBeans with the platform MBean server, under the {@link #DOMAIN} domain
+ * that is scraped by the {@code /metrics} endpoint.
+ *
+ * <p>Failing to register a metric is logged and otherwise ignored, so that metrics can never stop
+ * the node from working.
+ */
+public enum MBeanRegistry {
+  INSTANCE;
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(MBeanRegistry.class);
+
+  public static final String DOMAIN = "com.quorum.tessera";
+
+  private final MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+
+  /**
+   * Registers the given MBean, replacing any MBean already registered with the same name.
+   *
+   * @param objectName the name to register the MBean under
+   * @param mBean the MBean to register
+   */
+  public void register(final ObjectName objectName, final Object mBean) {
+    Objects.requireNonNull(objectName);
+    Objects.requireNonNull(mBean);
+    try {
+      if (mBeanServer.isRegistered(objectName)) {
+        mBeanServer.unregisterMBean(objectName);
+      }
+      mBeanServer.registerMBean(mBean, objectName);
+    } catch (JMException ex) {
+      LOGGER.warn("Unable to register metrics for {}", objectName);
+      LOGGER.debug(null, ex);
+    }
+  }
+
+  /**
+   * Creates the name of a Tessera MBean of the given type, e.g. {@code
+   * com.quorum.tessera:type=PublisherExecutor}
+   */
+  public static ObjectName objectName(final String type) {
+    return createObjectName(DOMAIN + ":type=" + type);
+  }
+
+  /**
+   * Creates the name of a Tessera MBean of the given type that holds the metrics of a single remote
+   * node, e.g. {@code com.quorum.tessera:type=PayloadPush,node="http://node1:9001/"}
+   */
+  public static ObjectName objectName(final String type, final String node) {
+    return createObjectName(DOMAIN + ":type=" + type + ",node=" + ObjectName.quote(node));
+  }
+
+  private static ObjectName createObjectName(final String name) {
+    try {
+      return new ObjectName(name);
+    } catch (MalformedObjectNameException ex) {
+      throw new IllegalArgumentException(ex);
+    }
+  }
+}
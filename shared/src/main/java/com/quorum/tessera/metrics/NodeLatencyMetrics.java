@@ -0,0 +1,30 @@
+package com.quorum.tessera.metrics;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps a {@link LatencyStats} per remote node for one kind of outbound call, registering each one
+ * as an MBean the first time the node is called.
+ */
+public class NodeLatencyMetrics {
+
+  private final String type;
+
+  private final Map<String, LatencyStats> stats = new ConcurrentHashMap<>();
+
+  public NodeLatencyMetrics(final String type) {
+    this.type = Objects.requireNonNull(type);
+  }
+
+  public LatencyStats forNode(final String node) {
+    return stats.computeIfAbsent(node, this::create);
+  }
+
+  private LatencyStats create(final String node) {
+    final LatencyStats latencyStats = new LatencyStats();
+    MBeanRegistry.INSTANCE.register(MBeanRegistry.objectName(type, node), latencyStats);
+    return latencyStats;
+  }
+}
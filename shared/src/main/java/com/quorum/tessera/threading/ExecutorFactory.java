@@ -1,11 +1,157 @@
 package com.quorum.tessera.threading;
 
+import com.quorum.tessera.metrics.MBeanRegistry;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.Executor;
 import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 public class ExecutorFactory {
 
+  private static final Logger LOGGER = LoggerFactory.getLogger(ExecutorFactory.class);
+
+  public static final String PUBLISHER_EXECUTOR_MODE = "publisherExecutorMode";
+
+  public static final String PUBLISHER_MAX_THREADS = "publisherMaxThreads";
+
+  public static final String PUBLISHER_QUEUE_SIZE = "publisherQueueSize";
+
+  static final String VIRTUAL_THREAD_FACTORY_METHOD = "newVirtualThreadPerTaskExecutor";
+
+  static final int DEFAULT_PUBLISHER_MAX_THREADS = 64;
+
+  static final int DEFAULT_PUBLISHER_QUEUE_SIZE = 1024;
+
+  static final long IDLE_THREAD_TIMEOUT_SECONDS = 60L;
+
   public Executor createCachedThreadPool() {
     return Executors.newCachedThreadPool();
   }
+
+  /**
+   * Creates a pool of at most {@code maxThreads} named daemon threads, that queues any further
+   * tasks. Threads are only started when there is work for them, and stop again once they have
+   * been idle for a minute, so a pool that is rarely used costs no threads in between.
+   *
+   * @param threadNamePrefix the prefix of the pool's thread names
+   * @param maxThreads the maximum number of threads running tasks at once
+   * @return the thread pool
+   */
+  public static ThreadPoolExecutor createDaemonPool(
+      final String threadNamePrefix, final int maxThreads) {
+    return createDaemonPool(
+        threadNamePrefix,
+        maxThreads,
+        new LinkedBlockingQueue<>(),
+        new ThreadPoolExecutor.AbortPolicy());
+  }
+
+  /**
+   * Creates a pool of at most {@code maxThreads} named daemon threads, that queues further tasks on
+   * the given queue and hands them to the given handler once that queue is full.
+   *
+   * @param threadNamePrefix the prefix of the pool's thread names
+   * @param maxThreads the maximum number of threads running tasks at once
+   * @param queue the queue of tasks waiting for a thread
+   * @param rejectedExecutionHandler what to do with tasks once the queue is full
+   * @return the thread pool
+   */
+  public static ThreadPoolExecutor createDaemonPool(
+      final String threadNamePrefix,
+      final int maxThreads,
+      final BlockingQueue<Runnable> queue,
+      final RejectedExecutionHandler rejectedExecutionHandler) {
+    final ThreadPoolExecutor threadPoolExecutor =
+        new ThreadPoolExecutor(
+            maxThreads,
+            maxThreads,
+            IDLE_THREAD_TIMEOUT_SECONDS,
+            TimeUnit.SECONDS,
+            queue,
+            new NamedDaemonThreadFactory(threadNamePrefix),
+            rejectedExecutionHandler);
+    threadPoolExecutor.allowCoreThreadTimeOut(true);
+    return threadPoolExecutor;
+  }
+
+  /**
+   * Creates the executor used to push payloads to remote nodes, and registers its metrics.
+   *
+   * <p>By default this is a pool of at most {@code publisherMaxThreads} threads with a queue of
+   * {@code publisherQueueSize} pending pushes; once the queue is full, further pushes run on the
+   * submitting thread, slowing down the caller rather than starting ever more threads. Setting
+   * {@code publisherExecutorMode} to {@code virtual} runs each push on its own virtual thread
+   * instead, when the runtime supports them.
+   *
+   * @param properties the configured tuning properties, may be null
+   * @return the executor to publish payloads with
+   */
+  public Executor createPublisherExecutor(final Map<String, String> properties) {
+    final Map<String, String> props =
+        Optional.ofNullable(properties).orElse(Collections.emptyMap());
+
+    final Optional<Executor> virtualThreadExecutor =
+        "virtual".equalsIgnoreCase(props.get(PUBLISHER_EXECUTOR_MODE))
+            ? createFromFactoryMethod(VIRTUAL_THREAD_FACTORY_METHOD)
+            : Optional.empty();
+
+    final Executor delegate =
+        virtualThreadExecutor.isPresent() ? virtualThreadExecutor.get() : createBoundedPool(props);
+
+    final InstrumentedExecutor executor = new InstrumentedExecutor(delegate);
+    MBeanRegistry.INSTANCE.register(MBeanRegistry.objectName("PublisherExecutor"), executor);
+    return executor;
+  }
+
+  private static Executor createBoundedPool(final Map<String, String> props) {
+    final int maxThreads =
+        parsePositiveInt(props, PUBLISHER_MAX_THREADS, DEFAULT_PUBLISHER_MAX_THREADS);
+    final int queueSize =
+        parsePositiveInt(props, PUBLISHER_QUEUE_SIZE, DEFAULT_PUBLISHER_QUEUE_SIZE);
+
+    LOGGER.debug("Creating publisher pool of {} threads with queue size {}", maxThreads, queueSize);
+
+    return createDaemonPool(
+        "payload-publisher",
+        maxThreads,
+        new ArrayBlockingQueue<>(queueSize),
+        new ThreadPoolExecutor.CallerRunsPolicy());
+  }
+
+  // looked up reflectively, as virtual threads are not part of the Java release Tessera targets
+  static Optional<Executor> createFromFactoryMethod(final String factoryMethodName) {
+    try {
+      final Executor executor =
+          (Executor) Executors.class.getMethod(factoryMethodName).invoke(null);
+      LOGGER.debug("Creating publisher executor using Executors.{}", factoryMethodName);
+      return Optional.of(executor);
+    } catch (ReflectiveOperationException ex) {
+      LOGGER.warn(
+          "Virtual threads are not available on this runtime. Will use bounded pool instead");
+      return Optional.empty();
+    }
+  }
+
+  private static int parsePositiveInt(
+      final Map<String, String> props, final String name, final int defaultValue) {
+    try {
+      final int value = Integer.parseInt(props.getOrDefault(name, String.valueOf(defaultValue)));
+      if (value > 0) {
+        return value;
+      }
+    } catch (NumberFormatException ex) {
+      // fall through to the default
+    }
+    LOGGER.warn("Not able to parse configured property. Will use default value instead");
+    return defaultValue;
+  }
 }
@@ -0,0 +1,60 @@
+package com.quorum.tessera.threading;
+
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Wraps an {@link Executor} to count how many submitted tasks are waiting to run, are running, and
+ * have finished.
+ */
+public class InstrumentedExecutor implements Executor, InstrumentedExecutorMBean {
+
+  private final Executor delegate;
+
+  private final LongAdder submitted = new LongAdder();
+
+  private final LongAdder started = new LongAdder();
+
+  private final LongAdder completed = new LongAdder();
+
+  public InstrumentedExecutor(final Executor delegate) {
+    this.delegate = Objects.requireNonNull(delegate);
+  }
+
+  @Override
+  public void execute(final Runnable command) {
+    Objects.requireNonNull(command);
+    submitted.increment();
+    try {
+      delegate.execute(
+          () -> {
+            started.increment();
+            try {
+              command.run();
+            } finally {
+              completed.increment();
+            }
+          });
+    } catch (RuntimeException ex) {
+      // the task was rejected, so will never run
+      submitted.decrement();
+      throw ex;
+    }
+  }
+
+  @Override
+  public long getQueueDepth() {
+    return submitted.sum() - started.sum();
+  }
+
+  @Override
+  public long getActiveTasks() {
+    return started.sum() - completed.sum();
+  }
+
+  @Override
+  public long getCompletedTasks() {
+    return completed.sum();
+  }
+}
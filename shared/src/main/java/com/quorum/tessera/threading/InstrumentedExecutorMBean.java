@@ -0,0 +1,10 @@
+package com.quorum.tessera.threading;
+
+public interface InstrumentedExecutorMBean {
+
+  long getQueueDepth();
+
+  long getActiveTasks();
+
+  long getCompletedTasks();
+}
@@ -0,0 +1,28 @@
+package com.quorum.tessera.threading;
+
+import java.util.Objects;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Creates daemon threads named after the pool they belong to, numbered in the order they are
+ * created (e.g. {@code transaction-delivery-1}), so that background work neither keeps the JVM
+ * running nor shows up as anonymous pool threads in thread dumps.
+ */
+public class NamedDaemonThreadFactory implements ThreadFactory {
+
+  private final String namePrefix;
+
+  private final AtomicInteger count = new AtomicInteger();
+
+  public NamedDaemonThreadFactory(final String namePrefix) {
+    this.namePrefix = Objects.requireNonNull(namePrefix, "namePrefix is required");
+  }
+
+  @Override
+  public Thread newThread(final Runnable runnable) {
+    final Thread thread = new Thread(runnable, namePrefix + "-" + count.incrementAndGet());
+    thread.setDaemon(true);
+    return thread;
+  }
+}
@@ -2,11 +2,13 @@ module tessera.shared {
   // requires java.compiler;
 
   requires jakarta.annotation;
+  requires java.management;
   requires org.slf4j;
 
   exports com.quorum.tessera.base64;
   exports com.quorum.tessera.exception;
   exports com.quorum.tessera.io;
+  exports com.quorum.tessera.metrics;
   exports com.quorum.tessera.passwords;
   exports com.quorum.tessera.reflect;
   exports com.quorum.tessera.service;
@@ -26,5 +28,7 @@ module tessera.shared {
       com.quorum.tessera.version.MultiTenancyVersion,
       com.quorum.tessera.version.PrivacyGroupVersion,
       com.quorum.tessera.version.MandatoryRecipientsVersion,
-      com.quorum.tessera.version.CBORSupportVersion;
+      com.quorum.tessera.version.CBORSupportVersion,
+      com.quorum.tessera.version.MultiplePushVersion,
+      com.quorum.tessera.version.PartyInfoDeltaVersion;
 }
@@ -0,0 +1,33 @@
+package com.quorum.tessera.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.Test;
+
+public class CacheStatsTest {
+
+  @Test
+  public void noRecordings() {
+    final CacheStats cacheStats = new CacheStats(() -> 0);
+
+    assertThat(cacheStats.getHitCount()).isZero();
+    assertThat(cacheStats.getMissCount()).isZero();
+    assertThat(cacheStats.getHitRatio()).isZero();
+    assertThat(cacheStats.getSize()).isZero();
+  }
+
+  @Test
+  public void recordings() {
+    final CacheStats cacheStats = new CacheStats(() -> 7);
+
+    cacheStats.recordHit();
+    cacheStats.recordHit();
+    cacheStats.recordHit();
+    cacheStats.recordMiss();
+
+    assertThat(cacheStats.getHitCount()).isEqualTo(3);
+    assertThat(cacheStats.getMissCount()).isEqualTo(1);
+    assertThat(cacheStats.getHitRatio()).isEqualTo(0.75);
+    assertThat(cacheStats.getSize()).isEqualTo(7);
+  }
+}
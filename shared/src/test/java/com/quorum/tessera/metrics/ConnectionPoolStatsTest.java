@@ -0,0 +1,41 @@
+package com.quorum.tessera.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.TimeUnit;
+import org.junit.Test;
+
+public class ConnectionPoolStatsTest {
+
+  @Test
+  public void noRecordings() {
+    final ConnectionPoolStats stats = new ConnectionPoolStats(() -> 0, () -> 0, () -> 0);
+
+    assertThat(stats.getActiveConnections()).isZero();
+    assertThat(stats.getIdleConnections()).isZero();
+    assertThat(stats.getTotalConnections()).isZero();
+    assertThat(stats.getPendingThreads()).isZero();
+    assertThat(stats.getAcquireCount()).isZero();
+    assertThat(stats.getAcquireTimeoutCount()).isZero();
+    assertThat(stats.getAverageAcquireTimeMicros()).isZero();
+    assertThat(stats.getMaxAcquireTimeMicros()).isZero();
+  }
+
+  @Test
+  public void recordings() {
+    final ConnectionPoolStats stats = new ConnectionPoolStats(() -> 8, () -> 2, () -> 5);
+
+    stats.recordAcquire(TimeUnit.MICROSECONDS.toNanos(100));
+    stats.recordAcquire(TimeUnit.MICROSECONDS.toNanos(300));
+    stats.recordAcquireTimeout();
+
+    assertThat(stats.getActiveConnections()).isEqualTo(8);
+    assertThat(stats.getIdleConnections()).isEqualTo(2);
+    assertThat(stats.getTotalConnections()).isEqualTo(10);
+    assertThat(stats.getPendingThreads()).isEqualTo(5);
+    assertThat(stats.getAcquireCount()).isEqualTo(2);
+    assertThat(stats.getAcquireTimeoutCount()).isEqualTo(1);
+    assertThat(stats.getAverageAcquireTimeMicros()).isEqualTo(200);
+    assertThat(stats.getMaxAcquireTimeMicros()).isEqualTo(300);
+  }
+}
@@ -0,0 +1,35 @@
+package com.quorum.tessera.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.TimeUnit;
+import org.junit.Test;
+
+public class LatencyStatsTest {
+
+  @Test
+  public void noRecordings() {
+    final LatencyStats latencyStats = new LatencyStats();
+
+    assertThat(latencyStats.getCount()).isZero();
+    assertThat(latencyStats.getFailureCount()).isZero();
+    assertThat(latencyStats.getTotalTimeMillis()).isZero();
+    assertThat(latencyStats.getMaxTimeMillis()).isZero();
+    assertThat(latencyStats.getAverageTimeMillis()).isZero();
+  }
+
+  @Test
+  public void recordings() {
+    final LatencyStats latencyStats = new LatencyStats();
+
+    latencyStats.record(TimeUnit.MILLISECONDS.toNanos(10), false);
+    latencyStats.record(TimeUnit.MILLISECONDS.toNanos(30), true);
+    latencyStats.record(TimeUnit.MILLISECONDS.toNanos(20), false);
+
+    assertThat(latencyStats.getCount()).isEqualTo(3);
+    assertThat(latencyStats.getFailureCount()).isEqualTo(1);
+    assertThat(latencyStats.getTotalTimeMillis()).isEqualTo(60);
+    assertThat(latencyStats.getMaxTimeMillis()).isEqualTo(30);
+    assertThat(latencyStats.getAverageTimeMillis()).isEqualTo(20);
+  }
+}
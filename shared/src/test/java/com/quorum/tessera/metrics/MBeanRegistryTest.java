@@ -0,0 +1,60 @@
+package com.quorum.tessera.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+import java.lang.management.ManagementFactory;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import org.junit.Test;
+
+public class MBeanRegistryTest {
+
+  private final MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+
+  @Test
+  public void registerReplacesExistingMBean() throws Exception {
+    final ObjectName objectName = MBeanRegistry.objectName("MBeanRegistryTest");
+
+    final LatencyStats first = new LatencyStats();
+    final LatencyStats second = new LatencyStats();
+    second.record(1L, true);
+
+    MBeanRegistry.INSTANCE.register(objectName, first);
+    MBeanRegistry.INSTANCE.register(objectName, second);
+
+    assertThat(mBeanServer.getAttribute(objectName, "FailureCount")).isEqualTo(1L);
+  }
+
+  @Test
+  public void registerNonCompliantMBeanIsIgnored() {
+    final ObjectName objectName = MBeanRegistry.objectName("MBeanRegistryTestInvalid");
+
+    MBeanRegistry.INSTANCE.register(objectName, new Object());
+
+    assertThat(mBeanServer.isRegistered(objectName)).isFalse();
+  }
+
+  @Test
+  public void objectNames() {
+    assertThat(MBeanRegistry.objectName("SomeType").toString())
+        .isEqualTo("com.quorum.tessera:type=SomeType");
+
+    final ObjectName nodeName = MBeanRegistry.objectName("SomeType", "http://node:9001/");
+    assertThat(nodeName.getDomain()).isEqualTo(MBeanRegistry.DOMAIN);
+    assertThat(nodeName.getKeyProperty("type")).isEqualTo("SomeType");
+    assertThat(ObjectName.unquote(nodeName.getKeyProperty("node"))).isEqualTo("http://node:9001/");
+  }
+
+  @Test
+  public void invalidObjectName() {
+    final Throwable ex = catchThrowable(() -> MBeanRegistry.objectName("some,type"));
+
+    assertThat(ex).isExactlyInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  public void valueOf() {
+    assertThat(MBeanRegistry.valueOf("INSTANCE")).isSameAs(MBeanRegistry.INSTANCE);
+  }
+}
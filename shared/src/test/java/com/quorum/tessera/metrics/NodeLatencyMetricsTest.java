@@ -0,0 +1,40 @@
+package com.quorum.tessera.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+import java.lang.management.ManagementFactory;
+import javax.management.MBeanServer;
+import org.junit.Test;
+
+public class NodeLatencyMetricsTest {
+
+  private final MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+
+  @Test
+  public void statsAreRegisteredOncePerNode() throws Exception {
+    final NodeLatencyMetrics metrics = new NodeLatencyMetrics("NodeLatencyMetricsTest");
+
+    final LatencyStats stats = metrics.forNode("http://node1:9001/");
+    stats.record(1000L, false);
+
+    assertThat(metrics.forNode("http://node1:9001/")).isSameAs(stats);
+    assertThat(metrics.forNode("http://node2:9001/")).isNotSameAs(stats);
+
+    assertThat(
+            mBeanServer.getAttribute(
+                MBeanRegistry.objectName("NodeLatencyMetricsTest", "http://node1:9001/"),
+                "Count"))
+        .isEqualTo(1L);
+    assertThat(
+            mBeanServer.isRegistered(
+                MBeanRegistry.objectName("NodeLatencyMetricsTest", "http://node2:9001/")))
+        .isTrue();
+  }
+
+  @Test
+  public void typeIsRequired() {
+    assertThat(catchThrowable(() -> new NodeLatencyMetrics(null)))
+        .isInstanceOf(NullPointerException.class);
+  }
+}
@@ -2,7 +2,15 @@ package com.quorum.tessera.threading;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import com.quorum.tessera.metrics.MBeanRegistry;
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 import org.junit.Test;
 
 public class ExecutorFactoryTest {
@@ -12,4 +20,98 @@ public class ExecutorFactoryTest {
     Executor executor = new ExecutorFactory().createCachedThreadPool();
     assertThat(executor).isNotNull();
   }
+
+  @Test
+  public void createPublisherExecutorRegistersMetrics() throws Exception {
+    Executor executor = new ExecutorFactory().createPublisherExecutor(null);
+
+    assertThat(executor).isExactlyInstanceOf(InstrumentedExecutor.class);
+    assertThat(
+            ManagementFactory.getPlatformMBeanServer()
+                .isRegistered(MBeanRegistry.objectName("PublisherExecutor")))
+        .isTrue();
+
+    assertRunsTasks(executor);
+  }
+
+  @Test
+  public void createBoundedPublisherExecutor() throws Exception {
+    Executor executor =
+        new ExecutorFactory()
+            .createPublisherExecutor(
+                Map.of(
+                    ExecutorFactory.PUBLISHER_EXECUTOR_MODE, "bounded",
+                    ExecutorFactory.PUBLISHER_MAX_THREADS, "1",
+                    ExecutorFactory.PUBLISHER_QUEUE_SIZE, "1"));
+
+    assertRunsTasks(executor);
+  }
+
+  @Test
+  public void createPublisherExecutorWithInvalidPropertiesUsesDefaults() throws Exception {
+    Executor executor =
+        new ExecutorFactory()
+            .createPublisherExecutor(
+                Map.of(
+                    ExecutorFactory.PUBLISHER_MAX_THREADS, "lots",
+                    ExecutorFactory.PUBLISHER_QUEUE_SIZE, "0"));
+
+    assertRunsTasks(executor);
+  }
+
+  @Test
+  public void createVirtualThreadPublisherExecutor() throws Exception {
+    Executor executor =
+        new ExecutorFactory()
+            .createPublisherExecutor(Map.of(ExecutorFactory.PUBLISHER_EXECUTOR_MODE, "virtual"));
+
+    assertRunsTasks(executor);
+  }
+
+  @Test
+  public void createDaemonPool() throws Exception {
+    ThreadPoolExecutor executor = ExecutorFactory.createDaemonPool("test-pool", 2);
+
+    assertThat(executor.getMaximumPoolSize()).isEqualTo(2);
+    assertThat(executor.allowsCoreThreadTimeOut()).isTrue();
+    assertThat(executor.getKeepAliveTime(TimeUnit.SECONDS))
+        .isEqualTo(ExecutorFactory.IDLE_THREAD_TIMEOUT_SECONDS);
+
+    AtomicReference<Thread> worker = new AtomicReference<>();
+    CountDownLatch latch = new CountDownLatch(1);
+    executor.execute(
+        () -> {
+          worker.set(Thread.currentThread());
+          latch.countDown();
+        });
+    assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+
+    assertThat(worker.get().getName()).isEqualTo("test-pool-1");
+    assertThat(worker.get().isDaemon()).isTrue();
+
+    assertRunsTasks(executor);
+    executor.shutdown();
+  }
+
+  @Test
+  public void createFromFactoryMethod() {
+    Optional<Executor> executor = ExecutorFactory.createFromFactoryMethod("newCachedThreadPool");
+
+    assertThat(executor).isPresent();
+  }
+
+  @Test
+  public void createFromUnknownFactoryMethod() {
+    Optional<Executor> executor = ExecutorFactory.createFromFactoryMethod("newImaginaryExecutor");
+
+    assertThat(executor).isEmpty();
+  }
+
+  private static void assertRunsTasks(Executor executor) throws InterruptedException {
+    CountDownLatch latch = new CountDownLatch(5);
+    for (int i = 0; i < 5; i++) {
+      executor.execute(latch::countDown);
+    }
+    assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+  }
 }
@@ -0,0 +1,73 @@
+package com.quorum.tessera.threading;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import org.junit.Test;
+
+public class InstrumentedExecutorTest {
+
+  @Test
+  public void countsQueuedActiveAndCompletedTasks() {
+    final List<Runnable> queued = new ArrayList<>();
+    final InstrumentedExecutor executor = new InstrumentedExecutor(queued::add);
+
+    executor.execute(() -> {});
+    executor.execute(
+        () -> {
+          assertThat(executor.getQueueDepth()).isZero();
+          assertThat(executor.getActiveTasks()).isEqualTo(1);
+        });
+
+    assertThat(executor.getQueueDepth()).isEqualTo(2);
+    assertThat(executor.getActiveTasks()).isZero();
+    assertThat(executor.getCompletedTasks()).isZero();
+
+    queued.get(0).run();
+
+    assertThat(executor.getQueueDepth()).isEqualTo(1);
+    assertThat(executor.getCompletedTasks()).isEqualTo(1);
+
+    queued.get(1).run();
+
+    assertThat(executor.getQueueDepth()).isZero();
+    assertThat(executor.getActiveTasks()).isZero();
+    assertThat(executor.getCompletedTasks()).isEqualTo(2);
+  }
+
+  @Test
+  public void failingTaskIsCountedAsCompleted() {
+    final InstrumentedExecutor executor = new InstrumentedExecutor(Runnable::run);
+
+    final Throwable ex =
+        catchThrowable(
+            () ->
+                executor.execute(
+                    () -> {
+                      throw new IllegalStateException("BANG");
+                    }));
+
+    assertThat(ex).isExactlyInstanceOf(IllegalStateException.class);
+    assertThat(executor.getActiveTasks()).isZero();
+    assertThat(executor.getCompletedTasks()).isEqualTo(1);
+  }
+
+  @Test
+  public void rejectedTaskIsNotCounted() {
+    final Executor delegate = mock(Executor.class);
+    doThrow(RejectedExecutionException.class).when(delegate).execute(any(Runnable.class));
+    final InstrumentedExecutor executor = new InstrumentedExecutor(delegate);
+
+    final Throwable ex = catchThrowable(() -> executor.execute(() -> {}));
+
+    assertThat(ex).isExactlyInstanceOf(RejectedExecutionException.class);
+    assertThat(executor.getQueueDepth()).isZero();
+    assertThat(executor.getCompletedTasks()).isZero();
+  }
+}
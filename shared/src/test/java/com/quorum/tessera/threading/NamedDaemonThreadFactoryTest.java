@@ -0,0 +1,31 @@
+package com.quorum.tessera.threading;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+import org.junit.Test;
+
+public class NamedDaemonThreadFactoryTest {
+
+  @Test
+  public void createsNumberedDaemonThreads() {
+    NamedDaemonThreadFactory threadFactory = new NamedDaemonThreadFactory("worker");
+
+    Thread first = threadFactory.newThread(() -> {});
+    Thread second = threadFactory.newThread(() -> {});
+
+    assertThat(first.getName()).isEqualTo("worker-1");
+    assertThat(second.getName()).isEqualTo("worker-2");
+    assertThat(first.isDaemon()).isTrue();
+    assertThat(second.isDaemon()).isTrue();
+  }
+
+  @Test
+  public void namePrefixIsRequired() {
+    Throwable ex = catchThrowable(() -> new NamedDaemonThreadFactory(null));
+
+    assertThat(ex)
+        .isExactlyInstanceOf(NullPointerException.class)
+        .hasMessage("namePrefix is required");
+  }
+}
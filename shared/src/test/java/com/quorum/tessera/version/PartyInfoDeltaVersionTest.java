@@ -0,0 +1,15 @@
+package com.quorum.tessera.version;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.Test;
+
+public class PartyInfoDeltaVersionTest {
+
+  private PartyInfoDeltaVersion version = new PartyInfoDeltaVersion();
+
+  @Test
+  public void getVersion() {
+    assertThat(version.getVersion()).isEqualTo("7.0");
+  }
+}
@@ -0,0 +1,256 @@
+package com.quorum.tessera.transaction.internal;
+
+import com.quorum.tessera.data.EncryptedTransaction;
+import com.quorum.tessera.data.EncryptedTransactionDAO;
+import com.quorum.tessera.data.EncryptedTransactionDelivery;
+import com.quorum.tessera.data.MessageHash;
+import com.quorum.tessera.enclave.EncodedPayload;
+import com.quorum.tessera.encryption.PublicKey;
+import com.quorum.tessera.threading.ExecutorFactory;
+import com.quorum.tessera.threading.NamedDaemonThreadFactory;
+import com.quorum.tessera.transaction.publish.BatchPayloadPublisher;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Pushes newly sent transactions to their remote recipients once the transaction and its pending
+ * deliveries have been committed, so that no database connection is held while waiting on peers.
+ *
+ * <p>A delivery is marked done once the publisher has pushed the payload to every recipient, and
+ * its failed attempts are counted otherwise. Deliveries left pending by failed or interrupted
+ * attempts are retried by {@link #redeliverPending()}, until they have failed {@value
+ * #MAX_DELIVERY_ATTEMPTS} times. Pushing a payload to a recipient that already has it is harmless,
+ * as the receiving node ignores transactions it already stores.
+ *
+ * <p>A transaction is only delivered by the thread that holds its claim. Senders {@link #claim}
+ * the transaction before committing it, so that redelivery cannot pick it up in between, and only
+ * release it once they are done with it.
+ */
+public class DeliveryDispatcher {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(DeliveryDispatcher.class);
+
+  static final int MAX_DELIVERY_THREADS = 16;
+
+  static final long REDELIVERY_INTERVAL_MILLIS = 5000L;
+
+  static final int REDELIVERY_BATCH_SIZE = 100;
+
+  /* At least five minutes of retries, after which the recipient is assumed to be gone for good */
+  static final int MAX_DELIVERY_ATTEMPTS = 60;
+
+  private final EncryptedTransactionDAO encryptedTransactionDAO;
+
+  private final BatchPayloadPublisher batchPayloadPublisher;
+
+  private final Executor executor;
+
+  /* Transactions claimed for delivery, which redelivery leaves alone */
+  private final Set<MessageHash> inFlight = ConcurrentHashMap.newKeySet();
+
+  public DeliveryDispatcher(
+      final EncryptedTransactionDAO encryptedTransactionDAO,
+      final BatchPayloadPublisher batchPayloadPublisher,
+      final Executor executor) {
+    this.encryptedTransactionDAO =
+        Objects.requireNonNull(encryptedTransactionDAO, "encryptedTransactionDAO is required");
+    this.batchPayloadPublisher =
+        Objects.requireNonNull(batchPayloadPublisher, "batchPayloadPublisher is required");
+    this.executor = Objects.requireNonNull(executor, "executor is required");
+  }
+
+  /**
+   * Creates a dispatcher that delivers on its own daemon threads, and retries pending deliveries
+   * in the background every {@value #REDELIVERY_INTERVAL_MILLIS} milliseconds
+   *
+   * @param encryptedTransactionDAO the store of transactions and their pending deliveries
+   * @param batchPayloadPublisher the publisher that pushes payloads to remote recipients
+   * @return the started dispatcher
+   */
+  public static DeliveryDispatcher create(
+      final EncryptedTransactionDAO encryptedTransactionDAO,
+      final BatchPayloadPublisher batchPayloadPublisher) {
+    final DeliveryDispatcher deliveryDispatcher =
+        new DeliveryDispatcher(
+            encryptedTransactionDAO,
+            batchPayloadPublisher,
+            ExecutorFactory.createDaemonPool("transaction-delivery", MAX_DELIVERY_THREADS));
+
+    final ScheduledExecutorService scheduledExecutorService =
+        Executors.newSingleThreadScheduledExecutor(
+            new NamedDaemonThreadFactory("transaction-redelivery"));
+    scheduledExecutorService.scheduleWithFixedDelay(
+        () -> {
+          try {
+            deliveryDispatcher.redeliverPending();
+          } catch (RuntimeException ex) {
+            LOGGER.warn("Unable to redeliver pending transactions", ex);
+          }
+        },
+        REDELIVERY_INTERVAL_MILLIS,
+        REDELIVERY_INTERVAL_MILLIS,
+        TimeUnit.MILLISECONDS);
+
+    return deliveryDispatcher;
+  }
+
+  /**
+   * Claims a transaction for delivery by the calling thread, so that redelivery leaves it alone
+   * until the claim is released
+   *
+   * @param hash the hash of the transaction
+   * @return true if the claim was taken, false if the transaction is already claimed by another
+   *     thread
+   */
+  public boolean claim(final MessageHash hash) {
+    return inFlight.add(hash);
+  }
+
+  /**
+   * Releases a claim taken by {@link #claim}, which must only be called by the claim's owner
+   *
+   * @param hash the hash of the transaction
+   */
+  public void release(final MessageHash hash) {
+    inFlight.remove(hash);
+  }
+
+  /**
+   * Delivers a claimed transaction on the calling thread, which keeps the claim
+   *
+   * @param hash the hash of the transaction
+   * @param payload the transaction payload
+   * @param recipients the remote recipients to deliver it to
+   * @throws RuntimeException the publisher's exception if the payload could not be pushed to
+   *     every recipient
+   */
+  public void deliver(
+      final MessageHash hash, final EncodedPayload payload, final List<PublicKey> recipients) {
+    publish(hash, payload, recipients);
+  }
+
+  /**
+   * Delivers a claimed transaction on the dispatcher's own threads, which take over the claim and
+   * release it once done
+   *
+   * @param hash the hash of the transaction
+   * @param payload the transaction payload
+   * @param recipients the remote recipients to deliver it to
+   * @return completes once delivered, or exceptionally with the publisher's exception
+   */
+  public CompletableFuture<Void> deliverAsync(
+      final MessageHash hash, final EncodedPayload payload, final List<PublicKey> recipients) {
+    return CompletableFuture.runAsync(() -> publish(hash, payload, recipients), executor)
+        .whenComplete(
+            (result, ex) -> {
+              release(hash);
+              if (ex != null) {
+                LOGGER.warn("Unable to deliver transaction {}, will retry", hash, ex);
+              }
+            });
+  }
+
+  /**
+   * Retries up to {@value #REDELIVERY_BATCH_SIZE} of the pending deliveries with the fewest failed
+   * attempts, one transaction per thread. Deliveries that have already failed {@value
+   * #MAX_DELIVERY_ATTEMPTS} times are given up on.
+   *
+   * @return the number of transactions that were delivered to all their pending recipients
+   */
+  public int redeliverPending() {
+    final List<EncryptedTransactionDelivery> deliveries =
+        encryptedTransactionDAO.retrievePendingDeliveries(
+            MAX_DELIVERY_ATTEMPTS, REDELIVERY_BATCH_SIZE);
+
+    final Set<MessageHash> lastAttempts =
+        deliveries.stream()
+            .filter(delivery -> delivery.getAttempts() + 1 >= MAX_DELIVERY_ATTEMPTS)
+            .map(EncryptedTransactionDelivery::getHash)
+            .collect(Collectors.toSet());
+
+    final Map<MessageHash, List<PublicKey>> pending =
+        deliveries.stream()
+            .filter(delivery -> !inFlight.contains(delivery.getHash()))
+            .collect(
+                Collectors.groupingBy(
+                    EncryptedTransactionDelivery::getHash,
+                    LinkedHashMap::new,
+                    Collectors.mapping(
+                        EncryptedTransactionDelivery::getRecipient, Collectors.toList())));
+    if (pending.isEmpty()) {
+      return 0;
+    }
+
+    LOGGER.debug("Redelivering {} transactions", pending.size());
+
+    // transactions deleted since their deliveries were read are not found, and so are skipped
+    final List<CompletableFuture<Boolean>> redeliveries =
+        encryptedTransactionDAO.findByHashes(pending.keySet()).stream()
+            .filter(transaction -> claim(transaction.getHash()))
+            .map(
+                transaction ->
+                    CompletableFuture.supplyAsync(
+                        () ->
+                            redeliver(
+                                transaction,
+                                pending.get(transaction.getHash()),
+                                lastAttempts.contains(transaction.getHash())),
+                        executor))
+            .collect(Collectors.toList());
+
+    return (int)
+        redeliveries.stream().map(CompletableFuture::join).filter(Boolean::booleanValue).count();
+  }
+
+  private boolean redeliver(
+      final EncryptedTransaction transaction,
+      final List<PublicKey> recipients,
+      final boolean lastAttempt) {
+    final MessageHash hash = transaction.getHash();
+    try {
+      publish(hash, transaction.getPayload(), recipients);
+      return true;
+    } catch (RuntimeException ex) {
+      if (lastAttempt) {
+        LOGGER.warn(
+            "Unable to deliver transaction {} after {} attempts, giving up",
+            hash,
+            MAX_DELIVERY_ATTEMPTS,
+            ex);
+      } else {
+        LOGGER.debug("Unable to redeliver transaction {}", hash, ex);
+      }
+      return false;
+    } finally {
+      release(hash);
+    }
+  }
+
+  private void publish(
+      final MessageHash hash, final EncodedPayload payload, final List<PublicKey> recipients) {
+    try {
+      batchPayloadPublisher.publishPayload(payload, recipients);
+    } catch (RuntimeException ex) {
+      // which recipients got the payload before the failure is not known, so all stay pending
+      try {
+        encryptedTransactionDAO.markDeliveryFailed(hash, recipients);
+      } catch (RuntimeException markFailedEx) {
+        ex.addSuppressed(markFailedEx);
+      }
+      throw ex;
+    }
+    encryptedTransactionDAO.markDelivered(hash, recipients);
+  }
+}
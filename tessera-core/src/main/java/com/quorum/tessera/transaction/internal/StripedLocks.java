@@ -0,0 +1,38 @@
+package com.quorum.tessera.transaction.internal;
+
+import com.quorum.tessera.data.MessageHash;
+import java.util.Objects;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A fixed number of locks that transactions are spread across by their hash. Work on the same
+ * transaction always takes the same lock, while work on different transactions will usually take
+ * different locks and so can run in parallel. The number of locks is bounded, so memory use does
+ * not grow with the number of transactions seen.
+ */
+class StripedLocks {
+
+  static final int DEFAULT_STRIPES = 256;
+
+  private final Lock[] locks;
+
+  StripedLocks(final int stripes) {
+    if (stripes < 1) {
+      throw new IllegalArgumentException("At least one lock stripe is required");
+    }
+    this.locks = new Lock[stripes];
+    for (int i = 0; i < stripes; i++) {
+      locks[i] = new ReentrantLock();
+    }
+  }
+
+  StripedLocks() {
+    this(DEFAULT_STRIPES);
+  }
+
+  Lock lockFor(final MessageHash hash) {
+    Objects.requireNonNull(hash);
+    return locks[Math.floorMod(hash.hashCode(), locks.length)];
+  }
+}
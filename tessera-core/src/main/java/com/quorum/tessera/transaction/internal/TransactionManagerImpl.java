@@ -5,7 +5,6 @@ import static java.util.function.Predicate.not;
 import com.quorum.tessera.data.*;
 import com.quorum.tessera.enclave.*;
 import com.quorum.tessera.enclave.PayloadDigest;
-import com.quorum.tessera.encryption.EncryptorException;
 import com.quorum.tessera.encryption.Nonce;
 import com.quorum.tessera.encryption.PublicKey;
 import com.quorum.tessera.transaction.*;
@@ -15,6 +14,7 @@ import com.quorum.tessera.transaction.exception.TransactionNotFoundException;
 import com.quorum.tessera.transaction.publish.BatchPayloadPublisher;
 import com.quorum.tessera.transaction.resend.ResendManager;
 import java.util.*;
+import java.util.concurrent.locks.Lock;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import org.slf4j.Logger;
@@ -24,11 +24,19 @@ public class TransactionManagerImpl implements TransactionManager {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(TransactionManagerImpl.class);
 
+  static final int RECIPIENT_KEY_CACHE_SIZE = 1024;
+
   private final EncryptedTransactionDAO encryptedTransactionDAO;
 
   private final EncryptedRawTransactionDAO encryptedRawTransactionDAO;
 
-  private final BatchPayloadPublisher batchPayloadPublisher;
+  private final DeliveryDispatcher deliveryDispatcher;
+
+  /**
+   * Whether a send waits for the transaction to be delivered to every remote recipient, failing
+   * without keeping the transaction if it was not, or replies as soon as the transaction is stored.
+   */
+  private final boolean waitForDelivery;
 
   private final Enclave enclave;
 
@@ -38,6 +46,18 @@ public class TransactionManagerImpl implements TransactionManager {
 
   private final PayloadDigest payloadDigest;
 
+  private final StripedLocks storeLocks = new StripedLocks();
+
+  /** Recipient keys already found for transactions that were received without one. */
+  private final Map<MessageHash, PublicKey> recipientKeys =
+      Collections.synchronizedMap(
+          new LinkedHashMap<MessageHash, PublicKey>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<MessageHash, PublicKey> eldest) {
+              return size() > RECIPIENT_KEY_CACHE_SIZE;
+            }
+          });
+
   public TransactionManagerImpl(
       Enclave enclave,
       EncryptedTransactionDAO encryptedTransactionDAO,
@@ -46,10 +66,28 @@ public class TransactionManagerImpl implements TransactionManager {
       BatchPayloadPublisher batchPayloadPublisher,
       PrivacyHelper privacyHelper,
       PayloadDigest payloadDigest) {
+    this(
+        enclave,
+        encryptedTransactionDAO,
+        encryptedRawTransactionDAO,
+        resendManager,
+        privacyHelper,
+        payloadDigest,
+        new DeliveryDispatcher(encryptedTransactionDAO, batchPayloadPublisher, Runnable::run),
+        true);
+  }
+
+  public TransactionManagerImpl(
+      Enclave enclave,
+      EncryptedTransactionDAO encryptedTransactionDAO,
+      EncryptedRawTransactionDAO encryptedRawTransactionDAO,
+      ResendManager resendManager,
+      PrivacyHelper privacyHelper,
+      PayloadDigest payloadDigest,
+      DeliveryDispatcher deliveryDispatcher,
+      boolean waitForDelivery) {
     this.encryptedTransactionDAO =
         Objects.requireNonNull(encryptedTransactionDAO, "encryptedTransactionDAO is required");
-    this.batchPayloadPublisher =
-        Objects.requireNonNull(batchPayloadPublisher, "batchPayloadPublisher is required");
     this.enclave = Objects.requireNonNull(enclave, "enclave is required");
     this.encryptedRawTransactionDAO =
         Objects.requireNonNull(
@@ -57,6 +95,9 @@ public class TransactionManagerImpl implements TransactionManager {
     this.resendManager = Objects.requireNonNull(resendManager, "resendManager is required");
     this.privacyHelper = Objects.requireNonNull(privacyHelper, "privacyHelper is required");
     this.payloadDigest = Objects.requireNonNull(payloadDigest, "payloadDigest is required");
+    this.deliveryDispatcher =
+        Objects.requireNonNull(deliveryDispatcher, "deliveryDispatcher is required");
+    this.waitForDelivery = waitForDelivery;
   }
 
   @Override
@@ -118,12 +159,7 @@ public class TransactionManagerImpl implements TransactionManager {
             .filter(not(managedPublicKeys::contains))
             .collect(Collectors.toList());
 
-    this.encryptedTransactionDAO.save(
-        newTransaction,
-        () -> {
-          batchPayloadPublisher.publishPayload(payload, recipientListRemotesOnly);
-          return null;
-        });
+    saveAndDeliver(newTransaction, recipientListRemotesOnly);
 
     return SendResponse.Builder.create()
         .withMessageHash(transactionHash)
@@ -194,12 +230,7 @@ public class TransactionManagerImpl implements TransactionManager {
             .filter(not(managedPublicKeys::contains))
             .collect(Collectors.toList());
 
-    this.encryptedTransactionDAO.save(
-        newTransaction,
-        () -> {
-          batchPayloadPublisher.publishPayload(payload, recipientListRemotesOnly);
-          return null;
-        });
+    saveAndDeliver(newTransaction, recipientListRemotesOnly);
 
     return SendResponse.Builder.create()
         .withMessageHash(messageHash)
@@ -208,8 +239,59 @@ public class TransactionManagerImpl implements TransactionManager {
         .build();
   }
 
+  /*
+   * The transaction is claimed for delivery before it is committed, so that redelivery cannot push
+   * it at the same time, and the claim is only released once delivery has succeeded or the
+   * transaction has been deleted. A transaction already claimed by another thread was stored
+   * before this request, and is left to that thread.
+   */
+  private void saveAndDeliver(
+      final EncryptedTransaction transaction, final List<PublicKey> remoteRecipients) {
+    final MessageHash transactionHash = transaction.getHash();
+    final EncodedPayload payload = transaction.getPayload();
+
+    final boolean claimed =
+        !remoteRecipients.isEmpty() && deliveryDispatcher.claim(transactionHash);
+    try {
+      encryptedTransactionDAO.saveForDelivery(transaction, remoteRecipients);
+    } catch (RuntimeException ex) {
+      if (claimed) {
+        deliveryDispatcher.release(transactionHash);
+      }
+      throw ex;
+    }
+
+    if (remoteRecipients.isEmpty()) {
+      return;
+    }
+    if (!waitForDelivery) {
+      if (claimed) {
+        // the dispatcher releases the claim once delivered
+        deliveryDispatcher.deliverAsync(transactionHash, payload, remoteRecipients);
+      }
+      return;
+    }
+    try {
+      deliveryDispatcher.deliver(transactionHash, payload, remoteRecipients);
+    } catch (RuntimeException ex) {
+      // a transaction is only kept if every remote recipient has it
+      if (claimed) {
+        try {
+          encryptedTransactionDAO.delete(transactionHash);
+        } catch (RuntimeException deleteEx) {
+          ex.addSuppressed(deleteEx);
+        }
+      }
+      throw ex;
+    } finally {
+      if (claimed) {
+        deliveryDispatcher.release(transactionHash);
+      }
+    }
+  }
+
   @Override
-  public synchronized MessageHash storePayload(final EncodedPayload payload) {
+  public MessageHash storePayload(final EncodedPayload payload) {
 
     final byte[] digest = payloadDigest.digest(payload.getCipherText());
     final MessageHash transactionHash = new MessageHash(digest);
@@ -235,7 +317,22 @@ public class TransactionManagerImpl implements TransactionManager {
         affectedContractTransactions.size(),
         invalidSecurityHashes.size());
 
-    // Validations are complete, now we need to save it to the database
+    // Validations are complete, now we need to save it to the database. Merging a new recipient
+    // into an existing payload is a read-modify-write, so stores of the same transaction must not
+    // overlap
+    final Lock lock = storeLocks.lockFor(transactionHash);
+    lock.lock();
+    try {
+      return store(transactionHash, payload, encodedPayload);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private MessageHash store(
+      final MessageHash transactionHash,
+      final EncodedPayload payload,
+      final EncodedPayload encodedPayload) {
 
     if (enclave.getPublicKeys().contains(encodedPayload.getSenderKey())) {
       // This is our own message that we are rebuilding, handle separately
@@ -389,13 +486,14 @@ public class TransactionManagerImpl implements TransactionManager {
     PublicKey recipientKey =
         request
             .getRecipient()
-            .orElse(
-                searchForRecipientKey(payload)
-                    .orElseThrow(
-                        () ->
-                            new RecipientKeyNotFoundException(
-                                "No suitable recipient keys found to decrypt payload for : "
-                                    + hash)));
+            .orElseGet(
+                () ->
+                    searchForRecipientKey(hash, payload)
+                        .orElseThrow(
+                            () ->
+                                new RecipientKeyNotFoundException(
+                                    "No suitable recipient keys found to decrypt payload for : "
+                                        + hash)));
 
     byte[] unencryptedTransactionData = enclave.unencryptTransaction(payload, recipientKey);
 
@@ -411,7 +509,7 @@ public class TransactionManagerImpl implements TransactionManager {
       for (RecipientBox box : payload.getRecipientBoxes()) {
         EncodedPayload singleBoxPayload =
             EncodedPayload.Builder.from(payload).withRecipientBoxes(List.of(box.getData())).build();
-        Optional<PublicKey> possibleRecipient = searchForRecipientKey(singleBoxPayload);
+        Optional<PublicKey> possibleRecipient = enclave.findRecipientKey(singleBoxPayload);
         possibleRecipient.ifPresent(managedParties::add);
       }
     } else {
@@ -434,16 +532,16 @@ public class TransactionManagerImpl implements TransactionManager {
         .build();
   }
 
-  private Optional<PublicKey> searchForRecipientKey(final EncodedPayload payload) {
-    for (final PublicKey potentialMatchingKey : enclave.getPublicKeys()) {
-      try {
-        enclave.unencryptTransaction(payload, potentialMatchingKey);
-        return Optional.of(potentialMatchingKey);
-      } catch (EnclaveException | IndexOutOfBoundsException | EncryptorException ex) {
-        LOGGER.debug("Attempted payload decryption using wrong key, discarding.");
-      }
+  private Optional<PublicKey> searchForRecipientKey(
+      final MessageHash hash, final EncodedPayload payload) {
+    final PublicKey cached = recipientKeys.get(hash);
+    if (cached != null) {
+      return Optional.of(cached);
     }
-    return Optional.empty();
+
+    final Optional<PublicKey> recipientKey = enclave.findRecipientKey(payload);
+    recipientKey.ifPresent(key -> recipientKeys.put(hash, key));
+    return recipientKey;
   }
 
   @Override
@@ -472,26 +570,26 @@ public class TransactionManagerImpl implements TransactionManager {
 
   @Override
   public boolean isSender(final MessageHash hash) {
-    final EncodedPayload payload = this.fetchPayload(hash);
-    return enclave.getPublicKeys().contains(payload.getSenderKey());
+    final EncryptedTransactionMetadata metadata = this.fetchMetadata(hash);
+    return enclave.getPublicKeys().contains(metadata.getSenderKey());
   }
 
   @Override
   public List<PublicKey> getParticipants(final MessageHash transactionHash) {
-    final EncodedPayload payload = this.fetchPayload(transactionHash);
+    final EncryptedTransactionMetadata metadata = this.fetchMetadata(transactionHash);
 
     // this includes the sender
-    return payload.getRecipientKeys();
+    return metadata.getRecipientKeys();
   }
 
   @Override
   public Set<PublicKey> getMandatoryRecipients(MessageHash transactionHash) {
-    final EncodedPayload payload = this.fetchPayload(transactionHash);
-    if (payload.getPrivacyMode() != PrivacyMode.MANDATORY_RECIPIENTS) {
+    final EncryptedTransactionMetadata metadata = this.fetchMetadata(transactionHash);
+    if (metadata.getPrivacyMode() != PrivacyMode.MANDATORY_RECIPIENTS) {
       throw new MandatoryRecipientsNotAvailableException(
           "Operation invalid. Transaction found is not a mandatory recipients privacy type");
     }
-    return payload.getMandatoryRecipients();
+    return metadata.getMandatoryRecipients();
   }
 
   @Override
@@ -499,10 +597,9 @@ public class TransactionManagerImpl implements TransactionManager {
     return enclave.defaultPublicKey();
   }
 
-  private EncodedPayload fetchPayload(final MessageHash hash) {
+  private EncryptedTransactionMetadata fetchMetadata(final MessageHash hash) {
     return encryptedTransactionDAO
-        .retrieveByHash(hash)
-        .map(EncryptedTransaction::getPayload)
+        .retrieveMetadata(hash)
         .orElseThrow(
             () ->
                 new TransactionNotFoundException(
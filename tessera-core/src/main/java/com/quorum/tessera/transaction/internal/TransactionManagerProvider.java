@@ -1,5 +1,6 @@
 package com.quorum.tessera.transaction.internal;
 
+import com.quorum.tessera.config.ConfigFactory;
 import com.quorum.tessera.data.EncryptedRawTransactionDAO;
 import com.quorum.tessera.data.EncryptedTransactionDAO;
 import com.quorum.tessera.enclave.Enclave;
@@ -48,14 +49,22 @@ public class TransactionManagerProvider {
     final PayloadDigest messageHashFactory = PayloadDigest.create();
     LOGGER.debug("Created PayloadDigest {}", messageHashFactory);
 
+    final boolean asyncDelivery =
+        ConfigFactory.create().getConfig().getFeatures().isEnableAsyncDelivery();
+    LOGGER.debug("Creating DeliveryDispatcher");
+    final DeliveryDispatcher deliveryDispatcher =
+        DeliveryDispatcher.create(encryptedTransactionDAO, batchPayloadPublisher);
+    LOGGER.debug("Created DeliveryDispatcher {}", deliveryDispatcher);
+
     return transactionManagerHolder.store(
         new TransactionManagerImpl(
             enclave,
             encryptedTransactionDAO,
             encryptedRawTransactionDAO,
             resendManager,
-            batchPayloadPublisher,
             privacyHelper,
-            messageHashFactory));
+            messageHashFactory,
+            deliveryDispatcher,
+            !asyncDelivery));
   }
 }
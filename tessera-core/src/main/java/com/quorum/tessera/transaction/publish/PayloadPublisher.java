@@ -3,6 +3,7 @@ package com.quorum.tessera.transaction.publish;
 import com.quorum.tessera.enclave.EncodedPayload;
 import com.quorum.tessera.encryption.PublicKey;
 import com.quorum.tessera.serviceloader.ServiceLoaderUtil;
+import java.util.List;
 import java.util.ServiceLoader;
 
 /** Publishes messages from one node to another */
@@ -16,6 +17,22 @@ public interface PayloadPublisher {
    */
   void publishPayload(EncodedPayload payload, PublicKey recipientKey);
 
+  /**
+   * Publishes an EncodedPayload holding a box for each of the provided keys, all of which are
+   * hosted on the same node
+   *
+   * <p>By default the payload is split and published once per recipient key
+   *
+   * @param payload the payload object, already stripped for the given recipients, to be pushed
+   * @param recipientKeys the public keys identifying the recipients on the target node
+   */
+  default void publishPayloadToNode(EncodedPayload payload, List<PublicKey> recipientKeys) {
+    recipientKeys.forEach(
+        recipientKey ->
+            publishPayload(
+                EncodedPayload.Builder.forRecipient(payload, recipientKey).build(), recipientKey));
+  }
+
   static PayloadPublisher create() {
     return ServiceLoaderUtil.loadSingle(ServiceLoader.load(PayloadPublisher.class));
   }
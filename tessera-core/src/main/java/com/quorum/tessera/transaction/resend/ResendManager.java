@@ -12,6 +12,10 @@ public interface ResendManager {
    * recipient list is updated. If it does not contain the transaction, a new one is created with an
    * initial recipient list of itself and the given recipient of the incoming message.
    *
+   * <p>Updating the recipient list is not atomic, so callers must not accept two messages for the
+   * same transaction at the same time. {@link
+   * com.quorum.tessera.transaction.TransactionManager#storePayload} takes care of this.
+   *
    * @param transactionPayload the transaction to be stored
    */
   void acceptOwnMessage(EncodedPayload transactionPayload);
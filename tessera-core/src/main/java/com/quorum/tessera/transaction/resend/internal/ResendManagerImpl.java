@@ -23,7 +23,7 @@ public class ResendManagerImpl implements ResendManager {
     this.payloadDigest = payloadDigest;
   }
 
-  public synchronized void acceptOwnMessage(final EncodedPayload payload) {
+  public void acceptOwnMessage(final EncodedPayload payload) {
     // check the payload can be decrypted to ensure it isn't rubbish being sent to us
     final byte[] newDecrypted;
     if (payload.getPrivacyMode() == PrivacyMode.PRIVATE_STATE_VALIDATION) {
@@ -115,10 +115,12 @@ public class ResendManagerImpl implements ResendManager {
       }
 
       // add recipient boxes for all recipients (applicable for PSV transactions)
-      for (int i = payload.getRecipientBoxes().size(); i < recipientKeys.size(); i++) {
-        PublicKey recipient = recipientKeys.get(i);
-        byte[] newBox = enclave.createNewRecipientBox(payload, recipient);
-        payloadBuilder.withRecipientBox(newBox);
+      final List<PublicKey> missingBoxRecipients =
+          recipientKeys.subList(payload.getRecipientBoxes().size(), recipientKeys.size());
+      if (!missingBoxRecipients.isEmpty()) {
+        enclave
+            .createNewRecipientBoxes(payload, missingBoxRecipients)
+            .forEach(payloadBuilder::withRecipientBox);
       }
 
       final EncryptedTransaction txToSave =
@@ -0,0 +1,273 @@
+package com.quorum.tessera.transaction.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+import static org.mockito.Mockito.*;
+
+import com.quorum.tessera.data.EncryptedTransaction;
+import com.quorum.tessera.data.EncryptedTransactionDAO;
+import com.quorum.tessera.data.EncryptedTransactionDelivery;
+import com.quorum.tessera.data.MessageHash;
+import com.quorum.tessera.enclave.EncodedPayload;
+import com.quorum.tessera.encryption.PublicKey;
+import com.quorum.tessera.transaction.publish.BatchPayloadPublisher;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class DeliveryDispatcherTest {
+
+  private static final int BATCH_SIZE = DeliveryDispatcher.REDELIVERY_BATCH_SIZE;
+
+  private static final int MAX_ATTEMPTS = DeliveryDispatcher.MAX_DELIVERY_ATTEMPTS;
+
+  private static final MessageHash HASH = new MessageHash("hash".getBytes());
+
+  private static final PublicKey RECIPIENT = PublicKey.from("recipient".getBytes());
+
+  private static final PublicKey OTHER_RECIPIENT = PublicKey.from("otherRecipient".getBytes());
+
+  private EncryptedTransactionDAO encryptedTransactionDAO;
+
+  private BatchPayloadPublisher batchPayloadPublisher;
+
+  private DeliveryDispatcher deliveryDispatcher;
+
+  @Before
+  public void beforeTest() {
+    encryptedTransactionDAO = mock(EncryptedTransactionDAO.class);
+    batchPayloadPublisher = mock(BatchPayloadPublisher.class);
+    deliveryDispatcher =
+        new DeliveryDispatcher(encryptedTransactionDAO, batchPayloadPublisher, Runnable::run);
+  }
+
+  @After
+  public void afterTest() {
+    verifyNoMoreInteractions(encryptedTransactionDAO, batchPayloadPublisher);
+  }
+
+  @Test
+  public void deliveredTransactionIsMarkedDelivered() {
+    final EncodedPayload payload = mock(EncodedPayload.class);
+
+    deliveryDispatcher.deliver(HASH, payload, List.of(RECIPIENT, OTHER_RECIPIENT));
+
+    verify(batchPayloadPublisher).publishPayload(payload, List.of(RECIPIENT, OTHER_RECIPIENT));
+    verify(encryptedTransactionDAO).markDelivered(HASH, List.of(RECIPIENT, OTHER_RECIPIENT));
+  }
+
+  @Test
+  public void failedDeliveryIsCountedAndRethrown() {
+    final EncodedPayload payload = mock(EncodedPayload.class);
+    final RuntimeException publishFailure = new RuntimeException("Peer unavailable");
+    doThrow(publishFailure).when(batchPayloadPublisher).publishPayload(payload, List.of(RECIPIENT));
+
+    final Throwable throwable =
+        catchThrowable(() -> deliveryDispatcher.deliver(HASH, payload, List.of(RECIPIENT)));
+
+    assertThat(throwable).isSameAs(publishFailure);
+
+    verify(batchPayloadPublisher).publishPayload(payload, List.of(RECIPIENT));
+    verify(encryptedTransactionDAO).markDeliveryFailed(HASH, List.of(RECIPIENT));
+  }
+
+  @Test
+  public void failureToCountFailedDeliveryDoesNotHidePublishFailure() {
+    final EncodedPayload payload = mock(EncodedPayload.class);
+    final RuntimeException publishFailure = new RuntimeException("Peer unavailable");
+    final RuntimeException databaseFailure = new RuntimeException("Database unavailable");
+    doThrow(publishFailure).when(batchPayloadPublisher).publishPayload(payload, List.of(RECIPIENT));
+    doThrow(databaseFailure)
+        .when(encryptedTransactionDAO)
+        .markDeliveryFailed(HASH, List.of(RECIPIENT));
+
+    final Throwable throwable =
+        catchThrowable(() -> deliveryDispatcher.deliver(HASH, payload, List.of(RECIPIENT)));
+
+    assertThat(throwable).isSameAs(publishFailure).hasSuppressedException(databaseFailure);
+
+    verify(batchPayloadPublisher).publishPayload(payload, List.of(RECIPIENT));
+    verify(encryptedTransactionDAO).markDeliveryFailed(HASH, List.of(RECIPIENT));
+  }
+
+  @Test
+  public void asyncDeliveryCompletesWithPublishOutcome() {
+    final EncodedPayload payload = mock(EncodedPayload.class);
+    final RuntimeException publishFailure = new RuntimeException("Peer unavailable");
+    doNothing()
+        .doThrow(publishFailure)
+        .when(batchPayloadPublisher)
+        .publishPayload(payload, List.of(RECIPIENT));
+
+    deliveryDispatcher.claim(HASH);
+    final CompletableFuture<Void> delivered =
+        deliveryDispatcher.deliverAsync(HASH, payload, List.of(RECIPIENT));
+    deliveryDispatcher.claim(HASH);
+    final CompletableFuture<Void> failed =
+        deliveryDispatcher.deliverAsync(HASH, payload, List.of(RECIPIENT));
+
+    assertThat(delivered).isCompleted().isNotCompletedExceptionally();
+    assertThat(catchThrowable(failed::join))
+        .isInstanceOf(CompletionException.class)
+        .hasCause(publishFailure);
+
+    verify(batchPayloadPublisher, times(2)).publishPayload(payload, List.of(RECIPIENT));
+    verify(encryptedTransactionDAO).markDelivered(HASH, List.of(RECIPIENT));
+    verify(encryptedTransactionDAO).markDeliveryFailed(HASH, List.of(RECIPIENT));
+  }
+
+  @Test
+  public void pendingDeliveriesAreRetriedPerTransaction() {
+    final MessageHash deletedHash = new MessageHash("deleted".getBytes());
+    final EncryptedTransaction transaction = transaction(HASH);
+    when(encryptedTransactionDAO.retrievePendingDeliveries(MAX_ATTEMPTS, BATCH_SIZE))
+        .thenReturn(
+            List.of(
+                new EncryptedTransactionDelivery(HASH, RECIPIENT),
+                new EncryptedTransactionDelivery(deletedHash, RECIPIENT),
+                new EncryptedTransactionDelivery(HASH, OTHER_RECIPIENT)));
+    when(encryptedTransactionDAO.findByHashes(Set.of(HASH, deletedHash)))
+        .thenReturn(List.of(transaction));
+
+    assertThat(deliveryDispatcher.redeliverPending()).isEqualTo(1);
+
+    verify(encryptedTransactionDAO).retrievePendingDeliveries(MAX_ATTEMPTS, BATCH_SIZE);
+    verify(encryptedTransactionDAO).findByHashes(Set.of(HASH, deletedHash));
+    verify(batchPayloadPublisher)
+        .publishPayload(transaction.getPayload(), List.of(RECIPIENT, OTHER_RECIPIENT));
+    verify(encryptedTransactionDAO).markDelivered(HASH, List.of(RECIPIENT, OTHER_RECIPIENT));
+  }
+
+  @Test
+  public void failedRedeliveryIsCountedAndLeftPending() {
+    final EncryptedTransaction transaction = transaction(HASH);
+    when(encryptedTransactionDAO.retrievePendingDeliveries(MAX_ATTEMPTS, BATCH_SIZE))
+        .thenReturn(List.of(new EncryptedTransactionDelivery(HASH, RECIPIENT)));
+    when(encryptedTransactionDAO.findByHashes(Set.of(HASH))).thenReturn(List.of(transaction));
+    doThrow(RuntimeException.class)
+        .when(batchPayloadPublisher)
+        .publishPayload(transaction.getPayload(), List.of(RECIPIENT));
+
+    assertThat(deliveryDispatcher.redeliverPending()).isZero();
+
+    verify(encryptedTransactionDAO).retrievePendingDeliveries(MAX_ATTEMPTS, BATCH_SIZE);
+    verify(encryptedTransactionDAO).findByHashes(Set.of(HASH));
+    verify(batchPayloadPublisher).publishPayload(transaction.getPayload(), List.of(RECIPIENT));
+    verify(encryptedTransactionDAO).markDeliveryFailed(HASH, List.of(RECIPIENT));
+  }
+
+  @Test
+  public void transactionsBeingDeliveredAreNotRedelivered() {
+    final List<Runnable> queued = new ArrayList<>();
+    final DeliveryDispatcher queueingDispatcher =
+        new DeliveryDispatcher(encryptedTransactionDAO, batchPayloadPublisher, queued::add);
+    final EncodedPayload payload = mock(EncodedPayload.class);
+    when(encryptedTransactionDAO.retrievePendingDeliveries(MAX_ATTEMPTS, BATCH_SIZE))
+        .thenReturn(List.of(new EncryptedTransactionDelivery(HASH, RECIPIENT)));
+
+    assertThat(queueingDispatcher.claim(HASH)).isTrue();
+    queueingDispatcher.deliverAsync(HASH, payload, List.of(RECIPIENT));
+
+    assertThat(queueingDispatcher.redeliverPending()).isZero();
+    assertThat(queued).hasSize(1);
+
+    verify(encryptedTransactionDAO).retrievePendingDeliveries(MAX_ATTEMPTS, BATCH_SIZE);
+  }
+
+  @Test
+  public void claimedTransactionsAreNotRedeliveredUntilReleased() {
+    final EncryptedTransaction transaction = transaction(HASH);
+    when(encryptedTransactionDAO.retrievePendingDeliveries(MAX_ATTEMPTS, BATCH_SIZE))
+        .thenReturn(List.of(new EncryptedTransactionDelivery(HASH, RECIPIENT)));
+    when(encryptedTransactionDAO.findByHashes(Set.of(HASH))).thenReturn(List.of(transaction));
+
+    assertThat(deliveryDispatcher.claim(HASH)).isTrue();
+
+    // redelivery neither delivers the claimed transaction nor releases its claim
+    assertThat(deliveryDispatcher.redeliverPending()).isZero();
+    assertThat(deliveryDispatcher.claim(HASH)).isFalse();
+
+    deliveryDispatcher.release(HASH);
+
+    assertThat(deliveryDispatcher.redeliverPending()).isEqualTo(1);
+
+    verify(encryptedTransactionDAO, times(2)).retrievePendingDeliveries(MAX_ATTEMPTS, BATCH_SIZE);
+    verify(encryptedTransactionDAO).findByHashes(Set.of(HASH));
+    verify(batchPayloadPublisher).publishPayload(transaction.getPayload(), List.of(RECIPIENT));
+    verify(encryptedTransactionDAO).markDelivered(HASH, List.of(RECIPIENT));
+  }
+
+  @Test
+  public void asyncDeliveryReleasesItsClaimOnceDone() {
+    final EncodedPayload payload = mock(EncodedPayload.class);
+
+    assertThat(deliveryDispatcher.claim(HASH)).isTrue();
+    deliveryDispatcher.deliverAsync(HASH, payload, List.of(RECIPIENT)).join();
+
+    assertThat(deliveryDispatcher.claim(HASH)).isTrue();
+
+    verify(batchPayloadPublisher).publishPayload(payload, List.of(RECIPIENT));
+    verify(encryptedTransactionDAO).markDelivered(HASH, List.of(RECIPIENT));
+  }
+
+  @Test
+  public void syncDeliveryKeepsItsClaim() {
+    final EncodedPayload payload = mock(EncodedPayload.class);
+
+    assertThat(deliveryDispatcher.claim(HASH)).isTrue();
+    deliveryDispatcher.deliver(HASH, payload, List.of(RECIPIENT));
+
+    assertThat(deliveryDispatcher.claim(HASH)).isFalse();
+
+    verify(batchPayloadPublisher).publishPayload(payload, List.of(RECIPIENT));
+    verify(encryptedTransactionDAO).markDelivered(HASH, List.of(RECIPIENT));
+  }
+
+  @Test
+  public void lastFailedRedeliveryIsStillCounted() {
+    final EncryptedTransaction transaction = transaction(HASH);
+    final EncryptedTransactionDelivery delivery = mock(EncryptedTransactionDelivery.class);
+    when(delivery.getHash()).thenReturn(HASH);
+    when(delivery.getRecipient()).thenReturn(RECIPIENT);
+    when(delivery.getAttempts()).thenReturn(MAX_ATTEMPTS - 1);
+    when(encryptedTransactionDAO.retrievePendingDeliveries(MAX_ATTEMPTS, BATCH_SIZE))
+        .thenReturn(List.of(delivery));
+    when(encryptedTransactionDAO.findByHashes(Set.of(HASH))).thenReturn(List.of(transaction));
+    doThrow(RuntimeException.class)
+        .when(batchPayloadPublisher)
+        .publishPayload(transaction.getPayload(), List.of(RECIPIENT));
+
+    assertThat(deliveryDispatcher.redeliverPending()).isZero();
+
+    // the delivery has now failed the maximum number of times, so is not retrieved again
+    verify(encryptedTransactionDAO).retrievePendingDeliveries(MAX_ATTEMPTS, BATCH_SIZE);
+    verify(encryptedTransactionDAO).findByHashes(Set.of(HASH));
+    verify(batchPayloadPublisher).publishPayload(transaction.getPayload(), List.of(RECIPIENT));
+    verify(encryptedTransactionDAO).markDeliveryFailed(HASH, List.of(RECIPIENT));
+  }
+
+  @Test
+  public void nothingPendingToRedeliver() {
+    when(encryptedTransactionDAO.retrievePendingDeliveries(MAX_ATTEMPTS, BATCH_SIZE))
+        .thenReturn(List.of());
+
+    assertThat(deliveryDispatcher.redeliverPending()).isZero();
+
+    verify(encryptedTransactionDAO).retrievePendingDeliveries(MAX_ATTEMPTS, BATCH_SIZE);
+  }
+
+  @Test
+  public void create() {
+    assertThat(DeliveryDispatcher.create(encryptedTransactionDAO, batchPayloadPublisher))
+        .isNotNull();
+  }
+
+  private static EncryptedTransaction transaction(final MessageHash hash) {
+    return new EncryptedTransaction(hash, mock(EncodedPayload.class));
+  }
+}
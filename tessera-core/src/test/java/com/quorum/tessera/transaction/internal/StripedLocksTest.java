@@ -0,0 +1,45 @@
+package com.quorum.tessera.transaction.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+import com.quorum.tessera.data.MessageHash;
+import java.util.Set;
+import java.util.concurrent.locks.Lock;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.Test;
+
+public class StripedLocksTest {
+
+  @Test
+  public void sameHashAlwaysGetsSameLock() {
+    final StripedLocks stripedLocks = new StripedLocks();
+
+    final Lock lock = stripedLocks.lockFor(new MessageHash("hash".getBytes()));
+
+    assertThat(stripedLocks.lockFor(new MessageHash("hash".getBytes()))).isSameAs(lock);
+  }
+
+  @Test
+  public void hashesAreSpreadAcrossStripes() {
+    final StripedLocks stripedLocks = new StripedLocks(16);
+
+    final Set<Lock> locks =
+        IntStream.range(0, 1000)
+            .mapToObj(i -> new MessageHash(("hash" + i).getBytes()))
+            .map(stripedLocks::lockFor)
+            .collect(Collectors.toSet());
+
+    assertThat(locks).hasSize(16);
+  }
+
+  @Test
+  public void atLeastOneStripeIsRequired() {
+    final Throwable throwable = catchThrowable(() -> new StripedLocks(0));
+
+    assertThat(throwable)
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("At least one lock stripe is required");
+  }
+}
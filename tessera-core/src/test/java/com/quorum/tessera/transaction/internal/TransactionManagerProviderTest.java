@@ -5,6 +5,7 @@ import static org.mockito.Mockito.*;
 
 import com.quorum.tessera.config.Config;
 import com.quorum.tessera.config.ConfigFactory;
+import com.quorum.tessera.config.FeatureToggles;
 import com.quorum.tessera.data.EncryptedRawTransactionDAO;
 import com.quorum.tessera.data.EncryptedTransactionDAO;
 import com.quorum.tessera.enclave.Enclave;
@@ -43,6 +44,7 @@ public class TransactionManagerProviderTest {
       ConfigFactory configFactory = mock(ConfigFactory.class);
       Config config = mock(Config.class);
       when(configFactory.getConfig()).thenReturn(config);
+      when(config.getFeatures()).thenReturn(new FeatureToggles());
       mockedStaticConfigFactory.when(ConfigFactory::create).thenReturn(configFactory);
 
       PayloadPublisher payloadPublisher = mock(PayloadPublisher.class);
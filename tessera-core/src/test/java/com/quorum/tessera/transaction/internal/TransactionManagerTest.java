@@ -17,11 +17,16 @@ import com.quorum.tessera.transaction.exception.TransactionNotFoundException;
 import com.quorum.tessera.transaction.publish.BatchPayloadPublisher;
 import com.quorum.tessera.transaction.resend.ResendManager;
 import java.util.*;
-import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 
 public class TransactionManagerTest {
 
@@ -96,7 +101,9 @@ public class TransactionManagerTest {
     assertThat(result.getManagedParties()).containsExactly(receiver);
 
     verify(enclave).encryptPayload(any(), any(), any(), any());
-    verify(encryptedTransactionDAO).save(any(EncryptedTransaction.class), any(Callable.class));
+    verify(encryptedTransactionDAO).saveForDelivery(any(EncryptedTransaction.class), anyList());
+    verify(batchPayloadPublisher).publishPayload(any(), anyList());
+    verify(encryptedTransactionDAO).markDelivered(any(MessageHash.class), anyList());
     verify(enclave).getForwardingKeys();
     verify(enclave).getPublicKeys();
   }
@@ -133,7 +140,9 @@ public class TransactionManagerTest {
     assertThat(result.getManagedParties()).containsExactly(receiver);
 
     verify(enclave).encryptPayload(any(), any(), any(), metadataArgCaptor.capture());
-    verify(encryptedTransactionDAO).save(any(EncryptedTransaction.class), any(Callable.class));
+    verify(encryptedTransactionDAO).saveForDelivery(any(EncryptedTransaction.class), anyList());
+    verify(batchPayloadPublisher).publishPayload(any(), anyList());
+    verify(encryptedTransactionDAO).markDelivered(any(MessageHash.class), anyList());
     verify(enclave).getForwardingKeys();
     verify(enclave).getPublicKeys();
 
@@ -144,7 +153,7 @@ public class TransactionManagerTest {
   }
 
   @Test
-  public void sendAlsoWithPublishCallbackCoverage() {
+  public void sendPublishesToRemoteRecipients() {
 
     EncodedPayload encodedPayload = mock(EncodedPayload.class);
 
@@ -154,15 +163,6 @@ public class TransactionManagerTest {
             any(byte[].class), any(PublicKey.class), anyList(), any(PrivacyMetadata.class)))
         .thenReturn(encodedPayload);
 
-    doAnswer(
-            invocation -> {
-              Callable callable = invocation.getArgument(1);
-              callable.call();
-              return mock(EncryptedTransaction.class);
-            })
-        .when(encryptedTransactionDAO)
-        .save(any(EncryptedTransaction.class), any(Callable.class));
-
     PublicKey sender = PublicKey.from("SENDER".getBytes());
     PublicKey receiver = PublicKey.from("RECEIVER".getBytes());
 
@@ -183,7 +183,8 @@ public class TransactionManagerTest {
     verify(enclave)
         .encryptPayload(
             any(byte[].class), any(PublicKey.class), anyList(), any(PrivacyMetadata.class));
-    verify(encryptedTransactionDAO).save(any(EncryptedTransaction.class), any(Callable.class));
+    verify(encryptedTransactionDAO).saveForDelivery(any(EncryptedTransaction.class), anyList());
+    verify(encryptedTransactionDAO).markDelivered(any(MessageHash.class), anyList());
     verify(enclave).getForwardingKeys();
     verify(enclave).getPublicKeys();
     verify(batchPayloadPublisher).publishPayload(any(), anyList());
@@ -216,7 +217,9 @@ public class TransactionManagerTest {
     assertThat(result.getManagedParties()).isEmpty();
 
     verify(enclave).encryptPayload(any(), any(), any(), any());
-    verify(encryptedTransactionDAO).save(any(EncryptedTransaction.class), any(Callable.class));
+    verify(encryptedTransactionDAO).saveForDelivery(any(EncryptedTransaction.class), anyList());
+    verify(batchPayloadPublisher).publishPayload(any(), anyList());
+    verify(encryptedTransactionDAO).markDelivered(any(MessageHash.class), anyList());
     verify(enclave).getForwardingKeys();
     verify(enclave).getPublicKeys();
   }
@@ -257,7 +260,9 @@ public class TransactionManagerTest {
     ArgumentCaptor<PrivacyMetadata> data = ArgumentCaptor.forClass(PrivacyMetadata.class);
 
     verify(enclave).encryptPayload(any(RawTransaction.class), any(), data.capture());
-    verify(encryptedTransactionDAO).save(any(EncryptedTransaction.class), any(Callable.class));
+    verify(encryptedTransactionDAO).saveForDelivery(any(EncryptedTransaction.class), anyList());
+    verify(batchPayloadPublisher).publishPayload(any(), anyList());
+    verify(encryptedTransactionDAO).markDelivered(any(MessageHash.class), anyList());
     verify(encryptedRawTransactionDAO).retrieveByHash(any(MessageHash.class));
     verify(enclave).getForwardingKeys();
     verify(enclave).getPublicKeys();
@@ -303,7 +308,9 @@ public class TransactionManagerTest {
     ArgumentCaptor<PrivacyMetadata> data = ArgumentCaptor.forClass(PrivacyMetadata.class);
 
     verify(enclave).encryptPayload(any(RawTransaction.class), any(), data.capture());
-    verify(encryptedTransactionDAO).save(any(EncryptedTransaction.class), any(Callable.class));
+    verify(encryptedTransactionDAO).saveForDelivery(any(EncryptedTransaction.class), anyList());
+    verify(batchPayloadPublisher).publishPayload(any(), anyList());
+    verify(encryptedTransactionDAO).markDelivered(any(MessageHash.class), anyList());
     verify(encryptedRawTransactionDAO).retrieveByHash(any(MessageHash.class));
     verify(enclave).getForwardingKeys();
     verify(enclave).getPublicKeys();
@@ -315,7 +322,7 @@ public class TransactionManagerTest {
   }
 
   @Test
-  public void sendSignedTransactionWithCallbackCoverage() {
+  public void sendSignedTransactionPublishesToRemoteRecipients() {
 
     EncodedPayload payload = mock(EncodedPayload.class);
     MessageHash hash = new MessageHash("HASH".getBytes());
@@ -327,15 +334,6 @@ public class TransactionManagerTest {
     when(encryptedRawTransactionDAO.retrieveByHash(eq(hash)))
         .thenReturn(Optional.of(encryptedRawTransaction));
 
-    doAnswer(
-            invocation -> {
-              Callable callable = invocation.getArgument(1);
-              callable.call();
-              return mock(EncryptedTransaction.class);
-            })
-        .when(encryptedTransactionDAO)
-        .save(any(EncryptedTransaction.class), any(Callable.class));
-
     when(payload.getCipherText()).thenReturn("ENCRYPTED_PAYLOAD".getBytes());
 
     when(enclave.encryptPayload(any(RawTransaction.class), any(), any())).thenReturn(payload);
@@ -360,7 +358,8 @@ public class TransactionManagerTest {
     ArgumentCaptor<PrivacyMetadata> data = ArgumentCaptor.forClass(PrivacyMetadata.class);
 
     verify(enclave).encryptPayload(any(RawTransaction.class), any(), data.capture());
-    verify(encryptedTransactionDAO).save(any(EncryptedTransaction.class), any(Callable.class));
+    verify(encryptedTransactionDAO).saveForDelivery(any(EncryptedTransaction.class), anyList());
+    verify(encryptedTransactionDAO).markDelivered(any(MessageHash.class), anyList());
     verify(encryptedRawTransactionDAO).retrieveByHash(any(MessageHash.class));
     verify(enclave).getForwardingKeys();
     verify(enclave).getPublicKeys();
@@ -406,12 +405,279 @@ public class TransactionManagerTest {
     assertThat(result.getManagedParties()).isEmpty();
 
     verify(enclave).encryptPayload(any(RawTransaction.class), any(), any());
-    verify(encryptedTransactionDAO).save(any(EncryptedTransaction.class), any(Callable.class));
+    verify(encryptedTransactionDAO).saveForDelivery(any(EncryptedTransaction.class), anyList());
+    verify(batchPayloadPublisher).publishPayload(any(), anyList());
+    verify(encryptedTransactionDAO).markDelivered(any(MessageHash.class), anyList());
     verify(encryptedRawTransactionDAO).retrieveByHash(any(MessageHash.class));
     verify(enclave).getForwardingKeys();
     verify(enclave).getPublicKeys();
   }
 
+  @Test
+  public void sendDoesNotKeepTransactionThatCouldNotBeDelivered() {
+    EncodedPayload encodedPayload = mock(EncodedPayload.class);
+    when(encodedPayload.getCipherText()).thenReturn("CIPHERTEXT".getBytes());
+    when(enclave.encryptPayload(any(), any(), any(), any())).thenReturn(encodedPayload);
+
+    PublicKey sender = PublicKey.from("SENDER".getBytes());
+    PublicKey receiver = PublicKey.from("RECEIVER".getBytes());
+    when(enclave.getPublicKeys()).thenReturn(Set.of(sender));
+
+    RuntimeException publishFailure = new RuntimeException("Peer unavailable");
+    doThrow(publishFailure).when(batchPayloadPublisher).publishPayload(any(), anyList());
+
+    SendRequest sendRequest = mock(SendRequest.class);
+    when(sendRequest.getPayload()).thenReturn("PAYLOAD".getBytes());
+    when(sendRequest.getSender()).thenReturn(sender);
+    when(sendRequest.getRecipients()).thenReturn(List.of(receiver));
+    when(sendRequest.getPrivacyMode()).thenReturn(PrivacyMode.STANDARD_PRIVATE);
+
+    Throwable throwable = catchThrowable(() -> transactionManager.send(sendRequest));
+
+    assertThat(throwable).isSameAs(publishFailure);
+
+    MessageHash hash = new MessageHash("CIPHERTEXT".getBytes());
+    verify(enclave).encryptPayload(any(), any(), any(), any());
+    verify(encryptedTransactionDAO)
+        .saveForDelivery(any(EncryptedTransaction.class), eq(List.of(receiver)));
+    verify(batchPayloadPublisher).publishPayload(encodedPayload, List.of(receiver));
+    verify(encryptedTransactionDAO).markDeliveryFailed(hash, List.of(receiver));
+    verify(encryptedTransactionDAO).delete(hash);
+    verify(enclave).getForwardingKeys();
+    verify(enclave).getPublicKeys();
+  }
+
+  @Test
+  public void sendWithoutWaitingForDeliveryRepliesOnceStored() {
+    DeliveryDispatcher deliveryDispatcher = mock(DeliveryDispatcher.class);
+    TransactionManager asyncTransactionManager =
+        new TransactionManagerImpl(
+            enclave,
+            encryptedTransactionDAO,
+            encryptedRawTransactionDAO,
+            resendManager,
+            privacyHelper,
+            mockDigest,
+            deliveryDispatcher,
+            false);
+
+    EncodedPayload encodedPayload = mock(EncodedPayload.class);
+    when(encodedPayload.getCipherText()).thenReturn("CIPHERTEXT".getBytes());
+    when(enclave.encryptPayload(any(), any(), any(), any())).thenReturn(encodedPayload);
+
+    PublicKey sender = PublicKey.from("SENDER".getBytes());
+    PublicKey receiver = PublicKey.from("RECEIVER".getBytes());
+    when(enclave.getPublicKeys()).thenReturn(Set.of(sender));
+
+    SendRequest sendRequest = mock(SendRequest.class);
+    when(sendRequest.getPayload()).thenReturn("PAYLOAD".getBytes());
+    when(sendRequest.getSender()).thenReturn(sender);
+    when(sendRequest.getRecipients()).thenReturn(List.of(receiver));
+    when(sendRequest.getPrivacyMode()).thenReturn(PrivacyMode.STANDARD_PRIVATE);
+
+    MessageHash hash = new MessageHash("CIPHERTEXT".getBytes());
+    when(deliveryDispatcher.claim(hash)).thenReturn(true);
+
+    SendResponse result = asyncTransactionManager.send(sendRequest);
+
+    assertThat(result.getTransactionHash()).isEqualTo(hash);
+    assertThat(result.getManagedParties()).containsExactly(sender);
+
+    // claimed before it is committed, so redelivery cannot push it at the same time
+    InOrder inOrder = inOrder(deliveryDispatcher, encryptedTransactionDAO);
+    inOrder.verify(deliveryDispatcher).claim(hash);
+    inOrder
+        .verify(encryptedTransactionDAO)
+        .saveForDelivery(any(EncryptedTransaction.class), eq(List.of(receiver)));
+    inOrder.verify(deliveryDispatcher).deliverAsync(hash, encodedPayload, List.of(receiver));
+
+    verify(enclave).encryptPayload(any(), any(), any(), any());
+    verify(enclave).getForwardingKeys();
+    verify(enclave).getPublicKeys();
+    verifyNoMoreInteractions(deliveryDispatcher);
+  }
+
+  @Test
+  public void sendWaitingForDeliveryOnlyReleasesClaimOnceDeleted() {
+    DeliveryDispatcher deliveryDispatcher = mock(DeliveryDispatcher.class);
+    TransactionManager syncTransactionManager =
+        new TransactionManagerImpl(
+            enclave,
+            encryptedTransactionDAO,
+            encryptedRawTransactionDAO,
+            resendManager,
+            privacyHelper,
+            mockDigest,
+            deliveryDispatcher,
+            true);
+
+    EncodedPayload encodedPayload = mock(EncodedPayload.class);
+    PublicKey receiver = PublicKey.from("RECEIVER".getBytes());
+    SendRequest sendRequest = sendToRemoteRecipient(encodedPayload, receiver);
+
+    MessageHash hash = new MessageHash("CIPHERTEXT".getBytes());
+    RuntimeException publishFailure = new RuntimeException("Peer unavailable");
+    when(deliveryDispatcher.claim(hash)).thenReturn(true);
+    doThrow(publishFailure)
+        .when(deliveryDispatcher)
+        .deliver(hash, encodedPayload, List.of(receiver));
+
+    Throwable throwable = catchThrowable(() -> syncTransactionManager.send(sendRequest));
+
+    assertThat(throwable).isSameAs(publishFailure);
+
+    InOrder inOrder = inOrder(deliveryDispatcher, encryptedTransactionDAO);
+    inOrder.verify(deliveryDispatcher).claim(hash);
+    inOrder
+        .verify(encryptedTransactionDAO)
+        .saveForDelivery(any(EncryptedTransaction.class), eq(List.of(receiver)));
+    inOrder.verify(deliveryDispatcher).deliver(hash, encodedPayload, List.of(receiver));
+    inOrder.verify(encryptedTransactionDAO).delete(hash);
+    inOrder.verify(deliveryDispatcher).release(hash);
+
+    verify(enclave).encryptPayload(any(), any(), any(), any());
+    verify(enclave).getForwardingKeys();
+    verify(enclave).getPublicKeys();
+    verifyNoMoreInteractions(deliveryDispatcher);
+  }
+
+  @Test
+  public void sendReleasesClaimWhenTransactionCannotBeStored() {
+    DeliveryDispatcher deliveryDispatcher = mock(DeliveryDispatcher.class);
+    TransactionManager syncTransactionManager =
+        new TransactionManagerImpl(
+            enclave,
+            encryptedTransactionDAO,
+            encryptedRawTransactionDAO,
+            resendManager,
+            privacyHelper,
+            mockDigest,
+            deliveryDispatcher,
+            true);
+
+    EncodedPayload encodedPayload = mock(EncodedPayload.class);
+    PublicKey receiver = PublicKey.from("RECEIVER".getBytes());
+    SendRequest sendRequest = sendToRemoteRecipient(encodedPayload, receiver);
+
+    MessageHash hash = new MessageHash("CIPHERTEXT".getBytes());
+    RuntimeException databaseFailure = new RuntimeException("Database unavailable");
+    when(deliveryDispatcher.claim(hash)).thenReturn(true);
+    when(encryptedTransactionDAO.saveForDelivery(any(EncryptedTransaction.class), anyList()))
+        .thenThrow(databaseFailure);
+
+    Throwable throwable = catchThrowable(() -> syncTransactionManager.send(sendRequest));
+
+    assertThat(throwable).isSameAs(databaseFailure);
+
+    verify(deliveryDispatcher).claim(hash);
+    verify(encryptedTransactionDAO)
+        .saveForDelivery(any(EncryptedTransaction.class), eq(List.of(receiver)));
+    verify(deliveryDispatcher).release(hash);
+    verify(enclave).encryptPayload(any(), any(), any(), any());
+    verify(enclave).getForwardingKeys();
+    verify(enclave).getPublicKeys();
+    verifyNoMoreInteractions(deliveryDispatcher);
+  }
+
+  @Test
+  public void sendLeavesTransactionClaimedElsewhereToItsDeliverer() {
+    DeliveryDispatcher deliveryDispatcher = mock(DeliveryDispatcher.class);
+    TransactionManager asyncTransactionManager =
+        new TransactionManagerImpl(
+            enclave,
+            encryptedTransactionDAO,
+            encryptedRawTransactionDAO,
+            resendManager,
+            privacyHelper,
+            mockDigest,
+            deliveryDispatcher,
+            false);
+
+    EncodedPayload encodedPayload = mock(EncodedPayload.class);
+    PublicKey receiver = PublicKey.from("RECEIVER".getBytes());
+    SendRequest sendRequest = sendToRemoteRecipient(encodedPayload, receiver);
+
+    MessageHash hash = new MessageHash("CIPHERTEXT".getBytes());
+    when(deliveryDispatcher.claim(hash)).thenReturn(false);
+
+    asyncTransactionManager.send(sendRequest);
+
+    // neither delivered nor released, as the claim belongs to another thread
+    verify(deliveryDispatcher).claim(hash);
+    verify(encryptedTransactionDAO)
+        .saveForDelivery(any(EncryptedTransaction.class), eq(List.of(receiver)));
+    verify(enclave).encryptPayload(any(), any(), any(), any());
+    verify(enclave).getForwardingKeys();
+    verify(enclave).getPublicKeys();
+    verifyNoMoreInteractions(deliveryDispatcher);
+  }
+
+  @Test
+  public void sendWaitingForDeliveryDoesNotDeleteTransactionClaimedElsewhere() {
+    DeliveryDispatcher deliveryDispatcher = mock(DeliveryDispatcher.class);
+    TransactionManager syncTransactionManager =
+        new TransactionManagerImpl(
+            enclave,
+            encryptedTransactionDAO,
+            encryptedRawTransactionDAO,
+            resendManager,
+            privacyHelper,
+            mockDigest,
+            deliveryDispatcher,
+            true);
+
+    EncodedPayload encodedPayload = mock(EncodedPayload.class);
+    PublicKey receiver = PublicKey.from("RECEIVER".getBytes());
+    SendRequest sendRequest = sendToRemoteRecipient(encodedPayload, receiver);
+
+    MessageHash hash = new MessageHash("CIPHERTEXT".getBytes());
+    RuntimeException publishFailure = new RuntimeException("Peer unavailable");
+    when(deliveryDispatcher.claim(hash)).thenReturn(false);
+    doThrow(publishFailure)
+        .when(deliveryDispatcher)
+        .deliver(hash, encodedPayload, List.of(receiver));
+
+    Throwable throwable = catchThrowable(() -> syncTransactionManager.send(sendRequest));
+
+    assertThat(throwable).isSameAs(publishFailure);
+
+    verify(deliveryDispatcher).claim(hash);
+    verify(encryptedTransactionDAO)
+        .saveForDelivery(any(EncryptedTransaction.class), eq(List.of(receiver)));
+    verify(deliveryDispatcher).deliver(hash, encodedPayload, List.of(receiver));
+    verify(encryptedTransactionDAO, never()).delete(any(MessageHash.class));
+    verify(enclave).encryptPayload(any(), any(), any(), any());
+    verify(enclave).getForwardingKeys();
+    verify(enclave).getPublicKeys();
+    verifyNoMoreInteractions(deliveryDispatcher);
+  }
+
+  @Test
+  public void sendToManagedKeysOnlyHasNothingToDeliver() {
+    EncodedPayload encodedPayload = mock(EncodedPayload.class);
+    when(encodedPayload.getCipherText()).thenReturn("CIPHERTEXT".getBytes());
+    when(enclave.encryptPayload(any(), any(), any(), any())).thenReturn(encodedPayload);
+
+    PublicKey sender = PublicKey.from("SENDER".getBytes());
+    PublicKey receiver = PublicKey.from("RECEIVER".getBytes());
+    when(enclave.getPublicKeys()).thenReturn(Set.of(sender, receiver));
+
+    SendRequest sendRequest = mock(SendRequest.class);
+    when(sendRequest.getPayload()).thenReturn("PAYLOAD".getBytes());
+    when(sendRequest.getSender()).thenReturn(sender);
+    when(sendRequest.getRecipients()).thenReturn(List.of(receiver));
+    when(sendRequest.getPrivacyMode()).thenReturn(PrivacyMode.STANDARD_PRIVATE);
+
+    SendResponse result = transactionManager.send(sendRequest);
+
+    assertThat(result.getManagedParties()).containsExactlyInAnyOrder(sender, receiver);
+
+    verify(enclave).encryptPayload(any(), any(), any(), any());
+    verify(encryptedTransactionDAO).saveForDelivery(any(EncryptedTransaction.class), eq(List.of()));
+    verify(enclave).getForwardingKeys();
+    verify(enclave).getPublicKeys();
+  }
+
   @Test
   public void sendSignedTransactionNoRawTransactionFoundException() {
 
@@ -458,6 +724,44 @@ public class TransactionManagerTest {
     verify(enclave).findInvalidSecurityHashes(any(EncodedPayload.class), anyList());
   }
 
+  @Test
+  public void storePayloadsForDifferentTransactionsAreNotSerialised() throws Exception {
+    EncodedPayload firstPayload = mock(EncodedPayload.class);
+    when(firstPayload.getCipherText()).thenReturn("ct1".getBytes());
+    EncodedPayload secondPayload = mock(EncodedPayload.class);
+    when(secondPayload.getCipherText()).thenReturn("ct2".getBytes());
+
+    // each store only gets past the database lookup once the other one has reached it
+    final CountDownLatch bothStoring = new CountDownLatch(2);
+    when(encryptedTransactionDAO.retrieveByHash(any(MessageHash.class)))
+        .then(
+            invocation -> {
+              bothStoring.countDown();
+              if (!bothStoring.await(10, TimeUnit.SECONDS)) {
+                throw new IllegalStateException("Stores were serialised");
+              }
+              return Optional.empty();
+            });
+
+    final ExecutorService executorService = Executors.newFixedThreadPool(2);
+    try {
+      final Future<MessageHash> first =
+          executorService.submit(() -> transactionManager.storePayload(firstPayload));
+      final Future<MessageHash> second =
+          executorService.submit(() -> transactionManager.storePayload(secondPayload));
+
+      assertThat(first.get(30, TimeUnit.SECONDS).toString()).isEqualTo("Y3Qx");
+      assertThat(second.get(30, TimeUnit.SECONDS).toString()).isEqualTo("Y3Qy");
+    } finally {
+      executorService.shutdownNow();
+    }
+
+    verify(encryptedTransactionDAO, times(2)).save(any(EncryptedTransaction.class));
+    verify(encryptedTransactionDAO, times(2)).retrieveByHash(any(MessageHash.class));
+    verify(enclave, times(2)).getPublicKeys();
+    verify(enclave, times(2)).findInvalidSecurityHashes(any(EncodedPayload.class), anyList());
+  }
+
   @Test
   public void storePayloadWhenWeAreSender() {
     final PublicKey senderKey = PublicKey.from("SENDER".getBytes());
@@ -967,8 +1271,6 @@ public class TransactionManagerTest {
     when(enclave.unencryptTransaction(any(EncodedPayload.class), any(PublicKey.class)))
         .thenReturn(expectedOutcome);
 
-    PublicKey publicKey = mock(PublicKey.class);
-    when(enclave.getPublicKeys()).thenReturn(Set.of(publicKey));
 
     ReceiveResponse receiveResponse = transactionManager.receive(receiveRequest);
 
@@ -978,8 +1280,7 @@ public class TransactionManagerTest {
     assertThat(receiveResponse.getPrivacyGroupId()).isNotPresent();
 
     verify(encryptedTransactionDAO).retrieveByHash(any(MessageHash.class));
-    verify(enclave, times(2)).unencryptTransaction(any(EncodedPayload.class), any(PublicKey.class));
-    verify(enclave).getPublicKeys();
+    verify(enclave).unencryptTransaction(any(EncodedPayload.class), any(PublicKey.class));
   }
 
   @Test
@@ -1010,8 +1311,6 @@ public class TransactionManagerTest {
     when(enclave.unencryptTransaction(eq(payload), any(PublicKey.class)))
         .thenReturn(expectedOutcome);
 
-    PublicKey publicKey = mock(PublicKey.class);
-    when(enclave.getPublicKeys()).thenReturn(Set.of(publicKey));
 
     ReceiveResponse receiveResponse = transactionManager.receive(receiveRequest);
 
@@ -1023,8 +1322,7 @@ public class TransactionManagerTest {
         .isEqualTo(PrivacyGroup.Id.fromBytes("group".getBytes()));
 
     verify(encryptedTransactionDAO).retrieveByHash(any(MessageHash.class));
-    verify(enclave, times(2)).unencryptTransaction(any(EncodedPayload.class), any(PublicKey.class));
-    verify(enclave).getPublicKeys();
+    verify(enclave).unencryptTransaction(any(EncodedPayload.class), any(PublicKey.class));
   }
 
   @Test
@@ -1058,8 +1356,6 @@ public class TransactionManagerTest {
     when(enclave.unencryptTransaction(eq(payload), any(PublicKey.class)))
         .thenReturn(expectedOutcome);
 
-    PublicKey publicKey = mock(PublicKey.class);
-    when(enclave.getPublicKeys()).thenReturn(Set.of(publicKey));
 
     ReceiveResponse receiveResponse = transactionManager.receive(receiveRequest);
 
@@ -1071,8 +1367,7 @@ public class TransactionManagerTest {
         .isEqualTo(PrivacyGroup.Id.fromBytes("group".getBytes()));
 
     verify(encryptedTransactionDAO).retrieveByHash(any(MessageHash.class));
-    verify(enclave, times(2)).unencryptTransaction(any(EncodedPayload.class), any(PublicKey.class));
-    verify(enclave).getPublicKeys();
+    verify(enclave).unencryptTransaction(any(EncodedPayload.class), any(PublicKey.class));
   }
 
   @Test
@@ -1115,8 +1410,8 @@ public class TransactionManagerTest {
     assertThat(receiveResponse.sender()).isEqualTo(sender);
 
     verify(encryptedTransactionDAO).retrieveByHash(any(MessageHash.class));
-    verify(enclave, times(2)).unencryptTransaction(any(EncodedPayload.class), any(PublicKey.class));
-    verify(enclave, times(2)).getPublicKeys();
+    verify(enclave).unencryptTransaction(any(EncodedPayload.class), any(PublicKey.class));
+    verify(enclave).getPublicKeys();
   }
 
   @Test
@@ -1146,7 +1441,7 @@ public class TransactionManagerTest {
 
     when(enclave.unencryptTransaction(eq(payload), any(PublicKey.class)))
         .thenReturn(expectedOutcome);
-    when(enclave.getPublicKeys()).thenReturn(Set.of(recipient1));
+    when(enclave.findRecipientKey(any(EncodedPayload.class))).thenReturn(Optional.of(recipient1));
 
     ReceiveResponse receiveResponse = transactionManager.receive(receiveRequest);
 
@@ -1156,8 +1451,8 @@ public class TransactionManagerTest {
     assertThat(receiveResponse.sender()).isEqualTo(sender);
 
     verify(encryptedTransactionDAO).retrieveByHash(any(MessageHash.class));
-    verify(enclave, times(3)).unencryptTransaction(any(EncodedPayload.class), any(PublicKey.class));
-    verify(enclave, times(2)).getPublicKeys();
+    verify(enclave).unencryptTransaction(any(EncodedPayload.class), any(PublicKey.class));
+    verify(enclave).findRecipientKey(any(EncodedPayload.class));
   }
 
   @Test
@@ -1238,8 +1533,6 @@ public class TransactionManagerTest {
     when(enclave.unencryptTransaction(eq(payload), any(PublicKey.class)))
         .thenReturn(expectedOutcome);
 
-    PublicKey publicKey = mock(PublicKey.class);
-    when(enclave.getPublicKeys()).thenReturn(Collections.singleton(publicKey));
 
     ReceiveResponse receiveResponse = transactionManager.receive(receiveRequest);
 
@@ -1251,8 +1544,7 @@ public class TransactionManagerTest {
     assertThat(receiveResponse.sender()).isEqualTo(sender);
 
     verify(encryptedTransactionDAO).retrieveByHash(any(MessageHash.class));
-    verify(enclave, times(2)).unencryptTransaction(any(EncodedPayload.class), any(PublicKey.class));
-    verify(enclave).getPublicKeys();
+    verify(enclave).unencryptTransaction(any(EncodedPayload.class), any(PublicKey.class));
   }
 
   @Test
@@ -1281,7 +1573,7 @@ public class TransactionManagerTest {
   }
 
   @Test
-  public void receiveNoRecipientKeyFound() {
+  public void receiveWithRecipientDoesNotSearchForRecipientKey() {
 
     PublicKey recipient = PublicKey.from("recipient".getBytes());
 
@@ -1301,20 +1593,48 @@ public class TransactionManagerTest {
     when(encryptedTransactionDAO.retrieveByHash(eq(messageHash)))
         .thenReturn(Optional.of(encryptedTransaction));
 
-    PublicKey publicKey = mock(PublicKey.class);
-    when(enclave.getPublicKeys()).thenReturn(Collections.singleton(publicKey));
+    when(enclave.unencryptTransaction(payload, recipient)).thenThrow(EncryptorException.class);
 
-    when(enclave.unencryptTransaction(eq(payload), any(PublicKey.class)))
-        .thenThrow(EncryptorException.class);
+    final Throwable throwable = catchThrowable(() -> transactionManager.receive(receiveRequest));
 
-    try {
-      transactionManager.receive(receiveRequest);
-      failBecauseExceptionWasNotThrown(RecipientKeyNotFoundException.class);
-    } catch (RecipientKeyNotFoundException ex) {
-      verify(encryptedTransactionDAO).retrieveByHash(any(MessageHash.class));
-      verify(enclave).getPublicKeys();
-      verify(enclave).unencryptTransaction(any(EncodedPayload.class), any(PublicKey.class));
-    }
+    assertThat(throwable).isInstanceOf(EncryptorException.class);
+
+    verify(encryptedTransactionDAO).retrieveByHash(any(MessageHash.class));
+    verify(enclave).unencryptTransaction(payload, recipient);
+  }
+
+  @Test
+  public void receiveRemembersRecipientKeyFoundForTransaction() {
+    final PublicKey sender = PublicKey.from("sender".getBytes());
+    final PublicKey recipient = PublicKey.from("recipient".getBytes());
+    final MessageHash messageHash = new MessageHash("hash".getBytes());
+
+    final ReceiveRequest receiveRequest = mock(ReceiveRequest.class);
+    when(receiveRequest.getRecipient()).thenReturn(Optional.empty());
+    when(receiveRequest.getTransactionHash()).thenReturn(messageHash);
+
+    final EncodedPayload payload = mock(EncodedPayload.class);
+    when(payload.getPrivacyMode()).thenReturn(PrivacyMode.STANDARD_PRIVATE);
+    when(payload.getSenderKey()).thenReturn(sender);
+
+    final EncryptedTransaction encryptedTransaction = mock(EncryptedTransaction.class);
+    when(encryptedTransaction.getHash()).thenReturn(messageHash);
+    when(encryptedTransaction.getPayload()).thenReturn(payload);
+
+    when(encryptedTransactionDAO.retrieveByHash(messageHash))
+        .thenReturn(Optional.of(encryptedTransaction));
+
+    when(enclave.findRecipientKey(payload)).thenReturn(Optional.of(recipient));
+    when(enclave.unencryptTransaction(payload, recipient)).thenReturn("data".getBytes());
+
+    transactionManager.receive(receiveRequest);
+    final ReceiveResponse receiveResponse = transactionManager.receive(receiveRequest);
+
+    assertThat(receiveResponse.getUnencryptedTransactionData()).isEqualTo("data".getBytes());
+
+    verify(encryptedTransactionDAO, times(2)).retrieveByHash(messageHash);
+    verify(enclave).findRecipientKey(payload);
+    verify(enclave, times(2)).unencryptTransaction(payload, recipient);
   }
 
   @Test
@@ -1360,18 +1680,14 @@ public class TransactionManagerTest {
     when(encryptedTransactionDAO.retrieveByHash(eq(transactionHash)))
         .thenReturn(Optional.of(encryptedTransaction));
 
-    when(enclave.getPublicKeys()).thenReturn(Set.of(mock(PublicKey.class)));
-
-    when(enclave.unencryptTransaction(eq(payload), any(PublicKey.class)))
-        .thenThrow(EncryptorException.class);
+    when(enclave.findRecipientKey(payload)).thenReturn(Optional.empty());
 
     try {
       transactionManager.receive(receiveRequest);
       failBecauseExceptionWasNotThrown(RecipientKeyNotFoundException.class);
     } catch (RecipientKeyNotFoundException ex) {
       verify(encryptedTransactionDAO).retrieveByHash(any(MessageHash.class));
-      verify(enclave).getPublicKeys();
-      verify(enclave).unencryptTransaction(any(EncodedPayload.class), any(PublicKey.class));
+      verify(enclave).findRecipientKey(payload);
     }
   }
 
@@ -1392,18 +1708,14 @@ public class TransactionManagerTest {
     when(encryptedTransactionDAO.retrieveByHash(eq(transactionHash)))
         .thenReturn(Optional.of(encryptedTransaction));
 
-    when(enclave.getPublicKeys()).thenReturn(Set.of(mock(PublicKey.class)));
-
-    when(enclave.unencryptTransaction(any(EncodedPayload.class), any(PublicKey.class)))
-        .thenThrow(EncryptorException.class);
+    when(enclave.findRecipientKey(payload)).thenReturn(Optional.empty());
 
     try {
       transactionManager.receive(receiveRequest);
       failBecauseExceptionWasNotThrown(RecipientKeyNotFoundException.class);
     } catch (RecipientKeyNotFoundException ex) {
       verify(encryptedTransactionDAO).retrieveByHash(any(MessageHash.class));
-      verify(enclave).getPublicKeys();
-      verify(enclave).unencryptTransaction(any(EncodedPayload.class), any(PublicKey.class));
+      verify(enclave).findRecipientKey(payload);
     }
   }
 
@@ -1467,7 +1779,7 @@ public class TransactionManagerTest {
     MessageHash transactionHash = mock(MessageHash.class);
     when(transactionHash.getHashBytes()).thenReturn("DUMMY_TRANSACTION".getBytes());
 
-    when(encryptedTransactionDAO.retrieveByHash(transactionHash)).thenReturn(Optional.empty());
+    when(encryptedTransactionDAO.retrieveMetadata(transactionHash)).thenReturn(Optional.empty());
 
     final Throwable throwable = catchThrowable(() -> transactionManager.isSender(transactionHash));
 
@@ -1475,23 +1787,19 @@ public class TransactionManagerTest {
         .isInstanceOf(TransactionNotFoundException.class)
         .hasMessage("Message with hash RFVNTVlfVFJBTlNBQ1RJT04= was not found");
 
-    verify(encryptedTransactionDAO).retrieveByHash(transactionHash);
+    verify(encryptedTransactionDAO).retrieveMetadata(transactionHash);
   }
 
   @Test
   public void isSenderReturnsFalseIfSenderNotFoundInPublicKeys() {
     final MessageHash transactionHash = mock(MessageHash.class);
 
-    final EncryptedTransaction encryptedTransaction = mock(EncryptedTransaction.class);
-
-    final EncodedPayload encodedPayload = mock(EncodedPayload.class);
+    final EncryptedTransactionMetadata metadata = mock(EncryptedTransactionMetadata.class);
     PublicKey sender = mock(PublicKey.class);
-    when(encodedPayload.getSenderKey()).thenReturn(sender);
+    when(metadata.getSenderKey()).thenReturn(sender);
 
-    when(encryptedTransaction.getPayload()).thenReturn(encodedPayload);
-
-    when(encryptedTransactionDAO.retrieveByHash(transactionHash))
-        .thenReturn(Optional.of(encryptedTransaction));
+    when(encryptedTransactionDAO.retrieveMetadata(transactionHash))
+        .thenReturn(Optional.of(metadata));
 
     when(enclave.getPublicKeys()).thenReturn(emptySet());
 
@@ -1500,7 +1808,7 @@ public class TransactionManagerTest {
     assertThat(isSender).isFalse();
 
     verify(enclave).getPublicKeys();
-    verify(encryptedTransactionDAO).retrieveByHash(transactionHash);
+    verify(encryptedTransactionDAO).retrieveMetadata(transactionHash);
   }
 
   @Test
@@ -1509,16 +1817,12 @@ public class TransactionManagerTest {
     MessageHash transactionHash = mock(MessageHash.class);
     when(transactionHash.getHashBytes()).thenReturn("DUMMY_TRANSACTION".getBytes());
 
-    final byte[] input = "SOMEDATA".getBytes();
-    final EncryptedTransaction encryptedTransaction = mock(EncryptedTransaction.class);
-
     final PublicKey senderKey = mock(PublicKey.class);
 
-    final EncodedPayload encodedPayload = mock(EncodedPayload.class);
-    when(encodedPayload.getSenderKey()).thenReturn(senderKey);
-    when(encryptedTransaction.getPayload()).thenReturn(encodedPayload);
-    when(encryptedTransactionDAO.retrieveByHash(transactionHash))
-        .thenReturn(Optional.of(encryptedTransaction));
+    final EncryptedTransactionMetadata metadata = mock(EncryptedTransactionMetadata.class);
+    when(metadata.getSenderKey()).thenReturn(senderKey);
+    when(encryptedTransactionDAO.retrieveMetadata(transactionHash))
+        .thenReturn(Optional.of(metadata));
 
     when(enclave.getPublicKeys()).thenReturn(Set.of(senderKey));
 
@@ -1528,7 +1832,7 @@ public class TransactionManagerTest {
 
     verify(enclave).getPublicKeys();
 
-    verify(encryptedTransactionDAO).retrieveByHash(transactionHash);
+    verify(encryptedTransactionDAO).retrieveMetadata(transactionHash);
   }
 
   @Test
@@ -1537,7 +1841,7 @@ public class TransactionManagerTest {
     MessageHash transactionHash = mock(MessageHash.class);
     when(transactionHash.getHashBytes()).thenReturn("DUMMY_TRANSACTION".getBytes());
 
-    when(encryptedTransactionDAO.retrieveByHash(any(MessageHash.class)))
+    when(encryptedTransactionDAO.retrieveMetadata(any(MessageHash.class)))
         .thenReturn(Optional.empty());
 
     final Throwable throwable =
@@ -1547,7 +1851,7 @@ public class TransactionManagerTest {
         .isInstanceOf(TransactionNotFoundException.class)
         .hasMessage("Message with hash RFVNTVlfVFJBTlNBQ1RJT04= was not found");
 
-    verify(encryptedTransactionDAO).retrieveByHash(any(MessageHash.class));
+    verify(encryptedTransactionDAO).retrieveMetadata(any(MessageHash.class));
   }
 
   @Test
@@ -1558,18 +1862,16 @@ public class TransactionManagerTest {
     final PublicKey senderKey = mock(PublicKey.class);
     final PublicKey recipientKey = mock(PublicKey.class);
 
-    final EncryptedTransaction encryptedTransaction = mock(EncryptedTransaction.class);
-    final EncodedPayload encodedPayload = mock(EncodedPayload.class);
-    when(encodedPayload.getRecipientKeys()).thenReturn(List.of(senderKey, recipientKey));
-    when(encryptedTransaction.getPayload()).thenReturn(encodedPayload);
+    final EncryptedTransactionMetadata metadata = mock(EncryptedTransactionMetadata.class);
+    when(metadata.getRecipientKeys()).thenReturn(List.of(senderKey, recipientKey));
 
-    when(encryptedTransactionDAO.retrieveByHash(transactionHash))
-        .thenReturn(Optional.of(encryptedTransaction));
+    when(encryptedTransactionDAO.retrieveMetadata(transactionHash))
+        .thenReturn(Optional.of(metadata));
 
     final List<PublicKey> participants = transactionManager.getParticipants(transactionHash);
 
     assertThat(participants).containsExactlyInAnyOrder(senderKey, recipientKey);
-    verify(encryptedTransactionDAO).retrieveByHash(any(MessageHash.class));
+    verify(encryptedTransactionDAO).retrieveMetadata(any(MessageHash.class));
   }
 
   @Test
@@ -1577,25 +1879,20 @@ public class TransactionManagerTest {
 
     MessageHash transactionHash = mock(MessageHash.class);
 
-    final PublicKey senderKey = mock(PublicKey.class);
     final PublicKey recipientKey = mock(PublicKey.class);
 
-    final EncryptedTransaction encryptedTransaction = mock(EncryptedTransaction.class);
-    final EncodedPayload encodedPayload = mock(EncodedPayload.class);
-    when(encodedPayload.getRecipientKeys()).thenReturn(List.of(senderKey, recipientKey));
-    when(encodedPayload.getPrivacyMode()).thenReturn(PrivacyMode.MANDATORY_RECIPIENTS);
-    when(encodedPayload.getMandatoryRecipients()).thenReturn(Set.of(recipientKey));
+    final EncryptedTransactionMetadata metadata = mock(EncryptedTransactionMetadata.class);
+    when(metadata.getPrivacyMode()).thenReturn(PrivacyMode.MANDATORY_RECIPIENTS);
+    when(metadata.getMandatoryRecipients()).thenReturn(Set.of(recipientKey));
 
-    when(encryptedTransaction.getPayload()).thenReturn(encodedPayload);
-
-    when(encryptedTransactionDAO.retrieveByHash(transactionHash))
-        .thenReturn(Optional.of(encryptedTransaction));
+    when(encryptedTransactionDAO.retrieveMetadata(transactionHash))
+        .thenReturn(Optional.of(metadata));
 
     final Set<PublicKey> participants = transactionManager.getMandatoryRecipients(transactionHash);
 
     assertThat(participants).containsExactly(recipientKey);
 
-    verify(encryptedTransactionDAO).retrieveByHash(any(MessageHash.class));
+    verify(encryptedTransactionDAO).retrieveMetadata(any(MessageHash.class));
   }
 
   @Test
@@ -1603,24 +1900,18 @@ public class TransactionManagerTest {
 
     MessageHash transactionHash = mock(MessageHash.class);
 
-    final PublicKey senderKey = mock(PublicKey.class);
-    final PublicKey recipientKey = mock(PublicKey.class);
+    final EncryptedTransactionMetadata metadata = mock(EncryptedTransactionMetadata.class);
+    when(metadata.getPrivacyMode()).thenReturn(PrivacyMode.PARTY_PROTECTION);
 
-    final EncodedPayload encodedPayload = mock(EncodedPayload.class);
-    when(encodedPayload.getRecipientKeys()).thenReturn(List.of(senderKey, recipientKey));
-    when(encodedPayload.getPrivacyMode()).thenReturn(PrivacyMode.PARTY_PROTECTION);
-
-    final EncryptedTransaction encryptedTransaction = mock(EncryptedTransaction.class);
-    when(encryptedTransaction.getPayload()).thenReturn(encodedPayload);
-    when(encryptedTransactionDAO.retrieveByHash(transactionHash))
-        .thenReturn(Optional.of(encryptedTransaction));
+    when(encryptedTransactionDAO.retrieveMetadata(transactionHash))
+        .thenReturn(Optional.of(metadata));
 
     assertThatExceptionOfType(MandatoryRecipientsNotAvailableException.class)
         .isThrownBy(() -> transactionManager.getMandatoryRecipients(transactionHash))
         .withMessageContaining(
             "Operation invalid. Transaction found is not a mandatory recipients privacy type");
 
-    verify(encryptedTransactionDAO).retrieveByHash(any(MessageHash.class));
+    verify(encryptedTransactionDAO).retrieveMetadata(any(MessageHash.class));
   }
 
   @Test
@@ -1688,4 +1979,19 @@ public class TransactionManagerTest {
 
     assertThat(result).isSameAs(expected);
   }
+
+  private SendRequest sendToRemoteRecipient(EncodedPayload encodedPayload, PublicKey receiver) {
+    when(encodedPayload.getCipherText()).thenReturn("CIPHERTEXT".getBytes());
+    when(enclave.encryptPayload(any(), any(), any(), any())).thenReturn(encodedPayload);
+
+    PublicKey sender = PublicKey.from("SENDER".getBytes());
+    when(enclave.getPublicKeys()).thenReturn(Set.of(sender));
+
+    SendRequest sendRequest = mock(SendRequest.class);
+    when(sendRequest.getPayload()).thenReturn("PAYLOAD".getBytes());
+    when(sendRequest.getSender()).thenReturn(sender);
+    when(sendRequest.getRecipients()).thenReturn(List.of(receiver));
+    when(sendRequest.getPrivacyMode()).thenReturn(PrivacyMode.STANDARD_PRIVATE);
+    return sendRequest;
+  }
 }
@@ -1,9 +1,15 @@
 package com.quorum.tessera.transaction.publish;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.*;
 
+import com.quorum.tessera.enclave.EncodedPayload;
+import com.quorum.tessera.enclave.RecipientBox;
+import com.quorum.tessera.encryption.PublicKey;
 import com.quorum.tessera.serviceloader.ServiceLoaderUtil;
+import java.util.List;
 import java.util.ServiceLoader;
+import org.mockito.ArgumentCaptor;
 import org.junit.Test;
 
 public class PayloadPublisherTest {
@@ -28,4 +34,32 @@ public class PayloadPublisherTest {
       verifyNoInteractions(serviceLoader);
     }
   }
+
+  @Test
+  public void publishPayloadToNodePublishesOncePerRecipient() {
+    final PayloadPublisher publisher = mock(PayloadPublisher.class);
+    doCallRealMethod().when(publisher).publishPayloadToNode(any(), anyList());
+
+    final PublicKey recipient = PublicKey.from("RECIPIENT".getBytes());
+    final PublicKey otherRecipient = PublicKey.from("OTHER_RECIPIENT".getBytes());
+    final EncodedPayload payload =
+        EncodedPayload.Builder.create()
+            .withSenderKey(PublicKey.from("SENDER".getBytes()))
+            .withRecipientKeys(List.of(recipient, otherRecipient))
+            .withRecipientBoxes(List.of("box1".getBytes(), "box2".getBytes()))
+            .build();
+
+    publisher.publishPayloadToNode(payload, List.of(recipient, otherRecipient));
+
+    final ArgumentCaptor<EncodedPayload> captor = ArgumentCaptor.forClass(EncodedPayload.class);
+    verify(publisher).publishPayloadToNode(payload, List.of(recipient, otherRecipient));
+    verify(publisher).publishPayload(captor.capture(), eq(recipient));
+    verify(publisher).publishPayload(captor.capture(), eq(otherRecipient));
+    verifyNoMoreInteractions(publisher);
+
+    assertThat(captor.getAllValues().get(0).getRecipientBoxes())
+        .containsExactly(RecipientBox.from("box1".getBytes()));
+    assertThat(captor.getAllValues().get(1).getRecipientBoxes())
+        .containsExactly(RecipientBox.from("box2".getBytes()));
+  }
 }
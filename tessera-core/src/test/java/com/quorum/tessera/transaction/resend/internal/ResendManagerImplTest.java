@@ -61,7 +61,7 @@ public class ResendManagerImplTest {
     when(enclave.getPublicKeys()).thenReturn(singleton(senderKey));
     when(encryptedTransactionDAO.retrieveByHash(any(MessageHash.class)))
         .thenReturn(Optional.empty());
-    when(enclave.createNewRecipientBox(any(), any())).thenReturn(newEncryptedMasterKey);
+    when(enclave.createNewRecipientBoxes(any(), any())).thenReturn(List.of(newEncryptedMasterKey));
 
     resendManager.acceptOwnMessage(encodedPayload);
 
@@ -82,7 +82,30 @@ public class ResendManagerImplTest {
 
     verify(encryptedTransactionDAO).retrieveByHash(any(MessageHash.class));
     verify(enclave).getPublicKeys();
-    verify(enclave).createNewRecipientBox(any(), any());
+    verify(enclave).createNewRecipientBoxes(encodedPayload, List.of(senderKey));
+    verify(enclave).unencryptTransaction(encodedPayload, senderKey);
+  }
+
+  @Test
+  public void storePayloadAsSenderWhenTxIsNotPresentAndAllBoxesExist() {
+    final PublicKey senderKey = PublicKey.from("SENDER".getBytes());
+
+    final EncodedPayload encodedPayload = mock(EncodedPayload.class);
+    when(encodedPayload.getCipherText()).thenReturn("CIPHERTEXT".getBytes());
+    when(encodedPayload.getSenderKey()).thenReturn(senderKey);
+    when(encodedPayload.getRecipientKeys()).thenReturn(List.of(senderKey));
+    when(encodedPayload.getRecipientBoxes())
+        .thenReturn(List.of(RecipientBox.from("box".getBytes())));
+
+    when(enclave.getPublicKeys()).thenReturn(singleton(senderKey));
+    when(encryptedTransactionDAO.retrieveByHash(any(MessageHash.class)))
+        .thenReturn(Optional.empty());
+
+    resendManager.acceptOwnMessage(encodedPayload);
+
+    verify(encryptedTransactionDAO).save(any(EncryptedTransaction.class));
+    verify(encryptedTransactionDAO).retrieveByHash(any(MessageHash.class));
+    verify(enclave).getPublicKeys();
     verify(enclave).unencryptTransaction(encodedPayload, senderKey);
   }
 
@@ -2,15 +2,25 @@ package com.quorum.tessera.data;
 
 import com.quorum.tessera.enclave.EncodedPayload;
 import com.quorum.tessera.enclave.EncodedPayloadCodec;
+import com.quorum.tessera.enclave.PayloadEncoder;
 import jakarta.persistence.*;
 import java.io.Serializable;
 import java.util.Objects;
+import java.util.Optional;
 
 /**
  * The JPA entity that contains the transaction information A simple key/value pair
  *
  * <p>The key is the transaction hash, and the value an a fully encoded {@link
  * com.quorum.tessera.enclave.EncodedPayload}
+ *
+ * <p>A loaded transaction only decodes its payload the first time {@link #getPayload()} is called,
+ * so that reading rows whose payload is never looked at costs no more than fetching the bytes.
+ *
+ * <p>Full table scans page in (timestamp, hash) order, and each page after the first starts with
+ * a range seek on the ENC_TX_TIMESTAMP_HASH index. Rows stored before the timestamp column was
+ * added are given a zero timestamp by the ddls/add-timestamp-index upgrade script, so no row is
+ * left out of those pages.
  */
 @NamedQueries({
   @NamedQuery(
@@ -19,13 +29,26 @@ import java.util.Objects;
   @NamedQuery(
       name = "EncryptedTransaction.FindAll",
       query = "select et from EncryptedTransaction et order by et.timestamp,et.hash"),
+  @NamedQuery(
+      name = "EncryptedTransaction.FindAllAfter",
+      query =
+          "select et from EncryptedTransaction et where et.timestamp >= :timestamp"
+              + " and (et.timestamp > :timestamp or et.hash.hashBytes > :hash)"
+              + " order by et.timestamp,et.hash"),
+  @NamedQuery(
+      name = "EncryptedTransaction.FindUnindexed",
+      query =
+          "select et from EncryptedTransaction et where not exists (select r from"
+              + " EncryptedTransactionRecipient r where r.hash = et.hash.hashBytes)"),
   @NamedQuery(
       name = "EncryptedTransaction.Upcheck",
       query = "select count(c) from EncryptedTransaction c where 1 = 2")
 })
 @Entity
 @EntityListeners(EncryptedTransactionListener.class)
-@Table(name = "ENCRYPTED_TRANSACTION")
+@Table(
+    name = "ENCRYPTED_TRANSACTION",
+    indexes = {@Index(name = "ENC_TX_TIMESTAMP_HASH", columnList = "TIMESTAMP,HASH")})
 public class EncryptedTransaction implements Serializable {
 
   @EmbeddedId
@@ -45,7 +68,7 @@ public class EncryptedTransaction implements Serializable {
   @Column(name = "TIMESTAMP", updatable = false)
   private long timestamp;
 
-  @Transient private transient EncodedPayload payload;
+  @Transient private transient volatile EncodedPayload payload;
 
   public EncryptedTransaction(final MessageHash hash, final EncodedPayload payload) {
     this.hash = hash;
@@ -84,7 +107,23 @@ public class EncryptedTransaction implements Serializable {
   }
 
   public EncodedPayload getPayload() {
-    return payload;
+    final EncodedPayload decoded = payload;
+    if (decoded != null || encodedPayload == null) {
+      return decoded;
+    }
+    synchronized (this) {
+      if (payload == null) {
+        final EncodedPayloadCodec codec =
+            Optional.ofNullable(encodedPayloadCodec).orElse(EncodedPayloadCodec.LEGACY);
+        payload = PayloadEncoder.create(codec).decode(encodedPayload);
+      }
+      return payload;
+    }
+  }
+
+  /** Whether the payload is held decoded, either as given or because it has been read */
+  boolean isPayloadDecoded() {
+    return payload != null;
   }
 
   public void setPayload(EncodedPayload payload) {
@@ -95,6 +134,10 @@ public class EncryptedTransaction implements Serializable {
     return this.timestamp;
   }
 
+  public void setTimestamp(final long timestamp) {
+    this.timestamp = timestamp;
+  }
+
   @Override
   public int hashCode() {
     return 47 * 3 + Objects.hashCode(this.hash);
@@ -1,10 +1,12 @@
 package com.quorum.tessera.data;
 
+import com.quorum.tessera.encryption.PublicKey;
 import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.ServiceLoader;
 import java.util.concurrent.Callable;
+import java.util.stream.Stream;
 
 /** A data store for transactions that need to be retrieved later */
 public interface EncryptedTransactionDAO {
@@ -33,6 +35,16 @@ public interface EncryptedTransactionDAO {
    */
   Optional<EncryptedTransaction> retrieveByHash(MessageHash hash);
 
+  /**
+   * Retrieve the privacy metadata of a transaction, without fetching or decoding its payload.
+   * Transactions stored before the metadata was kept separately fall back to having their payload
+   * decoded.
+   *
+   * @param hash the hash of the transaction
+   * @return the metadata of the transaction with the given hash
+   */
+  Optional<EncryptedTransactionMetadata> retrieveMetadata(MessageHash hash);
+
   /**
    * Retrieve a list of transactions based on collection of hashes
    *
@@ -50,6 +62,77 @@ public interface EncryptedTransactionDAO {
    */
   List<EncryptedTransaction> retrieveTransactions(int offset, int maxResult);
 
+  /**
+   * Retrieves the transactions that come after the given position, in the same order as {@link
+   * #retrieveTransactions(int, int)}. Unlike an offset, the position is resolved by the index so
+   * the cost of fetching a page does not grow with how far into the table it is.
+   *
+   * @param timestamp the timestamp of the last transaction already read
+   * @param hash the hash of the last transaction already read
+   * @param maxResult the maximum number of records to return
+   * @return The list of requested rows from the database
+   */
+  List<EncryptedTransaction> retrieveTransactionsAfter(
+      long timestamp, MessageHash hash, int maxResult);
+
+  /**
+   * Lazily streams every stored transaction, fetching them from the database one page at a time
+   * using {@link #retrieveTransactionsAfter(long, MessageHash, int)}
+   *
+   * @param pageSize the number of records to fetch per database query
+   * @return a stream over all the transactions in the database
+   */
+  default Stream<EncryptedTransaction> streamTransactions(int pageSize) {
+    return Stream.iterate(
+            retrieveTransactions(0, pageSize),
+            page -> !page.isEmpty(),
+            page -> {
+              if (page.size() < pageSize) {
+                return List.<EncryptedTransaction>of();
+              }
+              final EncryptedTransaction last = page.get(page.size() - 1);
+              return retrieveTransactionsAfter(last.getTimestamp(), last.getHash(), pageSize);
+            })
+        .flatMap(List::stream);
+  }
+
+  /**
+   * Lazily streams the transactions that the given key is a party to, either as sender or as a
+   * recipient, using the recipient index rather than decoding every stored payload. Transactions
+   * stored before the index existed are only included once {@link #isRecipientIndexComplete()}
+   * returns true.
+   *
+   * @param recipient the key to find transactions for
+   * @param pageSize the number of records to fetch per database query
+   * @return a stream over the transactions the key is a party to
+   */
+  Stream<EncryptedTransaction> streamTransactionsForRecipient(PublicKey recipient, int pageSize);
+
+  /**
+   * Retrieve the number of transactions the given key is a party to, according to the recipient
+   * index
+   *
+   * @param recipient the key to count transactions for
+   * @return the transaction count for the key
+   */
+  long transactionCountForRecipient(PublicKey recipient);
+
+  /**
+   * Check whether every stored transaction has been added to the recipient index
+   *
+   * @return true if the recipient index can be used in place of a full table scan
+   */
+  boolean isRecipientIndexComplete();
+
+  /**
+   * Adds the transactions stored before the recipient index existed to the index. Transactions
+   * that are already indexed are left alone, so this can safely be re-run if interrupted.
+   *
+   * @param batchSize the number of transactions to index per database transaction
+   * @return the number of transactions that were added to the index
+   */
+  long indexRecipients(int batchSize);
+
   /**
    * Retrieve the total transaction count.
    *
@@ -75,6 +158,43 @@ public interface EncryptedTransactionDAO {
    */
   <T> EncryptedTransaction save(EncryptedTransaction transaction, Callable<T> consumer);
 
+  /**
+   * Saves a new transaction together with a pending delivery to each of the given recipients, in
+   * one database transaction, so that the payload can be pushed to them after it is committed
+   *
+   * @param transaction the entity to be persisted
+   * @param recipients the remote recipients the payload is still to be delivered to
+   * @return the entity that was persisted
+   */
+  EncryptedTransaction saveForDelivery(
+      EncryptedTransaction transaction, Collection<PublicKey> recipients);
+
+  /**
+   * Retrieve the deliveries that have not been completed yet, those with the fewest failed attempts
+   * first
+   *
+   * @param maxAttempts deliveries that have failed this many times are left out
+   * @param maxResult the maximum number of deliveries to return
+   * @return the pending deliveries
+   */
+  List<EncryptedTransactionDelivery> retrievePendingDeliveries(int maxAttempts, int maxResult);
+
+  /**
+   * Removes the pending deliveries of a transaction to recipients that now have its payload
+   *
+   * @param hash the hash of the delivered transaction
+   * @param recipients the recipients it was delivered to
+   */
+  void markDelivered(MessageHash hash, Collection<PublicKey> recipients);
+
+  /**
+   * Records a failed attempt to deliver a transaction, leaving the deliveries pending
+   *
+   * @param hash the hash of the transaction
+   * @param recipients the recipients it could not be delivered to
+   */
+  void markDeliveryFailed(MessageHash hash, Collection<PublicKey> recipients);
+
   /**
    * Check whether data store is available
    *
@@ -0,0 +1,127 @@
+package com.quorum.tessera.data;
+
+import com.quorum.tessera.encryption.PublicKey;
+import jakarta.persistence.*;
+import java.io.Serializable;
+import java.util.Arrays;
+
+/**
+ * A pending delivery of a newly sent {@link EncryptedTransaction} to one of its remote recipients.
+ *
+ * <p>Entries are saved in the same database transaction as the transaction itself and removed once
+ * the payload has been pushed to the recipient, so that pushing does not hold the database
+ * transaction open and deliveries that fail or are interrupted can be retried. Deliveries that
+ * have failed too many times are no longer retried, but are kept as a record of the recipients
+ * that never received the transaction.
+ */
+@NamedQueries({
+  @NamedQuery(
+      name = "EncryptedTransactionDelivery.FindPending",
+      query =
+          "select d from EncryptedTransactionDelivery d where d.attempts < :maxAttempts"
+              + " order by d.attempts, d.timestamp, d.hash"),
+  @NamedQuery(
+      name = "EncryptedTransactionDelivery.Delete",
+      query =
+          "delete from EncryptedTransactionDelivery d where d.hash = :hash"
+              + " and d.recipient = :recipient"),
+  @NamedQuery(
+      name = "EncryptedTransactionDelivery.IncrementAttempts",
+      query =
+          "update EncryptedTransactionDelivery d set d.attempts = d.attempts + 1"
+              + " where d.hash = :hash and d.recipient = :recipient"),
+  @NamedQuery(
+      name = "EncryptedTransactionDelivery.DeleteByHash",
+      query = "delete from EncryptedTransactionDelivery d where d.hash = :hash")
+})
+@Entity
+@IdClass(EncryptedTransactionDelivery.Key.class)
+@Table(name = "ENCRYPTED_TRANSACTION_DELIVERY")
+public class EncryptedTransactionDelivery implements Serializable {
+
+  @Id
+  @Column(name = "HASH", nullable = false, updatable = false)
+  private byte[] hash;
+
+  @Id
+  @Column(name = "RECIPIENT", nullable = false, updatable = false)
+  private byte[] recipient;
+
+  @Column(name = "ATTEMPTS", nullable = false)
+  private int attempts;
+
+  @Column(name = "TIMESTAMP", updatable = false)
+  private long timestamp;
+
+  public EncryptedTransactionDelivery(final MessageHash hash, final PublicKey recipient) {
+    this.hash = hash.getHashBytes();
+    this.recipient = recipient.getKeyBytes();
+  }
+
+  public EncryptedTransactionDelivery() {}
+
+  @PrePersist
+  public void onPersist() {
+    this.timestamp = System.currentTimeMillis();
+  }
+
+  public MessageHash getHash() {
+    return new MessageHash(hash);
+  }
+
+  public PublicKey getRecipient() {
+    return PublicKey.from(recipient);
+  }
+
+  /** @return how many attempts to deliver the transaction have failed so far */
+  public int getAttempts() {
+    return attempts;
+  }
+
+  public long getTimestamp() {
+    return timestamp;
+  }
+
+  @Override
+  public int hashCode() {
+    return 31 * Arrays.hashCode(hash) + Arrays.hashCode(recipient);
+  }
+
+  @Override
+  public boolean equals(final Object obj) {
+    if (!(obj instanceof EncryptedTransactionDelivery)) {
+      return false;
+    }
+    final EncryptedTransactionDelivery other = (EncryptedTransactionDelivery) obj;
+    return Arrays.equals(hash, other.hash) && Arrays.equals(recipient, other.recipient);
+  }
+
+  /** The composite primary key of an {@link EncryptedTransactionDelivery} */
+  public static class Key implements Serializable {
+
+    private byte[] hash;
+
+    private byte[] recipient;
+
+    public Key() {}
+
+    public Key(final byte[] hash, final byte[] recipient) {
+      this.hash = hash;
+      this.recipient = recipient;
+    }
+
+    @Override
+    public int hashCode() {
+      return 31 * Arrays.hashCode(hash) + Arrays.hashCode(recipient);
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+      if (!(obj instanceof Key)) {
+        return false;
+      }
+      final Key other = (Key) obj;
+      return Arrays.equals(hash, other.hash) && Arrays.equals(recipient, other.recipient);
+    }
+  }
+}
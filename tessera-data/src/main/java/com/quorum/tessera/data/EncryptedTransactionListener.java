@@ -29,8 +29,16 @@ public class EncryptedTransactionListener {
   public void onSave(EncryptedTransaction encryptedTransaction) {
     LOGGER.debug("onSave {}", encryptedTransaction);
 
-    final EncodedPayload encodedPayload = encryptedTransaction.getPayload();
     final EncodedPayloadCodec encodedPayloadCodec = EncodedPayloadCodec.current();
+
+    // a transaction copied from another store keeps its bytes if they need no conversion
+    if (!encryptedTransaction.isPayloadDecoded()
+        && encryptedTransaction.getEncodedPayload() != null
+        && encryptedTransaction.getEncodedPayloadCodec() == encodedPayloadCodec) {
+      return;
+    }
+
+    final EncodedPayload encodedPayload = encryptedTransaction.getPayload();
     final PayloadEncoder payloadEncoder = PayloadEncoder.create(encodedPayloadCodec);
     final byte[] encodedPayloadData = payloadEncoder.encode(encodedPayload);
     encryptedTransaction.setEncodedPayloadCodec(encodedPayloadCodec);
@@ -41,13 +49,10 @@ public class EncryptedTransactionListener {
   public void onLoad(EncryptedTransaction encryptedTransaction) {
     LOGGER.debug("onLoad[{}]", encryptedTransaction);
 
+    // the payload itself is only decoded when first read, by EncryptedTransaction.getPayload
     final EncodedPayloadCodec encodedPayloadCodec =
         Optional.ofNullable(encryptedTransaction.getEncodedPayloadCodec())
             .orElse(EncodedPayloadCodec.LEGACY);
-    final byte[] encodedPayloadData = encryptedTransaction.getEncodedPayload();
-    final PayloadEncoder payloadEncoder = PayloadEncoder.create(encodedPayloadCodec);
-    final EncodedPayload encodedPayload = payloadEncoder.decode(encodedPayloadData);
-    encryptedTransaction.setPayload(encodedPayload);
     encryptedTransaction.setEncodedPayloadCodec(encodedPayloadCodec);
   }
 }
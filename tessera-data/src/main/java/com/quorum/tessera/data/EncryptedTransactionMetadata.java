@@ -0,0 +1,162 @@
+package com.quorum.tessera.data;
+
+import com.quorum.tessera.enclave.EncodedPayload;
+import com.quorum.tessera.enclave.PrivacyMode;
+import com.quorum.tessera.enclave.TxHash;
+import com.quorum.tessera.encryption.PublicKey;
+import jakarta.persistence.*;
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * The privacy metadata of an {@link EncryptedTransaction}, stored alongside it so that questions
+ * such as who sent a transaction or who its participants are can be answered without fetching and
+ * decoding the encoded payload, which holds the multi-KB cipher text.
+ *
+ * <p>Key and hash lists are stored packed into a single column each, as a sequence of
+ * length-prefixed values, since they are only ever read back whole.
+ */
+@NamedQueries({
+  @NamedQuery(
+      name = "EncryptedTransactionMetadata.FindByHash",
+      query = "select m from EncryptedTransactionMetadata m where m.hash.hashBytes = :hash"),
+  @NamedQuery(
+      name = "EncryptedTransactionMetadata.DeleteByHash",
+      query = "delete from EncryptedTransactionMetadata m where m.hash.hashBytes = :hash")
+})
+@Entity
+@Table(name = "ENCRYPTED_TRANSACTION_METADATA")
+public class EncryptedTransactionMetadata implements Serializable {
+
+  @EmbeddedId
+  @AttributeOverride(
+      name = "hashBytes",
+      column = @Column(name = "HASH", nullable = false, unique = true, updatable = false))
+  private MessageHash hash;
+
+  @Column(name = "SENDER")
+  private byte[] sender;
+
+  @Column(name = "PRIVACY_MODE", nullable = false)
+  private int privacyMode;
+
+  @Lob
+  @Column(name = "EXEC_HASH")
+  private byte[] execHash;
+
+  @Lob
+  @Column(name = "RECIPIENTS")
+  private byte[] recipients;
+
+  @Lob
+  @Column(name = "MANDATORY_RECIPIENTS")
+  private byte[] mandatoryRecipients;
+
+  @Lob
+  @Column(name = "AFFECTED_TRANSACTIONS")
+  private byte[] affectedTransactions;
+
+  public EncryptedTransactionMetadata() {}
+
+  /**
+   * Copies the metadata of the given transaction
+   *
+   * @param hash the hash of the transaction
+   * @param payload the decoded transaction payload
+   * @return the metadata of the transaction
+   */
+  public static EncryptedTransactionMetadata from(
+      final MessageHash hash, final EncodedPayload payload) {
+    final EncryptedTransactionMetadata metadata = new EncryptedTransactionMetadata();
+    metadata.hash = hash;
+    metadata.sender =
+        Objects.nonNull(payload.getSenderKey()) ? payload.getSenderKey().getKeyBytes() : null;
+    metadata.privacyMode =
+        Optional.ofNullable(payload.getPrivacyMode())
+            .orElse(PrivacyMode.STANDARD_PRIVATE)
+            .getPrivacyFlag();
+    metadata.execHash = payload.getExecHash();
+    metadata.recipients = pack(payload.getRecipientKeys().stream().map(PublicKey::getKeyBytes));
+    metadata.mandatoryRecipients =
+        pack(payload.getMandatoryRecipients().stream().map(PublicKey::getKeyBytes));
+    metadata.affectedTransactions =
+        pack(payload.getAffectedContractTransactions().keySet().stream().map(TxHash::getBytes));
+    return metadata;
+  }
+
+  public MessageHash getHash() {
+    return hash;
+  }
+
+  public PublicKey getSenderKey() {
+    return Objects.nonNull(sender) ? PublicKey.from(sender) : null;
+  }
+
+  public PrivacyMode getPrivacyMode() {
+    return PrivacyMode.fromFlag(privacyMode);
+  }
+
+  public byte[] getExecHash() {
+    return Objects.nonNull(execHash) ? execHash : new byte[0];
+  }
+
+  /** The recipient keys in the same order as in the payload */
+  public List<PublicKey> getRecipientKeys() {
+    return unpack(recipients).stream().map(PublicKey::from).collect(Collectors.toList());
+  }
+
+  public Set<PublicKey> getMandatoryRecipients() {
+    return unpack(mandatoryRecipients).stream()
+        .map(PublicKey::from)
+        .collect(Collectors.toCollection(LinkedHashSet::new));
+  }
+
+  public Set<MessageHash> getAffectedContractTransactions() {
+    return unpack(affectedTransactions).stream()
+        .map(MessageHash::new)
+        .collect(Collectors.toCollection(LinkedHashSet::new));
+  }
+
+  private static byte[] pack(final Stream<byte[]> values) {
+    final List<byte[]> valueList = values.collect(Collectors.toList());
+    final int length = valueList.stream().mapToInt(value -> Integer.BYTES + value.length).sum();
+    final ByteBuffer buffer = ByteBuffer.allocate(length);
+    valueList.forEach(value -> buffer.putInt(value.length).put(value));
+    return buffer.array();
+  }
+
+  /* some databases read an empty value back as null */
+  private static List<byte[]> unpack(final byte[] packed) {
+    if (Objects.isNull(packed)) {
+      return Collections.emptyList();
+    }
+    final List<byte[]> values = new ArrayList<>();
+    final ByteBuffer buffer = ByteBuffer.wrap(packed);
+    while (buffer.hasRemaining()) {
+      final byte[] value = new byte[buffer.getInt()];
+      buffer.get(value);
+      values.add(value);
+    }
+    return values;
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hashCode(hash);
+  }
+
+  @Override
+  public boolean equals(final Object obj) {
+    return (obj instanceof EncryptedTransactionMetadata)
+        && Objects.equals(hash, ((EncryptedTransactionMetadata) obj).hash);
+  }
+}
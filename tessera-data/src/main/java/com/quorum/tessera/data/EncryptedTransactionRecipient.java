@@ -0,0 +1,126 @@
+package com.quorum.tessera.data;
+
+import com.quorum.tessera.enclave.EncodedPayload;
+import com.quorum.tessera.encryption.PublicKey;
+import jakarta.persistence.*;
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * An index entry recording that a public key is a party to an {@link EncryptedTransaction}, so
+ * that the transactions relevant to a key can be found without decoding every stored payload.
+ *
+ * <p>The sender key is indexed along with the recipient keys, since a resend to the original
+ * sender of a transaction must also include it.
+ */
+@NamedQueries({
+  @NamedQuery(
+      name = "EncryptedTransactionRecipient.FindHashes",
+      query =
+          "select r.hash from EncryptedTransactionRecipient r where r.recipient = :recipient"
+              + " order by r.hash"),
+  @NamedQuery(
+      name = "EncryptedTransactionRecipient.FindHashesAfter",
+      query =
+          "select r.hash from EncryptedTransactionRecipient r where r.recipient = :recipient"
+              + " and r.hash > :hash order by r.hash"),
+  @NamedQuery(
+      name = "EncryptedTransactionRecipient.CountForRecipient",
+      query = "select count(r) from EncryptedTransactionRecipient r where r.recipient = :recipient"),
+  @NamedQuery(
+      name = "EncryptedTransactionRecipient.DeleteByHash",
+      query = "delete from EncryptedTransactionRecipient r where r.hash = :hash")
+})
+@Entity
+@IdClass(EncryptedTransactionRecipient.Key.class)
+@Table(
+    name = "ENCRYPTED_TRANSACTION_RECIPIENT",
+    indexes = {@Index(name = "ENC_TX_RECIPIENT_HASH", columnList = "HASH")})
+public class EncryptedTransactionRecipient implements Serializable {
+
+  @Id
+  @Column(name = "RECIPIENT", nullable = false, updatable = false)
+  private byte[] recipient;
+
+  @Id
+  @Column(name = "HASH", nullable = false, updatable = false)
+  private byte[] hash;
+
+  public EncryptedTransactionRecipient(final MessageHash hash, final PublicKey recipient) {
+    this.hash = hash.getHashBytes();
+    this.recipient = recipient.getKeyBytes();
+  }
+
+  public EncryptedTransactionRecipient() {}
+
+  /**
+   * Creates the index entries for every party to the given transaction
+   *
+   * @param hash the hash of the transaction
+   * @param payload the decoded transaction payload
+   * @return one entry for the sender and each distinct recipient key
+   */
+  public static List<EncryptedTransactionRecipient> from(
+      final MessageHash hash, final EncodedPayload payload) {
+    return Stream.concat(Stream.of(payload.getSenderKey()), payload.getRecipientKeys().stream())
+        .filter(Objects::nonNull)
+        .distinct()
+        .map(key -> new EncryptedTransactionRecipient(hash, key))
+        .collect(Collectors.toList());
+  }
+
+  public MessageHash getHash() {
+    return new MessageHash(hash);
+  }
+
+  public PublicKey getRecipient() {
+    return PublicKey.from(recipient);
+  }
+
+  @Override
+  public int hashCode() {
+    return 31 * Arrays.hashCode(hash) + Arrays.hashCode(recipient);
+  }
+
+  @Override
+  public boolean equals(final Object obj) {
+    if (!(obj instanceof EncryptedTransactionRecipient)) {
+      return false;
+    }
+    final EncryptedTransactionRecipient other = (EncryptedTransactionRecipient) obj;
+    return Arrays.equals(hash, other.hash) && Arrays.equals(recipient, other.recipient);
+  }
+
+  /** The composite primary key of an {@link EncryptedTransactionRecipient} */
+  public static class Key implements Serializable {
+
+    private byte[] recipient;
+
+    private byte[] hash;
+
+    public Key() {}
+
+    public Key(final byte[] recipient, final byte[] hash) {
+      this.recipient = recipient;
+      this.hash = hash;
+    }
+
+    @Override
+    public int hashCode() {
+      return 31 * Arrays.hashCode(hash) + Arrays.hashCode(recipient);
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+      if (!(obj instanceof Key)) {
+        return false;
+      }
+      final Key other = (Key) obj;
+      return Arrays.equals(hash, other.hash) && Arrays.equals(recipient, other.recipient);
+    }
+  }
+}
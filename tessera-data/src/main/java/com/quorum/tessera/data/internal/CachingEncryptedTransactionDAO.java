@@ -0,0 +1,262 @@
+package com.quorum.tessera.data.internal;
+
+import com.quorum.tessera.data.EncryptedTransaction;
+import com.quorum.tessera.data.EncryptedTransactionDAO;
+import com.quorum.tessera.data.EncryptedTransactionDelivery;
+import com.quorum.tessera.data.EncryptedTransactionMetadata;
+import com.quorum.tessera.data.MessageHash;
+import com.quorum.tessera.enclave.EncodedPayload;
+import com.quorum.tessera.enclave.EncodedPayloadCodec;
+import com.quorum.tessera.encryption.PublicKey;
+import com.quorum.tessera.metrics.CacheStats;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * A read-through cache of decoded transactions in front of another {@link
+ * EncryptedTransactionDAO}, so that transactions that are read repeatedly are only fetched and
+ * decoded once.
+ *
+ * <p>Entries are evicted in least-recently-used order once {@code maxSize} is reached, and are
+ * invalidated whenever the transaction is updated or deleted through this DAO. Every read returns a
+ * new entity, so callers may modify what they are given without affecting the cached copy.
+ */
+public class CachingEncryptedTransactionDAO implements EncryptedTransactionDAO {
+
+  private final EncryptedTransactionDAO delegate;
+
+  private final Map<MessageHash, CacheEntry> entries;
+
+  private final CacheStats cacheStats;
+
+  /*
+   * Bumped on every invalidation, so a read that raced with an update or delete does not put the
+   * transaction it fetched before the change back into the cache.
+   */
+  private final AtomicLong invalidations = new AtomicLong();
+
+  public CachingEncryptedTransactionDAO(final EncryptedTransactionDAO delegate, final int maxSize) {
+    if (maxSize <= 0) {
+      throw new IllegalArgumentException("Payload cache size must be positive");
+    }
+    this.delegate = Objects.requireNonNull(delegate);
+    this.entries =
+        Collections.synchronizedMap(
+            new LinkedHashMap<MessageHash, CacheEntry>(16, 0.75f, true) {
+              @Override
+              protected boolean removeEldestEntry(Map.Entry<MessageHash, CacheEntry> eldest) {
+                return size() > maxSize;
+              }
+            });
+    this.cacheStats = new CacheStats(entries::size);
+  }
+
+  @Override
+  public EncryptedTransaction save(final EncryptedTransaction entity) {
+    return delegate.save(entity);
+  }
+
+  @Override
+  public <T> EncryptedTransaction save(
+      final EncryptedTransaction transaction, final Callable<T> consumer) {
+    return delegate.save(transaction, consumer);
+  }
+
+  @Override
+  public EncryptedTransaction saveForDelivery(
+      final EncryptedTransaction transaction, final Collection<PublicKey> recipients) {
+    return delegate.saveForDelivery(transaction, recipients);
+  }
+
+  @Override
+  public EncryptedTransaction update(final EncryptedTransaction entity) {
+    try {
+      return delegate.update(entity);
+    } finally {
+      invalidate(entity.getHash());
+    }
+  }
+
+  @Override
+  public void delete(final MessageHash hash) {
+    try {
+      delegate.delete(hash);
+    } finally {
+      invalidate(hash);
+    }
+  }
+
+  @Override
+  public Optional<EncryptedTransaction> retrieveByHash(final MessageHash hash) {
+    final CacheEntry cached = entries.get(hash);
+    if (cached != null) {
+      cacheStats.recordHit();
+      return Optional.of(cached.toEntity());
+    }
+
+    cacheStats.recordMiss();
+    final long generation = invalidations.get();
+    final Optional<EncryptedTransaction> transaction = delegate.retrieveByHash(hash);
+    transaction.ifPresent(tx -> cache(tx, generation));
+    return transaction;
+  }
+
+  @Override
+  public Optional<EncryptedTransactionMetadata> retrieveMetadata(final MessageHash hash) {
+    // the metadata is cheap to read, so only an already decoded payload is worth using
+    final CacheEntry cached = entries.get(hash);
+    if (cached != null) {
+      cacheStats.recordHit();
+      return Optional.of(EncryptedTransactionMetadata.from(hash, cached.payload));
+    }
+
+    // a miss, but the metadata read from the delegate is not cached
+    cacheStats.recordMiss();
+    return delegate.retrieveMetadata(hash);
+  }
+
+  @Override
+  public List<EncryptedTransaction> findByHashes(final Collection<MessageHash> messageHashes) {
+    final List<EncryptedTransaction> found = new ArrayList<>(messageHashes.size());
+    final List<MessageHash> missing = new ArrayList<>();
+    for (MessageHash hash : messageHashes) {
+      final CacheEntry cached = entries.get(hash);
+      if (cached != null) {
+        cacheStats.recordHit();
+        found.add(cached.toEntity());
+      } else {
+        cacheStats.recordMiss();
+        missing.add(hash);
+      }
+    }
+
+    if (!missing.isEmpty()) {
+      final long generation = invalidations.get();
+      final List<EncryptedTransaction> fetched = delegate.findByHashes(missing);
+      fetched.forEach(tx -> cache(tx, generation));
+      found.addAll(fetched);
+    }
+    return found;
+  }
+
+  @Override
+  public List<EncryptedTransaction> retrieveTransactions(final int offset, final int maxResult) {
+    return delegate.retrieveTransactions(offset, maxResult);
+  }
+
+  @Override
+  public List<EncryptedTransaction> retrieveTransactionsAfter(
+      final long timestamp, final MessageHash hash, final int maxResult) {
+    return delegate.retrieveTransactionsAfter(timestamp, hash, maxResult);
+  }
+
+  @Override
+  public Stream<EncryptedTransaction> streamTransactions(final int pageSize) {
+    return delegate.streamTransactions(pageSize);
+  }
+
+  @Override
+  public Stream<EncryptedTransaction> streamTransactionsForRecipient(
+      final PublicKey recipient, final int pageSize) {
+    return delegate.streamTransactionsForRecipient(recipient, pageSize);
+  }
+
+  @Override
+  public long transactionCountForRecipient(final PublicKey recipient) {
+    return delegate.transactionCountForRecipient(recipient);
+  }
+
+  @Override
+  public boolean isRecipientIndexComplete() {
+    return delegate.isRecipientIndexComplete();
+  }
+
+  @Override
+  public long indexRecipients(final int batchSize) {
+    return delegate.indexRecipients(batchSize);
+  }
+
+  @Override
+  public long transactionCount() {
+    return delegate.transactionCount();
+  }
+
+  @Override
+  public List<EncryptedTransactionDelivery> retrievePendingDeliveries(
+      final int maxAttempts, final int maxResult) {
+    return delegate.retrievePendingDeliveries(maxAttempts, maxResult);
+  }
+
+  @Override
+  public void markDelivered(final MessageHash hash, final Collection<PublicKey> recipients) {
+    delegate.markDelivered(hash, recipients);
+  }
+
+  @Override
+  public void markDeliveryFailed(final MessageHash hash, final Collection<PublicKey> recipients) {
+    delegate.markDeliveryFailed(hash, recipients);
+  }
+
+  @Override
+  public boolean upcheck() {
+    return delegate.upcheck();
+  }
+
+  public CacheStats getCacheStats() {
+    return cacheStats;
+  }
+
+  private void cache(final EncryptedTransaction transaction, final long generation) {
+    final CacheEntry entry = new CacheEntry(transaction);
+    synchronized (entries) {
+      if (invalidations.get() == generation) {
+        entries.put(entry.hash, entry);
+      }
+    }
+  }
+
+  private void invalidate(final MessageHash hash) {
+    synchronized (entries) {
+      invalidations.incrementAndGet();
+      entries.remove(hash);
+    }
+  }
+
+  private static final class CacheEntry {
+
+    private final MessageHash hash;
+
+    private final EncodedPayload payload;
+
+    private final byte[] encodedPayload;
+
+    private final EncodedPayloadCodec encodedPayloadCodec;
+
+    private final long timestamp;
+
+    private CacheEntry(final EncryptedTransaction transaction) {
+      this.hash = transaction.getHash();
+      this.payload = transaction.getPayload();
+      this.encodedPayload = transaction.getEncodedPayload();
+      this.encodedPayloadCodec = transaction.getEncodedPayloadCodec();
+      this.timestamp = transaction.getTimestamp();
+    }
+
+    private EncryptedTransaction toEntity() {
+      final EncryptedTransaction transaction = new EncryptedTransaction(hash, payload);
+      transaction.setEncodedPayload(encodedPayload);
+      transaction.setEncodedPayloadCodec(encodedPayloadCodec);
+      transaction.setTimestamp(timestamp);
+      return transaction;
+    }
+  }
+}
@@ -0,0 +1,23 @@
+package com.quorum.tessera.data.internal;
+
+import com.quorum.tessera.data.EncryptedTransactionDAO;
+import java.util.Optional;
+
+/*
+ * The EncryptedTransactionDAO shared by every consumer, so that all of them read through the same
+ * payload cache and any of them invalidates it for the others
+ */
+enum EncryptedTransactionDAOHolder {
+  INSTANCE;
+
+  private EncryptedTransactionDAO encryptedTransactionDAO;
+
+  Optional<EncryptedTransactionDAO> getEncryptedTransactionDAO() {
+    return Optional.ofNullable(encryptedTransactionDAO);
+  }
+
+  EncryptedTransactionDAO store(EncryptedTransactionDAO encryptedTransactionDAO) {
+    this.encryptedTransactionDAO = encryptedTransactionDAO;
+    return encryptedTransactionDAO;
+  }
+}
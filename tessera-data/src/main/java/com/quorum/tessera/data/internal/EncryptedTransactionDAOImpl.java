@@ -2,8 +2,12 @@ package com.quorum.tessera.data.internal;
 
 import com.quorum.tessera.data.EncryptedTransaction;
 import com.quorum.tessera.data.EncryptedTransactionDAO;
+import com.quorum.tessera.data.EncryptedTransactionDelivery;
+import com.quorum.tessera.data.EncryptedTransactionMetadata;
+import com.quorum.tessera.data.EncryptedTransactionRecipient;
 import com.quorum.tessera.data.EntityManagerTemplate;
 import com.quorum.tessera.data.MessageHash;
+import com.quorum.tessera.encryption.PublicKey;
 import jakarta.persistence.EntityManagerFactory;
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.persistence.PersistenceException;
@@ -12,6 +16,8 @@ import jakarta.persistence.criteria.CriteriaQuery;
 import jakarta.persistence.criteria.Root;
 import java.util.*;
 import java.util.concurrent.Callable;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -22,6 +28,8 @@ public class EncryptedTransactionDAOImpl implements EncryptedTransactionDAO {
 
   private EntityManagerTemplate entityManagerTemplate;
 
+  private volatile boolean recipientIndexComplete;
+
   public EncryptedTransactionDAOImpl(EntityManagerFactory entityManagerFactory) {
     this.entityManagerTemplate = new EntityManagerTemplate(entityManagerFactory);
   }
@@ -31,6 +39,8 @@ public class EncryptedTransactionDAOImpl implements EncryptedTransactionDAO {
     return entityManagerTemplate.execute(
         entityManager -> {
           entityManager.persist(entity);
+          metadataOf(entity).ifPresent(entityManager::persist);
+          recipientsOf(entity).forEach(entityManager::persist);
           LOGGER.debug("Stored transaction {}", entity.getHash());
           return entity;
         });
@@ -46,6 +56,9 @@ public class EncryptedTransactionDAOImpl implements EncryptedTransactionDAO {
           existing.setEncodedPayload(null);
           existing.setHash(entity.getHash());
           EncryptedTransaction merged = entityManager.merge(existing);
+          metadataOf(existing).ifPresent(entityManager::merge);
+          // the updated payload may have gained recipients, existing entries are left as they are
+          recipientsOf(existing).forEach(entityManager::merge);
           LOGGER.debug("Updated transaction {}", entity.getHash());
           return merged;
         });
@@ -63,6 +76,32 @@ public class EncryptedTransactionDAOImpl implements EncryptedTransactionDAO {
                 .findAny());
   }
 
+  @Override
+  public Optional<EncryptedTransactionMetadata> retrieveMetadata(final MessageHash hash) {
+    LOGGER.debug("Retrieving metadata of transaction with hash {}", hash);
+    return entityManagerTemplate.execute(
+        entityManager -> {
+          final Optional<EncryptedTransactionMetadata> metadata =
+              entityManager
+                  .createNamedQuery(
+                      "EncryptedTransactionMetadata.FindByHash", EncryptedTransactionMetadata.class)
+                  .setParameter("hash", hash.getHashBytes())
+                  .getResultStream()
+                  .findAny();
+          if (metadata.isPresent()) {
+            return metadata;
+          }
+
+          // stored before the metadata was kept separately, so it has to be decoded
+          return entityManager
+              .createNamedQuery("EncryptedTransaction.FindByHash", EncryptedTransaction.class)
+              .setParameter("hash", hash.getHashBytes())
+              .getResultStream()
+              .findAny()
+              .flatMap(EncryptedTransactionDAOImpl::metadataOf);
+        });
+  }
+
   @Override
   public List<EncryptedTransaction> retrieveTransactions(int offset, int maxResult) {
     LOGGER.debug(
@@ -78,6 +117,143 @@ public class EncryptedTransactionDAOImpl implements EncryptedTransactionDAO {
                 .getResultList());
   }
 
+  @Override
+  public List<EncryptedTransaction> retrieveTransactionsAfter(
+      long timestamp, MessageHash hash, int maxResult) {
+    LOGGER.debug(
+        "Fetching batch(after:{}/{},maxResult:{}) EncryptedTransaction database rows",
+        timestamp,
+        hash,
+        maxResult);
+    return entityManagerTemplate.execute(
+        entityManager ->
+            entityManager
+                .createNamedQuery("EncryptedTransaction.FindAllAfter", EncryptedTransaction.class)
+                .setParameter("timestamp", timestamp)
+                .setParameter("hash", hash.getHashBytes())
+                .setMaxResults(maxResult)
+                .getResultList());
+  }
+
+  @Override
+  public Stream<EncryptedTransaction> streamTransactionsForRecipient(
+      PublicKey recipient, int pageSize) {
+    return Stream.iterate(
+            retrieveHashesForRecipient(recipient, null, pageSize),
+            page -> !page.isEmpty(),
+            page -> {
+              if (page.size() < pageSize) {
+                return List.<byte[]>of();
+              }
+              return retrieveHashesForRecipient(recipient, page.get(page.size() - 1), pageSize);
+            })
+        .map(page -> page.stream().map(MessageHash::new).collect(Collectors.toList()))
+        .map(this::findByHashes)
+        .flatMap(List::stream);
+  }
+
+  private List<byte[]> retrieveHashesForRecipient(
+      PublicKey recipient, byte[] lastHash, int maxResult) {
+    return entityManagerTemplate.execute(
+        entityManager -> {
+          if (lastHash == null) {
+            return entityManager
+                .createNamedQuery("EncryptedTransactionRecipient.FindHashes", byte[].class)
+                .setParameter("recipient", recipient.getKeyBytes())
+                .setMaxResults(maxResult)
+                .getResultList();
+          }
+          return entityManager
+              .createNamedQuery("EncryptedTransactionRecipient.FindHashesAfter", byte[].class)
+              .setParameter("recipient", recipient.getKeyBytes())
+              .setParameter("hash", lastHash)
+              .setMaxResults(maxResult)
+              .getResultList();
+        });
+  }
+
+  @Override
+  public long transactionCountForRecipient(PublicKey recipient) {
+    return entityManagerTemplate.execute(
+        entityManager ->
+            entityManager
+                .createNamedQuery("EncryptedTransactionRecipient.CountForRecipient", Long.class)
+                .setParameter("recipient", recipient.getKeyBytes())
+                .getSingleResult());
+  }
+
+  @Override
+  public boolean isRecipientIndexComplete() {
+    // every write keeps the index up to date, so once complete it stays complete
+    if (!recipientIndexComplete) {
+      recipientIndexComplete =
+          entityManagerTemplate.execute(
+              entityManager ->
+                  entityManager
+                      .createNamedQuery(
+                          "EncryptedTransaction.FindUnindexed", EncryptedTransaction.class)
+                      .setMaxResults(1)
+                      .getResultList()
+                      .isEmpty());
+    }
+    return recipientIndexComplete;
+  }
+
+  @Override
+  public long indexRecipients(int batchSize) {
+    long indexedCount = 0;
+    while (true) {
+      final List<EncryptedTransactionRecipient> entries = new ArrayList<>();
+      final int batchCount =
+          entityManagerTemplate.execute(
+              entityManager -> {
+                final List<EncryptedTransaction> unindexed =
+                    entityManager
+                        .createNamedQuery(
+                            "EncryptedTransaction.FindUnindexed", EncryptedTransaction.class)
+                        .setMaxResults(batchSize)
+                        .getResultList();
+                unindexed.stream()
+                    .map(EncryptedTransactionDAOImpl::recipientsOf)
+                    .forEach(entries::addAll);
+                entries.forEach(entityManager::persist);
+                return unindexed.size();
+              });
+
+      indexedCount += batchCount;
+      LOGGER.debug("Added {} transactions to the recipient index", indexedCount);
+
+      if (batchCount > 0 && entries.isEmpty()) {
+        // nothing could be indexed, so the same rows would be returned again
+        LOGGER.warn("Unable to index {} transactions with no sender or recipients", batchCount);
+        return indexedCount;
+      }
+
+      if (batchCount < batchSize) {
+        recipientIndexComplete = true;
+        LOGGER.info("Recipient index complete, added {} transactions", indexedCount);
+        return indexedCount;
+      }
+    }
+  }
+
+  private static List<EncryptedTransactionRecipient> recipientsOf(
+      EncryptedTransaction transaction) {
+    if (transaction.getHash() == null || transaction.getPayload() == null) {
+      return List.of();
+    }
+    return EncryptedTransactionRecipient.from(transaction.getHash(), transaction.getPayload());
+  }
+
+  private static Optional<EncryptedTransactionMetadata> metadataOf(
+      EncryptedTransaction transaction) {
+    if (transaction.getHash() == null || transaction.getPayload() == null) {
+      return Optional.empty();
+    }
+    return Optional.of(
+        EncryptedTransactionMetadata.from(transaction.getHash(), transaction.getPayload()));
+  }
+
   @Override
   public long transactionCount() {
     return entityManagerTemplate.execute(
@@ -106,6 +282,18 @@ public class EncryptedTransactionDAOImpl implements EncryptedTransactionDAO {
                   .findAny()
                   .orElseThrow(EntityNotFoundException::new);
 
+          entityManager
+              .createNamedQuery("EncryptedTransactionRecipient.DeleteByHash")
+              .setParameter("hash", hash.getHashBytes())
+              .executeUpdate();
+          entityManager
+              .createNamedQuery("EncryptedTransactionMetadata.DeleteByHash")
+              .setParameter("hash", hash.getHashBytes())
+              .executeUpdate();
+          entityManager
+              .createNamedQuery("EncryptedTransactionDelivery.DeleteByHash")
+              .setParameter("hash", hash.getHashBytes())
+              .executeUpdate();
           entityManager.remove(message);
           return message;
         });
@@ -117,6 +305,8 @@ public class EncryptedTransactionDAOImpl implements EncryptedTransactionDAO {
     return entityManagerTemplate.execute(
         entityManager -> {
           entityManager.persist(transaction);
+          metadataOf(transaction).ifPresent(entityManager::persist);
+          recipientsOf(transaction).forEach(entityManager::persist);
           try {
             entityManager.flush();
             consumer.call();
@@ -129,6 +319,68 @@ public class EncryptedTransactionDAOImpl implements EncryptedTransactionDAO {
         });
   }
 
+  @Override
+  public EncryptedTransaction saveForDelivery(
+      final EncryptedTransaction transaction, final Collection<PublicKey> recipients) {
+    return entityManagerTemplate.execute(
+        entityManager -> {
+          entityManager.persist(transaction);
+          metadataOf(transaction).ifPresent(entityManager::persist);
+          recipientsOf(transaction).forEach(entityManager::persist);
+          recipients.stream()
+              .distinct()
+              .map(recipient -> new EncryptedTransactionDelivery(transaction.getHash(), recipient))
+              .forEach(entityManager::persist);
+          LOGGER.debug(
+              "Stored transaction {} for delivery to {} recipients",
+              transaction.getHash(),
+              recipients.size());
+          return transaction;
+        });
+  }
+
+  @Override
+  public List<EncryptedTransactionDelivery> retrievePendingDeliveries(
+      final int maxAttempts, final int maxResult) {
+    return entityManagerTemplate.execute(
+        entityManager ->
+            entityManager
+                .createNamedQuery(
+                    "EncryptedTransactionDelivery.FindPending", EncryptedTransactionDelivery.class)
+                .setParameter("maxAttempts", maxAttempts)
+                .setMaxResults(maxResult)
+                .getResultList());
+  }
+
+  @Override
+  public void markDelivered(final MessageHash hash, final Collection<PublicKey> recipients) {
+    updateDeliveries("EncryptedTransactionDelivery.Delete", hash, recipients);
+    LOGGER.debug("Delivered transaction {} to {} recipients", hash, recipients.size());
+  }
+
+  @Override
+  public void markDeliveryFailed(final MessageHash hash, final Collection<PublicKey> recipients) {
+    updateDeliveries("EncryptedTransactionDelivery.IncrementAttempts", hash, recipients);
+  }
+
+  private void updateDeliveries(
+      final String queryName, final MessageHash hash, final Collection<PublicKey> recipients) {
+    if (recipients.isEmpty()) {
+      return;
+    }
+    entityManagerTemplate.execute(
+        entityManager -> {
+          recipients.forEach(
+              recipient ->
+                  entityManager
+                      .createNamedQuery(queryName)
+                      .setParameter("hash", hash.getHashBytes())
+                      .setParameter("recipient", recipient.getKeyBytes())
+                      .executeUpdate());
+          return null;
+        });
+  }
+
   @Override
   public boolean upcheck() {
     // if query succeeds then DB is up and running (else get exception)
@@ -4,6 +4,7 @@ import com.quorum.tessera.config.Config;
 import com.quorum.tessera.config.ConfigFactory;
 import com.quorum.tessera.data.DataSourceFactory;
 import com.quorum.tessera.data.EncryptedTransactionDAO;
+import com.quorum.tessera.metrics.MBeanRegistry;
 import jakarta.persistence.EntityManagerFactory;
 import jakarta.persistence.Persistence;
 import java.util.HashMap;
@@ -17,7 +18,12 @@ public class EncryptedTransactionDAOProvider {
   private static final Logger LOGGER =
       LoggerFactory.getLogger(EncryptedTransactionDAOProvider.class);
 
-  public static EncryptedTransactionDAO provider() {
+  public static synchronized EncryptedTransactionDAO provider() {
+    final EncryptedTransactionDAOHolder encryptedTransactionDAOHolder =
+        EncryptedTransactionDAOHolder.INSTANCE;
+    if (encryptedTransactionDAOHolder.getEncryptedTransactionDAO().isPresent()) {
+      return encryptedTransactionDAOHolder.getEncryptedTransactionDAO().get();
+    }
 
     Config config = ConfigFactory.create().getConfig();
 
@@ -42,6 +48,19 @@ public class EncryptedTransactionDAOProvider {
         Persistence.createEntityManagerFactory("tessera", properties);
     LOGGER.debug("Created EntityManagerFactory from {}", properties);
 
-    return new EncryptedTransactionDAOImpl(entityManagerFactory);
+    final EncryptedTransactionDAO encryptedTransactionDAO =
+        new EncryptedTransactionDAOImpl(entityManagerFactory);
+
+    final int payloadCacheSize = config.getJdbcConfig().getPayloadCacheSize();
+    if (payloadCacheSize <= 0) {
+      return encryptedTransactionDAOHolder.store(encryptedTransactionDAO);
+    }
+
+    LOGGER.debug("Caching up to {} decoded transactions", payloadCacheSize);
+    final CachingEncryptedTransactionDAO cachingEncryptedTransactionDAO =
+        new CachingEncryptedTransactionDAO(encryptedTransactionDAO, payloadCacheSize);
+    MBeanRegistry.INSTANCE.register(
+        MBeanRegistry.objectName("PayloadCache"), cachingEncryptedTransactionDAO.getCacheStats());
+    return encryptedTransactionDAOHolder.store(cachingEncryptedTransactionDAO);
   }
 }
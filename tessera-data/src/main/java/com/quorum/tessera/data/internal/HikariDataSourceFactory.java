@@ -3,13 +3,20 @@ package com.quorum.tessera.data.internal;
 import com.quorum.tessera.config.JdbcConfig;
 import com.quorum.tessera.config.util.EncryptedStringResolver;
 import com.quorum.tessera.data.DataSourceFactory;
+import com.quorum.tessera.metrics.ConnectionPoolStats;
+import com.quorum.tessera.metrics.MBeanRegistry;
 import com.zaxxer.hikari.HikariConfig;
 import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import com.zaxxer.hikari.metrics.PoolStats;
+import java.util.Optional;
 import javax.sql.DataSource;
 
 public enum HikariDataSourceFactory implements DataSourceFactory {
   INSTANCE;
 
+  static final String POOL_NAME = "tessera";
+
   private DataSource dataSource;
 
   @Override
@@ -21,15 +28,63 @@ public enum HikariDataSourceFactory implements DataSourceFactory {
     final EncryptedStringResolver resolver = new EncryptedStringResolver();
 
     final HikariConfig hikariConfig = new HikariConfig();
+    hikariConfig.setPoolName(POOL_NAME);
     hikariConfig.setJdbcUrl(config.getUrl());
     hikariConfig.setUsername(config.getUsername());
     hikariConfig.setPassword(resolver.resolve(config.getPassword()));
 
+    // settings left at zero keep Hikari's defaults
+    if (config.getMaximumPoolSize() > 0) {
+      hikariConfig.setMaximumPoolSize(config.getMaximumPoolSize());
+    }
+    if (config.getMinimumIdle() > 0) {
+      hikariConfig.setMinimumIdle(config.getMinimumIdle());
+    }
+    if (config.getConnectionTimeoutMillis() > 0) {
+      hikariConfig.setConnectionTimeout(config.getConnectionTimeoutMillis());
+    }
+    if (config.getIdleTimeoutMillis() > 0) {
+      hikariConfig.setIdleTimeout(config.getIdleTimeoutMillis());
+    }
+    if (config.getMaxLifetimeMillis() > 0) {
+      hikariConfig.setMaxLifetime(config.getMaxLifetimeMillis());
+    }
+    if (config.getLeakDetectionThresholdMillis() > 0) {
+      hikariConfig.setLeakDetectionThreshold(config.getLeakDetectionThresholdMillis());
+    }
+    Optional.ofNullable(config.getDataSourceProperties())
+        .ifPresent(properties -> properties.forEach(hikariConfig::addDataSourceProperty));
+
+    hikariConfig.setMetricsTrackerFactory(HikariDataSourceFactory::createMetricsTracker);
+
     dataSource = new HikariDataSource(hikariConfig);
 
     return dataSource;
   }
 
+  /* Publishes the pool's state and connection acquire times to the /metrics endpoint */
+  private static IMetricsTracker createMetricsTracker(String poolName, PoolStats poolStats) {
+    final ConnectionPoolStats connectionPoolStats =
+        new ConnectionPoolStats(
+            poolStats::getActiveConnections,
+            poolStats::getIdleConnections,
+            poolStats::getPendingThreads);
+    MBeanRegistry.INSTANCE.register(
+        MBeanRegistry.objectName("ConnectionPool"), connectionPoolStats);
+
+    return new IMetricsTracker() {
+      @Override
+      public void recordConnectionAcquiredNanos(long elapsedAcquiredNanos) {
+        connectionPoolStats.recordAcquire(elapsedAcquiredNanos);
+      }
+
+      @Override
+      public void recordConnectionTimeout() {
+        connectionPoolStats.recordAcquireTimeout();
+      }
+    };
+  }
+
   protected void clear() {
     dataSource = null;
   }
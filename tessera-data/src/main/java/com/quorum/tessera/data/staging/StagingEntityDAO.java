@@ -1,5 +1,6 @@
 package com.quorum.tessera.data.staging;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.ServiceLoader;
@@ -15,6 +16,15 @@ public interface StagingEntityDAO {
    */
   StagingTransaction save(StagingTransaction entity);
 
+  /**
+   * Save a batch of new staging transactions in a single database transaction, so the inserts can
+   * be sent to the database in JDBC batches instead of being committed one at a time
+   *
+   * @param entities The entities to be persisted
+   * @return The entities that were persisted
+   */
+  List<StagingTransaction> saveAll(Collection<StagingTransaction> entities);
+
   /**
    * Update an Encrypted Transaction All fields are required to be non-null on the entity
    *
@@ -7,6 +7,7 @@ import jakarta.persistence.EntityManagerFactory;
 import jakarta.persistence.criteria.CriteriaBuilder;
 import jakarta.persistence.criteria.CriteriaQuery;
 import jakarta.persistence.criteria.Root;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import org.slf4j.Logger;
@@ -17,6 +18,9 @@ public class StagingEntityDAOImpl implements StagingEntityDAO {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(StagingEntityDAOImpl.class);
 
+  /** The number of inserts sent to the database per JDBC batch */
+  static final int JDBC_BATCH_SIZE = 100;
+
   private EntityManagerTemplate entityManagerTemplate;
 
   public StagingEntityDAOImpl(EntityManagerFactory entityManagerFactory) {
@@ -35,6 +39,32 @@ public class StagingEntityDAOImpl implements StagingEntityDAO {
         });
   }
 
+  @Override
+  public List<StagingTransaction> saveAll(final Collection<StagingTransaction> entities) {
+    final List<StagingTransaction> stagingTransactions = List.copyOf(entities);
+    if (stagingTransactions.isEmpty()) {
+      return stagingTransactions;
+    }
+
+    return entityManagerTemplate.execute(
+        entityManager -> {
+          int count = 0;
+          for (StagingTransaction entity : stagingTransactions) {
+            entityManager.persist(entity);
+            if (++count % JDBC_BATCH_SIZE == 0) {
+              // write the batch out and stop tracking it, so a large request does not keep every
+              // entity in the persistence context until commit
+              entityManager.flush();
+              entityManager.clear();
+            }
+          }
+
+          LOGGER.debug("Persisting {} StagingTransaction entities", stagingTransactions.size());
+
+          return stagingTransactions;
+        });
+  }
+
   @Override
   public StagingTransaction update(StagingTransaction entity) {
 
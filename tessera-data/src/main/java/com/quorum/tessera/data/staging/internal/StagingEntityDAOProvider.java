@@ -36,6 +36,11 @@ public class StagingEntityDAOProvider {
         "jakarta.persistence.schema-generation.database.action",
         config.getJdbcConfig().isAutoCreateTables() ? "drop-and-create" : "none");
 
+    properties.put("eclipselink.jdbc.batch-writing", "JDBC");
+    properties.put(
+        "eclipselink.jdbc.batch-writing.size",
+        String.valueOf(StagingEntityDAOImpl.JDBC_BATCH_SIZE));
+
     properties.put(
         "eclipselink.session.customizer", "com.quorum.tessera.eclipselink.AtomicLongSequence");
 
@@ -40,7 +40,7 @@ public class EncryptedTransactionListenerTest {
   }
 
   @Test
-  public void onLoad() {
+  public void onLoadLeavesPayloadToBeDecodedOnFirstRead() {
 
     byte[] payloadData = "PayloadData".getBytes();
     EncodedPayload payload = mock(EncodedPayload.class);
@@ -52,12 +52,14 @@ public class EncryptedTransactionListenerTest {
 
     encryptedTransactionListener.onLoad(encryptedTransaction);
 
-    verify(payloadEncoder).decode(payloadData);
-
-    payloadEncoderFactoryFunction.verify(
-        () -> PayloadEncoder.create(any(EncodedPayloadCodec.class)));
+    verifyNoInteractions(payloadEncoder);
 
     assertThat(encryptedTransaction.getPayload()).isEqualTo(payload);
+    assertThat(encryptedTransaction.getPayload()).isEqualTo(payload);
+
+    verify(payloadEncoder).decode(payloadData);
+
+    payloadEncoderFactoryFunction.verify(() -> PayloadEncoder.create(EncodedPayloadCodec.CBOR));
   }
 
   @Test
@@ -72,13 +74,29 @@ public class EncryptedTransactionListenerTest {
 
     encryptedTransactionListener.onLoad(encryptedTransaction);
 
+    assertThat(encryptedTransaction.getPayload()).isEqualTo(payload);
+    assertThat(encryptedTransaction.getEncodedPayloadCodec()).isEqualTo(EncodedPayloadCodec.LEGACY);
+
     verify(payloadEncoder).decode(payloadData);
 
     payloadEncoderFactoryFunction.verify(
         () -> PayloadEncoder.create(eq(EncodedPayloadCodec.LEGACY)));
+  }
 
-    assertThat(encryptedTransaction.getPayload()).isEqualTo(payload);
-    assertThat(encryptedTransaction.getEncodedPayloadCodec()).isEqualTo(EncodedPayloadCodec.LEGACY);
+  @Test
+  public void onSaveKeepsUndecodedDataInCurrentCodec() {
+
+    byte[] payloadData = "PayloadData".getBytes();
+
+    EncryptedTransaction encryptedTransaction = new EncryptedTransaction();
+    encryptedTransaction.setEncodedPayloadCodec(EncodedPayloadCodec.current());
+    encryptedTransaction.setEncodedPayload(payloadData);
+
+    encryptedTransactionListener.onSave(encryptedTransaction);
+
+    assertThat(encryptedTransaction.getEncodedPayload()).isSameAs(payloadData);
+    assertThat(encryptedTransaction.getEncodedPayloadCodec())
+        .isEqualTo(EncodedPayloadCodec.current());
   }
 
   @Test
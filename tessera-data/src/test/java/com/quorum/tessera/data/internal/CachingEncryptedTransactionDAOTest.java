@@ -0,0 +1,278 @@
+package com.quorum.tessera.data.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+import static org.mockito.Mockito.*;
+
+import com.quorum.tessera.data.EncryptedTransaction;
+import com.quorum.tessera.data.EncryptedTransactionDAO;
+import com.quorum.tessera.data.EncryptedTransactionDelivery;
+import com.quorum.tessera.data.EncryptedTransactionMetadata;
+import com.quorum.tessera.data.MessageHash;
+import com.quorum.tessera.enclave.EncodedPayload;
+import com.quorum.tessera.enclave.EncodedPayloadCodec;
+import com.quorum.tessera.encryption.PublicKey;
+import jakarta.persistence.EntityNotFoundException;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.stream.Stream;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class CachingEncryptedTransactionDAOTest {
+
+  private EncryptedTransactionDAO delegate;
+
+  private CachingEncryptedTransactionDAO cachingEncryptedTransactionDAO;
+
+  @Before
+  public void beforeTest() {
+    delegate = mock(EncryptedTransactionDAO.class);
+    cachingEncryptedTransactionDAO = new CachingEncryptedTransactionDAO(delegate, 2);
+  }
+
+  @After
+  public void afterTest() {
+    verifyNoMoreInteractions(delegate);
+  }
+
+  @Test
+  public void retrieveByHashIsOnlyFetchedOnce() {
+    final EncryptedTransaction transaction = transaction("hash1");
+    when(delegate.retrieveByHash(transaction.getHash())).thenReturn(Optional.of(transaction));
+
+    final EncryptedTransaction first =
+        cachingEncryptedTransactionDAO.retrieveByHash(new MessageHash("hash1".getBytes())).get();
+    final EncryptedTransaction second =
+        cachingEncryptedTransactionDAO.retrieveByHash(new MessageHash("hash1".getBytes())).get();
+
+    assertThat(first).isSameAs(transaction);
+    assertThat(second).isNotSameAs(transaction).isEqualTo(transaction);
+    assertThat(second.getPayload()).isSameAs(transaction.getPayload());
+    assertThat(second.getEncodedPayload()).isEqualTo(transaction.getEncodedPayload());
+    assertThat(second.getEncodedPayloadCodec()).isEqualTo(EncodedPayloadCodec.CBOR);
+    assertThat(second.getTimestamp()).isEqualTo(transaction.getTimestamp());
+
+    assertThat(cachingEncryptedTransactionDAO.getCacheStats().getHitCount()).isEqualTo(1);
+    assertThat(cachingEncryptedTransactionDAO.getCacheStats().getMissCount()).isEqualTo(1);
+    assertThat(cachingEncryptedTransactionDAO.getCacheStats().getSize()).isEqualTo(1);
+
+    verify(delegate).retrieveByHash(transaction.getHash());
+  }
+
+  @Test
+  public void modifyingReturnedTransactionDoesNotChangeCachedCopy() {
+    final EncryptedTransaction transaction = transaction("hash1");
+    when(delegate.retrieveByHash(transaction.getHash())).thenReturn(Optional.of(transaction));
+
+    cachingEncryptedTransactionDAO.retrieveByHash(transaction.getHash());
+    cachingEncryptedTransactionDAO
+        .retrieveByHash(transaction.getHash())
+        .get()
+        .setPayload(mock(EncodedPayload.class));
+
+    final EncryptedTransaction result =
+        cachingEncryptedTransactionDAO.retrieveByHash(transaction.getHash()).get();
+    assertThat(result.getPayload()).isSameAs(transaction.getPayload());
+
+    verify(delegate).retrieveByHash(transaction.getHash());
+  }
+
+  @Test
+  public void missingTransactionIsNotCached() {
+    final MessageHash hash = new MessageHash("hash1".getBytes());
+    when(delegate.retrieveByHash(hash)).thenReturn(Optional.empty());
+
+    assertThat(cachingEncryptedTransactionDAO.retrieveByHash(hash)).isEmpty();
+    assertThat(cachingEncryptedTransactionDAO.retrieveByHash(hash)).isEmpty();
+
+    assertThat(cachingEncryptedTransactionDAO.getCacheStats().getMissCount()).isEqualTo(2);
+    verify(delegate, times(2)).retrieveByHash(hash);
+  }
+
+  @Test
+  public void leastRecentlyUsedTransactionIsEvicted() {
+    final EncryptedTransaction first = transaction("hash1");
+    final EncryptedTransaction second = transaction("hash2");
+    final EncryptedTransaction third = transaction("hash3");
+    Stream.of(first, second, third)
+        .forEach(tx -> when(delegate.retrieveByHash(tx.getHash())).thenReturn(Optional.of(tx)));
+
+    cachingEncryptedTransactionDAO.retrieveByHash(first.getHash());
+    cachingEncryptedTransactionDAO.retrieveByHash(second.getHash());
+    cachingEncryptedTransactionDAO.retrieveByHash(first.getHash());
+    cachingEncryptedTransactionDAO.retrieveByHash(third.getHash());
+    cachingEncryptedTransactionDAO.retrieveByHash(first.getHash());
+    cachingEncryptedTransactionDAO.retrieveByHash(second.getHash());
+
+    assertThat(cachingEncryptedTransactionDAO.getCacheStats().getSize()).isEqualTo(2);
+
+    verify(delegate).retrieveByHash(first.getHash());
+    verify(delegate, times(2)).retrieveByHash(second.getHash());
+    verify(delegate).retrieveByHash(third.getHash());
+  }
+
+  @Test
+  public void updateInvalidatesCachedTransaction() {
+    final EncryptedTransaction transaction = transaction("hash1");
+    when(delegate.retrieveByHash(transaction.getHash())).thenReturn(Optional.of(transaction));
+    when(delegate.update(transaction)).thenReturn(transaction);
+
+    cachingEncryptedTransactionDAO.retrieveByHash(transaction.getHash());
+    assertThat(cachingEncryptedTransactionDAO.update(transaction)).isSameAs(transaction);
+    cachingEncryptedTransactionDAO.retrieveByHash(transaction.getHash());
+
+    verify(delegate, times(2)).retrieveByHash(transaction.getHash());
+    verify(delegate).update(transaction);
+  }
+
+  @Test
+  public void deleteInvalidatesCachedTransactionEvenIfDeleteFails() {
+    final EncryptedTransaction transaction = transaction("hash1");
+    when(delegate.retrieveByHash(transaction.getHash())).thenReturn(Optional.of(transaction));
+    doNothing().doThrow(EntityNotFoundException.class).when(delegate).delete(transaction.getHash());
+
+    cachingEncryptedTransactionDAO.retrieveByHash(transaction.getHash());
+    cachingEncryptedTransactionDAO.delete(transaction.getHash());
+    cachingEncryptedTransactionDAO.retrieveByHash(transaction.getHash());
+
+    final Throwable throwable =
+        catchThrowable(() -> cachingEncryptedTransactionDAO.delete(transaction.getHash()));
+    assertThat(throwable).isInstanceOf(EntityNotFoundException.class);
+
+    assertThat(cachingEncryptedTransactionDAO.getCacheStats().getSize()).isZero();
+
+    verify(delegate, times(2)).retrieveByHash(transaction.getHash());
+    verify(delegate, times(2)).delete(transaction.getHash());
+  }
+
+  @Test
+  public void findByHashesOnlyFetchesUncachedTransactions() {
+    final EncryptedTransaction cached = transaction("hash1");
+    final EncryptedTransaction uncached = transaction("hash2");
+    when(delegate.retrieveByHash(cached.getHash())).thenReturn(Optional.of(cached));
+    when(delegate.findByHashes(List.of(uncached.getHash()))).thenReturn(List.of(uncached));
+
+    cachingEncryptedTransactionDAO.retrieveByHash(cached.getHash());
+
+    final List<EncryptedTransaction> first =
+        cachingEncryptedTransactionDAO.findByHashes(List.of(cached.getHash(), uncached.getHash()));
+    final List<EncryptedTransaction> second =
+        cachingEncryptedTransactionDAO.findByHashes(List.of(cached.getHash(), uncached.getHash()));
+
+    assertThat(first).containsExactlyInAnyOrder(cached, uncached);
+    assertThat(second).containsExactlyInAnyOrder(cached, uncached);
+
+    verify(delegate).retrieveByHash(cached.getHash());
+    verify(delegate).findByHashes(List.of(uncached.getHash()));
+  }
+
+  @Test
+  public void otherOperationsAreDelegated() throws Exception {
+    final EncryptedTransaction transaction = transaction("hash1");
+    final PublicKey recipient = PublicKey.from("recipient".getBytes());
+    final Callable<Object> callable = mock(Callable.class);
+    final MessageHash hash = transaction.getHash();
+    final EncryptedTransactionDelivery delivery = new EncryptedTransactionDelivery(hash, recipient);
+
+    when(delegate.save(transaction)).thenReturn(transaction);
+    when(delegate.save(transaction, callable)).thenReturn(transaction);
+    when(delegate.saveForDelivery(transaction, List.of(recipient))).thenReturn(transaction);
+    when(delegate.retrievePendingDeliveries(3, 10)).thenReturn(List.of(delivery));
+    when(delegate.retrieveTransactions(0, 10)).thenReturn(List.of(transaction));
+    when(delegate.retrieveTransactionsAfter(1L, hash, 10)).thenReturn(List.of(transaction));
+    when(delegate.streamTransactions(10)).thenReturn(Stream.of(transaction));
+    when(delegate.streamTransactionsForRecipient(recipient, 10))
+        .thenReturn(Stream.of(transaction));
+    when(delegate.transactionCountForRecipient(recipient)).thenReturn(3L);
+    when(delegate.isRecipientIndexComplete()).thenReturn(true);
+    when(delegate.indexRecipients(10)).thenReturn(4L);
+    when(delegate.transactionCount()).thenReturn(5L);
+    when(delegate.upcheck()).thenReturn(true);
+
+    assertThat(cachingEncryptedTransactionDAO.save(transaction)).isSameAs(transaction);
+    assertThat(cachingEncryptedTransactionDAO.save(transaction, callable)).isSameAs(transaction);
+    assertThat(cachingEncryptedTransactionDAO.saveForDelivery(transaction, List.of(recipient)))
+        .isSameAs(transaction);
+    assertThat(cachingEncryptedTransactionDAO.retrievePendingDeliveries(3, 10))
+        .containsExactly(delivery);
+    cachingEncryptedTransactionDAO.markDelivered(hash, List.of(recipient));
+    cachingEncryptedTransactionDAO.markDeliveryFailed(hash, List.of(recipient));
+    assertThat(cachingEncryptedTransactionDAO.retrieveTransactions(0, 10))
+        .containsExactly(transaction);
+    assertThat(cachingEncryptedTransactionDAO.retrieveTransactionsAfter(1L, hash, 10))
+        .containsExactly(transaction);
+    assertThat(cachingEncryptedTransactionDAO.streamTransactions(10)).containsExactly(transaction);
+    assertThat(cachingEncryptedTransactionDAO.streamTransactionsForRecipient(recipient, 10))
+        .containsExactly(transaction);
+    assertThat(cachingEncryptedTransactionDAO.transactionCountForRecipient(recipient))
+        .isEqualTo(3L);
+    assertThat(cachingEncryptedTransactionDAO.isRecipientIndexComplete()).isTrue();
+    assertThat(cachingEncryptedTransactionDAO.indexRecipients(10)).isEqualTo(4L);
+    assertThat(cachingEncryptedTransactionDAO.transactionCount()).isEqualTo(5L);
+    assertThat(cachingEncryptedTransactionDAO.upcheck()).isTrue();
+
+    verify(delegate).save(transaction);
+    verify(delegate).save(transaction, callable);
+    verify(delegate).saveForDelivery(transaction, List.of(recipient));
+    verify(delegate).retrievePendingDeliveries(3, 10);
+    verify(delegate).markDelivered(hash, List.of(recipient));
+    verify(delegate).markDeliveryFailed(hash, List.of(recipient));
+    verify(delegate).retrieveTransactions(0, 10);
+    verify(delegate).retrieveTransactionsAfter(1L, hash, 10);
+    verify(delegate).streamTransactions(10);
+    verify(delegate).streamTransactionsForRecipient(recipient, 10);
+    verify(delegate).transactionCountForRecipient(recipient);
+    verify(delegate).isRecipientIndexComplete();
+    verify(delegate).indexRecipients(10);
+    verify(delegate).transactionCount();
+    verify(delegate).upcheck();
+  }
+
+  @Test
+  public void metadataIsTakenFromCachedPayloadOrDelegated() {
+    final EncryptedTransaction cachedTransaction = transaction("hash1");
+    final PublicKey sender = PublicKey.from("sender".getBytes());
+    when(cachedTransaction.getPayload().getSenderKey()).thenReturn(sender);
+    when(delegate.retrieveByHash(cachedTransaction.getHash()))
+        .thenReturn(Optional.of(cachedTransaction));
+    final MessageHash uncachedHash = new MessageHash("hash2".getBytes());
+    final EncryptedTransactionMetadata uncachedMetadata = mock(EncryptedTransactionMetadata.class);
+    when(delegate.retrieveMetadata(uncachedHash)).thenReturn(Optional.of(uncachedMetadata));
+
+    cachingEncryptedTransactionDAO.retrieveByHash(cachedTransaction.getHash());
+
+    assertThat(cachingEncryptedTransactionDAO.retrieveMetadata(cachedTransaction.getHash()))
+        .hasValueSatisfying(metadata -> assertThat(metadata.getSenderKey()).isEqualTo(sender));
+    assertThat(cachingEncryptedTransactionDAO.retrieveMetadata(uncachedHash))
+        .containsSame(uncachedMetadata);
+
+    // the retrieveByHash miss, then one metadata hit and one metadata miss
+    assertThat(cachingEncryptedTransactionDAO.getCacheStats().getHitCount()).isEqualTo(1);
+    assertThat(cachingEncryptedTransactionDAO.getCacheStats().getMissCount()).isEqualTo(2);
+
+    verify(delegate).retrieveByHash(cachedTransaction.getHash());
+    verify(delegate).retrieveMetadata(uncachedHash);
+  }
+
+  @Test
+  public void cacheSizeMustBePositive() {
+    final Throwable throwable =
+        catchThrowable(() -> new CachingEncryptedTransactionDAO(delegate, 0));
+
+    assertThat(throwable)
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("Payload cache size must be positive");
+  }
+
+  private static EncryptedTransaction transaction(String hash) {
+    final EncryptedTransaction transaction =
+        new EncryptedTransaction(new MessageHash(hash.getBytes()), mock(EncodedPayload.class));
+    transaction.setEncodedPayload(hash.getBytes());
+    transaction.setEncodedPayloadCodec(EncodedPayloadCodec.CBOR);
+    transaction.setTimestamp(System.currentTimeMillis());
+    return transaction;
+  }
+}
@@ -14,6 +14,7 @@ import jakarta.persistence.EntityManagerFactory;
 import jakarta.persistence.Persistence;
 import java.util.Collection;
 import java.util.List;
+import org.junit.After;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.junit.runners.Parameterized;
@@ -27,6 +28,11 @@ public class EncryptedRawTransactionDAOProviderTest {
     this.autocreateTables = autocreateTables;
   }
 
+  @After
+  public void clearEncryptedTransactionDAOHolder() {
+    EncryptedTransactionDAOHolder.INSTANCE.store(null);
+  }
+
   @Test
   public void defaultConstructorForCoverage() {
     assertThat(new EncryptedRawTransactionDAOProvider()).isNotNull();
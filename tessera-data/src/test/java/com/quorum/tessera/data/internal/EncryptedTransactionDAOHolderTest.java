@@ -0,0 +1,27 @@
+package com.quorum.tessera.data.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import com.quorum.tessera.data.EncryptedTransactionDAO;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class EncryptedTransactionDAOHolderTest {
+
+  @Before
+  @After
+  public void clear() {
+    EncryptedTransactionDAOHolder.INSTANCE.store(null);
+  }
+
+  @Test
+  public void storeAndGet() {
+    EncryptedTransactionDAOHolder holder = EncryptedTransactionDAOHolder.INSTANCE;
+    assertThat(holder.getEncryptedTransactionDAO()).isNotPresent();
+    EncryptedTransactionDAO encryptedTransactionDAO = mock(EncryptedTransactionDAO.class);
+    assertThat(holder.store(encryptedTransactionDAO)).isSameAs(encryptedTransactionDAO);
+    assertThat(holder.getEncryptedTransactionDAO()).containsSame(encryptedTransactionDAO);
+  }
+}
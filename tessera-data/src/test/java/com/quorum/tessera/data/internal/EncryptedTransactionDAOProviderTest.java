@@ -9,11 +9,17 @@ import com.quorum.tessera.config.Config;
 import com.quorum.tessera.config.ConfigFactory;
 import com.quorum.tessera.config.JdbcConfig;
 import com.quorum.tessera.data.DataSourceFactory;
+import com.quorum.tessera.data.EncryptedTransaction;
 import com.quorum.tessera.data.EncryptedTransactionDAO;
+import com.quorum.tessera.data.MessageHash;
+import com.quorum.tessera.enclave.EncodedPayload;
 import jakarta.persistence.EntityManagerFactory;
 import jakarta.persistence.Persistence;
 import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import org.junit.After;
+import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.junit.runners.Parameterized;
@@ -27,6 +33,12 @@ public class EncryptedTransactionDAOProviderTest {
     this.autocreateTables = autocreateTables;
   }
 
+  @Before
+  @After
+  public void clearHolder() {
+    EncryptedTransactionDAOHolder.INSTANCE.store(null);
+  }
+
   @Test
   public void defaultConstructorForCoverage() {
     assertThat(new EncryptedTransactionDAOProvider()).isNotNull();
@@ -59,12 +71,70 @@ public class EncryptedTransactionDAOProviderTest {
       EncryptedTransactionDAO result = EncryptedTransactionDAOProvider.provider();
       assertThat(result).isNotNull().isExactlyInstanceOf(EncryptedTransactionDAOImpl.class);
 
+      // every consumer shares the one DAO
+      assertThat(EncryptedTransactionDAOProvider.provider()).isSameAs(result);
+
       mockedPersistence.verify(() -> Persistence.createEntityManagerFactory(anyString(), anyMap()));
       mockedPersistence.verifyNoMoreInteractions();
-      EncryptedTransactionDAOProvider.provider();
     }
   }
 
+  @Test
+  public void providesCachingDaoWhenPayloadCacheSizeIsSet() {
+    try (var mockedConfigFactory = mockStatic(ConfigFactory.class);
+        var mockedDataSourceFactory = mockStatic(DataSourceFactory.class);
+        var mockedPersistence = mockStatic(Persistence.class)) {
+
+      mockedPersistence
+          .when(() -> Persistence.createEntityManagerFactory(anyString(), anyMap()))
+          .thenReturn(mock(EntityManagerFactory.class));
+
+      Config config = mock(Config.class);
+      JdbcConfig jdbcConfig = mock(JdbcConfig.class);
+      when(jdbcConfig.isAutoCreateTables()).thenReturn(autocreateTables);
+      when(jdbcConfig.getPayloadCacheSize()).thenReturn(10);
+      when(config.getJdbcConfig()).thenReturn(jdbcConfig);
+
+      ConfigFactory configFactory = mock(ConfigFactory.class);
+      when(configFactory.getConfig()).thenReturn(config);
+
+      mockedConfigFactory.when(ConfigFactory::create).thenReturn(configFactory);
+
+      mockedDataSourceFactory
+          .when(DataSourceFactory::create)
+          .thenReturn(mock(DataSourceFactory.class));
+
+      EncryptedTransactionDAO result = EncryptedTransactionDAOProvider.provider();
+      assertThat(result).isExactlyInstanceOf(CachingEncryptedTransactionDAO.class);
+    }
+  }
+
+  @Test
+  public void updateThroughOneConsumerIsSeenByAnother() {
+    final EncryptedTransactionDAO delegate = mock(EncryptedTransactionDAO.class);
+    EncryptedTransactionDAOHolder.INSTANCE.store(new CachingEncryptedTransactionDAO(delegate, 10));
+
+    final MessageHash hash = new MessageHash("hash".getBytes());
+    final EncryptedTransaction stored = new EncryptedTransaction(hash, mock(EncodedPayload.class));
+    final EncryptedTransaction updated = new EncryptedTransaction(hash, mock(EncodedPayload.class));
+    when(delegate.retrieveByHash(hash))
+        .thenReturn(Optional.of(stored))
+        .thenReturn(Optional.of(updated));
+    when(delegate.update(updated)).thenReturn(updated);
+
+    // e.g. the transaction manager reads, and the resend manager updates, the same transaction
+    final EncryptedTransactionDAO reader = EncryptedTransactionDAOProvider.provider();
+    final EncryptedTransactionDAO writer = EncryptedTransactionDAOProvider.provider();
+
+    assertThat(reader.retrieveByHash(hash).get().getPayload()).isSameAs(stored.getPayload());
+    writer.update(updated);
+    assertThat(reader.retrieveByHash(hash).get().getPayload()).isSameAs(updated.getPayload());
+
+    verify(delegate, times(2)).retrieveByHash(hash);
+    verify(delegate).update(updated);
+    verifyNoMoreInteractions(delegate);
+  }
+
   @Parameterized.Parameters
   public static Collection<Boolean> autoCreateTables() {
     return List.of(true, false);
@@ -9,6 +9,10 @@ import com.quorum.tessera.data.*;
 import com.quorum.tessera.enclave.EncodedPayload;
 import com.quorum.tessera.enclave.EncodedPayloadCodec;
 import com.quorum.tessera.enclave.PayloadEncoder;
+import com.quorum.tessera.enclave.PrivacyMode;
+import com.quorum.tessera.enclave.SecurityHash;
+import com.quorum.tessera.enclave.TxHash;
+import com.quorum.tessera.encryption.PublicKey;
 import jakarta.persistence.*;
 import java.util.*;
 import java.util.concurrent.Callable;
@@ -57,6 +61,9 @@ public class EncryptedTransactionDAOTest {
 
     EntityManager entityManager = entityManagerFactory.createEntityManager();
     entityManager.getTransaction().begin();
+    entityManager.createQuery("delete from EncryptedTransactionRecipient").executeUpdate();
+    entityManager.createQuery("delete from EncryptedTransactionDelivery").executeUpdate();
+    entityManager.createQuery("delete from EncryptedTransactionMetadata").executeUpdate();
     entityManager.createQuery("delete from EncryptedTransaction").executeUpdate();
     entityManager.getTransaction().commit();
   }
@@ -170,7 +177,7 @@ public class EncryptedTransactionDAOTest {
       entityManager.getTransaction().rollback();
     }
     verify(payloadEncoder, times(2)).encode(any());
-    verify(payloadEncoder, times(3)).decode(any());
+    verify(payloadEncoder, times(2)).decode(any());
     verifyNoMoreInteractions(payloadEncoder);
   }
 
@@ -281,12 +288,379 @@ public class EncryptedTransactionDAOTest {
       assertThat(encryptedTransactionDAO.transactionCount()).isEqualTo(payloads.size());
       assertThat(retrievedList).hasSameSizeAs(payloads);
       assertThat(retrievedList).hasSameElementsAs(payloads);
+
+      // payloads are only decoded once read
+      assertThat(retrievedList.get(0).getPayload()).isSameAs(encodedPayload);
     }
-    verify(payloadEncoder, times(50)).decode(payloadData);
+    verify(payloadEncoder).decode(payloadData);
     verify(payloadEncoder, times(50)).encode(encodedPayload);
     verifyNoMoreInteractions(payloadEncoder);
   }
 
+  @Test
+  public void streamingTransactionsReturnsAllInOrder() {
+
+    PayloadEncoder payloadEncoder = mock(PayloadEncoder.class);
+    final byte[] payloadData = "I Love Sparrows".getBytes();
+    EncodedPayload encodedPayload = mock(EncodedPayload.class);
+    when(payloadEncoder.encode(encodedPayload)).thenReturn(payloadData);
+    when(payloadEncoder.decode(payloadData)).thenReturn(encodedPayload);
+
+    try (var createEncoderFunction = mockStatic(PayloadEncoder.class)) {
+      createEncoderFunction
+          .when(() -> PayloadEncoder.create(EncodedPayloadCodec.current()))
+          .thenReturn(payloadEncoder);
+
+      EntityManager entityManager = entityManagerFactory.createEntityManager();
+
+      entityManager.getTransaction().begin();
+      final List<EncryptedTransaction> payloads =
+          IntStream.range(0, 50)
+              .mapToObj(i -> UUID.randomUUID().toString().getBytes())
+              .map(MessageHash::new)
+              .map(
+                  hash -> {
+                    EncryptedTransaction encryptedTransaction = new EncryptedTransaction();
+                    encryptedTransaction.setHash(hash);
+                    encryptedTransaction.setPayload(encodedPayload);
+                    return encryptedTransaction;
+                  })
+              .peek(entityManager::persist)
+              .collect(Collectors.toList());
+
+      entityManager.getTransaction().commit();
+
+      final List<MessageHash> expected =
+          encryptedTransactionDAO.retrieveTransactions(0, Integer.MAX_VALUE).stream()
+              .map(EncryptedTransaction::getHash)
+              .collect(Collectors.toList());
+
+      final List<MessageHash> streamed =
+          encryptedTransactionDAO
+              .streamTransactions(7)
+              .map(EncryptedTransaction::getHash)
+              .collect(Collectors.toList());
+
+      assertThat(streamed).hasSameSizeAs(payloads).containsExactlyElementsOf(expected);
+    }
+  }
+
+  @Test
+  public void streamingTransactionsIncludesBackfilledRows() {
+
+    PayloadEncoder payloadEncoder = mock(PayloadEncoder.class);
+    final byte[] payloadData = "I Love Sparrows".getBytes();
+    EncodedPayload encodedPayload = mock(EncodedPayload.class);
+    when(payloadEncoder.encode(encodedPayload)).thenReturn(payloadData);
+
+    try (var createEncoderFunction = mockStatic(PayloadEncoder.class)) {
+      createEncoderFunction
+          .when(() -> PayloadEncoder.create(EncodedPayloadCodec.current()))
+          .thenReturn(payloadEncoder);
+
+      final List<MessageHash> hashes = new ArrayList<>();
+      EntityManager entityManager = entityManagerFactory.createEntityManager();
+
+      // rows stored before the timestamp column was added, spanning several pages
+      entityManager.getTransaction().begin();
+      IntStream.range(0, 10)
+          .mapToObj(i -> new MessageHash(UUID.randomUUID().toString().getBytes()))
+          .peek(hashes::add)
+          .map(hash -> new EncryptedTransaction(hash, encodedPayload))
+          .forEach(entityManager::persist);
+      entityManager.getTransaction().commit();
+
+      entityManager.getTransaction().begin();
+      entityManager
+          .createNativeQuery("UPDATE ENCRYPTED_TRANSACTION SET TIMESTAMP = NULL")
+          .executeUpdate();
+      // as backfilled by ddls/add-timestamp-index
+      entityManager
+          .createNativeQuery(
+              "UPDATE ENCRYPTED_TRANSACTION SET TIMESTAMP = 0 WHERE TIMESTAMP IS NULL")
+          .executeUpdate();
+      entityManager.getTransaction().commit();
+
+      entityManager.getTransaction().begin();
+      IntStream.range(0, 5)
+          .mapToObj(i -> new MessageHash(UUID.randomUUID().toString().getBytes()))
+          .peek(hashes::add)
+          .map(hash -> new EncryptedTransaction(hash, encodedPayload))
+          .forEach(entityManager::persist);
+      entityManager.getTransaction().commit();
+
+      final List<MessageHash> streamed =
+          encryptedTransactionDAO
+              .streamTransactions(4)
+              .map(EncryptedTransaction::getHash)
+              .collect(Collectors.toList());
+
+      assertThat(streamed).doesNotHaveDuplicates().containsExactlyInAnyOrderElementsOf(hashes);
+      assertThat(streamed.subList(0, 10))
+          .containsExactlyInAnyOrderElementsOf(hashes.subList(0, 10));
+    }
+  }
+
+  @Test
+  public void retrieveTransactionsAfterLastTransactionIsEmpty() {
+
+    PayloadEncoder payloadEncoder = mock(PayloadEncoder.class);
+    final byte[] payloadData = "PAYLOADATA".getBytes();
+    EncodedPayload encodedPayload = mock(EncodedPayload.class);
+    when(payloadEncoder.encode(encodedPayload)).thenReturn(payloadData);
+    when(payloadEncoder.decode(payloadData)).thenReturn(encodedPayload);
+
+    try (var createEncoderFunction = mockStatic(PayloadEncoder.class)) {
+      createEncoderFunction
+          .when(() -> PayloadEncoder.create(EncodedPayloadCodec.current()))
+          .thenReturn(payloadEncoder);
+
+      final EncryptedTransaction encryptedTransaction = new EncryptedTransaction();
+      encryptedTransaction.setHash(new MessageHash(UUID.randomUUID().toString().getBytes()));
+      encryptedTransaction.setPayload(encodedPayload);
+      encryptedTransactionDAO.save(encryptedTransaction);
+
+      assertThat(
+              encryptedTransactionDAO.retrieveTransactionsAfter(
+                  encryptedTransaction.getTimestamp(), encryptedTransaction.getHash(), 10))
+          .isEmpty();
+      assertThat(
+              encryptedTransactionDAO.retrieveTransactionsAfter(
+                  encryptedTransaction.getTimestamp() - 1, encryptedTransaction.getHash(), 10))
+          .hasSize(1);
+    }
+  }
+
+  @Test
+  public void savedTransactionsAreFoundThroughRecipientIndex() {
+
+    final PublicKey sender = PublicKey.from("sender".getBytes());
+    final PublicKey recipient = PublicKey.from("recipient".getBytes());
+    final PublicKey otherRecipient = PublicKey.from("otherRecipient".getBytes());
+
+    PayloadEncoder payloadEncoder = mock(PayloadEncoder.class);
+    final byte[] payloadData = "PAYLOADATA".getBytes();
+    EncodedPayload encodedPayload = mock(EncodedPayload.class);
+    when(encodedPayload.getSenderKey()).thenReturn(sender);
+    when(encodedPayload.getRecipientKeys()).thenReturn(List.of(recipient, sender));
+    EncodedPayload otherPayload = mock(EncodedPayload.class);
+    when(otherPayload.getSenderKey()).thenReturn(sender);
+    when(otherPayload.getRecipientKeys()).thenReturn(List.of(otherRecipient));
+    when(payloadEncoder.encode(any(EncodedPayload.class))).thenReturn(payloadData);
+    when(payloadEncoder.decode(payloadData)).thenReturn(encodedPayload);
+
+    try (var createEncoderFunction = mockStatic(PayloadEncoder.class)) {
+      createEncoderFunction
+          .when(() -> PayloadEncoder.create(any(EncodedPayloadCodec.class)))
+          .thenReturn(payloadEncoder);
+
+      final List<MessageHash> recipientHashes =
+          IntStream.range(0, 5)
+              .mapToObj(i -> new MessageHash(UUID.randomUUID().toString().getBytes()))
+              .peek(
+                  hash ->
+                      encryptedTransactionDAO.save(new EncryptedTransaction(hash, encodedPayload)))
+              .collect(Collectors.toList());
+
+      final MessageHash otherHash = new MessageHash(UUID.randomUUID().toString().getBytes());
+      encryptedTransactionDAO.save(new EncryptedTransaction(otherHash, otherPayload));
+
+      assertThat(encryptedTransactionDAO.isRecipientIndexComplete()).isTrue();
+      assertThat(encryptedTransactionDAO.transactionCountForRecipient(recipient)).isEqualTo(5L);
+      assertThat(encryptedTransactionDAO.transactionCountForRecipient(sender)).isEqualTo(6L);
+      assertThat(encryptedTransactionDAO.transactionCountForRecipient(otherRecipient))
+          .isEqualTo(1L);
+
+      assertThat(
+              encryptedTransactionDAO
+                  .streamTransactionsForRecipient(recipient, 2)
+                  .map(EncryptedTransaction::getHash))
+          .containsExactlyInAnyOrderElementsOf(recipientHashes);
+
+      encryptedTransactionDAO.delete(recipientHashes.get(0));
+
+      assertThat(encryptedTransactionDAO.transactionCountForRecipient(recipient)).isEqualTo(4L);
+      assertThat(
+              encryptedTransactionDAO
+                  .streamTransactionsForRecipient(otherRecipient, 2)
+                  .map(EncryptedTransaction::getHash))
+          .containsExactly(otherHash);
+    }
+  }
+
+  @Test
+  public void indexRecipientsAddsTransactionsStoredBeforeTheIndex() {
+
+    final PublicKey sender = PublicKey.from("sender".getBytes());
+    final PublicKey recipient = PublicKey.from("recipient".getBytes());
+
+    PayloadEncoder payloadEncoder = mock(PayloadEncoder.class);
+    final byte[] payloadData = "PAYLOADATA".getBytes();
+    EncodedPayload encodedPayload = mock(EncodedPayload.class);
+    when(encodedPayload.getSenderKey()).thenReturn(sender);
+    when(encodedPayload.getRecipientKeys()).thenReturn(List.of(recipient));
+    when(payloadEncoder.encode(encodedPayload)).thenReturn(payloadData);
+    when(payloadEncoder.decode(payloadData)).thenReturn(encodedPayload);
+
+    try (var createEncoderFunction = mockStatic(PayloadEncoder.class)) {
+      createEncoderFunction
+          .when(() -> PayloadEncoder.create(any(EncodedPayloadCodec.class)))
+          .thenReturn(payloadEncoder);
+
+      // persisted directly, as rows written before the index existed would be
+      final EntityManager entityManager = entityManagerFactory.createEntityManager();
+      entityManager.getTransaction().begin();
+      IntStream.range(0, 7)
+          .mapToObj(i -> new MessageHash(UUID.randomUUID().toString().getBytes()))
+          .map(hash -> new EncryptedTransaction(hash, encodedPayload))
+          .forEach(entityManager::persist);
+      entityManager.getTransaction().commit();
+
+      assertThat(encryptedTransactionDAO.isRecipientIndexComplete()).isFalse();
+      assertThat(encryptedTransactionDAO.transactionCountForRecipient(recipient)).isZero();
+
+      assertThat(encryptedTransactionDAO.indexRecipients(3)).isEqualTo(7L);
+
+      assertThat(encryptedTransactionDAO.isRecipientIndexComplete()).isTrue();
+      assertThat(encryptedTransactionDAO.transactionCountForRecipient(recipient)).isEqualTo(7L);
+      assertThat(encryptedTransactionDAO.transactionCountForRecipient(sender)).isEqualTo(7L);
+
+      assertThat(encryptedTransactionDAO.indexRecipients(3)).isZero();
+    }
+  }
+
+  @Test
+  public void metadataIsReadWithoutDecodingPayload() {
+
+    final PublicKey sender = PublicKey.from("sender".getBytes());
+    final PublicKey recipient = PublicKey.from("recipient".getBytes());
+    final TxHash affectedHash = new TxHash("affected".getBytes());
+
+    PayloadEncoder payloadEncoder = mock(PayloadEncoder.class);
+    final byte[] payloadData = "PAYLOADATA".getBytes();
+    EncodedPayload encodedPayload = mock(EncodedPayload.class);
+    when(encodedPayload.getSenderKey()).thenReturn(sender);
+    when(encodedPayload.getRecipientKeys()).thenReturn(List.of(recipient, sender));
+    when(encodedPayload.getPrivacyMode()).thenReturn(PrivacyMode.MANDATORY_RECIPIENTS);
+    when(encodedPayload.getMandatoryRecipients()).thenReturn(Set.of(recipient));
+    when(encodedPayload.getAffectedContractTransactions())
+        .thenReturn(Map.of(affectedHash, SecurityHash.from("securityHash".getBytes())));
+    when(payloadEncoder.encode(encodedPayload)).thenReturn(payloadData);
+
+    try (var createEncoderFunction = mockStatic(PayloadEncoder.class)) {
+      createEncoderFunction
+          .when(() -> PayloadEncoder.create(any(EncodedPayloadCodec.class)))
+          .thenReturn(payloadEncoder);
+
+      final MessageHash hash = new MessageHash(UUID.randomUUID().toString().getBytes());
+      encryptedTransactionDAO.save(new EncryptedTransaction(hash, encodedPayload));
+
+      final EncryptedTransactionMetadata metadata =
+          encryptedTransactionDAO.retrieveMetadata(hash).get();
+
+      assertThat(metadata.getHash()).isEqualTo(hash);
+      assertThat(metadata.getSenderKey()).isEqualTo(sender);
+      assertThat(metadata.getRecipientKeys()).containsExactly(recipient, sender);
+      assertThat(metadata.getPrivacyMode()).isEqualTo(PrivacyMode.MANDATORY_RECIPIENTS);
+      assertThat(metadata.getExecHash()).isEmpty();
+      assertThat(metadata.getMandatoryRecipients()).containsExactly(recipient);
+      assertThat(metadata.getAffectedContractTransactions())
+          .containsExactly(new MessageHash(affectedHash.getBytes()));
+
+      encryptedTransactionDAO.delete(hash);
+
+      assertThat(encryptedTransactionDAO.retrieveMetadata(hash)).isEmpty();
+      verify(payloadEncoder, never()).decode(any());
+    }
+  }
+
+  @Test
+  public void metadataOfTransactionStoredWithoutItIsDecoded() {
+
+    final PublicKey sender = PublicKey.from("sender".getBytes());
+
+    PayloadEncoder payloadEncoder = mock(PayloadEncoder.class);
+    final byte[] payloadData = "PAYLOADATA".getBytes();
+    EncodedPayload encodedPayload = mock(EncodedPayload.class);
+    when(encodedPayload.getSenderKey()).thenReturn(sender);
+    when(payloadEncoder.encode(encodedPayload)).thenReturn(payloadData);
+    when(payloadEncoder.decode(payloadData)).thenReturn(encodedPayload);
+
+    try (var createEncoderFunction = mockStatic(PayloadEncoder.class)) {
+      createEncoderFunction
+          .when(() -> PayloadEncoder.create(any(EncodedPayloadCodec.class)))
+          .thenReturn(payloadEncoder);
+
+      final MessageHash hash = new MessageHash(UUID.randomUUID().toString().getBytes());
+      encryptedTransactionDAO.save(new EncryptedTransaction(hash, encodedPayload));
+
+      EntityManager entityManager = entityManagerFactory.createEntityManager();
+      entityManager.getTransaction().begin();
+      entityManager.createQuery("delete from EncryptedTransactionMetadata").executeUpdate();
+      entityManager.getTransaction().commit();
+
+      assertThat(encryptedTransactionDAO.retrieveMetadata(hash))
+          .hasValueSatisfying(metadata -> assertThat(metadata.getSenderKey()).isEqualTo(sender));
+      verify(payloadEncoder).decode(payloadData);
+    }
+  }
+
+  @Test
+  public void deliveriesArePendingUntilMarkedDelivered() {
+
+    final PublicKey recipient = PublicKey.from("recipient".getBytes());
+    final PublicKey otherRecipient = PublicKey.from("otherRecipient".getBytes());
+
+    PayloadEncoder payloadEncoder = mock(PayloadEncoder.class);
+    final byte[] payloadData = "PAYLOADATA".getBytes();
+    EncodedPayload encodedPayload = mock(EncodedPayload.class);
+    when(payloadEncoder.encode(encodedPayload)).thenReturn(payloadData);
+    when(payloadEncoder.decode(payloadData)).thenReturn(encodedPayload);
+
+    try (var createEncoderFunction = mockStatic(PayloadEncoder.class)) {
+      createEncoderFunction
+          .when(() -> PayloadEncoder.create(any(EncodedPayloadCodec.class)))
+          .thenReturn(payloadEncoder);
+
+      final MessageHash hash = new MessageHash(UUID.randomUUID().toString().getBytes());
+      encryptedTransactionDAO.saveForDelivery(
+          new EncryptedTransaction(hash, encodedPayload),
+          List.of(recipient, otherRecipient, recipient));
+
+      assertThat(encryptedTransactionDAO.retrieveByHash(hash)).isPresent();
+      assertThat(encryptedTransactionDAO.retrievePendingDeliveries(5, 10))
+          .extracting(EncryptedTransactionDelivery::getRecipient)
+          .containsExactlyInAnyOrder(recipient, otherRecipient);
+
+      encryptedTransactionDAO.markDeliveryFailed(hash, List.of(recipient));
+
+      final List<EncryptedTransactionDelivery> pending =
+          encryptedTransactionDAO.retrievePendingDeliveries(5, 10);
+      assertThat(pending)
+          .extracting(EncryptedTransactionDelivery::getRecipient)
+          .containsExactly(otherRecipient, recipient);
+      assertThat(pending)
+          .extracting(EncryptedTransactionDelivery::getAttempts)
+          .containsExactly(0, 1);
+      assertThat(pending).extracting(EncryptedTransactionDelivery::getHash).containsOnly(hash);
+
+      // a delivery is no longer retried once it has failed the given number of times
+      assertThat(encryptedTransactionDAO.retrievePendingDeliveries(1, 10))
+          .extracting(EncryptedTransactionDelivery::getRecipient)
+          .containsExactly(otherRecipient);
+
+      encryptedTransactionDAO.markDelivered(hash, List.of(otherRecipient));
+
+      assertThat(encryptedTransactionDAO.retrievePendingDeliveries(5, 10))
+          .extracting(EncryptedTransactionDelivery::getRecipient)
+          .containsExactly(recipient);
+
+      encryptedTransactionDAO.delete(hash);
+
+      assertThat(encryptedTransactionDAO.retrievePendingDeliveries(5, 10)).isEmpty();
+    }
+  }
+
   @Test
   public void deleteTransactionRemovesFromDatabaseAndReturnsTrue() {
 
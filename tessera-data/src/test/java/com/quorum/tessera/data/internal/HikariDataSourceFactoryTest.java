@@ -6,9 +6,13 @@ import static org.mockito.Mockito.when;
 
 import com.quorum.tessera.config.JdbcConfig;
 import com.quorum.tessera.data.DataSourceFactory;
+import com.quorum.tessera.metrics.MBeanRegistry;
 import com.zaxxer.hikari.HikariDataSource;
 import java.io.ByteArrayInputStream;
 import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.sql.Connection;
+import java.util.Map;
 import javax.sql.DataSource;
 import org.junit.After;
 import org.junit.Before;
@@ -82,4 +86,41 @@ public class HikariDataSourceFactoryTest {
     assertThat(hikariDataSource.getUsername()).isEqualTo(username);
     assertThat(hikariDataSource.getPassword()).isEqualTo("dbpassword");
   }
+
+  @Test
+  public void createWithPoolSettings() throws Exception {
+
+    JdbcConfig jdbcConfig = mock(JdbcConfig.class);
+    when(jdbcConfig.getUsername()).thenReturn("junit");
+    when(jdbcConfig.getPassword()).thenReturn("junitpw");
+    when(jdbcConfig.getUrl()).thenReturn("jdbc:h2:mem:");
+    when(jdbcConfig.getMaximumPoolSize()).thenReturn(4);
+    when(jdbcConfig.getMinimumIdle()).thenReturn(1);
+    when(jdbcConfig.getConnectionTimeoutMillis()).thenReturn(5000L);
+    when(jdbcConfig.getIdleTimeoutMillis()).thenReturn(120000L);
+    when(jdbcConfig.getMaxLifetimeMillis()).thenReturn(900000L);
+    when(jdbcConfig.getLeakDetectionThresholdMillis()).thenReturn(10000L);
+    when(jdbcConfig.getDataSourceProperties()).thenReturn(Map.of("cachePrepStmts", "true"));
+
+    HikariDataSource hikariDataSource =
+        HikariDataSource.class.cast(dataSourceFactory.create(jdbcConfig));
+
+    assertThat(hikariDataSource.getPoolName()).isEqualTo(HikariDataSourceFactory.POOL_NAME);
+    assertThat(hikariDataSource.getMaximumPoolSize()).isEqualTo(4);
+    assertThat(hikariDataSource.getMinimumIdle()).isEqualTo(1);
+    assertThat(hikariDataSource.getConnectionTimeout()).isEqualTo(5000L);
+    assertThat(hikariDataSource.getIdleTimeout()).isEqualTo(120000L);
+    assertThat(hikariDataSource.getMaxLifetime()).isEqualTo(900000L);
+    assertThat(hikariDataSource.getLeakDetectionThreshold()).isEqualTo(10000L);
+    assertThat(hikariDataSource.getDataSourceProperties()).containsEntry("cachePrepStmts", "true");
+
+    try (Connection connection = hikariDataSource.getConnection()) {
+      assertThat(
+              ManagementFactory.getPlatformMBeanServer()
+                  .getAttribute(MBeanRegistry.objectName("ConnectionPool"), "AcquireCount"))
+          .isEqualTo(1L);
+    } finally {
+      hikariDataSource.close();
+    }
+  }
 }
@@ -297,6 +297,49 @@ public class StagingEntityDAOTest {
     retrieved.getAffectedContractTransactions().forEach(a -> assertThat(a.getId()).isNotNull());
   }
 
+  @Test
+  public void saveAllPersistsEveryTransaction() {
+
+    final long countBefore = stagingEntityDAO.countAll();
+    final long affectedBefore = stagingEntityDAO.countAllAffected();
+
+    final int size = StagingEntityDAOImpl.JDBC_BATCH_SIZE * 2 + 1;
+    final List<StagingTransaction> stagingTransactions =
+        Stream.generate(Utils::createHashStr)
+            .limit(size)
+            .map(
+                txHash -> {
+                  final StagingTransaction stagingTransaction = new StagingTransaction();
+                  stagingTransaction.setHash(txHash);
+                  stagingTransaction.setEncodedPayloadCodec(CODEC);
+                  stagingTransaction.setPayload(payloadData);
+
+                  final StagingAffectedTransaction affected = new StagingAffectedTransaction();
+                  affected.setSourceTransaction(stagingTransaction);
+                  affected.setHash("affected");
+                  stagingTransaction.getAffectedContractTransactions().add(affected);
+                  return stagingTransaction;
+                })
+            .collect(Collectors.toList());
+
+    final List<StagingTransaction> saved = stagingEntityDAO.saveAll(stagingTransactions);
+
+    assertThat(saved).containsExactlyElementsOf(stagingTransactions);
+    assertThat(stagingEntityDAO.countAll()).isEqualTo(countBefore + size);
+    assertThat(stagingEntityDAO.countAllAffected()).isEqualTo(affectedBefore + size);
+
+    final StagingTransaction last = stagingTransactions.get(size - 1);
+    assertThat(stagingEntityDAO.retrieveByHash(last.getHash())).contains(last);
+  }
+
+  @Test
+  public void saveAllWithNoTransactions() {
+    final long countBefore = stagingEntityDAO.countAll();
+
+    assertThat(stagingEntityDAO.saveAll(List.of())).isEmpty();
+    assertThat(stagingEntityDAO.countAll()).isEqualTo(countBefore);
+  }
+
   public Map<String, StagingTransaction> createFixtures() {
 
     final EntityManager entityManager = entityManagerFactory.createEntityManager();
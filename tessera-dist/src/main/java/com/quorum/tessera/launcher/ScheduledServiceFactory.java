@@ -81,7 +81,8 @@ public class ScheduledServiceFactory {
 
     LOGGER.info("Creating PartyInfoBroadcaster");
 
-    PartyInfoBroadcaster partyInfoPoller = new PartyInfoBroadcaster(p2pClient);
+    PartyInfoBroadcaster partyInfoPoller =
+        new PartyInfoBroadcaster(p2pClient, intervalPropertyHelper.partyInfoInterval());
     LOGGER.info("Created PartyInfoBroadcaster {}", partyInfoPoller);
 
     tesseraScheduledExecutors.add(
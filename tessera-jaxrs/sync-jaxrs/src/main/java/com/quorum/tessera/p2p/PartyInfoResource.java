@@ -9,6 +9,7 @@ import com.quorum.tessera.discovery.NodeUri;
 import com.quorum.tessera.enclave.*;
 import com.quorum.tessera.encryption.PublicKey;
 import com.quorum.tessera.p2p.model.GetPartyInfoResponse;
+import com.quorum.tessera.p2p.partyinfo.PartyInfoDelta;
 import com.quorum.tessera.p2p.partyinfo.PartyInfoParser;
 import com.quorum.tessera.p2p.partyinfo.PartyStore;
 import com.quorum.tessera.partyinfo.model.NodeInfoUtil;
@@ -17,6 +18,8 @@ import com.quorum.tessera.partyinfo.model.PartyInfo;
 import com.quorum.tessera.partyinfo.model.Recipient;
 import com.quorum.tessera.partyinfo.node.NodeInfo;
 import com.quorum.tessera.shared.Constants;
+import com.quorum.tessera.threading.ExecutorFactory;
+import com.quorum.tessera.version.PartyInfoDeltaVersion;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.ArraySchema;
@@ -33,7 +36,11 @@ import jakarta.ws.rs.client.Entity;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
 import java.util.*;
-import java.util.function.Predicate;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
 import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -45,6 +52,10 @@ public class PartyInfoResource {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(PartyInfoResource.class);
 
+  static final long DEFAULT_VALIDATED_KEY_EXPIRY_MILLIS = 300000L;
+
+  private static final int MAX_VALIDATION_THREADS = 32;
+
   private final PartyInfoParser partyInfoParser;
 
   private final Discovery discovery;
@@ -59,6 +70,17 @@ public class PartyInfoResource {
 
   private final PartyStore partyStore;
 
+  private final Map<NodeUri, SenderState> senders = new ConcurrentHashMap<>();
+
+  private final Executor validationExecutor;
+
+  private final long validatedKeyExpiryNanos;
+
+  private final LongSupplier nanoClock;
+
+  // when each key that a peer has proven it owns needs to be validated again
+  private final Map<Recipient, Long> validationExpiries = new ConcurrentHashMap<>();
+
   public PartyInfoResource(
       final Discovery discovery,
       final PartyInfoParser partyInfoParser,
@@ -67,6 +89,33 @@ public class PartyInfoResource {
       final PayloadEncoder payloadEncoder,
       final boolean enableKeyValidation,
       final PartyStore partyStore) {
+    this(
+        discovery,
+        partyInfoParser,
+        restClient,
+        enclave,
+        payloadEncoder,
+        enableKeyValidation,
+        partyStore,
+        createValidationExecutor(),
+        DEFAULT_VALIDATED_KEY_EXPIRY_MILLIS,
+        System::nanoTime);
+  }
+
+  PartyInfoResource(
+      final Discovery discovery,
+      final PartyInfoParser partyInfoParser,
+      final Client restClient,
+      final Enclave enclave,
+      final PayloadEncoder payloadEncoder,
+      final boolean enableKeyValidation,
+      final PartyStore partyStore,
+      final Executor validationExecutor,
+      final long validatedKeyExpiryMillis,
+      final LongSupplier nanoClock) {
+    if (validatedKeyExpiryMillis < 0) {
+      throw new IllegalArgumentException("Validated key expiry must not be negative");
+    }
     this.discovery = requireNonNull(discovery, "discovery must not be null");
     this.partyInfoParser = requireNonNull(partyInfoParser, "partyInfoParser must not be null");
     this.restClient = requireNonNull(restClient);
@@ -74,6 +123,9 @@ public class PartyInfoResource {
     this.payloadEncoder = requireNonNull(payloadEncoder);
     this.enableKeyValidation = enableKeyValidation;
     this.partyStore = requireNonNull(partyStore);
+    this.validationExecutor = requireNonNull(validationExecutor);
+    this.validatedKeyExpiryNanos = TimeUnit.MILLISECONDS.toNanos(validatedKeyExpiryMillis);
+    this.nanoClock = requireNonNull(nanoClock);
   }
 
   public PartyInfoResource(
@@ -132,11 +184,7 @@ public class PartyInfoResource {
           final List<String> headers) {
 
     final PartyInfo partyInfo = partyInfoParser.from(payload);
-    final Set<String> versions =
-        Optional.ofNullable(headers).orElse(emptyList()).stream()
-            .filter(Objects::nonNull)
-            .flatMap(v -> Arrays.stream(v.split(",")))
-            .collect(Collectors.toSet());
+    final Set<String> versions = versions(headers);
 
     final NodeInfo nodeInfo = NodeInfoUtil.from(partyInfo, versions);
 
@@ -146,11 +194,8 @@ public class PartyInfoResource {
       LOGGER.debug("Key validation not enabled, passing PartyInfo through");
 
       discovery.onUpdate(nodeInfo);
-      partyInfo.getParties().stream()
-          .map(Party::getUrl)
-          .map(NodeUri::create)
-          .map(NodeUri::asURI)
-          .forEach(partyStore::store);
+      storeParties(partyInfo.getParties());
+      rememberSender(partyInfo, versions);
 
       // create an empty party info object with our URL to send back
       // this is used by older versions (before 0.10.0), but we don't want to give any info back
@@ -160,64 +205,11 @@ public class PartyInfoResource {
       return Response.ok(returnData).build();
     }
 
-    final PublicKey localPublicKey = enclave.defaultPublicKey();
-
-    final Predicate<Recipient> isValidRecipient =
-        r -> {
-          try {
-            LOGGER.debug("Validating key {} for peer {}", r.getKey(), r.getUrl());
-
-            final String dataToEncrypt = UUID.randomUUID().toString();
-            final EncodedPayload encodedPayload =
-                enclave.encryptPayload(
-                    dataToEncrypt.getBytes(),
-                    localPublicKey,
-                    List.of(r.getKey()),
-                    PrivacyMetadata.Builder.forStandardPrivate().build());
-
-            final byte[] encodedPayloadBytes = payloadEncoder.encode(encodedPayload);
-
-            try (Response response =
-                restClient
-                    .target(r.getUrl())
-                    .path("partyinfo")
-                    .path("validate")
-                    .request()
-                    .post(Entity.entity(encodedPayloadBytes, MediaType.APPLICATION_OCTET_STREAM))) {
-
-              LOGGER.debug("Response code {} from peer {}", response.getStatus(), r.getUrl());
-
-              final String responseData = response.readEntity(String.class);
-
-              final boolean isValid = Objects.equals(responseData, dataToEncrypt);
-              if (!isValid) {
-                LOGGER.warn(
-                    "Validation of key {} for peer {} failed.  Key and peer will not be added to local partyinfo.",
-                    r.getKey(),
-                    r.getUrl());
-                LOGGER.debug("Response from {} was {}", r.getUrl(), responseData);
-              }
-
-              return isValid;
-            }
-            // Assume any and all exceptions to mean invalid. enclave bubbles up nacl array out of
-            // bounds when calculating shared key from invalid data
-          } catch (Exception ex) {
-            LOGGER.debug(null, ex);
-            return false;
-          }
-        };
-
     final String partyInfoSender = partyInfo.getUrl();
-    final Predicate<Recipient> isSender =
-        r -> NodeUri.create(r.getUrl()).equals(NodeUri.create(partyInfoSender));
 
     // Validate caller and treat no valid certs as security issue.
     final Set<com.quorum.tessera.partyinfo.node.Recipient> validatedSendersKeys =
-        partyInfo.getRecipients().stream()
-            .filter(isSender.and(isValidRecipient))
-            .map(r -> com.quorum.tessera.partyinfo.node.Recipient.of(r.getKey(), r.getUrl()))
-            .collect(Collectors.toSet());
+        validateSendersKeys(partyInfoSender, partyInfo.getRecipients());
 
     LOGGER.debug("Validated keys for peer {}: {}", partyInfoSender, validatedSendersKeys);
     if (validatedSendersKeys.isEmpty()) {
@@ -234,11 +226,89 @@ public class PartyInfoResource {
 
     discovery.onUpdate(reducedNodeInfo);
 
-    partyInfo.getParties().stream()
-        .map(Party::getUrl)
-        .map(NodeUri::create)
-        .map(NodeUri::asURI)
-        .forEach(partyStore::store);
+    storeParties(partyInfo.getParties());
+    rememberSender(partyInfo, versions);
+
+    return Response.ok().build();
+  }
+
+  /**
+   * Update the local partyinfo store with the changes to the caller's partyinfo since the last one
+   * it sent to this node.
+   *
+   * @param payload The encoded changes pushed by the caller
+   * @return an empty 200 OK Response if the changes were applied; a 409 Conflict if this node does
+   *     not hold the partyinfo the changes are based on, in which case the caller should send its
+   *     full partyinfo instead; a 500 Internal Server Error if remote key validation fails
+   */
+  @Operation(
+      summary = "/partyinfo/delta",
+      operationId = "broadcastPartyInfoDelta",
+      description = "broadcast changes to partyinfo information to server")
+  @ApiResponse(responseCode = "200", description = "server successfully updated its party info")
+  @ApiResponse(
+      responseCode = "409",
+      description = "server does not hold the partyinfo the changes are based on")
+  @ApiResponse(
+      responseCode = "500",
+      description = "Validation failed (if server is using remote key validation)")
+  @POST
+  @Path("delta")
+  @Consumes(MediaType.APPLICATION_OCTET_STREAM)
+  public Response partyInfoDelta(
+      @RequestBody(required = true, description = "partyinfo delta object") final byte[] payload,
+      @HeaderParam(Constants.API_VERSION_HEADER)
+          @Parameter(
+              description = "client's supported API versions",
+              array = @ArraySchema(schema = @Schema(type = "string")))
+          final List<String> headers) {
+
+    final PartyInfoDelta delta = partyInfoParser.fromDelta(payload);
+    final NodeUri sender = NodeUri.create(delta.getUrl());
+
+    LOGGER.debug("Received PartyInfo delta from {}", delta.getUrl());
+
+    final SenderState previous = senders.get(sender);
+    if (previous == null || !Arrays.equals(previous.digest, delta.getBaseDigest())) {
+      LOGGER.debug("No PartyInfo held for {} that the delta is based on", delta.getUrl());
+      return Response.status(Response.Status.CONFLICT).build();
+    }
+
+    final PartyInfo partyInfo = delta.applyTo(previous.partyInfo);
+    final byte[] digest = PartyInfoDelta.digest(partyInfo);
+    if (!Arrays.equals(digest, delta.getDigest())) {
+      LOGGER.debug("PartyInfo delta from {} did not give the expected digest", delta.getUrl());
+      senders.remove(sender, previous);
+      return Response.status(Response.Status.CONFLICT).build();
+    }
+
+    final Set<String> versions = versions(headers);
+
+    if (!enableKeyValidation) {
+      discovery.onUpdate(NodeInfoUtil.from(partyInfo, versions));
+      storeParties(delta.getAddedParties());
+      senders.put(sender, new SenderState(partyInfo, digest));
+      return Response.ok().build();
+    }
+
+    // keys validated recently, usually all but the added ones, are not challenged again
+    final Set<com.quorum.tessera.partyinfo.node.Recipient> validatedSendersKeys =
+        validateSendersKeys(delta.getUrl(), partyInfo.getRecipients());
+
+    LOGGER.debug("Validated keys for peer {}: {}", delta.getUrl(), validatedSendersKeys);
+    if (validatedSendersKeys.isEmpty()) {
+      throw new SecurityException("No validated keys found for peer " + delta.getUrl());
+    }
+
+    discovery.onUpdate(
+        NodeInfo.Builder.create()
+            .withUrl(partyInfo.getUrl())
+            .withSupportedApiVersions(versions)
+            .withRecipients(validatedSendersKeys)
+            .build());
+
+    storeParties(delta.getAddedParties());
+    senders.put(sender, new SenderState(partyInfo, digest));
 
     return Response.ok().build();
   }
@@ -310,6 +380,127 @@ public class PartyInfoResource {
     return Response.ok(new String(result)).build();
   }
 
+  /*
+   * Keys the sender has proven it owns within the expiry period are not challenged again, and the
+   * rest are all challenged at the same time.
+   */
+  private Set<com.quorum.tessera.partyinfo.node.Recipient> validateSendersKeys(
+      final String partyInfoSender, final Collection<Recipient> recipients) {
+
+    final long now = nanoClock.getAsLong();
+    validationExpiries.values().removeIf(expiry -> expiry - now <= 0);
+
+    final NodeUri sender = NodeUri.create(partyInfoSender);
+    final List<Recipient> sendersKeys =
+        recipients.stream()
+            .filter(r -> NodeUri.create(r.getUrl()).equals(sender))
+            .collect(Collectors.toList());
+
+    final Set<com.quorum.tessera.partyinfo.node.Recipient> validated = new HashSet<>();
+    final List<Recipient> unvalidated = new ArrayList<>();
+    for (Recipient r : sendersKeys) {
+      if (validationExpiries.containsKey(r)) {
+        LOGGER.debug("Key {} for peer {} was validated recently", r.getKey(), r.getUrl());
+        validated.add(com.quorum.tessera.partyinfo.node.Recipient.of(r.getKey(), r.getUrl()));
+      } else {
+        unvalidated.add(r);
+      }
+    }
+
+    if (unvalidated.isEmpty()) {
+      return validated;
+    }
+
+    final PublicKey localPublicKey = enclave.defaultPublicKey();
+
+    final Map<Recipient, CompletableFuture<Boolean>> validations = new LinkedHashMap<>();
+    unvalidated.forEach(
+        r ->
+            validations.put(
+                r,
+                CompletableFuture.supplyAsync(
+                    () -> isValidRecipient(r, localPublicKey), validationExecutor)));
+
+    validations.forEach(
+        (r, validation) -> {
+          if (validation.join()) {
+            validationExpiries.put(r, now + validatedKeyExpiryNanos);
+            validated.add(com.quorum.tessera.partyinfo.node.Recipient.of(r.getKey(), r.getUrl()));
+          }
+        });
+
+    return validated;
+  }
+
+  private boolean isValidRecipient(final Recipient r, final PublicKey localPublicKey) {
+    try {
+      LOGGER.debug("Validating key {} for peer {}", r.getKey(), r.getUrl());
+
+      final String dataToEncrypt = UUID.randomUUID().toString();
+      final EncodedPayload encodedPayload =
+          enclave.encryptPayload(
+              dataToEncrypt.getBytes(),
+              localPublicKey,
+              List.of(r.getKey()),
+              PrivacyMetadata.Builder.forStandardPrivate().build());
+
+      final byte[] encodedPayloadBytes = payloadEncoder.encode(encodedPayload);
+
+      try (Response response =
+          restClient
+              .target(r.getUrl())
+              .path("partyinfo")
+              .path("validate")
+              .request()
+              .post(Entity.entity(encodedPayloadBytes, MediaType.APPLICATION_OCTET_STREAM))) {
+
+        LOGGER.debug("Response code {} from peer {}", response.getStatus(), r.getUrl());
+
+        final String responseData = response.readEntity(String.class);
+
+        final boolean isValid = Objects.equals(responseData, dataToEncrypt);
+        if (!isValid) {
+          LOGGER.warn(
+              "Validation of key {} for peer {} failed.  Key and peer will not be added to local partyinfo.",
+              r.getKey(),
+              r.getUrl());
+          LOGGER.debug("Response from {} was {}", r.getUrl(), responseData);
+        }
+
+        return isValid;
+      }
+      // Assume any and all exceptions to mean invalid. enclave bubbles up nacl array out of
+      // bounds when calculating shared key from invalid data
+    } catch (Exception ex) {
+      LOGGER.debug(null, ex);
+      return false;
+    }
+  }
+
+  private void storeParties(final Set<Party> parties) {
+    parties.stream()
+        .map(Party::getUrl)
+        .map(NodeUri::create)
+        .map(NodeUri::asURI)
+        .forEach(partyStore::store);
+  }
+
+  // only nodes that can send deltas need the partyinfo they sent kept
+  private void rememberSender(final PartyInfo partyInfo, final Set<String> versions) {
+    if (versions.contains(PartyInfoDeltaVersion.API_VERSION_7)) {
+      senders.put(
+          NodeUri.create(partyInfo.getUrl()),
+          new SenderState(partyInfo, PartyInfoDelta.digest(partyInfo)));
+    }
+  }
+
+  private static Set<String> versions(final List<String> headers) {
+    return Optional.ofNullable(headers).orElse(emptyList()).stream()
+        .filter(Objects::nonNull)
+        .flatMap(v -> Arrays.stream(v.split(",")))
+        .collect(Collectors.toSet());
+  }
+
   private boolean isUUID(String s) {
     try {
       UUID.fromString(s);
@@ -318,4 +509,21 @@ public class PartyInfoResource {
     }
     return true;
   }
+
+  private static Executor createValidationExecutor() {
+    return ExecutorFactory.createDaemonPool("partyinfo-key-validation", MAX_VALIDATION_THREADS);
+  }
+
+  /** The last partyinfo received from a node, that the next delta from it is based on */
+  private static final class SenderState {
+
+    private final PartyInfo partyInfo;
+
+    private final byte[] digest;
+
+    private SenderState(final PartyInfo partyInfo, final byte[] digest) {
+      this.partyInfo = partyInfo;
+      this.digest = digest;
+    }
+  }
 }
@@ -0,0 +1,77 @@
+package com.quorum.tessera.p2p;
+
+import static java.util.Collections.emptyList;
+
+import com.quorum.tessera.data.MessageHash;
+import com.quorum.tessera.enclave.EncodedPayload;
+import com.quorum.tessera.enclave.EncodedPayloadCodec;
+import com.quorum.tessera.enclave.PayloadEncoder;
+import com.quorum.tessera.enclave.RecipientBox;
+import com.quorum.tessera.encryption.PublicKey;
+import com.quorum.tessera.transaction.TransactionManager;
+import jakarta.ws.rs.core.Response;
+import java.io.InputStream;
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/*
+ * Handles payloads pushed to /pushMultiple, which carry boxes for several recipients hosted on this
+ * node, for both TransactionResource and RecoveryResource
+ */
+final class PushMultipleHandler {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(PushMultipleHandler.class);
+
+  private PushMultipleHandler() {}
+
+  static EncodedPayload decode(final InputStream payload, final List<String> headers) {
+    final Set<String> versions =
+        Optional.ofNullable(headers).orElse(emptyList()).stream()
+            .filter(Objects::nonNull)
+            .flatMap(v -> Arrays.stream(v.split(",")))
+            .collect(Collectors.toSet());
+
+    final EncodedPayloadCodec codec = EncodedPayloadCodec.getPreferredCodec(versions);
+
+    final PayloadEncoder payloadEncoder = PayloadEncoder.create(codec);
+
+    return payloadEncoder.decode(payload);
+  }
+
+  static Response store(
+      final TransactionManager transactionManager, final EncodedPayload encodedPayload) {
+
+    final List<byte[]> boxes =
+        encodedPayload.getRecipientBoxes().stream()
+            .map(RecipientBox::getData)
+            .collect(Collectors.toList());
+
+    // private state validation payloads carry every recipient key, with an empty box for each
+    // recipient that is not hosted on this node
+    final List<PublicKey> recipients =
+        IntStream.range(0, Math.min(boxes.size(), encodedPayload.getRecipientKeys().size()))
+            .filter(i -> boxes.get(i).length > 0)
+            .mapToObj(encodedPayload.getRecipientKeys()::get)
+            .collect(Collectors.toList());
+
+    if (recipients.isEmpty() || boxes.size() > encodedPayload.getRecipientKeys().size()) {
+      return Response.status(Response.Status.BAD_REQUEST)
+          .entity("Encoded payload must contain recipient boxes, each with a recipient key")
+          .build();
+    }
+
+    MessageHash messageHash = null;
+    for (PublicKey recipient : recipients) {
+      messageHash =
+          transactionManager.storePayload(
+              EncodedPayload.Builder.forRecipient(encodedPayload, recipient).build());
+    }
+    LOGGER.debug(
+        "Push request for {} recipients generated hash {}", recipients.size(), messageHash);
+
+    return Response.status(Response.Status.CREATED).entity(Objects.toString(messageHash)).build();
+  }
+}
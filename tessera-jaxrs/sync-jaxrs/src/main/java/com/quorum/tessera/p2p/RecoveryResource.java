@@ -24,6 +24,7 @@ import jakarta.ws.rs.HeaderParam;
 import jakarta.ws.rs.POST;
 import jakarta.ws.rs.Path;
 import jakarta.ws.rs.core.Response;
+import java.io.InputStream;
 import java.util.*;
 import java.util.stream.Collectors;
 import org.slf4j.Logger;
@@ -76,7 +77,8 @@ public class RecoveryResource {
   @Path("push")
   @Consumes(APPLICATION_OCTET_STREAM)
   public Response push(
-      final byte[] payload, @HeaderParam(Constants.API_VERSION_HEADER) final List<String> headers) {
+      final InputStream payload,
+      @HeaderParam(Constants.API_VERSION_HEADER) final List<String> headers) {
 
     LOGGER.debug("Received push request during recovery mode");
 
@@ -103,4 +105,27 @@ public class RecoveryResource {
 
     return Response.status(Response.Status.CREATED).entity(Objects.toString(messageHash)).build();
   }
+
+  // path /pushMultiple is overloaded (RecoveryResource & TransactionResource); hide this operation
+  // and use TransactionResource::pushMultiple to document both
+  @Hidden
+  @POST
+  @Path("pushMultiple")
+  @Consumes(APPLICATION_OCTET_STREAM)
+  public Response pushMultiple(
+      final InputStream payload,
+      @HeaderParam(Constants.API_VERSION_HEADER) final List<String> headers) {
+
+    LOGGER.debug("Received push request for multiple recipients during recovery mode");
+
+    final EncodedPayload encodedPayload = PushMultipleHandler.decode(payload, headers);
+
+    if (encodedPayload.getPrivacyMode() != PrivacyMode.STANDARD_PRIVATE) {
+      return Response.status(Response.Status.FORBIDDEN)
+          .entity("Transactions with enhanced privacy are not accepted during recovery mode")
+          .build();
+    }
+
+    return PushMultipleHandler.store(transactionManager, encodedPayload);
+  }
 }
@@ -26,6 +26,7 @@ import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
 import jakarta.ws.rs.*;
 import jakarta.ws.rs.core.Response;
+import java.io.InputStream;
 import java.util.*;
 import java.util.stream.Collectors;
 import org.slf4j.Logger;
@@ -181,7 +182,8 @@ public class TransactionResource {
   @Path("push")
   @Consumes(APPLICATION_OCTET_STREAM)
   public Response push(
-      @Schema(description = "encoded payload") final byte[] payload,
+      @Schema(description = "encoded payload", type = "string", format = "byte")
+          final InputStream payload,
       @HeaderParam(Constants.API_VERSION_HEADER)
           @Parameter(
               description = "client's supported API versions",
@@ -204,4 +206,41 @@ public class TransactionResource {
     LOGGER.debug("Push request generated hash {}", messageHash);
     return Response.status(Response.Status.CREATED).entity(Objects.toString(messageHash)).build();
   }
+
+  @Operation(
+      summary = "/pushMultiple",
+      operationId = "pushPayloadForMultipleRecipients",
+      description =
+          "store encoded payload carrying boxes for several recipients hosted on this server to the server's database")
+  @ApiResponse(
+      responseCode = "201",
+      description = "hash of encoded payload",
+      content =
+          @Content(
+              mediaType = TEXT_PLAIN,
+              schema =
+                  @Schema(
+                      description = "hash of encrypted payload",
+                      type = "string",
+                      format = "base64")))
+  @ApiResponse(
+      responseCode = "400",
+      description = "encoded payload does not contain recipient boxes, each with a recipient key")
+  @POST
+  @Path("pushMultiple")
+  @Consumes(APPLICATION_OCTET_STREAM)
+  public Response pushMultiple(
+      @Schema(description = "encoded payload", type = "string", format = "byte")
+          final InputStream payload,
+      @HeaderParam(Constants.API_VERSION_HEADER)
+          @Parameter(
+              description = "client's supported API versions",
+              array = @ArraySchema(schema = @Schema(type = "string")))
+          final List<String> headers) {
+
+    LOGGER.debug("Received push request for multiple recipients");
+
+    return PushMultipleHandler.store(
+        transactionManager, PushMultipleHandler.decode(payload, headers));
+  }
 }
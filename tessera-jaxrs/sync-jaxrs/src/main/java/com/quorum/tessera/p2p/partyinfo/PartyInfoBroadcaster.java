@@ -2,25 +2,51 @@ package com.quorum.tessera.p2p.partyinfo;
 
 import com.quorum.tessera.discovery.Discovery;
 import com.quorum.tessera.discovery.NodeUri;
+import com.quorum.tessera.metrics.LatencyStats;
+import com.quorum.tessera.metrics.NodeLatencyMetrics;
 import com.quorum.tessera.partyinfo.P2pClient;
 import com.quorum.tessera.partyinfo.model.PartyInfo;
 import com.quorum.tessera.partyinfo.model.PartyInfoBuilder;
 import com.quorum.tessera.partyinfo.node.NodeInfo;
+import com.quorum.tessera.threading.ExecutorFactory;
+import com.quorum.tessera.version.PartyInfoDeltaVersion;
 import jakarta.ws.rs.ProcessingException;
 import java.net.URI;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
  * Polls every so often to all known nodes for any new discoverable nodes. This keeps all nodes
  * up-to date and discoverable by other nodes
+ *
+ * <p>All nodes are contacted concurrently, so a slow or unreachable node only holds up its own
+ * request. A round gives up on any requests still outstanding once its deadline has passed.
+ *
+ * <p>Nodes that support {@link PartyInfoDeltaVersion#API_VERSION_7} and have accepted a previous
+ * round are only sent the changes since then, falling back to the full party info if they do not
+ * accept them.
  */
 public class PartyInfoBroadcaster implements Runnable {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(PartyInfoBroadcaster.class);
 
+  static final int MAX_THREADS = 64;
+
+  static final long DEFAULT_ROUND_TIMEOUT_MILLIS = 5000L;
+
   private final Discovery discovery;
 
   private final PartyInfoParser partyInfoParser;
@@ -29,8 +55,33 @@ public class PartyInfoBroadcaster implements Runnable {
 
   private final PartyStore partyStore;
 
+  private final Executor executor;
+
+  private final NodeLatencyMetrics broadcastMetrics;
+
+  private final long roundTimeoutMillis;
+
+  // the last party info each node accepted, which deltas sent to it are based on
+  private final Map<String, PartyInfo> acknowledged = new ConcurrentHashMap<>();
+
   public PartyInfoBroadcaster(final P2pClient p2pClient) {
-    this(Discovery.create(), PartyInfoParser.create(), p2pClient, PartyStore.getInstance());
+    this(p2pClient, DEFAULT_ROUND_TIMEOUT_MILLIS);
+  }
+
+  /**
+   * @param p2pClient the client to send party info with
+   * @param roundTimeoutMillis how long a round may take before outstanding requests are abandoned,
+   *     normally the party info interval
+   */
+  public PartyInfoBroadcaster(final P2pClient p2pClient, final long roundTimeoutMillis) {
+    this(
+        Discovery.create(),
+        PartyInfoParser.create(),
+        p2pClient,
+        PartyStore.getInstance(),
+        createExecutor(),
+        new NodeLatencyMetrics("PartyInfoBroadcast"),
+        roundTimeoutMillis);
   }
 
   public PartyInfoBroadcaster(
@@ -38,10 +89,34 @@ public class PartyInfoBroadcaster implements Runnable {
       final PartyInfoParser partyInfoParser,
       final P2pClient p2pClient,
       final PartyStore partyStore) {
+    this(
+        discovery,
+        partyInfoParser,
+        p2pClient,
+        partyStore,
+        createExecutor(),
+        new NodeLatencyMetrics("PartyInfoBroadcast"),
+        DEFAULT_ROUND_TIMEOUT_MILLIS);
+  }
+
+  PartyInfoBroadcaster(
+      final Discovery discovery,
+      final PartyInfoParser partyInfoParser,
+      final P2pClient p2pClient,
+      final PartyStore partyStore,
+      final Executor executor,
+      final NodeLatencyMetrics broadcastMetrics,
+      final long roundTimeoutMillis) {
+    if (roundTimeoutMillis <= 0) {
+      throw new IllegalArgumentException("PartyInfo round timeout must be positive");
+    }
     this.discovery = Objects.requireNonNull(discovery);
     this.partyInfoParser = Objects.requireNonNull(partyInfoParser);
     this.p2pClient = Objects.requireNonNull(p2pClient);
     this.partyStore = Objects.requireNonNull(partyStore);
+    this.executor = Objects.requireNonNull(executor);
+    this.broadcastMetrics = Objects.requireNonNull(broadcastMetrics);
+    this.roundTimeoutMillis = roundTimeoutMillis;
   }
 
   /**
@@ -76,13 +151,51 @@ public class PartyInfoBroadcaster implements Runnable {
 
     final byte[] encodedPartyInfo = partyInfoParser.to(partyInfo);
 
+    // nodes are mostly based on the same earlier party info, so each delta is only encoded once
+    final Set<NodeUri> deltaPeers = acknowledged.isEmpty() ? Set.of() : peersSupportingDeltas();
+    final Map<PartyInfo, byte[]> deltas = new ConcurrentHashMap<>();
+    final Function<PartyInfo, byte[]> deltaFrom =
+        previous ->
+            deltas.computeIfAbsent(
+                previous, p -> partyInfoParser.toDelta(PartyInfoDelta.between(p, partyInfo)));
+
     LOGGER.debug("Contacting following peers with PartyInfo: {}", partyInfo.getParties());
 
     LOGGER.debug("Sending party info {}", nodeInfo);
-    partyStore.getParties().stream()
-        .map(NodeUri::create)
-        .filter(url -> !ourUrl.equals(url))
-        .forEach(url -> pollSingleParty(url.asString(), encodedPartyInfo));
+    final List<CompletableFuture<Void>> requests =
+        partyStore.getParties().stream()
+            .map(NodeUri::create)
+            .filter(url -> !ourUrl.equals(url))
+            .map(
+                url ->
+                    CompletableFuture.runAsync(
+                        () ->
+                            pollSingleParty(
+                                url.asString(),
+                                partyInfo,
+                                encodedPartyInfo,
+                                deltaPeers.contains(url) ? deltaFrom : null),
+                        executor))
+            .collect(Collectors.toList());
+
+    try {
+      CompletableFuture.allOf(requests.toArray(CompletableFuture[]::new))
+          .get(roundTimeoutMillis, TimeUnit.MILLISECONDS);
+    } catch (TimeoutException ex) {
+      final long outstanding = requests.stream().filter(r -> !r.isDone()).count();
+      LOGGER.warn(
+          "PartyInfo polling round did not finish within {} ms, abandoning {} of {} requests",
+          roundTimeoutMillis,
+          outstanding,
+          requests.size());
+      // requests that have not started yet will not be sent
+      requests.forEach(r -> r.cancel(false));
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      requests.forEach(r -> r.cancel(false));
+    } catch (ExecutionException ex) {
+      LOGGER.debug("PartyInfo request failed", ex);
+    }
 
     LOGGER.info("Finished PartyInfo polling round");
   }
@@ -94,13 +207,27 @@ public class PartyInfoBroadcaster implements Runnable {
    * @param encodedPartyInfo the encoded current party information
    */
   protected void pollSingleParty(final String url, final byte[] encodedPartyInfo) {
+    pollSingleParty(url, null, encodedPartyInfo, null);
+  }
+
+  private void pollSingleParty(
+      final String url,
+      final PartyInfo partyInfo,
+      final byte[] encodedPartyInfo,
+      final Function<PartyInfo, byte[]> deltaFrom) {
     final NodeUri nodeUri = NodeUri.create(url);
+    final LatencyStats latencyStats = broadcastMetrics.forNode(nodeUri.asString());
+    final long start = System.nanoTime();
     try {
 
       LOGGER.debug("Sending party info to {}", nodeUri.asString());
-      p2pClient.sendPartyInfo(url, encodedPartyInfo);
+      final boolean sent = sendPartyInfo(url, nodeUri, partyInfo, encodedPartyInfo, deltaFrom);
+      latencyStats.record(System.nanoTime() - start, !sent);
       LOGGER.debug("Sent party info to {}", nodeUri.asString());
     } catch (Exception ex) {
+      latencyStats.record(System.nanoTime() - start, true);
+      acknowledged.remove(nodeUri.asString());
+
       Throwable cause = Optional.of(ex).map(Throwable::getCause).orElse(ex);
 
       LOGGER.warn("Failed to connect to node {}, due to {}", url, cause.getMessage());
@@ -111,4 +238,40 @@ public class PartyInfoBroadcaster implements Runnable {
       }
     }
   }
+
+  private boolean sendPartyInfo(
+      final String url,
+      final NodeUri nodeUri,
+      final PartyInfo partyInfo,
+      final byte[] encodedPartyInfo,
+      final Function<PartyInfo, byte[]> deltaFrom) {
+    final PartyInfo previous = acknowledged.get(nodeUri.asString());
+    if (deltaFrom != null && previous != null) {
+      if (p2pClient.sendPartyInfoDelta(url, deltaFrom.apply(previous))) {
+        acknowledged.put(nodeUri.asString(), partyInfo);
+        return true;
+      }
+      LOGGER.debug("PartyInfo delta not accepted by {}, sending full PartyInfo", url);
+    }
+
+    final boolean sent = p2pClient.sendPartyInfo(url, encodedPartyInfo);
+    if (sent && partyInfo != null) {
+      acknowledged.put(nodeUri.asString(), partyInfo);
+    } else {
+      acknowledged.remove(nodeUri.asString());
+    }
+    return sent;
+  }
+
+  private Set<NodeUri> peersSupportingDeltas() {
+    return discovery.getRemoteNodeInfos().stream()
+        .filter(n -> n.supportedApiVersions().contains(PartyInfoDeltaVersion.API_VERSION_7))
+        .map(NodeInfo::getUrl)
+        .map(NodeUri::create)
+        .collect(Collectors.toSet());
+  }
+
+  private static Executor createExecutor() {
+    return ExecutorFactory.createDaemonPool("partyinfo-broadcaster", MAX_THREADS);
+  }
 }
@@ -0,0 +1,167 @@
+package com.quorum.tessera.p2p.partyinfo;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import com.quorum.tessera.partyinfo.model.Party;
+import com.quorum.tessera.partyinfo.model.PartyInfo;
+import com.quorum.tessera.partyinfo.model.Recipient;
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * The changes to a node's {@link PartyInfo} since a version of it that the receiving node is known
+ * to hold, identified by its digest.
+ *
+ * <p>The receiver applies the changes to the version it holds if that version has the base digest,
+ * and must get the same digest for the result as the sender did. Otherwise the sender falls back
+ * to sending the full {@link PartyInfo}.
+ */
+public class PartyInfoDelta {
+
+  private final String url;
+
+  private final byte[] baseDigest;
+
+  private final byte[] digest;
+
+  private final Set<Recipient> addedRecipients;
+
+  private final Set<Recipient> removedRecipients;
+
+  private final Set<Party> addedParties;
+
+  private final Set<Party> removedParties;
+
+  public PartyInfoDelta(
+      final String url,
+      final byte[] baseDigest,
+      final byte[] digest,
+      final Set<Recipient> addedRecipients,
+      final Set<Recipient> removedRecipients,
+      final Set<Party> addedParties,
+      final Set<Party> removedParties) {
+    this.url = Objects.requireNonNull(url);
+    this.baseDigest = Objects.requireNonNull(baseDigest);
+    this.digest = Objects.requireNonNull(digest);
+    this.addedRecipients = Set.copyOf(addedRecipients);
+    this.removedRecipients = Set.copyOf(removedRecipients);
+    this.addedParties = Set.copyOf(addedParties);
+    this.removedParties = Set.copyOf(removedParties);
+  }
+
+  /**
+   * Creates the delta that turns one version of a node's party info into another
+   *
+   * @param previous the version the receiving node holds
+   * @param current the version to send
+   * @return the changes between the two versions
+   */
+  public static PartyInfoDelta between(final PartyInfo previous, final PartyInfo current) {
+    return new PartyInfoDelta(
+        current.getUrl(),
+        digest(previous),
+        digest(current),
+        difference(current.getRecipients(), previous.getRecipients()),
+        difference(previous.getRecipients(), current.getRecipients()),
+        difference(current.getParties(), previous.getParties()),
+        difference(previous.getParties(), current.getParties()));
+  }
+
+  /**
+   * Applies the changes to the version of the party info they were created from
+   *
+   * @param previous the version with the base digest
+   * @return the resulting party info
+   */
+  public PartyInfo applyTo(final PartyInfo previous) {
+    final Set<Recipient> recipients = new HashSet<>(previous.getRecipients());
+    recipients.removeAll(removedRecipients);
+    recipients.addAll(addedRecipients);
+
+    final Set<Party> parties = new HashSet<>(previous.getParties());
+    parties.removeAll(removedParties);
+    parties.addAll(addedParties);
+
+    return new PartyInfo(url, recipients, parties);
+  }
+
+  /**
+   * Calculates a SHA-256 digest of the party info that does not depend on the iteration order of
+   * its recipients or parties
+   *
+   * @param partyInfo the party info to digest
+   * @return the digest
+   */
+  public static byte[] digest(final PartyInfo partyInfo) {
+    final MessageDigest messageDigest;
+    try {
+      messageDigest = MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException ex) {
+      throw new IllegalStateException(ex);
+    }
+
+    update(messageDigest, partyInfo.getUrl().getBytes(UTF_8));
+
+    partyInfo.getRecipients().stream()
+        .sorted(
+            Comparator.comparing(Recipient::getUrl)
+                .thenComparing(r -> r.getKey().encodeToBase64()))
+        .forEach(
+            r -> {
+              update(messageDigest, r.getKey().getKeyBytes());
+              update(messageDigest, r.getUrl().getBytes(UTF_8));
+            });
+
+    partyInfo.getParties().stream()
+        .map(Party::getUrl)
+        .sorted()
+        .forEach(url -> update(messageDigest, url.getBytes(UTF_8)));
+
+    return messageDigest.digest();
+  }
+
+  public String getUrl() {
+    return url;
+  }
+
+  public byte[] getBaseDigest() {
+    return baseDigest;
+  }
+
+  public byte[] getDigest() {
+    return digest;
+  }
+
+  public Set<Recipient> getAddedRecipients() {
+    return addedRecipients;
+  }
+
+  public Set<Recipient> getRemovedRecipients() {
+    return removedRecipients;
+  }
+
+  public Set<Party> getAddedParties() {
+    return addedParties;
+  }
+
+  public Set<Party> getRemovedParties() {
+    return removedParties;
+  }
+
+  private static <T> Set<T> difference(final Set<T> from, final Set<T> remove) {
+    final Set<T> result = new HashSet<>(from);
+    result.removeAll(remove);
+    return result;
+  }
+
+  // length prefixed, so that adjacent fields cannot run into each other
+  private static void update(final MessageDigest messageDigest, final byte[] data) {
+    messageDigest.update(ByteBuffer.allocate(Long.BYTES).putLong(data.length).array());
+    messageDigest.update(data);
+  }
+}
@@ -29,48 +29,9 @@ public interface PartyInfoParser extends BinaryEncoder {
 
     final ByteBuffer byteBuffer = ByteBuffer.wrap(encoded);
 
-    final int urlLength = toIntExact(byteBuffer.getLong());
-    checkLength(urlLength);
-
-    final byte[] urlBytes = new byte[urlLength];
-    byteBuffer.get(urlBytes);
-    final String url = new String(urlBytes, UTF_8);
-
-    final int numberOfRecipients = toIntExact(byteBuffer.getLong());
-    checkLength(numberOfRecipients);
-
-    final Set<Recipient> recipients = new HashSet<>();
-    for (int i = 0; i < numberOfRecipients; i++) {
-
-      final int recipientKeyLength = toIntExact(byteBuffer.getLong());
-      checkLength(recipientKeyLength);
-
-      final byte[] recipientKeyBytes = new byte[recipientKeyLength];
-      byteBuffer.get(recipientKeyBytes);
-
-      final int recipientUrlValueLength = toIntExact(byteBuffer.getLong());
-      checkLength(recipientUrlValueLength);
-
-      final byte[] urlValueData = new byte[recipientUrlValueLength];
-
-      byteBuffer.get(urlValueData);
-      final String recipientUrl = new String(urlValueData, UTF_8);
-
-      recipients.add(Recipient.of(PublicKey.from(recipientKeyBytes), recipientUrl));
-    }
-
-    final int partyCount = toIntExact(byteBuffer.getLong());
-    checkLength(partyCount);
-
-    final Set<Party> parties = new HashSet<>();
-    for (int i = 0; i < partyCount; i++) {
-      long partyElementLength = byteBuffer.getLong();
-      checkLength(partyElementLength);
-
-      byte[] ptyData = new byte[toIntExact(partyElementLength)];
-      byteBuffer.get(ptyData);
-      parties.add(new Party(new String(ptyData, UTF_8)));
-    }
+    final String url = new String(readField(byteBuffer), UTF_8);
+    final Set<Recipient> recipients = readRecipients(byteBuffer);
+    final Set<Party> parties = readParties(byteBuffer);
 
     return new PartyInfo(url, recipients, parties);
   }
@@ -89,10 +50,75 @@ public interface PartyInfoParser extends BinaryEncoder {
     // prefix and url bytes
     final byte[] url = encodeField(partyInfo.getUrl().getBytes(UTF_8));
 
+    final byte[] recipients = encodeRecipients(partyInfo.getRecipients());
+
+    final byte[] partiesBytes = encodeParties(partyInfo.getParties());
+
+    return ByteBuffer.allocate(url.length + recipients.length + partiesBytes.length)
+        .put(url)
+        .put(recipients)
+        .put(partiesBytes)
+        .array();
+  }
+
+  /**
+   * Decodes a {@link PartyInfoDelta} from the format that is shared between nodes
+   *
+   * @param encoded the encoded delta
+   * @return the decoded {@link PartyInfoDelta}
+   */
+  default PartyInfoDelta fromDelta(final byte[] encoded) {
+
+    final ByteBuffer byteBuffer = ByteBuffer.wrap(encoded);
+
+    final String url = new String(readField(byteBuffer), UTF_8);
+    final byte[] baseDigest = readField(byteBuffer);
+    final byte[] digest = readField(byteBuffer);
+    final Set<Recipient> addedRecipients = readRecipients(byteBuffer);
+    final Set<Recipient> removedRecipients = readRecipients(byteBuffer);
+    final Set<Party> addedParties = readParties(byteBuffer);
+    final Set<Party> removedParties = readParties(byteBuffer);
+
+    return new PartyInfoDelta(
+        url,
+        baseDigest,
+        digest,
+        addedRecipients,
+        removedRecipients,
+        addedParties,
+        removedParties);
+  }
+
+  /**
+   * Encodes a {@link PartyInfoDelta} to the structure that is shared between nodes, which is the
+   * URL, base digest and digest fields followed by the added and removed recipients and the added
+   * and removed parties, each in the same form as in an encoded {@link PartyInfo}
+   *
+   * @param delta the delta to encode
+   * @return the encoded result that can be read by {@link PartyInfoParser#fromDelta(byte[])}
+   */
+  default byte[] toDelta(final PartyInfoDelta delta) {
+    final List<byte[]> fields =
+        List.of(
+            encodeField(delta.getUrl().getBytes(UTF_8)),
+            encodeField(delta.getBaseDigest()),
+            encodeField(delta.getDigest()),
+            encodeRecipients(delta.getAddedRecipients()),
+            encodeRecipients(delta.getRemovedRecipients()),
+            encodeParties(delta.getAddedParties()),
+            encodeParties(delta.getRemovedParties()));
+
+    final ByteBuffer byteBuffer =
+        ByteBuffer.allocate(fields.stream().mapToInt(f -> f.length).sum());
+    fields.forEach(byteBuffer::put);
+    return byteBuffer.array();
+  }
+
+  private byte[] encodeRecipients(final Set<Recipient> recipients) {
     // each element in the list is one encoded element from the map
     // so the prefix is always 2 (2 elements) and
-    final byte[] recipients =
-        partyInfo.getRecipients().stream()
+    final byte[] encoded =
+        recipients.stream()
             .map(
                 r -> {
                   final byte[] encodedKey = encodeField(r.getKey().getKeyBytes());
@@ -101,19 +127,56 @@ public interface PartyInfoParser extends BinaryEncoder {
                 })
             .reduce(new byte[0], ArrayUtils::addAll);
 
-    final List<byte[]> parties =
-        partyInfo.getParties().stream()
-            .map(p -> p.getUrl().getBytes(UTF_8))
-            .collect(Collectors.toList());
+    return ByteBuffer.allocate(Long.BYTES + encoded.length)
+        .putLong(recipients.size())
+        .put(encoded)
+        .array();
+  }
 
-    final byte[] partiesBytes = encodeArray(parties);
+  private byte[] encodeParties(final Set<Party> parties) {
+    final List<byte[]> urls =
+        parties.stream().map(p -> p.getUrl().getBytes(UTF_8)).collect(Collectors.toList());
 
-    return ByteBuffer.allocate(url.length + Long.BYTES + recipients.length + partiesBytes.length)
-        .put(url)
-        .putLong(partyInfo.getRecipients().size())
-        .put(recipients)
-        .put(partiesBytes)
-        .array();
+    return encodeArray(urls);
+  }
+
+  private static byte[] readField(final ByteBuffer byteBuffer) {
+    final int length = toIntExact(byteBuffer.getLong());
+    checkLength(length);
+
+    final byte[] data = new byte[length];
+    byteBuffer.get(data);
+    return data;
+  }
+
+  private static Set<Recipient> readRecipients(final ByteBuffer byteBuffer) {
+    final int numberOfRecipients = toIntExact(byteBuffer.getLong());
+    checkLength(numberOfRecipients);
+
+    final Set<Recipient> recipients = new HashSet<>();
+    for (int i = 0; i < numberOfRecipients; i++) {
+      final byte[] recipientKeyBytes = readField(byteBuffer);
+      final String recipientUrl = new String(readField(byteBuffer), UTF_8);
+
+      recipients.add(Recipient.of(PublicKey.from(recipientKeyBytes), recipientUrl));
+    }
+    return recipients;
+  }
+
+  private static Set<Party> readParties(final ByteBuffer byteBuffer) {
+    final int partyCount = toIntExact(byteBuffer.getLong());
+    checkLength(partyCount);
+
+    final Set<Party> parties = new HashSet<>();
+    for (int i = 0; i < partyCount; i++) {
+      long partyElementLength = byteBuffer.getLong();
+      checkLength(partyElementLength);
+
+      byte[] ptyData = new byte[toIntExact(partyElementLength)];
+      byteBuffer.get(ptyData);
+      parties.add(new Party(new String(ptyData, UTF_8)));
+    }
+    return parties;
   }
 
   /**
@@ -42,4 +42,27 @@ class RestP2pClient implements P2pClient {
       return Objects.nonNull(response.readEntity(byte[].class));
     }
   }
+
+  @Override
+  public boolean sendPartyInfoDelta(final String targetUrl, final byte[] data) {
+    LOGGER.debug("Sending PartyInfo delta to peer {}", targetUrl);
+
+    try (Response response =
+        client
+            .target(targetUrl)
+            .path("/partyinfo/delta")
+            .request()
+            .post(Entity.entity(data, MediaType.APPLICATION_OCTET_STREAM_TYPE))) {
+
+      final int returnStatusCode = response.getStatus();
+      if (Response.Status.OK.getStatusCode() != returnStatusCode) {
+        LOGGER.debug(
+            "PartyInfo delta returned status code for peer {} was {}", targetUrl, returnStatusCode);
+        return false;
+      }
+
+      LOGGER.debug("Successful PartyInfo delta call to {}", targetUrl);
+      return true;
+    }
+  }
 }
@@ -1,6 +1,7 @@
 package com.quorum.tessera.p2p;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
 import static org.assertj.core.api.Assertions.failBecauseExceptionWasNotThrown;
 import static org.mockito.Mockito.*;
 
@@ -10,6 +11,7 @@ import com.quorum.tessera.enclave.EncodedPayload;
 import com.quorum.tessera.enclave.PayloadEncoder;
 import com.quorum.tessera.enclave.PrivacyMetadata;
 import com.quorum.tessera.encryption.PublicKey;
+import com.quorum.tessera.p2p.partyinfo.PartyInfoDelta;
 import com.quorum.tessera.p2p.partyinfo.PartyInfoParser;
 import com.quorum.tessera.p2p.partyinfo.PartyStore;
 import com.quorum.tessera.partyinfo.model.NodeInfoUtil;
@@ -30,6 +32,11 @@ import java.io.StringReader;
 import java.io.UncheckedIOException;
 import java.net.URI;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
@@ -53,6 +60,8 @@ public class PartyInfoResourceTest {
 
   private PartyStore partyStore;
 
+  private long nanoTime;
+
   @Before
   public void beforeTest() {
     this.discovery = mock(Discovery.class);
@@ -63,7 +72,16 @@ public class PartyInfoResourceTest {
     this.partyStore = mock(PartyStore.class);
     this.partyInfoResource =
         new PartyInfoResource(
-            discovery, partyInfoParser, restClient, enclave, payloadEncoder, true, partyStore);
+            discovery,
+            partyInfoParser,
+            restClient,
+            enclave,
+            payloadEncoder,
+            true,
+            partyStore,
+            Runnable::run,
+            PartyInfoResource.DEFAULT_VALIDATED_KEY_EXPIRY_MILLIS,
+            () -> nanoTime);
   }
 
   @After
@@ -554,4 +572,390 @@ public class PartyInfoResourceTest {
     verify(payloadEncoder, times(2)).encode(encodedPayload);
     verify(restClient, times(2)).target(url);
   }
+
+  @Test
+  public void deltaIsAppliedToLastPartyInfoFromSender() {
+    this.partyInfoResource =
+        new PartyInfoResource(
+            discovery, partyInfoParser, restClient, enclave, payloadEncoder, false, partyStore);
+
+    final String url = "http://www.bogus.com/";
+    final String otherUrl = "http://www.randomaddress.com/";
+    final Recipient recipient = Recipient.of(PublicKey.from("recipientKey".getBytes()), url);
+    final Recipient otherRecipient =
+        Recipient.of(PublicKey.from("otherKey".getBytes()), otherUrl);
+
+    final PartyInfo previous = new PartyInfo(url, Set.of(recipient), Set.of(new Party(url)));
+    final PartyInfo current =
+        new PartyInfo(
+            url, Set.of(recipient, otherRecipient), Set.of(new Party(url), new Party(otherUrl)));
+
+    final byte[] payload = "full".getBytes();
+    final byte[] deltaPayload = "delta".getBytes();
+    when(partyInfoParser.from(payload)).thenReturn(previous);
+    when(partyInfoParser.fromDelta(deltaPayload))
+        .thenReturn(PartyInfoDelta.between(previous, current));
+    when(discovery.getCurrent()).thenReturn(NodeInfoUtil.from(previous, null));
+
+    partyInfoResource.partyInfo(payload, List.of("6.0,7.0"));
+    final Response response = partyInfoResource.partyInfoDelta(deltaPayload, List.of("6.0,7.0"));
+
+    assertThat(response.getStatus()).isEqualTo(200);
+
+    final ArgumentCaptor<NodeInfo> captor = ArgumentCaptor.forClass(NodeInfo.class);
+    verify(discovery, times(2)).onUpdate(captor.capture());
+    final NodeInfo updated = captor.getAllValues().get(1);
+    assertThat(updated.getUrl()).isEqualTo(url);
+    assertThat(updated.supportedApiVersions()).containsExactlyInAnyOrder("6.0", "7.0");
+    assertThat(updated.getRecipients())
+        .containsExactlyInAnyOrder(
+            com.quorum.tessera.partyinfo.node.Recipient.of(recipient.getKey(), url),
+            com.quorum.tessera.partyinfo.node.Recipient.of(otherRecipient.getKey(), otherUrl));
+
+    verify(partyStore).store(URI.create(otherUrl));
+
+    verify(partyInfoParser).from(payload);
+    verify(partyInfoParser).to(any(PartyInfo.class));
+    verify(partyInfoParser).fromDelta(deltaPayload);
+    verify(discovery).getCurrent();
+  }
+
+  @Test
+  public void deltaWithoutPartyInfoFromSenderIsRejected() {
+    final String url = "http://www.bogus.com/";
+    final PartyInfo partyInfo = new PartyInfo(url, Set.of(), Set.of());
+
+    final byte[] deltaPayload = "delta".getBytes();
+    when(partyInfoParser.fromDelta(deltaPayload))
+        .thenReturn(PartyInfoDelta.between(partyInfo, partyInfo));
+
+    final Response response = partyInfoResource.partyInfoDelta(deltaPayload, List.of("7.0"));
+
+    assertThat(response.getStatus()).isEqualTo(409);
+
+    verify(partyInfoParser).fromDelta(deltaPayload);
+  }
+
+  @Test
+  public void partyInfoFromSenderWithoutDeltaSupportIsNotKept() {
+    this.partyInfoResource =
+        new PartyInfoResource(
+            discovery, partyInfoParser, restClient, enclave, payloadEncoder, false, partyStore);
+
+    final String url = "http://www.bogus.com/";
+    final PartyInfo partyInfo = new PartyInfo(url, Set.of(), Set.of());
+
+    final byte[] payload = "full".getBytes();
+    final byte[] deltaPayload = "delta".getBytes();
+    when(partyInfoParser.from(payload)).thenReturn(partyInfo);
+    when(partyInfoParser.fromDelta(deltaPayload))
+        .thenReturn(PartyInfoDelta.between(partyInfo, partyInfo));
+    when(discovery.getCurrent()).thenReturn(NodeInfoUtil.from(partyInfo, null));
+
+    partyInfoResource.partyInfo(payload, List.of("5.0,6.0"));
+    final Response response = partyInfoResource.partyInfoDelta(deltaPayload, List.of("7.0"));
+
+    assertThat(response.getStatus()).isEqualTo(409);
+
+    verify(discovery).onUpdate(any(NodeInfo.class));
+    verify(discovery).getCurrent();
+    verify(partyInfoParser).from(payload);
+    verify(partyInfoParser).to(any(PartyInfo.class));
+    verify(partyInfoParser).fromDelta(deltaPayload);
+  }
+
+  @Test
+  public void deltaNotGivingExpectedDigestIsRejected() {
+    this.partyInfoResource =
+        new PartyInfoResource(
+            discovery, partyInfoParser, restClient, enclave, payloadEncoder, false, partyStore);
+
+    final String url = "http://www.bogus.com/";
+    final PartyInfo partyInfo = new PartyInfo(url, Set.of(), Set.of());
+    final PartyInfoDelta delta =
+        new PartyInfoDelta(
+            url,
+            PartyInfoDelta.digest(partyInfo),
+            "not the digest".getBytes(),
+            Set.of(),
+            Set.of(),
+            Set.of(new Party("http://www.randomaddress.com/")),
+            Set.of());
+
+    final byte[] payload = "full".getBytes();
+    final byte[] deltaPayload = "delta".getBytes();
+    when(partyInfoParser.from(payload)).thenReturn(partyInfo);
+    when(partyInfoParser.fromDelta(deltaPayload)).thenReturn(delta);
+    when(discovery.getCurrent()).thenReturn(NodeInfoUtil.from(partyInfo, null));
+
+    partyInfoResource.partyInfo(payload, List.of("7.0"));
+
+    assertThat(partyInfoResource.partyInfoDelta(deltaPayload, List.of("7.0")).getStatus())
+        .isEqualTo(409);
+    verify(partyStore, never()).store(any(URI.class));
+
+    verify(discovery).onUpdate(any(NodeInfo.class));
+    verify(discovery).getCurrent();
+    verify(partyInfoParser).from(payload);
+    verify(partyInfoParser).to(any(PartyInfo.class));
+    verify(partyInfoParser).fromDelta(deltaPayload);
+  }
+
+  @Test
+  public void deltaDoesNotRevalidateKnownKeys() {
+    final String url = "http://www.bogus.com/";
+    final String otherUrl = "http://www.randomaddress.com/";
+    final PublicKey recipientKey = PublicKey.from("recipientKey".getBytes());
+
+    final PartyInfo previous =
+        new PartyInfo(url, Set.of(Recipient.of(recipientKey, url)), Set.of());
+    final PartyInfo current =
+        new PartyInfo(url, Set.of(Recipient.of(recipientKey, url)), Set.of(new Party(otherUrl)));
+
+    final byte[] payload = "full".getBytes();
+    final byte[] deltaPayload = "delta".getBytes();
+    when(partyInfoParser.from(payload)).thenReturn(previous);
+    when(partyInfoParser.fromDelta(deltaPayload))
+        .thenReturn(PartyInfoDelta.between(previous, current));
+
+    when(enclave.defaultPublicKey()).thenReturn(PublicKey.from("myKey".getBytes()));
+
+    final EncodedPayload encodedPayload = mock(EncodedPayload.class);
+    final List<String> uuidList = new ArrayList<>();
+    doAnswer(
+            (invocation) -> {
+              byte[] d = invocation.getArgument(0);
+              uuidList.add(new String(d));
+              return encodedPayload;
+            })
+        .when(enclave)
+        .encryptPayload(
+            any(byte[].class), any(PublicKey.class), anyList(), any(PrivacyMetadata.class));
+    when(payloadEncoder.encode(encodedPayload)).thenReturn(payload);
+
+    final WebTarget webTarget = mock(WebTarget.class);
+    when(restClient.target(url)).thenReturn(webTarget);
+    when(webTarget.path(anyString())).thenReturn(webTarget);
+    final Invocation.Builder invocationBuilder = mock(Invocation.Builder.class);
+    when(webTarget.request()).thenReturn(invocationBuilder);
+    final Response validateResponse = mock(Response.class);
+    when(validateResponse.getStatus()).thenReturn(200);
+    doAnswer((invocation) -> uuidList.get(0)).when(validateResponse).readEntity(String.class);
+    when(invocationBuilder.post(any(Entity.class))).thenReturn(validateResponse);
+
+    partyInfoResource.partyInfo(payload, List.of("7.0"));
+    final Response response = partyInfoResource.partyInfoDelta(deltaPayload, List.of("7.0"));
+
+    assertThat(response.getStatus()).isEqualTo(200);
+
+    final ArgumentCaptor<NodeInfo> captor = ArgumentCaptor.forClass(NodeInfo.class);
+    verify(discovery, times(2)).onUpdate(captor.capture());
+    assertThat(captor.getAllValues().get(1).getRecipients())
+        .containsExactly(com.quorum.tessera.partyinfo.node.Recipient.of(recipientKey, url));
+    verify(partyStore).store(URI.create(otherUrl));
+
+    verify(partyInfoParser).from(payload);
+    verify(partyInfoParser).fromDelta(deltaPayload);
+    verify(enclave).defaultPublicKey();
+    verify(enclave)
+        .encryptPayload(
+            any(byte[].class), any(PublicKey.class), anyList(), any(PrivacyMetadata.class));
+    verify(payloadEncoder).encode(encodedPayload);
+    verify(restClient).target(url);
+  }
+
+  @Test
+  public void recentlyValidatedKeysAreNotChallengedAgain() {
+    final String url = "http://www.bogus.com/";
+    final PublicKey recipientKey = PublicKey.from("recipientKey".getBytes());
+    final PartyInfo partyInfo =
+        new PartyInfo(url, Set.of(Recipient.of(recipientKey, url)), Set.of());
+
+    final byte[] payload = "full".getBytes();
+    when(partyInfoParser.from(payload)).thenReturn(partyInfo);
+    when(enclave.defaultPublicKey()).thenReturn(PublicKey.from("myKey".getBytes()));
+    stubValidationResponses(url);
+
+    partyInfoResource.partyInfo(payload, null);
+    nanoTime += TimeUnit.MILLISECONDS.toNanos(1000L);
+    partyInfoResource.partyInfo(payload, null);
+
+    verify(enclave)
+        .encryptPayload(
+            any(byte[].class), any(PublicKey.class), anyList(), any(PrivacyMetadata.class));
+
+    nanoTime +=
+        TimeUnit.MILLISECONDS.toNanos(PartyInfoResource.DEFAULT_VALIDATED_KEY_EXPIRY_MILLIS);
+    partyInfoResource.partyInfo(payload, null);
+
+    verify(enclave, times(2))
+        .encryptPayload(
+            any(byte[].class), any(PublicKey.class), anyList(), any(PrivacyMetadata.class));
+
+    final ArgumentCaptor<NodeInfo> captor = ArgumentCaptor.forClass(NodeInfo.class);
+    verify(discovery, times(3)).onUpdate(captor.capture());
+    captor
+        .getAllValues()
+        .forEach(
+            nodeInfo ->
+                assertThat(nodeInfo.getRecipients())
+                    .containsExactly(
+                        com.quorum.tessera.partyinfo.node.Recipient.of(recipientKey, url)));
+
+    verify(partyInfoParser, times(3)).from(payload);
+    verify(enclave, times(2)).defaultPublicKey();
+    verify(payloadEncoder, times(2)).encode(any(EncodedPayload.class));
+    verify(restClient, times(2)).target(url);
+  }
+
+  @Test
+  public void failedValidationIsNotRemembered() {
+    final String url = "http://www.bogus.com/";
+    final PartyInfo partyInfo =
+        new PartyInfo(
+            url, Set.of(Recipient.of(PublicKey.from("recipientKey".getBytes()), url)), Set.of());
+
+    final byte[] payload = "full".getBytes();
+    when(partyInfoParser.from(payload)).thenReturn(partyInfo);
+    when(enclave.defaultPublicKey()).thenReturn(PublicKey.from("myKey".getBytes()));
+    when(enclave.encryptPayload(
+            any(byte[].class), any(PublicKey.class), anyList(), any(PrivacyMetadata.class)))
+        .thenThrow(new IllegalStateException("OUCH"));
+
+    for (int i = 0; i < 2; i++) {
+      final Throwable throwable = catchThrowable(() -> partyInfoResource.partyInfo(payload, null));
+      assertThat(throwable).isInstanceOf(SecurityException.class);
+    }
+
+    verify(partyInfoParser, times(2)).from(payload);
+    verify(enclave, times(2)).defaultPublicKey();
+    verify(enclave, times(2))
+        .encryptPayload(
+            any(byte[].class), any(PublicKey.class), anyList(), any(PrivacyMetadata.class));
+  }
+
+  @Test
+  public void newKeysAreValidatedConcurrently() throws Exception {
+    final String url = "http://www.bogus.com/";
+    final PublicKey firstKey = PublicKey.from("firstKey".getBytes());
+    final PublicKey secondKey = PublicKey.from("secondKey".getBytes());
+    final PartyInfo partyInfo =
+        new PartyInfo(
+            url, Set.of(Recipient.of(firstKey, url), Recipient.of(secondKey, url)), Set.of());
+
+    final byte[] payload = "full".getBytes();
+    when(partyInfoParser.from(payload)).thenReturn(partyInfo);
+    when(enclave.defaultPublicKey()).thenReturn(PublicKey.from("myKey".getBytes()));
+
+    // each validation request only succeeds once both are in flight
+    final CountDownLatch bothInFlight = new CountDownLatch(2);
+    final WebTarget webTarget = stubValidationResponses(url);
+    final Invocation.Builder invocationBuilder = webTarget.request();
+    doAnswer(
+            invocation -> {
+              final Entity<byte[]> entity = invocation.getArgument(0);
+              bothInFlight.countDown();
+              final boolean concurrent = bothInFlight.await(5, TimeUnit.SECONDS);
+              return validateResponse(concurrent ? new String(entity.getEntity()) : "TIMEOUT");
+            })
+        .when(invocationBuilder)
+        .post(any(Entity.class));
+
+    final ExecutorService executorService = Executors.newCachedThreadPool();
+    try {
+      this.partyInfoResource =
+          new PartyInfoResource(
+              discovery,
+              partyInfoParser,
+              restClient,
+              enclave,
+              payloadEncoder,
+              true,
+              partyStore,
+              executorService,
+              PartyInfoResource.DEFAULT_VALIDATED_KEY_EXPIRY_MILLIS,
+              () -> nanoTime);
+
+      partyInfoResource.partyInfo(payload, null);
+    } finally {
+      executorService.shutdown();
+    }
+
+    final ArgumentCaptor<NodeInfo> captor = ArgumentCaptor.forClass(NodeInfo.class);
+    verify(discovery).onUpdate(captor.capture());
+    assertThat(captor.getValue().getRecipients())
+        .containsExactlyInAnyOrder(
+            com.quorum.tessera.partyinfo.node.Recipient.of(firstKey, url),
+            com.quorum.tessera.partyinfo.node.Recipient.of(secondKey, url));
+
+    verify(partyInfoParser).from(payload);
+    verify(enclave).defaultPublicKey();
+    verify(enclave, times(2))
+        .encryptPayload(
+            any(byte[].class), any(PublicKey.class), anyList(), any(PrivacyMetadata.class));
+    verify(payloadEncoder, times(2)).encode(any(EncodedPayload.class));
+    verify(restClient, times(2)).target(url);
+  }
+
+  @Test
+  public void validatedKeyExpiryMustNotBeNegative() {
+    final Throwable throwable =
+        catchThrowable(
+            () ->
+                new PartyInfoResource(
+                    discovery,
+                    partyInfoParser,
+                    restClient,
+                    enclave,
+                    payloadEncoder,
+                    true,
+                    partyStore,
+                    Runnable::run,
+                    -1L,
+                    System::nanoTime));
+
+    assertThat(throwable)
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("Validated key expiry must not be negative");
+  }
+
+  /*
+   * Makes the peer at the given URL answer each validation request with the data that was
+   * encrypted for it
+   */
+  private WebTarget stubValidationResponses(final String url) {
+    final Map<EncodedPayload, byte[]> encrypted = new ConcurrentHashMap<>();
+    when(enclave.encryptPayload(
+            any(byte[].class), any(PublicKey.class), anyList(), any(PrivacyMetadata.class)))
+        .then(
+            invocation -> {
+              final EncodedPayload encodedPayload = mock(EncodedPayload.class);
+              encrypted.put(encodedPayload, invocation.getArgument(0));
+              return encodedPayload;
+            });
+    when(payloadEncoder.encode(any(EncodedPayload.class)))
+        .then(invocation -> encrypted.get(invocation.<EncodedPayload>getArgument(0)));
+
+    final WebTarget webTarget = mock(WebTarget.class);
+    when(restClient.target(url)).thenReturn(webTarget);
+    when(webTarget.path(anyString())).thenReturn(webTarget);
+    final Invocation.Builder invocationBuilder = mock(Invocation.Builder.class);
+    when(webTarget.request()).thenReturn(invocationBuilder);
+    when(invocationBuilder.post(any(Entity.class)))
+        .then(
+            invocation -> {
+              final Entity<byte[]> entity = invocation.getArgument(0);
+              return validateResponse(new String(entity.getEntity()));
+            });
+    return webTarget;
+  }
+
+  private static Response validateResponse(final String data) {
+    return mock(
+        Response.class,
+        invocation ->
+            "readEntity".equals(invocation.getMethod().getName())
+                ? data
+                : RETURNS_DEFAULTS.answer(invocation));
+  }
 }
@@ -3,15 +3,21 @@ package com.quorum.tessera.p2p;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.*;
 
+import com.quorum.tessera.data.MessageHash;
 import com.quorum.tessera.enclave.EncodedPayload;
 import com.quorum.tessera.enclave.EncodedPayloadCodec;
 import com.quorum.tessera.enclave.PayloadEncoder;
 import com.quorum.tessera.enclave.PrivacyMode;
+import com.quorum.tessera.enclave.RecipientBox;
+import com.quorum.tessera.encryption.PublicKey;
 import com.quorum.tessera.p2p.recovery.PushBatchRequest;
 import com.quorum.tessera.recovery.workflow.BatchResendManager;
 import com.quorum.tessera.transaction.TransactionManager;
 import jakarta.ws.rs.core.Response;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
 import java.util.Collections;
+import java.util.List;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
@@ -70,7 +76,7 @@ public class RecoveryResourceTest {
 
   @Test
   public void pushAllowedForStandardPrivate() {
-    final byte[] someData = "SomeData".getBytes();
+    final InputStream someData = new ByteArrayInputStream("SomeData".getBytes());
     final EncodedPayload payload = mock(EncodedPayload.class);
     when(payload.getPrivacyMode()).thenReturn(PrivacyMode.STANDARD_PRIVATE);
     when(payloadEncoder.decode(someData)).thenReturn(payload);
@@ -87,7 +93,7 @@ public class RecoveryResourceTest {
 
   @Test
   public void pushNotAllowedForEnhancedPrivacy() {
-    final byte[] someData = "SomeData".getBytes();
+    final InputStream someData = new ByteArrayInputStream("SomeData".getBytes());
     final EncodedPayload payload = mock(EncodedPayload.class);
     when(payload.getPrivacyMode()).thenReturn(PrivacyMode.PRIVATE_STATE_VALIDATION);
     when(payloadEncoder.decode(someData)).thenReturn(payload);
@@ -99,4 +105,86 @@ public class RecoveryResourceTest {
     payloadEncoderFactoryFunction.verify(
         () -> PayloadEncoder.create(any(EncodedPayloadCodec.class)));
   }
+
+  @Test
+  public void pushMultipleStoresPayloadForEachRecipient() {
+    final InputStream someData = new ByteArrayInputStream("SomeData".getBytes());
+    final PublicKey recipient = PublicKey.from("RECIPIENT".getBytes());
+    final PublicKey otherRecipient = PublicKey.from("OTHER_RECIPIENT".getBytes());
+    final EncodedPayload payload =
+        EncodedPayload.Builder.create()
+            .withSenderKey(PublicKey.from("SENDER".getBytes()))
+            .withRecipientKeys(List.of(recipient, otherRecipient))
+            .withRecipientBoxes(List.of("box1".getBytes(), "box2".getBytes()))
+            .build();
+    when(payloadEncoder.decode(someData)).thenReturn(payload);
+    final MessageHash messageHash = new MessageHash("hash".getBytes());
+    when(transactionManager.storePayload(any(EncodedPayload.class))).thenReturn(messageHash);
+
+    final Response result = recoveryResource.pushMultiple(someData, null);
+
+    assertThat(result.getStatus()).isEqualTo(201);
+    assertThat(result.getEntity()).isEqualTo(messageHash.toString());
+
+    final ArgumentCaptor<EncodedPayload> captor = ArgumentCaptor.forClass(EncodedPayload.class);
+    verify(transactionManager, times(2)).storePayload(captor.capture());
+    assertThat(captor.getAllValues().get(0).getRecipientKeys()).containsExactly(recipient);
+    assertThat(captor.getAllValues().get(0).getRecipientBoxes())
+        .containsExactly(RecipientBox.from("box1".getBytes()));
+    assertThat(captor.getAllValues().get(1).getRecipientKeys()).containsExactly(otherRecipient);
+    assertThat(captor.getAllValues().get(1).getRecipientBoxes())
+        .containsExactly(RecipientBox.from("box2".getBytes()));
+
+    verify(payloadEncoder).decode(someData);
+    payloadEncoderFactoryFunction.verify(
+        () -> PayloadEncoder.create(any(EncodedPayloadCodec.class)));
+  }
+
+  @Test
+  public void pushMultipleWithoutRecipientKeyForEachBoxIsRejected() {
+    final InputStream someData = new ByteArrayInputStream("SomeData".getBytes());
+    final EncodedPayload payload =
+        EncodedPayload.Builder.create()
+            .withSenderKey(PublicKey.from("SENDER".getBytes()))
+            .withRecipientBoxes(List.of("box1".getBytes()))
+            .build();
+    when(payloadEncoder.decode(someData)).thenReturn(payload);
+
+    final Response result = recoveryResource.pushMultiple(someData, null);
+
+    assertThat(result.getStatus()).isEqualTo(400);
+    verify(payloadEncoder).decode(someData);
+    payloadEncoderFactoryFunction.verify(
+        () -> PayloadEncoder.create(any(EncodedPayloadCodec.class)));
+  }
+
+  @Test
+  public void pushMultipleWithoutRecipientBoxesIsRejected() {
+    final InputStream someData = new ByteArrayInputStream("SomeData".getBytes());
+    final EncodedPayload payload =
+        EncodedPayload.Builder.create().withSenderKey(PublicKey.from("SENDER".getBytes())).build();
+    when(payloadEncoder.decode(someData)).thenReturn(payload);
+
+    final Response result = recoveryResource.pushMultiple(someData, null);
+
+    assertThat(result.getStatus()).isEqualTo(400);
+    verify(payloadEncoder).decode(someData);
+    payloadEncoderFactoryFunction.verify(
+        () -> PayloadEncoder.create(any(EncodedPayloadCodec.class)));
+  }
+
+  @Test
+  public void pushMultipleNotAllowedForEnhancedPrivacy() {
+    final InputStream someData = new ByteArrayInputStream("SomeData".getBytes());
+    final EncodedPayload payload = mock(EncodedPayload.class);
+    when(payload.getPrivacyMode()).thenReturn(PrivacyMode.PRIVATE_STATE_VALIDATION);
+    when(payloadEncoder.decode(someData)).thenReturn(payload);
+
+    final Response result = recoveryResource.pushMultiple(someData, null);
+
+    assertThat(result.getStatus()).isEqualTo(403);
+    verify(payloadEncoder).decode(someData);
+    payloadEncoderFactoryFunction.verify(
+        () -> PayloadEncoder.create(any(EncodedPayloadCodec.class)));
+  }
 }
@@ -3,9 +3,13 @@ package com.quorum.tessera.p2p;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.*;
 
+import com.quorum.tessera.data.MessageHash;
 import com.quorum.tessera.enclave.EncodedPayload;
 import com.quorum.tessera.enclave.EncodedPayloadCodec;
 import com.quorum.tessera.enclave.PayloadEncoder;
+import com.quorum.tessera.enclave.PrivacyMode;
+import com.quorum.tessera.enclave.RecipientBox;
+import com.quorum.tessera.encryption.PublicKey;
 import com.quorum.tessera.p2p.recovery.ResendBatchRequest;
 import com.quorum.tessera.p2p.resend.ResendRequest;
 import com.quorum.tessera.recovery.resend.ResendBatchResponse;
@@ -13,6 +17,8 @@ import com.quorum.tessera.recovery.workflow.BatchResendManager;
 import com.quorum.tessera.recovery.workflow.LegacyResendManager;
 import com.quorum.tessera.transaction.TransactionManager;
 import jakarta.ws.rs.core.Response;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
 import java.util.Base64;
 import java.util.List;
 import org.junit.After;
@@ -65,7 +71,7 @@ public class TransactionResourceTest {
 
   @Test
   public void push() {
-    final byte[] someData = "SomeData".getBytes();
+    final InputStream someData = new ByteArrayInputStream("SomeData".getBytes());
     final EncodedPayload payload = mock(EncodedPayload.class);
     when(payloadEncoder.decode(someData)).thenReturn(payload);
 
@@ -135,4 +141,128 @@ public class TransactionResourceTest {
     assertThat(convertedRequest.getPublicKey()).isEqualTo("someKey");
     assertThat(convertedRequest.getBatchSize()).isEqualTo(1);
   }
+
+  @Test
+  public void pushMultipleStoresPayloadForEachRecipient() {
+    final InputStream someData = new ByteArrayInputStream("SomeData".getBytes());
+    final PublicKey recipient = PublicKey.from("RECIPIENT".getBytes());
+    final PublicKey otherRecipient = PublicKey.from("OTHER_RECIPIENT".getBytes());
+    final EncodedPayload payload =
+        EncodedPayload.Builder.create()
+            .withSenderKey(PublicKey.from("SENDER".getBytes()))
+            .withRecipientKeys(List.of(recipient, otherRecipient))
+            .withRecipientBoxes(List.of("box1".getBytes(), "box2".getBytes()))
+            .build();
+    when(payloadEncoder.decode(someData)).thenReturn(payload);
+    final MessageHash messageHash = new MessageHash("hash".getBytes());
+    when(transactionManager.storePayload(any(EncodedPayload.class))).thenReturn(messageHash);
+
+    final Response result = transactionResource.pushMultiple(someData, List.of("5.0,6.0"));
+
+    assertThat(result.getStatus()).isEqualTo(201);
+    assertThat(result.getEntity()).isEqualTo(messageHash.toString());
+
+    final ArgumentCaptor<EncodedPayload> captor = ArgumentCaptor.forClass(EncodedPayload.class);
+    verify(transactionManager, times(2)).storePayload(captor.capture());
+    assertThat(captor.getAllValues().get(0).getRecipientKeys()).containsExactly(recipient);
+    assertThat(captor.getAllValues().get(0).getRecipientBoxes())
+        .containsExactly(RecipientBox.from("box1".getBytes()));
+    assertThat(captor.getAllValues().get(1).getRecipientKeys()).containsExactly(otherRecipient);
+    assertThat(captor.getAllValues().get(1).getRecipientBoxes())
+        .containsExactly(RecipientBox.from("box2".getBytes()));
+
+    verify(payloadEncoder).decode(someData);
+    payloadEncoderFactoryFunction.verify(
+        () -> PayloadEncoder.create(any(EncodedPayloadCodec.class)));
+  }
+
+  @Test
+  public void pushMultipleWithPsvStoresPayloadOnlyForRecipientsWithBoxes() {
+    final InputStream someData = new ByteArrayInputStream("SomeData".getBytes());
+    final PublicKey remoteRecipient = PublicKey.from("REMOTE_RECIPIENT".getBytes());
+    final PublicKey recipient = PublicKey.from("RECIPIENT".getBytes());
+    final PublicKey otherRecipient = PublicKey.from("OTHER_RECIPIENT".getBytes());
+    final EncodedPayload payload =
+        EncodedPayload.Builder.create()
+            .withSenderKey(PublicKey.from("SENDER".getBytes()))
+            .withRecipientKeys(List.of(remoteRecipient, recipient, otherRecipient))
+            .withRecipientBoxes(List.of(new byte[0], "box1".getBytes(), "box2".getBytes()))
+            .withPrivacyMode(PrivacyMode.PRIVATE_STATE_VALIDATION)
+            .withExecHash("execHash".getBytes())
+            .build();
+    when(payloadEncoder.decode(someData)).thenReturn(payload);
+    final MessageHash messageHash = new MessageHash("hash".getBytes());
+    when(transactionManager.storePayload(any(EncodedPayload.class))).thenReturn(messageHash);
+
+    final Response result = transactionResource.pushMultiple(someData, List.of("5.0,6.0"));
+
+    assertThat(result.getStatus()).isEqualTo(201);
+
+    final ArgumentCaptor<EncodedPayload> captor = ArgumentCaptor.forClass(EncodedPayload.class);
+    verify(transactionManager, times(2)).storePayload(captor.capture());
+    assertThat(captor.getAllValues().get(0).getRecipientKeys())
+        .containsExactly(recipient, remoteRecipient, otherRecipient);
+    assertThat(captor.getAllValues().get(0).getRecipientBoxes())
+        .containsExactly(RecipientBox.from("box1".getBytes()));
+    assertThat(captor.getAllValues().get(1).getRecipientKeys())
+        .containsExactly(otherRecipient, remoteRecipient, recipient);
+    assertThat(captor.getAllValues().get(1).getRecipientBoxes())
+        .containsExactly(RecipientBox.from("box2".getBytes()));
+
+    verify(payloadEncoder).decode(someData);
+    payloadEncoderFactoryFunction.verify(
+        () -> PayloadEncoder.create(any(EncodedPayloadCodec.class)));
+  }
+
+  @Test
+  public void pushMultipleWithOnlyEmptyBoxesIsRejected() {
+    final InputStream someData = new ByteArrayInputStream("SomeData".getBytes());
+    final EncodedPayload payload =
+        EncodedPayload.Builder.create()
+            .withSenderKey(PublicKey.from("SENDER".getBytes()))
+            .withRecipientKey(PublicKey.from("RECIPIENT".getBytes()))
+            .withRecipientBoxes(List.of(new byte[0]))
+            .build();
+    when(payloadEncoder.decode(someData)).thenReturn(payload);
+
+    final Response result = transactionResource.pushMultiple(someData, List.of("5.0,6.0"));
+
+    assertThat(result.getStatus()).isEqualTo(400);
+    verify(payloadEncoder).decode(someData);
+    payloadEncoderFactoryFunction.verify(
+        () -> PayloadEncoder.create(any(EncodedPayloadCodec.class)));
+  }
+
+  @Test
+  public void pushMultipleWithoutRecipientKeyForEachBoxIsRejected() {
+    final InputStream someData = new ByteArrayInputStream("SomeData".getBytes());
+    final EncodedPayload payload =
+        EncodedPayload.Builder.create()
+            .withSenderKey(PublicKey.from("SENDER".getBytes()))
+            .withRecipientBoxes(List.of("box1".getBytes()))
+            .build();
+    when(payloadEncoder.decode(someData)).thenReturn(payload);
+
+    final Response result = transactionResource.pushMultiple(someData, List.of("5.0,6.0"));
+
+    assertThat(result.getStatus()).isEqualTo(400);
+    verify(payloadEncoder).decode(someData);
+    payloadEncoderFactoryFunction.verify(
+        () -> PayloadEncoder.create(any(EncodedPayloadCodec.class)));
+  }
+
+  @Test
+  public void pushMultipleWithoutRecipientBoxesIsRejected() {
+    final InputStream someData = new ByteArrayInputStream("SomeData".getBytes());
+    final EncodedPayload payload =
+        EncodedPayload.Builder.create().withSenderKey(PublicKey.from("SENDER".getBytes())).build();
+    when(payloadEncoder.decode(someData)).thenReturn(payload);
+
+    final Response result = transactionResource.pushMultiple(someData, List.of("5.0,6.0"));
+
+    assertThat(result.getStatus()).isEqualTo(400);
+    verify(payloadEncoder).decode(someData);
+    payloadEncoderFactoryFunction.verify(
+        () -> PayloadEncoder.create(any(EncodedPayloadCodec.class)));
+  }
 }
@@ -5,6 +5,8 @@ import static org.assertj.core.api.Assertions.catchThrowable;
 import static org.mockito.Mockito.*;
 
 import com.quorum.tessera.discovery.Discovery;
+import com.quorum.tessera.metrics.LatencyStats;
+import com.quorum.tessera.metrics.NodeLatencyMetrics;
 import com.quorum.tessera.partyinfo.P2pClient;
 import com.quorum.tessera.partyinfo.model.PartyInfo;
 import com.quorum.tessera.partyinfo.node.NodeInfo;
@@ -12,6 +14,10 @@ import jakarta.ws.rs.ProcessingException;
 import java.net.URI;
 import java.util.Set;
 import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
@@ -26,6 +32,8 @@ public class PartyInfoBroadcasterTest {
 
   private static final byte[] DATA = "BOGUS".getBytes();
 
+  private static final byte[] DELTA = "DELTA".getBytes();
+
   private Discovery discovery;
 
   private PartyInfoParser partyInfoParser;
@@ -147,4 +155,230 @@ public class PartyInfoBroadcasterTest {
     verify(partyStore).remove(URI.create(uriData));
     verify(p2pClient).sendPartyInfo(anyString(), any(byte[].class));
   }
+
+  @Test
+  public void slowPeerDoesNotHoldUpRound() throws Exception {
+    final NodeInfo partyInfo = NodeInfo.Builder.create().withUrl(OWN_URL).build();
+
+    when(partyStore.getParties())
+        .thenReturn(Set.of(URI.create(TARGET_URL), URI.create(TARGET_URL_2)));
+    when(discovery.getCurrent()).thenReturn(partyInfo);
+
+    final CountDownLatch release = new CountDownLatch(1);
+    when(p2pClient.sendPartyInfo(TARGET_URL, DATA))
+        .then(
+            invocation -> {
+              release.await(30, TimeUnit.SECONDS);
+              return true;
+            });
+    when(p2pClient.sendPartyInfo(TARGET_URL_2, DATA)).thenReturn(true);
+
+    final ExecutorService executorService = Executors.newCachedThreadPool();
+    try {
+      final PartyInfoBroadcaster broadcaster =
+          new PartyInfoBroadcaster(
+              discovery,
+              partyInfoParser,
+              p2pClient,
+              partyStore,
+              executorService,
+              mock(NodeLatencyMetrics.class, RETURNS_DEEP_STUBS),
+              100L);
+
+      final long start = System.nanoTime();
+      broadcaster.run();
+      final long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+      assertThat(elapsedMillis).isLessThan(10000L);
+      verify(p2pClient, timeout(5000)).sendPartyInfo(TARGET_URL, DATA);
+      verify(p2pClient, timeout(5000)).sendPartyInfo(TARGET_URL_2, DATA);
+    } finally {
+      release.countDown();
+      executorService.shutdown();
+      executorService.awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    verify(partyStore).loadFromConfigIfEmpty();
+    verify(partyStore).getParties();
+    verify(discovery).getCurrent();
+    verify(partyInfoParser).to(any(PartyInfo.class));
+  }
+
+  @Test
+  public void latencyAndFailuresAreRecordedPerPeer() {
+    final NodeInfo partyInfo = NodeInfo.Builder.create().withUrl(OWN_URL).build();
+
+    when(partyStore.getParties())
+        .thenReturn(Set.of(URI.create(TARGET_URL), URI.create(TARGET_URL_2)));
+    when(discovery.getCurrent()).thenReturn(partyInfo);
+    when(p2pClient.sendPartyInfo(TARGET_URL, DATA)).thenReturn(true);
+    when(p2pClient.sendPartyInfo(TARGET_URL_2, DATA))
+        .thenThrow(UnsupportedOperationException.class);
+
+    final NodeLatencyMetrics broadcastMetrics = mock(NodeLatencyMetrics.class);
+    final LatencyStats targetStats = mock(LatencyStats.class);
+    final LatencyStats target2Stats = mock(LatencyStats.class);
+    when(broadcastMetrics.forNode(TARGET_URL)).thenReturn(targetStats);
+    when(broadcastMetrics.forNode(TARGET_URL_2)).thenReturn(target2Stats);
+
+    new PartyInfoBroadcaster(
+            discovery,
+            partyInfoParser,
+            p2pClient,
+            partyStore,
+            Runnable::run,
+            broadcastMetrics,
+            1000L)
+        .run();
+
+    verify(targetStats).record(anyLong(), eq(false));
+    verify(target2Stats).record(anyLong(), eq(true));
+
+    verify(partyStore).loadFromConfigIfEmpty();
+    verify(partyStore).getParties();
+    verify(discovery).getCurrent();
+    verify(partyInfoParser).to(any(PartyInfo.class));
+    verify(p2pClient).sendPartyInfo(TARGET_URL, DATA);
+    verify(p2pClient).sendPartyInfo(TARGET_URL_2, DATA);
+  }
+
+  @Test
+  public void laterRoundsSendDeltaToPeersSupportingIt() {
+    when(partyStore.getParties()).thenReturn(Set.of(URI.create(TARGET_URL)));
+    when(discovery.getCurrent()).thenReturn(NodeInfo.Builder.create().withUrl(OWN_URL).build());
+    when(discovery.getRemoteNodeInfos()).thenReturn(Set.of(remoteNode(TARGET_URL, "6.0", "7.0")));
+    when(partyInfoParser.toDelta(any(PartyInfoDelta.class))).thenReturn(DELTA);
+    when(p2pClient.sendPartyInfo(TARGET_URL, DATA)).thenReturn(true);
+    when(p2pClient.sendPartyInfoDelta(TARGET_URL, DELTA)).thenReturn(true);
+
+    final PartyInfoBroadcaster broadcaster = inlineBroadcaster();
+    broadcaster.run();
+    broadcaster.run();
+    broadcaster.run();
+
+    verify(p2pClient).sendPartyInfo(TARGET_URL, DATA);
+    verify(p2pClient, times(2)).sendPartyInfoDelta(TARGET_URL, DELTA);
+
+    verify(partyStore, times(3)).loadFromConfigIfEmpty();
+    verify(partyStore, times(3)).getParties();
+    verify(discovery, times(3)).getCurrent();
+    verify(discovery, times(2)).getRemoteNodeInfos();
+    verify(partyInfoParser, times(3)).to(any(PartyInfo.class));
+    verify(partyInfoParser, times(2)).toDelta(any(PartyInfoDelta.class));
+  }
+
+  @Test
+  public void rejectedDeltaFallsBackToFullPartyInfo() {
+    when(partyStore.getParties()).thenReturn(Set.of(URI.create(TARGET_URL)));
+    when(discovery.getCurrent()).thenReturn(NodeInfo.Builder.create().withUrl(OWN_URL).build());
+    when(discovery.getRemoteNodeInfos()).thenReturn(Set.of(remoteNode(TARGET_URL, "7.0")));
+    when(partyInfoParser.toDelta(any(PartyInfoDelta.class))).thenReturn(DELTA);
+    when(p2pClient.sendPartyInfo(TARGET_URL, DATA)).thenReturn(true);
+    when(p2pClient.sendPartyInfoDelta(TARGET_URL, DELTA)).thenReturn(false);
+
+    final NodeLatencyMetrics broadcastMetrics = mock(NodeLatencyMetrics.class);
+    final LatencyStats targetStats = mock(LatencyStats.class);
+    when(broadcastMetrics.forNode(TARGET_URL)).thenReturn(targetStats);
+
+    final PartyInfoBroadcaster broadcaster =
+        new PartyInfoBroadcaster(
+            discovery,
+            partyInfoParser,
+            p2pClient,
+            partyStore,
+            Runnable::run,
+            broadcastMetrics,
+            1000L);
+    broadcaster.run();
+    broadcaster.run();
+
+    verify(p2pClient, times(2)).sendPartyInfo(TARGET_URL, DATA);
+    verify(p2pClient).sendPartyInfoDelta(TARGET_URL, DELTA);
+    verify(targetStats, times(2)).record(anyLong(), eq(false));
+
+    verify(partyStore, times(2)).loadFromConfigIfEmpty();
+    verify(partyStore, times(2)).getParties();
+    verify(discovery, times(2)).getCurrent();
+    verify(discovery).getRemoteNodeInfos();
+    verify(partyInfoParser, times(2)).to(any(PartyInfo.class));
+    verify(partyInfoParser).toDelta(any(PartyInfoDelta.class));
+  }
+
+  @Test
+  public void peersWithoutDeltaSupportAreSentFullPartyInfo() {
+    when(partyStore.getParties()).thenReturn(Set.of(URI.create(TARGET_URL)));
+    when(discovery.getCurrent()).thenReturn(NodeInfo.Builder.create().withUrl(OWN_URL).build());
+    when(discovery.getRemoteNodeInfos()).thenReturn(Set.of(remoteNode(TARGET_URL, "6.0")));
+    when(p2pClient.sendPartyInfo(TARGET_URL, DATA)).thenReturn(true);
+
+    final PartyInfoBroadcaster broadcaster = inlineBroadcaster();
+    broadcaster.run();
+    broadcaster.run();
+
+    verify(p2pClient, times(2)).sendPartyInfo(TARGET_URL, DATA);
+
+    verify(partyStore, times(2)).loadFromConfigIfEmpty();
+    verify(partyStore, times(2)).getParties();
+    verify(discovery, times(2)).getCurrent();
+    verify(discovery).getRemoteNodeInfos();
+    verify(partyInfoParser, times(2)).to(any(PartyInfo.class));
+  }
+
+  @Test
+  public void failedSendIsFollowedByFullPartyInfo() {
+    when(partyStore.getParties()).thenReturn(Set.of(URI.create(TARGET_URL)));
+    when(discovery.getCurrent()).thenReturn(NodeInfo.Builder.create().withUrl(OWN_URL).build());
+    when(p2pClient.sendPartyInfo(TARGET_URL, DATA)).thenReturn(true, false, true);
+
+    final PartyInfoBroadcaster broadcaster = inlineBroadcaster();
+    broadcaster.run();
+    broadcaster.run();
+    broadcaster.run();
+
+    verify(p2pClient, times(3)).sendPartyInfo(TARGET_URL, DATA);
+
+    verify(partyStore, times(3)).loadFromConfigIfEmpty();
+    verify(partyStore, times(3)).getParties();
+    verify(discovery, times(3)).getCurrent();
+    // nothing is held for the node after the failed second round
+    verify(discovery).getRemoteNodeInfos();
+    verify(partyInfoParser, times(3)).to(any(PartyInfo.class));
+  }
+
+  @Test
+  public void roundTimeoutMustBePositive() {
+    final Throwable throwable =
+        catchThrowable(
+            () ->
+                new PartyInfoBroadcaster(
+                    discovery,
+                    partyInfoParser,
+                    p2pClient,
+                    partyStore,
+                    Runnable::run,
+                    mock(NodeLatencyMetrics.class),
+                    0L));
+
+    assertThat(throwable)
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("PartyInfo round timeout must be positive");
+  }
+
+  private PartyInfoBroadcaster inlineBroadcaster() {
+    return new PartyInfoBroadcaster(
+        discovery,
+        partyInfoParser,
+        p2pClient,
+        partyStore,
+        Runnable::run,
+        mock(NodeLatencyMetrics.class, RETURNS_DEEP_STUBS),
+        1000L);
+  }
+
+  private static NodeInfo remoteNode(final String url, final String... versions) {
+    return NodeInfo.Builder.create()
+        .withUrl(url)
+        .withSupportedApiVersions(Set.of(versions))
+        .build();
+  }
 }
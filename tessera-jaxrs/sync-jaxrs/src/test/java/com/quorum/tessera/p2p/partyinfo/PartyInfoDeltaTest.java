@@ -0,0 +1,101 @@
+package com.quorum.tessera.p2p.partyinfo;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.quorum.tessera.encryption.PublicKey;
+import com.quorum.tessera.partyinfo.model.Party;
+import com.quorum.tessera.partyinfo.model.PartyInfo;
+import com.quorum.tessera.partyinfo.model.Recipient;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import org.junit.Test;
+
+public class PartyInfoDeltaTest {
+
+  private static final String URL = "http://own.com:8080/";
+
+  private static final Recipient FIRST =
+      Recipient.of(PublicKey.from("first".getBytes()), "http://first.com:8080/");
+
+  private static final Recipient SECOND =
+      Recipient.of(PublicKey.from("second".getBytes()), "http://second.com:8080/");
+
+  private static final Recipient THIRD =
+      Recipient.of(PublicKey.from("third".getBytes()), "http://third.com:8080/");
+
+  @Test
+  public void deltaContainsOnlyChanges() {
+    final PartyInfo previous =
+        new PartyInfo(URL, Set.of(FIRST, SECOND), Set.of(party(FIRST), party(SECOND)));
+    final PartyInfo current =
+        new PartyInfo(URL, Set.of(FIRST, THIRD), Set.of(party(FIRST), party(THIRD)));
+
+    final PartyInfoDelta delta = PartyInfoDelta.between(previous, current);
+
+    assertThat(delta.getUrl()).isEqualTo(URL);
+    assertThat(delta.getBaseDigest()).isEqualTo(PartyInfoDelta.digest(previous));
+    assertThat(delta.getDigest()).isEqualTo(PartyInfoDelta.digest(current));
+    assertThat(delta.getAddedRecipients()).containsExactly(THIRD);
+    assertThat(delta.getRemovedRecipients()).containsExactly(SECOND);
+    assertThat(delta.getAddedParties()).containsExactly(party(THIRD));
+    assertThat(delta.getRemovedParties()).containsExactly(party(SECOND));
+  }
+
+  @Test
+  public void applyingDeltaGivesCurrentPartyInfo() {
+    final PartyInfo previous = new PartyInfo(URL, Set.of(FIRST, SECOND), Set.of(party(SECOND)));
+    final PartyInfo current = new PartyInfo(URL, Set.of(FIRST, THIRD), Set.of(party(THIRD)));
+
+    final PartyInfo result = PartyInfoDelta.between(previous, current).applyTo(previous);
+
+    assertThat(result.getUrl()).isEqualTo(URL);
+    assertThat(result.getRecipients()).containsExactlyInAnyOrder(FIRST, THIRD);
+    assertThat(result.getParties()).containsExactly(party(THIRD));
+    assertThat(PartyInfoDelta.digest(result)).isEqualTo(PartyInfoDelta.digest(current));
+  }
+
+  @Test
+  public void unchangedPartyInfoHasEmptyDelta() {
+    final PartyInfo partyInfo = new PartyInfo(URL, Set.of(FIRST), Set.of(party(FIRST)));
+
+    final PartyInfoDelta delta = PartyInfoDelta.between(partyInfo, partyInfo);
+
+    assertThat(delta.getBaseDigest()).isEqualTo(delta.getDigest());
+    assertThat(delta.getAddedRecipients()).isEmpty();
+    assertThat(delta.getRemovedRecipients()).isEmpty();
+    assertThat(delta.getAddedParties()).isEmpty();
+    assertThat(delta.getRemovedParties()).isEmpty();
+  }
+
+  @Test
+  public void digestDoesNotDependOnOrder() {
+    final PartyInfo partyInfo =
+        new PartyInfo(
+            URL,
+            new LinkedHashSet<>(List.of(FIRST, SECOND, THIRD)),
+            new LinkedHashSet<>(List.of(party(FIRST), party(SECOND))));
+    final PartyInfo reordered =
+        new PartyInfo(
+            URL,
+            new LinkedHashSet<>(List.of(THIRD, SECOND, FIRST)),
+            new LinkedHashSet<>(List.of(party(SECOND), party(FIRST))));
+
+    assertThat(PartyInfoDelta.digest(partyInfo)).isEqualTo(PartyInfoDelta.digest(reordered));
+  }
+
+  @Test
+  public void digestChangesWithContent() {
+    final PartyInfo partyInfo = new PartyInfo(URL, Set.of(FIRST), Set.of());
+    final PartyInfo otherKey = new PartyInfo(URL, Set.of(SECOND), Set.of());
+    final PartyInfo otherUrl = new PartyInfo("http://other.com:8080/", Set.of(FIRST), Set.of());
+
+    assertThat(PartyInfoDelta.digest(partyInfo))
+        .isNotEqualTo(PartyInfoDelta.digest(otherKey))
+        .isNotEqualTo(PartyInfoDelta.digest(otherUrl));
+  }
+
+  private static Party party(final Recipient recipient) {
+    return new Party(recipient.getUrl());
+  }
+}
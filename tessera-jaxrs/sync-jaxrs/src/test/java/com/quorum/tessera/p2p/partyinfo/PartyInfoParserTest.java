@@ -205,6 +205,28 @@ public class PartyInfoParserTest {
     assertThat(partyUrl).isEqualTo(partyInfo.getParties().iterator().next().getUrl());
   }
 
+  @Test
+  public void deltaRoundTrips() {
+    final PartyInfo previous = partyInfoParser.from(dataOne);
+    final PartyInfo current = partyInfoParser.from(dataTwo);
+    final PartyInfoDelta delta = PartyInfoDelta.between(previous, current);
+
+    final PartyInfoDelta result = partyInfoParser.fromDelta(partyInfoParser.toDelta(delta));
+
+    assertThat(result.getUrl()).isEqualTo(delta.getUrl());
+    assertThat(result.getBaseDigest()).isEqualTo(delta.getBaseDigest());
+    assertThat(result.getDigest()).isEqualTo(delta.getDigest());
+    assertThat(result.getAddedRecipients()).isEqualTo(current.getRecipients());
+    assertThat(result.getRemovedRecipients()).isEqualTo(previous.getRecipients());
+    assertThat(result.getAddedParties()).isEqualTo(current.getParties());
+    assertThat(result.getRemovedParties()).isEqualTo(previous.getParties());
+  }
+
+  @Test(expected = PartyInfoParserException.class)
+  public void deltaWithInvalidLength() {
+    partyInfoParser.fromDelta(ByteBuffer.allocate(Long.BYTES).putLong(-1L).array());
+  }
+
   @Test
   public void checkLengthZero() {
     PartyInfoParser.checkLength(0);
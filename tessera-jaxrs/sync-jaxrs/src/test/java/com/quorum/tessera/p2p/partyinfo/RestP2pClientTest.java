@@ -74,6 +74,49 @@ public class RestP2pClientTest {
     }
   }
 
+  @Test
+  public void sendPartyInfoDelta() {
+    try (var entityMockedStatic = mockStatic(Entity.class)) {
+
+      Entity<byte[]> outboundEntity = mock(Entity.class);
+      byte[] deltaData = "SomeEncodedDeltaData".getBytes();
+
+      entityMockedStatic
+          .when(() -> Entity.entity(deltaData, MediaType.APPLICATION_OCTET_STREAM_TYPE))
+          .thenReturn(outboundEntity);
+
+      String targetUrl = "targetUrl";
+      Client client = mock(Client.class);
+      WebTarget webTarget = mock(WebTarget.class);
+      when(client.target(targetUrl)).thenReturn(webTarget);
+      when(webTarget.path("/partyinfo/delta")).thenReturn(webTarget);
+
+      Invocation.Builder invocationBuilder = mock(Invocation.Builder.class);
+      when(webTarget.request()).thenReturn(invocationBuilder);
+
+      Response response = mock(Response.class);
+      when(response.getStatus()).thenReturn(expectedResponseStatus.getStatusCode());
+
+      when(invocationBuilder.post(outboundEntity)).thenReturn(response);
+
+      RestP2pClient restP2pClient = new RestP2pClient(client);
+
+      boolean outcome = restP2pClient.sendPartyInfoDelta(targetUrl, deltaData);
+      assertThat(outcome).isEqualTo(expectedResponseStatus == Response.Status.OK);
+
+      entityMockedStatic.verify(
+          () -> Entity.entity(deltaData, MediaType.APPLICATION_OCTET_STREAM_TYPE));
+      entityMockedStatic.verifyNoMoreInteractions();
+
+      verify(client).target(targetUrl);
+      verify(webTarget).path("/partyinfo/delta");
+      verify(webTarget).request();
+      verify(invocationBuilder).post(outboundEntity);
+
+      verifyNoMoreInteractions(outboundEntity, client, webTarget, invocationBuilder);
+    }
+  }
+
   @Parameterized.Parameters(name = "ResponseStatus {0}")
   public static Collection<Response.Status> statuses() {
     return Arrays.asList(Response.Status.values());
@@ -1,5 +1,6 @@
 package com.quorum.tessera.q2t.internal;
 
+import com.quorum.tessera.discovery.Discovery;
 import com.quorum.tessera.enclave.EncodedPayload;
 import com.quorum.tessera.encryption.PublicKey;
 import com.quorum.tessera.threading.CancellableCountDownLatch;
@@ -8,8 +9,12 @@ import com.quorum.tessera.threading.ExecutorFactory;
 import com.quorum.tessera.transaction.publish.BatchPayloadPublisher;
 import com.quorum.tessera.transaction.publish.BatchPublishPayloadException;
 import com.quorum.tessera.transaction.publish.PayloadPublisher;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.Executor;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -23,19 +28,52 @@ public class AsyncBatchPayloadPublisher implements BatchPayloadPublisher {
 
   private final PayloadPublisher publisher;
 
+  private final Function<PublicKey, String> nodeLocator;
+
   public AsyncBatchPayloadPublisher(
       ExecutorFactory executorFactory,
       CancellableCountDownLatchFactory countDownLatchFactory,
       PayloadPublisher publisher) {
-    this.executor = executorFactory.createCachedThreadPool();
+    this(executorFactory.createCachedThreadPool(), countDownLatchFactory, publisher);
+  }
+
+  public AsyncBatchPayloadPublisher(
+      Executor executor,
+      CancellableCountDownLatchFactory countDownLatchFactory,
+      PayloadPublisher publisher) {
+    this(executor, countDownLatchFactory, publisher, PublicKey::encodeToBase64);
+  }
+
+  public AsyncBatchPayloadPublisher(
+      Executor executor,
+      CancellableCountDownLatchFactory countDownLatchFactory,
+      PayloadPublisher publisher,
+      Discovery discovery) {
+    this(
+        executor,
+        countDownLatchFactory,
+        publisher,
+        recipientKey -> discovery.getRemoteNodeInfo(recipientKey).getUrl());
+  }
+
+  AsyncBatchPayloadPublisher(
+      Executor executor,
+      CancellableCountDownLatchFactory countDownLatchFactory,
+      PayloadPublisher publisher,
+      Function<PublicKey, String> nodeLocator) {
+    this.executor = executor;
     this.countDownLatchFactory = countDownLatchFactory;
     this.publisher = publisher;
+    this.nodeLocator = nodeLocator;
   }
 
   /**
    * Asynchronously strips (leaving data intended only for that particular recipient) and publishes
    * the payload to each recipient identified by the provided keys.
    *
+   * <p>Recipients hosted on the same node are published to together, so that the payload is only
+   * encoded and pushed once per node.
+   *
    * <p>This method blocks until all pushes return successfully; if a push fails with an exception,
    * the method exits immediately and does not wait for the remaining responses.
    *
@@ -48,22 +86,26 @@ public class AsyncBatchPayloadPublisher implements BatchPayloadPublisher {
       return;
     }
 
-    final CancellableCountDownLatch latch = countDownLatchFactory.create(recipientKeys.size());
-
-    recipientKeys.forEach(
-        recipient ->
-            executor.execute(
-                () -> {
-                  try {
-                    final EncodedPayload outgoing =
-                        EncodedPayload.Builder.forRecipient(payload, recipient).build();
-                    publisher.publishPayload(outgoing, recipient);
-                    latch.countDown();
-                  } catch (RuntimeException e) {
-                    LOGGER.info("unable to publish payload in batch: {}", e.getMessage());
-                    latch.cancelWithException(e);
-                  }
-                }));
+    final Map<String, List<PublicKey>> recipientsByNode =
+        recipientKeys.stream()
+            .collect(Collectors.groupingBy(nodeLocator, LinkedHashMap::new, Collectors.toList()));
+
+    final CancellableCountDownLatch latch = countDownLatchFactory.create(recipientsByNode.size());
+
+    recipientsByNode
+        .values()
+        .forEach(
+            nodeRecipients ->
+                executor.execute(
+                    () -> {
+                      try {
+                        publish(payload, nodeRecipients);
+                        latch.countDown();
+                      } catch (RuntimeException e) {
+                        LOGGER.info("unable to publish payload in batch: {}", e.getMessage());
+                        latch.cancelWithException(e);
+                      }
+                    }));
 
     try {
       latch.await();
@@ -71,4 +113,17 @@ public class AsyncBatchPayloadPublisher implements BatchPayloadPublisher {
       throw new BatchPublishPayloadException(e);
     }
   }
+
+  private void publish(EncodedPayload payload, List<PublicKey> nodeRecipients) {
+    if (nodeRecipients.size() == 1) {
+      final PublicKey recipient = nodeRecipients.get(0);
+      final EncodedPayload outgoing =
+          EncodedPayload.Builder.forRecipient(payload, recipient).build();
+      publisher.publishPayload(outgoing, recipient);
+      return;
+    }
+    final EncodedPayload outgoing =
+        EncodedPayload.Builder.forRecipients(payload, nodeRecipients).build();
+    publisher.publishPayloadToNode(outgoing, nodeRecipients);
+  }
 }
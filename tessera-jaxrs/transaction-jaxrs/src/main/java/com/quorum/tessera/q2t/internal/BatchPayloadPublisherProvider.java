@@ -1,16 +1,25 @@
 package com.quorum.tessera.q2t.internal;
 
+import com.quorum.tessera.config.Config;
+import com.quorum.tessera.config.ConfigFactory;
+import com.quorum.tessera.discovery.Discovery;
 import com.quorum.tessera.threading.CancellableCountDownLatchFactory;
 import com.quorum.tessera.threading.ExecutorFactory;
 import com.quorum.tessera.transaction.publish.BatchPayloadPublisher;
 import com.quorum.tessera.transaction.publish.PayloadPublisher;
+import java.util.concurrent.Executor;
 
 public class BatchPayloadPublisherProvider {
 
   public static BatchPayloadPublisher provider() {
+    Config config = ConfigFactory.create().getConfig();
     ExecutorFactory executorFactory = new ExecutorFactory();
+    Executor executor =
+        executorFactory.createPublisherExecutor(config.getP2PServerConfig().getProperties());
     CancellableCountDownLatchFactory countDownLatchFactory = new CancellableCountDownLatchFactory();
     PayloadPublisher payloadPublisher = PayloadPublisher.create();
-    return new AsyncBatchPayloadPublisher(executorFactory, countDownLatchFactory, payloadPublisher);
+    Discovery discovery = Discovery.create();
+    return new AsyncBatchPayloadPublisher(
+        executor, countDownLatchFactory, payloadPublisher, discovery);
   }
 }
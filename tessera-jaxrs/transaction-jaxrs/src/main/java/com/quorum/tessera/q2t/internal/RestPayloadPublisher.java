@@ -6,6 +6,7 @@ import com.quorum.tessera.enclave.EncodedPayloadCodec;
 import com.quorum.tessera.enclave.PayloadEncoder;
 import com.quorum.tessera.enclave.PrivacyMode;
 import com.quorum.tessera.encryption.PublicKey;
+import com.quorum.tessera.metrics.NodeLatencyMetrics;
 import com.quorum.tessera.partyinfo.node.NodeInfo;
 import com.quorum.tessera.transaction.exception.EnhancedPrivacyNotSupportedException;
 import com.quorum.tessera.transaction.exception.MandatoryRecipientsNotSupportedException;
@@ -14,12 +15,15 @@ import com.quorum.tessera.transaction.publish.PayloadPublisher;
 import com.quorum.tessera.transaction.publish.PublishPayloadException;
 import com.quorum.tessera.version.EnhancedPrivacyVersion;
 import com.quorum.tessera.version.MandatoryRecipientsVersion;
+import com.quorum.tessera.version.MultiplePushVersion;
 import jakarta.ws.rs.ProcessingException;
 import jakarta.ws.rs.client.Client;
 import jakarta.ws.rs.client.Entity;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.StreamingOutput;
 import java.net.URI;
+import java.util.List;
 import java.util.Objects;
 import java.util.Set;
 import org.slf4j.Logger;
@@ -33,15 +37,48 @@ public class RestPayloadPublisher implements PayloadPublisher {
 
   private final Discovery discovery;
 
+  private final NodeLatencyMetrics pushMetrics;
+
   RestPayloadPublisher(Client client, Discovery discovery) {
+    this(client, discovery, new NodeLatencyMetrics("PayloadPush"));
+  }
+
+  RestPayloadPublisher(Client client, Discovery discovery, NodeLatencyMetrics pushMetrics) {
     this.client = Objects.requireNonNull(client);
     this.discovery = Objects.requireNonNull(discovery);
+    this.pushMetrics = Objects.requireNonNull(pushMetrics);
   }
 
   @Override
   public void publishPayload(EncodedPayload payload, PublicKey recipientKey) {
-
     final NodeInfo remoteNodeInfo = discovery.getRemoteNodeInfo(recipientKey);
+    push(payload, recipientKey, remoteNodeInfo, "/push");
+  }
+
+  /**
+   * Publishes the payload to the node hosting the given recipients in a single request, provided
+   * the node supports pushes carrying several recipient boxes. Otherwise the payload is split and
+   * published once per recipient.
+   *
+   * @param payload the payload object, already stripped for the given recipients, to be pushed
+   * @param recipientKeys the public keys identifying the recipients on the target node
+   */
+  @Override
+  public void publishPayloadToNode(EncodedPayload payload, List<PublicKey> recipientKeys) {
+    if (recipientKeys.size() > 1) {
+      final PublicKey recipientKey = recipientKeys.get(0);
+      final NodeInfo remoteNodeInfo = discovery.getRemoteNodeInfo(recipientKey);
+      if (remoteNodeInfo.supportedApiVersions().contains(MultiplePushVersion.API_VERSION_6)) {
+        push(payload, recipientKey, remoteNodeInfo, "/pushMultiple");
+        return;
+      }
+    }
+    PayloadPublisher.super.publishPayloadToNode(payload, recipientKeys);
+  }
+
+  private void push(
+      EncodedPayload payload, PublicKey recipientKey, NodeInfo remoteNodeInfo, String path) {
+
     final Set<String> supportedApiVersions = remoteNodeInfo.supportedApiVersions();
     final EncodedPayloadCodec preferredCodec =
         EncodedPayloadCodec.getPreferredCodec(supportedApiVersions);
@@ -64,12 +101,15 @@ public class RestPayloadPublisher implements PayloadPublisher {
     final String targetUrl = remoteNodeInfo.getUrl();
     LOGGER.info("Publishing message to {}", targetUrl);
 
-    final byte[] encoded = payloadEncoder.encode(payload);
+    // encoded straight into the request entity stream, rather than into a byte array first
+    final StreamingOutput encoded = output -> payloadEncoder.encode(payload, output);
 
+    final long start = System.nanoTime();
+    boolean failed = true;
     try (Response response =
         client
             .target(targetUrl)
-            .path("/push")
+            .path(path)
             .request()
             .post(Entity.entity(encoded, MediaType.APPLICATION_OCTET_STREAM_TYPE))) {
 
@@ -78,10 +118,13 @@ public class RestPayloadPublisher implements PayloadPublisher {
         throw new PublishPayloadException("Unable to push payload to recipient url " + targetUrl);
       }
 
+      failed = false;
       LOGGER.info("Published to {}", targetUrl);
     } catch (ProcessingException ex) {
       LOGGER.debug("", ex);
       throw new NodeOfflineException(URI.create(targetUrl));
+    } finally {
+      pushMetrics.forNode(targetUrl).record(System.nanoTime() - start, failed);
     }
   }
 }
@@ -1,12 +1,16 @@
 package com.quorum.tessera.q2t;
 
 import static org.assertj.core.api.Assertions.assertThat;
-import static org.mockito.Mockito.mock;
-import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.*;
 
+import com.quorum.tessera.config.Config;
+import com.quorum.tessera.config.ConfigFactory;
+import com.quorum.tessera.config.ServerConfig;
+import com.quorum.tessera.discovery.Discovery;
 import com.quorum.tessera.q2t.internal.BatchPayloadPublisherProvider;
 import com.quorum.tessera.transaction.publish.BatchPayloadPublisher;
 import com.quorum.tessera.transaction.publish.PayloadPublisher;
+import java.util.Map;
 import org.junit.Test;
 
 public class BatchPayloadPublisherProviderTest {
@@ -14,14 +18,28 @@ public class BatchPayloadPublisherProviderTest {
   @Test
   public void provider() {
 
-    try (var payloadPublisherMockedStatic = mockStatic(PayloadPublisher.class)) {
+    ConfigFactory configFactory = mock(ConfigFactory.class);
+    Config config = mock(Config.class);
+    ServerConfig serverConfig = mock(ServerConfig.class);
+    when(serverConfig.getProperties()).thenReturn(Map.of("publisherMaxThreads", "4"));
+    when(config.getP2PServerConfig()).thenReturn(serverConfig);
+    when(configFactory.getConfig()).thenReturn(config);
+
+    try (var payloadPublisherMockedStatic = mockStatic(PayloadPublisher.class);
+        var configFactoryMockedStatic = mockStatic(ConfigFactory.class);
+        var discoveryMockedStatic = mockStatic(Discovery.class)) {
       payloadPublisherMockedStatic
           .when(PayloadPublisher::create)
           .thenReturn(mock(PayloadPublisher.class));
+      configFactoryMockedStatic.when(ConfigFactory::create).thenReturn(configFactory);
+      discoveryMockedStatic.when(Discovery::create).thenReturn(mock(Discovery.class));
 
       BatchPayloadPublisher result = BatchPayloadPublisherProvider.provider();
       assertThat(result).isNotNull();
       payloadPublisherMockedStatic.verify(PayloadPublisher::create);
+      configFactoryMockedStatic.verify(ConfigFactory::create);
+      discoveryMockedStatic.verify(Discovery::create);
+      verify(serverConfig).getProperties();
     }
   }
 }
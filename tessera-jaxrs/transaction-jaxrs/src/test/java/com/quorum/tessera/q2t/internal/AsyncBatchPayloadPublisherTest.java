@@ -4,8 +4,11 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.ThrowableAssert.catchThrowable;
 import static org.mockito.Mockito.*;
 
+import com.quorum.tessera.discovery.Discovery;
 import com.quorum.tessera.enclave.EncodedPayload;
+import com.quorum.tessera.enclave.RecipientBox;
 import com.quorum.tessera.encryption.PublicKey;
+import com.quorum.tessera.partyinfo.node.NodeInfo;
 import com.quorum.tessera.threading.CancellableCountDownLatch;
 import com.quorum.tessera.threading.CancellableCountDownLatchFactory;
 import com.quorum.tessera.threading.ExecutorFactory;
@@ -14,11 +17,13 @@ import com.quorum.tessera.transaction.publish.PayloadPublisher;
 import com.quorum.tessera.transaction.publish.PublishPayloadException;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.Executor;
 import java.util.concurrent.Executors;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
 
 public class AsyncBatchPayloadPublisherTest {
 
@@ -111,6 +116,25 @@ public class AsyncBatchPayloadPublisherTest {
     verify(countDownLatch).await();
   }
 
+  @Test
+  public void publishPayloadOnProvidedExecutor() throws InterruptedException {
+    final Executor providedExecutor = mock(Executor.class);
+    asyncPublisher =
+        new AsyncBatchPayloadPublisher(providedExecutor, countDownLatchFactory, publisher);
+
+    final EncodedPayload payload = mock(EncodedPayload.class);
+    final List<PublicKey> recipients =
+        List.of(PublicKey.from("RECIPIENT".getBytes()), PublicKey.from("OTHER".getBytes()));
+
+    asyncPublisher.publishPayload(payload, recipients);
+
+    verify(executorFactory).createCachedThreadPool();
+    verify(countDownLatchFactory).create(2);
+    verify(providedExecutor, times(2)).execute(any(Runnable.class));
+    verify(countDownLatch).await();
+    verifyNoMoreInteractions(providedExecutor);
+  }
+
   @Test
   public void publishPayloadNoRecipientsDoesNothing() {
     final EncodedPayload payload = mock(EncodedPayload.class);
@@ -190,4 +214,67 @@ public class AsyncBatchPayloadPublisherTest {
     verify(countDownLatch).cancelWithException(cause);
     verify(countDownLatch).await();
   }
+
+  @Test
+  public void publishPayloadGroupsRecipientsByNode() throws InterruptedException {
+    final PublicKey recipient = PublicKey.from("RECIPIENT".getBytes());
+    final PublicKey otherRecipient = PublicKey.from("OTHERRECIPIENT".getBytes());
+    final PublicKey remoteRecipient = PublicKey.from("REMOTERECIPIENT".getBytes());
+
+    final Map<PublicKey, String> nodes =
+        Map.of(recipient, "nodeA", otherRecipient, "nodeA", remoteRecipient, "nodeB");
+
+    asyncPublisher =
+        new AsyncBatchPayloadPublisher(
+            (Executor) Runnable::run, countDownLatchFactory, publisher, nodes::get);
+
+    final EncodedPayload payload =
+        EncodedPayload.Builder.create()
+            .withSenderKey(PublicKey.from("SENDER".getBytes()))
+            .withRecipientKeys(List.of(recipient, remoteRecipient, otherRecipient))
+            .withRecipientBoxes(List.of("box1".getBytes(), "box2".getBytes(), "box3".getBytes()))
+            .build();
+
+    asyncPublisher.publishPayload(payload, List.of(recipient, remoteRecipient, otherRecipient));
+
+    final ArgumentCaptor<EncodedPayload> captor = ArgumentCaptor.forClass(EncodedPayload.class);
+    verify(publisher)
+        .publishPayloadToNode(captor.capture(), eq(List.of(recipient, otherRecipient)));
+    verify(publisher).publishPayload(any(), eq(remoteRecipient));
+
+    assertThat(captor.getValue().getRecipientKeys()).containsExactly(recipient, otherRecipient);
+    assertThat(captor.getValue().getRecipientBoxes())
+        .containsExactly(
+            RecipientBox.from("box1".getBytes()), RecipientBox.from("box3".getBytes()));
+
+    verify(executorFactory).createCachedThreadPool();
+    verify(countDownLatchFactory).create(2);
+    verify(countDownLatch, times(2)).countDown();
+    verify(countDownLatch).await();
+  }
+
+  @Test
+  public void publishPayloadLocatesNodesWithDiscovery() throws InterruptedException {
+    final PublicKey recipient = PublicKey.from("RECIPIENT".getBytes());
+    final PublicKey otherRecipient = PublicKey.from("OTHERRECIPIENT".getBytes());
+
+    final NodeInfo nodeInfo = mock(NodeInfo.class);
+    when(nodeInfo.getUrl()).thenReturn("nodeA");
+    final Discovery discovery = mock(Discovery.class);
+    when(discovery.getRemoteNodeInfo(any(PublicKey.class))).thenReturn(nodeInfo);
+
+    asyncPublisher =
+        new AsyncBatchPayloadPublisher(executor, countDownLatchFactory, publisher, discovery);
+
+    asyncPublisher.publishPayload(mock(EncodedPayload.class), List.of(recipient, otherRecipient));
+
+    verify(discovery).getRemoteNodeInfo(recipient);
+    verify(discovery).getRemoteNodeInfo(otherRecipient);
+    verifyNoMoreInteractions(discovery);
+
+    verify(executorFactory).createCachedThreadPool();
+    verify(countDownLatchFactory).create(1);
+    verify(executor).execute(any(Runnable.class));
+    verify(countDownLatch).await();
+  }
 }
@@ -10,6 +10,8 @@ import com.quorum.tessera.enclave.EncodedPayloadCodec;
 import com.quorum.tessera.enclave.PayloadEncoder;
 import com.quorum.tessera.enclave.PrivacyMode;
 import com.quorum.tessera.encryption.PublicKey;
+import com.quorum.tessera.metrics.LatencyStats;
+import com.quorum.tessera.metrics.NodeLatencyMetrics;
 import com.quorum.tessera.partyinfo.node.NodeInfo;
 import com.quorum.tessera.partyinfo.node.Recipient;
 import com.quorum.tessera.transaction.exception.EnhancedPrivacyNotSupportedException;
@@ -17,6 +19,7 @@ import com.quorum.tessera.transaction.exception.MandatoryRecipientsNotSupportedE
 import com.quorum.tessera.transaction.publish.NodeOfflineException;
 import com.quorum.tessera.transaction.publish.PublishPayloadException;
 import com.quorum.tessera.version.EnhancedPrivacyVersion;
+import com.quorum.tessera.version.MultiplePushVersion;
 import jakarta.ws.rs.ProcessingException;
 import jakarta.ws.rs.client.Client;
 import jakarta.ws.rs.client.Entity;
@@ -24,7 +27,10 @@ import jakarta.ws.rs.client.Invocation;
 import jakarta.ws.rs.client.WebTarget;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.StreamingOutput;
+import java.io.OutputStream;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import org.assertj.core.api.Assertions;
@@ -32,6 +38,7 @@ import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.MockedStatic;
+import org.mockito.stubbing.Answer;
 
 public class RestPayloadPublisherTest {
 
@@ -86,9 +93,6 @@ public class RestPayloadPublisherTest {
 
         when(discovery.getRemoteNodeInfo(publicKey)).thenReturn(nodeInfo);
 
-        final byte[] payloadData = "Payload".getBytes();
-        when(payloadEncoder.encode(encodedPayload)).thenReturn(payloadData);
-
         WebTarget webTarget = mock(WebTarget.class);
         when(client.target(targetUrl)).thenReturn(webTarget);
         when(webTarget.path("/push")).thenReturn(webTarget);
@@ -96,9 +100,7 @@ public class RestPayloadPublisherTest {
         Invocation.Builder invocationBuilder = mock(Invocation.Builder.class);
 
         Response response = Response.status(expectedResponseStatus).build();
-        when(invocationBuilder.post(
-                Entity.entity(payloadData, MediaType.APPLICATION_OCTET_STREAM_TYPE)))
-            .thenReturn(response);
+        when(invocationBuilder.post(any())).thenAnswer(writingEntity(response));
         when(webTarget.request()).thenReturn(invocationBuilder);
 
         if (expectedResponseStatus == Response.Status.OK
@@ -118,11 +120,154 @@ public class RestPayloadPublisherTest {
     int iterations = Response.Status.values().length * PrivacyMode.values().length;
     verify(client, times(iterations)).target(targetUrl);
     verify(discovery, times(iterations)).getRemoteNodeInfo(publicKey);
-    verify(payloadEncoder, times(iterations)).encode(encodedPayload);
+    verify(payloadEncoder, times(iterations)).encode(eq(encodedPayload), any(OutputStream.class));
     payloadEncoderFactoryFunction.verify(
         () -> PayloadEncoder.create(any(EncodedPayloadCodec.class)), times(iterations));
   }
 
+  @Test
+  public void publishRecordsPushLatencyForNode() {
+    final String targetUrl = "nodeUrl";
+    final EncodedPayload encodedPayload = mock(EncodedPayload.class);
+    when(encodedPayload.getPrivacyMode()).thenReturn(PrivacyMode.STANDARD_PRIVATE);
+    final PublicKey publicKey = mock(PublicKey.class);
+
+    final NodeInfo nodeInfo = mock(NodeInfo.class);
+    when(nodeInfo.supportedApiVersions()).thenReturn(Set.of("2.1"));
+    when(nodeInfo.getUrl()).thenReturn(targetUrl);
+    when(discovery.getRemoteNodeInfo(publicKey)).thenReturn(nodeInfo);
+
+    final WebTarget webTarget = mock(WebTarget.class);
+    when(client.target(targetUrl)).thenReturn(webTarget);
+    when(webTarget.path("/push")).thenReturn(webTarget);
+    final Invocation.Builder invocationBuilder = mock(Invocation.Builder.class);
+    when(webTarget.request()).thenReturn(invocationBuilder);
+    when(invocationBuilder.post(any()))
+        .thenAnswer(writingEntity(Response.ok().build()))
+        .thenAnswer(writingEntity(Response.serverError().build()));
+
+    final NodeLatencyMetrics pushMetrics = mock(NodeLatencyMetrics.class);
+    final LatencyStats latencyStats = mock(LatencyStats.class);
+    when(pushMetrics.forNode(targetUrl)).thenReturn(latencyStats);
+
+    final RestPayloadPublisher publisher = new RestPayloadPublisher(client, discovery, pushMetrics);
+
+    publisher.publishPayload(encodedPayload, publicKey);
+    catchThrowableOfType(
+        () -> publisher.publishPayload(encodedPayload, publicKey), PublishPayloadException.class);
+
+    verify(latencyStats).record(anyLong(), eq(false));
+    verify(latencyStats).record(anyLong(), eq(true));
+    verify(pushMetrics, times(2)).forNode(targetUrl);
+    verifyNoMoreInteractions(pushMetrics, latencyStats);
+
+    verify(client, times(2)).target(targetUrl);
+    verify(discovery, times(2)).getRemoteNodeInfo(publicKey);
+    verify(payloadEncoder, times(2)).encode(eq(encodedPayload), any(OutputStream.class));
+    payloadEncoderFactoryFunction.verify(
+        () -> PayloadEncoder.create(any(EncodedPayloadCodec.class)), times(2));
+  }
+
+  @Test
+  public void publishToNodeSupportingMultiplePushSendsSingleRequest() {
+    final String targetUrl = "nodeUrl";
+    final EncodedPayload encodedPayload = mock(EncodedPayload.class);
+    when(encodedPayload.getPrivacyMode()).thenReturn(PrivacyMode.STANDARD_PRIVATE);
+    final PublicKey publicKey = PublicKey.from("KEY".getBytes());
+    final PublicKey otherPublicKey = PublicKey.from("OTHER_KEY".getBytes());
+
+    final NodeInfo nodeInfo = mock(NodeInfo.class);
+    when(nodeInfo.supportedApiVersions())
+        .thenReturn(Set.of("5.0", MultiplePushVersion.API_VERSION_6));
+    when(nodeInfo.getUrl()).thenReturn(targetUrl);
+    when(discovery.getRemoteNodeInfo(publicKey)).thenReturn(nodeInfo);
+
+    final WebTarget webTarget = mock(WebTarget.class);
+    when(client.target(targetUrl)).thenReturn(webTarget);
+    when(webTarget.path("/pushMultiple")).thenReturn(webTarget);
+    final Invocation.Builder invocationBuilder = mock(Invocation.Builder.class);
+    when(webTarget.request()).thenReturn(invocationBuilder);
+    when(invocationBuilder.post(any()))
+        .thenAnswer(writingEntity(Response.status(Response.Status.CREATED).build()));
+
+    payloadPublisher.publishPayloadToNode(encodedPayload, List.of(publicKey, otherPublicKey));
+
+    verify(webTarget).path("/pushMultiple");
+    verify(invocationBuilder).post(any());
+    verify(client).target(targetUrl);
+    verify(discovery).getRemoteNodeInfo(publicKey);
+    verify(payloadEncoder).encode(eq(encodedPayload), any(OutputStream.class));
+    payloadEncoderFactoryFunction.verify(() -> PayloadEncoder.create(EncodedPayloadCodec.CBOR));
+  }
+
+  @Test
+  public void publishToNodeWithoutMultiplePushPublishesOncePerRecipient() {
+    final String targetUrl = "nodeUrl";
+    final PublicKey publicKey = PublicKey.from("KEY".getBytes());
+    final PublicKey otherPublicKey = PublicKey.from("OTHER_KEY".getBytes());
+    final EncodedPayload encodedPayload =
+        EncodedPayload.Builder.create()
+            .withSenderKey(PublicKey.from("SENDER".getBytes()))
+            .withRecipientKeys(List.of(publicKey, otherPublicKey))
+            .withRecipientBoxes(List.of("box1".getBytes(), "box2".getBytes()))
+            .build();
+
+    final NodeInfo nodeInfo = mock(NodeInfo.class);
+    when(nodeInfo.supportedApiVersions()).thenReturn(Set.of("5.0"));
+    when(nodeInfo.getUrl()).thenReturn(targetUrl);
+    when(discovery.getRemoteNodeInfo(any(PublicKey.class))).thenReturn(nodeInfo);
+
+    final WebTarget webTarget = mock(WebTarget.class);
+    when(client.target(targetUrl)).thenReturn(webTarget);
+    when(webTarget.path("/push")).thenReturn(webTarget);
+    final Invocation.Builder invocationBuilder = mock(Invocation.Builder.class);
+    when(webTarget.request()).thenReturn(invocationBuilder);
+    when(invocationBuilder.post(any())).thenAnswer(writingEntity(Response.ok().build()));
+
+    payloadPublisher.publishPayloadToNode(encodedPayload, List.of(publicKey, otherPublicKey));
+
+    verify(webTarget, times(2)).path("/push");
+    verify(invocationBuilder, times(2)).post(any());
+    verify(client, times(2)).target(targetUrl);
+    verify(discovery, times(2)).getRemoteNodeInfo(publicKey);
+    verify(discovery).getRemoteNodeInfo(otherPublicKey);
+    verify(payloadEncoder, times(2)).encode(any(EncodedPayload.class), any(OutputStream.class));
+    payloadEncoderFactoryFunction.verify(
+        () -> PayloadEncoder.create(EncodedPayloadCodec.CBOR), times(2));
+  }
+
+  @Test
+  public void publishToNodeWithSingleRecipientUsesPush() {
+    final String targetUrl = "nodeUrl";
+    final PublicKey publicKey = PublicKey.from("KEY".getBytes());
+    final EncodedPayload encodedPayload =
+        EncodedPayload.Builder.create()
+            .withSenderKey(PublicKey.from("SENDER".getBytes()))
+            .withRecipientKeys(List.of(publicKey))
+            .withRecipientBoxes(List.of("box1".getBytes()))
+            .build();
+
+    final NodeInfo nodeInfo = mock(NodeInfo.class);
+    when(nodeInfo.supportedApiVersions()).thenReturn(Set.of(MultiplePushVersion.API_VERSION_6));
+    when(nodeInfo.getUrl()).thenReturn(targetUrl);
+    when(discovery.getRemoteNodeInfo(publicKey)).thenReturn(nodeInfo);
+
+    final WebTarget webTarget = mock(WebTarget.class);
+    when(client.target(targetUrl)).thenReturn(webTarget);
+    when(webTarget.path("/push")).thenReturn(webTarget);
+    final Invocation.Builder invocationBuilder = mock(Invocation.Builder.class);
+    when(webTarget.request()).thenReturn(invocationBuilder);
+    when(invocationBuilder.post(any())).thenAnswer(writingEntity(Response.ok().build()));
+
+    payloadPublisher.publishPayloadToNode(encodedPayload, List.of(publicKey));
+
+    verify(webTarget).path("/push");
+    verify(client).target(targetUrl);
+    verify(discovery).getRemoteNodeInfo(publicKey);
+    verify(payloadEncoder).encode(any(EncodedPayload.class), any(OutputStream.class));
+    payloadEncoderFactoryFunction.verify(() -> PayloadEncoder.create(EncodedPayloadCodec.LEGACY));
+  }
+
   @Test
   public void publishEnhancedTransactionsToNodesThatDoNotSupport() {
 
@@ -135,8 +280,6 @@ public class RestPayloadPublisherTest {
 
       EncodedPayload encodedPayload = mock(EncodedPayload.class);
       when(encodedPayload.getPrivacyMode()).thenReturn(pair.getKey());
-      byte[] payloadData = "Some Data".getBytes();
-      when(payloadEncoder.encode(encodedPayload)).thenReturn(payloadData);
 
       PublicKey recipientKey = mock(PublicKey.class);
       NodeInfo nodeInfo = mock(NodeInfo.class);
@@ -181,7 +324,6 @@ public class RestPayloadPublisherTest {
 
     final EncodedPayload payload = mock(EncodedPayload.class);
     when(payload.getPrivacyMode()).thenReturn(PrivacyMode.STANDARD_PRIVATE);
-    when(payloadEncoder.encode(payload)).thenReturn("SomeData".getBytes());
 
     RestPayloadPublisher restPayloadPublisher = new RestPayloadPublisher(client, discovery);
 
@@ -192,7 +334,6 @@ public class RestPayloadPublisherTest {
       assertThat(ex).hasMessageContaining(targetUri);
       verify(client).target(targetUri);
       verify(discovery).getRemoteNodeInfo(eq(recipientKey));
-      verify(payloadEncoder).encode(payload);
       verify(discovery).getRemoteNodeInfo(eq(recipientKey));
       payloadEncoderFactoryFunction.verify(
           () -> PayloadEncoder.create(any(EncodedPayloadCodec.class)));
@@ -206,8 +347,6 @@ public class RestPayloadPublisherTest {
 
     EncodedPayload encodedPayload = mock(EncodedPayload.class);
     when(encodedPayload.getPrivacyMode()).thenReturn(PrivacyMode.MANDATORY_RECIPIENTS);
-    byte[] payloadData = "Some Data".getBytes();
-    when(payloadEncoder.encode(encodedPayload)).thenReturn(payloadData);
 
     PublicKey recipientKey = mock(PublicKey.class);
     NodeInfo nodeInfo = mock(NodeInfo.class);
@@ -229,4 +368,14 @@ public class RestPayloadPublisherTest {
     payloadEncoderFactoryFunction.verify(
         () -> PayloadEncoder.create(any(EncodedPayloadCodec.class)));
   }
+
+  /* posts the entity as the client would, by writing it to the request stream */
+  private static Answer<Response> writingEntity(Response response) {
+    return invocation -> {
+      final Entity<StreamingOutput> entity = invocation.getArgument(0);
+      assertThat(entity.getMediaType()).isEqualTo(MediaType.APPLICATION_OCTET_STREAM_TYPE);
+      entity.getEntity().write(OutputStream.nullOutputStream());
+      return response;
+    };
+  }
 }
@@ -1,5 +1,7 @@
 package com.quorum.tessera.discovery;
 
+import com.quorum.tessera.encryption.PublicKey;
+import java.util.Optional;
 import java.util.ServiceLoader;
 import java.util.stream.Stream;
 
@@ -11,6 +13,28 @@ public interface NetworkStore {
 
   Stream<ActiveNode> getActiveNodes();
 
+  /**
+   * Finds the active node with the given uri
+   *
+   * @param nodeUri the uri of the node to look up
+   * @return the active node with the uri, or empty if the node is not active
+   */
+  default Optional<ActiveNode> getActiveNode(NodeUri nodeUri) {
+    return getActiveNodes().filter(activeNode -> activeNode.getUri().equals(nodeUri)).findAny();
+  }
+
+  /**
+   * Finds the active node that hosts the given public key
+   *
+   * @param publicKey the recipient key to look up
+   * @return the active node hosting the key, or empty if no active node hosts it
+   */
+  default Optional<ActiveNode> getActiveNodeForKey(PublicKey publicKey) {
+    return getActiveNodes()
+        .filter(activeNode -> activeNode.getKeys().contains(publicKey))
+        .findAny();
+  }
+
   static NetworkStore getInstance() {
     return ServiceLoader.load(NetworkStore.class).findFirst().get();
   }
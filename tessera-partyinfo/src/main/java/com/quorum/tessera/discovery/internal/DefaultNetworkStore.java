@@ -3,39 +3,100 @@ package com.quorum.tessera.discovery.internal;
 import com.quorum.tessera.discovery.ActiveNode;
 import com.quorum.tessera.discovery.NetworkStore;
 import com.quorum.tessera.discovery.NodeUri;
-import java.util.Set;
+import com.quorum.tessera.encryption.PublicKey;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+/**
+ * Keeps the active nodes indexed by their uri and by each of their public keys, so that looking up
+ * the node for a recipient does not need to scan the whole network.
+ *
+ * <p>Lookups are lock free. Updates are serialised, so both indexes always agree once an update
+ * has completed. If a key is advertised by more than one node, the most recently stored of them
+ * wins, and the others are kept so that the key still resolves once that node drops it.
+ */
 public enum DefaultNetworkStore implements NetworkStore {
   INSTANCE;
 
-  private final Set<ActiveNode> activeNodes = ConcurrentHashMap.newKeySet();
+  private final Map<NodeUri, ActiveNode> nodesByUri = new ConcurrentHashMap<>();
+
+  /* each list is immutable and ends with the most recently stored node */
+  private final Map<PublicKey, List<ActiveNode>> nodesByKey = new ConcurrentHashMap<>();
 
   private static final Logger LOGGER = LoggerFactory.getLogger(DefaultNetworkStore.class);
 
   @Override
-  public NetworkStore store(ActiveNode activeNode) {
+  public synchronized NetworkStore store(ActiveNode activeNode) {
+
+    final ActiveNode previous = nodesByUri.put(activeNode.getUri(), activeNode);
 
-    activeNodes.removeIf(a -> a.getUri().equals(activeNode.getUri()));
-    activeNodes.add(activeNode);
+    if (previous != null) {
+      previous.getKeys().stream()
+          .filter(key -> !activeNode.getKeys().contains(key))
+          .forEach(key -> detach(key, previous));
+    }
+    activeNode.getKeys().forEach(key -> attach(key, activeNode));
 
-    LOGGER.debug("Stored node {}. Active node count {}", activeNode.getUri(), activeNodes.size());
+    LOGGER.debug("Stored node {}. Active node count {}", activeNode.getUri(), nodesByUri.size());
     return this;
   }
 
   @Override
-  public NetworkStore remove(NodeUri nodeUri) {
-    activeNodes.removeIf(a -> a.getUri().equals(nodeUri));
-    LOGGER.debug("Removed node {}. Active node count {}", nodeUri, activeNodes.size());
+  public synchronized NetworkStore remove(NodeUri nodeUri) {
+    final ActiveNode removed = nodesByUri.remove(nodeUri);
+    if (removed != null) {
+      removed.getKeys().forEach(key -> detach(key, removed));
+    }
+    LOGGER.debug("Removed node {}. Active node count {}", nodeUri, nodesByUri.size());
     return this;
   }
 
   @Override
   public Stream<ActiveNode> getActiveNodes() {
-    LOGGER.debug("Fetching active nodes {}", activeNodes);
-    return activeNodes.stream();
+    LOGGER.debug("Fetching active nodes {}", nodesByUri.values());
+    return nodesByUri.values().stream();
+  }
+
+  @Override
+  public Optional<ActiveNode> getActiveNode(NodeUri nodeUri) {
+    return Optional.ofNullable(nodesByUri.get(nodeUri));
+  }
+
+  @Override
+  public Optional<ActiveNode> getActiveNodeForKey(PublicKey publicKey) {
+    final List<ActiveNode> nodes = nodesByKey.get(publicKey);
+    return Optional.ofNullable(nodes).map(n -> n.get(n.size() - 1));
+  }
+
+  // ActiveNode equality is by uri, so these replace or remove whichever version of the node is held
+
+  private void attach(PublicKey key, ActiveNode activeNode) {
+    nodesByKey.compute(
+        key,
+        (k, nodes) -> {
+          final List<ActiveNode> updated = new ArrayList<>();
+          if (nodes != null) {
+            nodes.stream().filter(node -> !node.equals(activeNode)).forEach(updated::add);
+          }
+          updated.add(activeNode);
+          return List.copyOf(updated);
+        });
+  }
+
+  private void detach(PublicKey key, ActiveNode activeNode) {
+    nodesByKey.computeIfPresent(
+        key,
+        (k, nodes) -> {
+          final List<ActiveNode> updated =
+              nodes.stream().filter(node -> !node.equals(activeNode)).collect(Collectors.toList());
+          return updated.isEmpty() ? null : List.copyOf(updated);
+        });
   }
 }
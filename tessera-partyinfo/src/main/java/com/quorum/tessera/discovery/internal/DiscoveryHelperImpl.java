@@ -78,9 +78,7 @@ public class DiscoveryHelperImpl implements DiscoveryHelper {
 
     final ActiveNode activeNode =
         networkStore
-            .getActiveNodes()
-            .filter(node -> node.getKeys().contains(recipientKey))
-            .findAny()
+            .getActiveNodeForKey(recipientKey)
             .orElseThrow(
                 () ->
                     new KeyNotFoundException(
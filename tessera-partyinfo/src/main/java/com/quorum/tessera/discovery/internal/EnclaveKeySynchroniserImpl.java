@@ -6,8 +6,8 @@ import com.quorum.tessera.discovery.EnclaveKeySynchroniser;
 import com.quorum.tessera.discovery.NetworkStore;
 import com.quorum.tessera.discovery.NodeUri;
 import com.quorum.tessera.enclave.Enclave;
+import com.quorum.tessera.enclave.EnclaveClient;
 import com.quorum.tessera.encryption.PublicKey;
-import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
@@ -28,24 +28,25 @@ class EnclaveKeySynchroniserImpl implements EnclaveKeySynchroniser {
   @Override
   public void syncKeys() {
 
+    if (enclave instanceof EnclaveClient) {
+      // keep the client's copy of the remote enclave keys current
+      ((EnclaveClient) enclave).refreshKeys();
+    }
+
     NodeUri nodeUri =
         Optional.of(RuntimeContext.getInstance())
             .map(RuntimeContext::getP2pServerUri)
             .map(NodeUri::create)
             .get();
 
-    List<ActiveNode> activeNodes =
-        networkStore
-            .getActiveNodes()
-            .filter(a -> a.getUri().equals(nodeUri))
-            .collect(Collectors.toList());
+    final Optional<ActiveNode> thisNode = networkStore.getActiveNode(nodeUri);
 
-    if (activeNodes.isEmpty()) {
+    if (thisNode.isEmpty()) {
       return;
     }
 
-    final Set<PublicKey> storedKeys =
-        activeNodes.stream().flatMap(a -> a.getKeys().stream()).collect(Collectors.toSet());
+    final ActiveNode activeNode = thisNode.get();
+    final Set<PublicKey> storedKeys = activeNode.getKeys();
 
     final Set<PublicKey> keys = enclave.getPublicKeys();
 
@@ -54,11 +55,8 @@ class EnclaveKeySynchroniserImpl implements EnclaveKeySynchroniser {
       final Set<PublicKey> allKeys =
           Stream.concat(storedKeys.stream(), keys.stream()).collect(Collectors.toUnmodifiableSet());
 
-      activeNodes.forEach(
-          activeNode -> {
-            ActiveNode modified = ActiveNode.Builder.from(activeNode).withKeys(allKeys).build();
-            networkStore.store(modified);
-          });
+      ActiveNode modified = ActiveNode.Builder.from(activeNode).withKeys(allKeys).build();
+      networkStore.store(modified);
     }
   }
 }
@@ -7,6 +7,17 @@ public interface P2pClient {
 
   boolean sendPartyInfo(String targetUrl, byte[] data);
 
+  /**
+   * Sends the changes to this node's party info since a version the target is known to hold
+   *
+   * @param targetUrl the node to send to
+   * @param data the encoded changes
+   * @return whether the target applied the changes; if not, the full party info should be sent
+   */
+  default boolean sendPartyInfoDelta(String targetUrl, byte[] data) {
+    return false;
+  }
+
   static P2pClient create() {
     return ServiceLoaderUtil.loadSingle(ServiceLoader.load(P2pClient.class));
   }
@@ -1,8 +1,12 @@
 package com.quorum.tessera.discovery;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
 
 import com.quorum.tessera.discovery.internal.DefaultNetworkStore;
+import com.quorum.tessera.encryption.PublicKey;
+import java.util.List;
+import java.util.stream.Stream;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
@@ -49,4 +53,115 @@ public class NetworkStoreTest {
 
     assertThat(networkStore.getActiveNodes().count()).isEqualTo(2L);
   }
+
+  @Test
+  public void findNodeByUriAndKey() {
+    final NodeUri nodeUri = NodeUri.create("http://someaddress.com");
+    final PublicKey key = PublicKey.from("key".getBytes());
+    final ActiveNode activeNode =
+        ActiveNode.Builder.create().withUri(nodeUri).withKeys(List.of(key)).build();
+
+    networkStore.store(activeNode);
+
+    assertThat(networkStore.getActiveNode(nodeUri)).containsSame(activeNode);
+    assertThat(networkStore.getActiveNodeForKey(key)).containsSame(activeNode);
+    assertThat(networkStore.getActiveNode(NodeUri.create("http://unknown.com"))).isEmpty();
+    assertThat(networkStore.getActiveNodeForKey(PublicKey.from("unknown".getBytes()))).isEmpty();
+  }
+
+  @Test
+  public void storingNodeAgainReplacesItsKeys() {
+    final NodeUri nodeUri = NodeUri.create("http://someaddress.com");
+    final PublicKey key = PublicKey.from("key".getBytes());
+    final PublicKey otherKey = PublicKey.from("otherKey".getBytes());
+    final PublicKey newKey = PublicKey.from("newKey".getBytes());
+
+    networkStore.store(
+        ActiveNode.Builder.create().withUri(nodeUri).withKeys(List.of(key, otherKey)).build());
+
+    final ActiveNode updated =
+        ActiveNode.Builder.create().withUri(nodeUri).withKeys(List.of(otherKey, newKey)).build();
+    networkStore.store(updated);
+
+    assertThat(networkStore.getActiveNodes()).containsExactly(updated);
+    assertThat(networkStore.getActiveNodeForKey(key)).isEmpty();
+    assertThat(networkStore.getActiveNodeForKey(otherKey)).containsSame(updated);
+    assertThat(networkStore.getActiveNodeForKey(newKey)).containsSame(updated);
+  }
+
+  @Test
+  public void keyMovedToAnotherNodeIsKeptWhenOriginalNodeIsUpdatedOrRemoved() {
+    final NodeUri nodeUri = NodeUri.create("http://someaddress.com");
+    final NodeUri otherNodeUri = NodeUri.create("http://someotheraddress.com");
+    final PublicKey key = PublicKey.from("key".getBytes());
+
+    networkStore.store(ActiveNode.Builder.create().withUri(nodeUri).withKeys(List.of(key)).build());
+
+    final ActiveNode otherNode =
+        ActiveNode.Builder.create().withUri(otherNodeUri).withKeys(List.of(key)).build();
+    networkStore.store(otherNode);
+
+    networkStore.store(ActiveNode.Builder.create().withUri(nodeUri).build());
+    assertThat(networkStore.getActiveNodeForKey(key)).containsSame(otherNode);
+
+    networkStore.remove(nodeUri);
+    assertThat(networkStore.getActiveNodeForKey(key)).containsSame(otherNode);
+  }
+
+  @Test
+  public void sharedKeyResolvesToRemainingNodeWhenLatestNodeDropsIt() {
+    final NodeUri nodeUri = NodeUri.create("http://someaddress.com");
+    final NodeUri otherNodeUri = NodeUri.create("http://someotheraddress.com");
+    final PublicKey key = PublicKey.from("key".getBytes());
+
+    final ActiveNode otherNode =
+        ActiveNode.Builder.create().withUri(otherNodeUri).withKeys(List.of(key)).build();
+    networkStore.store(otherNode);
+
+    final ActiveNode activeNode =
+        ActiveNode.Builder.create().withUri(nodeUri).withKeys(List.of(key)).build();
+    networkStore.store(activeNode);
+    assertThat(networkStore.getActiveNodeForKey(key)).containsSame(activeNode);
+
+    networkStore.store(ActiveNode.Builder.create().withUri(nodeUri).build());
+    assertThat(networkStore.getActiveNodeForKey(key)).containsSame(otherNode);
+
+    networkStore.store(activeNode);
+    assertThat(networkStore.getActiveNodeForKey(key)).containsSame(activeNode);
+
+    networkStore.remove(nodeUri);
+    assertThat(networkStore.getActiveNodeForKey(key)).containsSame(otherNode);
+
+    networkStore.remove(otherNodeUri);
+    assertThat(networkStore.getActiveNodeForKey(key)).isEmpty();
+  }
+
+  @Test
+  public void removingNodeRemovesItsKeys() {
+    final NodeUri nodeUri = NodeUri.create("http://someaddress.com");
+    final PublicKey key = PublicKey.from("key".getBytes());
+
+    networkStore.store(ActiveNode.Builder.create().withUri(nodeUri).withKeys(List.of(key)).build());
+    networkStore.remove(nodeUri);
+    networkStore.remove(nodeUri);
+
+    assertThat(networkStore.getActiveNode(nodeUri)).isEmpty();
+    assertThat(networkStore.getActiveNodeForKey(key)).isEmpty();
+  }
+
+  @Test
+  public void defaultLookupsScanActiveNodes() {
+    final NodeUri nodeUri = NodeUri.create("http://someaddress.com");
+    final PublicKey key = PublicKey.from("key".getBytes());
+    final ActiveNode activeNode =
+        ActiveNode.Builder.create().withUri(nodeUri).withKeys(List.of(key)).build();
+
+    final NetworkStore store = mock(NetworkStore.class, CALLS_REAL_METHODS);
+    doAnswer(invocation -> Stream.of(activeNode)).when(store).getActiveNodes();
+
+    assertThat(store.getActiveNode(nodeUri)).containsSame(activeNode);
+    assertThat(store.getActiveNodeForKey(key)).containsSame(activeNode);
+    assertThat(store.getActiveNode(NodeUri.create("http://unknown.com"))).isEmpty();
+    assertThat(store.getActiveNodeForKey(PublicKey.from("unknown".getBytes()))).isEmpty();
+  }
 }
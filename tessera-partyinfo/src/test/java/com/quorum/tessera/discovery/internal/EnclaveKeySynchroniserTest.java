@@ -8,10 +8,11 @@ import com.quorum.tessera.discovery.EnclaveKeySynchroniser;
 import com.quorum.tessera.discovery.NetworkStore;
 import com.quorum.tessera.discovery.NodeUri;
 import com.quorum.tessera.enclave.Enclave;
+import com.quorum.tessera.enclave.EnclaveClient;
 import com.quorum.tessera.encryption.PublicKey;
 import java.net.URI;
+import java.util.Optional;
 import java.util.Set;
-import java.util.stream.Stream;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
@@ -63,18 +64,38 @@ public class EnclaveKeySynchroniserTest {
     when(activeNode.getKeys()).thenReturn(keys);
     when(activeNode.getUri()).thenReturn(nodeUri);
 
-    when(networkStore.getActiveNodes()).thenReturn(Stream.of(activeNode));
+    when(networkStore.getActiveNode(nodeUri)).thenReturn(Optional.of(activeNode));
     when(enclave.getPublicKeys()).thenReturn(keys);
 
     enclaveKeySynchroniser.syncKeys();
 
     verify(runtimeContext).getP2pServerUri();
-    verify(networkStore).getActiveNodes();
+    verify(networkStore).getActiveNode(any(NodeUri.class));
     verify(enclave).getPublicKeys();
 
     mockedStaticRuntimeContext.verify(RuntimeContext::getInstance);
   }
 
+  @Test
+  public void syncKeysRefreshesRemoteEnclaveKeys() {
+    EnclaveClient enclaveClient = mock(EnclaveClient.class);
+    EnclaveKeySynchroniser synchroniser =
+        new EnclaveKeySynchroniserImpl(enclaveClient, networkStore);
+
+    URI uri = URI.create("http://somedomain.com/");
+    when(runtimeContext.getP2pServerUri()).thenReturn(uri);
+    when(networkStore.getActiveNode(NodeUri.create(uri))).thenReturn(Optional.empty());
+
+    synchroniser.syncKeys();
+
+    verify(enclaveClient).refreshKeys();
+    verify(runtimeContext).getP2pServerUri();
+    verify(networkStore).getActiveNode(any(NodeUri.class));
+    verifyNoMoreInteractions(enclaveClient);
+
+    mockedStaticRuntimeContext.verify(RuntimeContext::getInstance);
+  }
+
   @Test
   public void syncWithChanges() {
 
@@ -88,13 +109,13 @@ public class EnclaveKeySynchroniserTest {
     when(activeNode.getUri()).thenReturn(nodeUri);
     when(activeNode.getKeys()).thenReturn(newKeys);
 
-    when(networkStore.getActiveNodes()).thenReturn(Stream.of(activeNode));
+    when(networkStore.getActiveNode(nodeUri)).thenReturn(Optional.of(activeNode));
     when(enclave.getPublicKeys()).thenReturn(Set.of(mock(PublicKey.class)));
 
     enclaveKeySynchroniser.syncKeys();
 
     verify(runtimeContext).getP2pServerUri();
-    verify(networkStore).getActiveNodes();
+    verify(networkStore).getActiveNode(any(NodeUri.class));
     verify(enclave).getPublicKeys();
     verify(networkStore).store(any(ActiveNode.class));
 
@@ -106,12 +127,12 @@ public class EnclaveKeySynchroniserTest {
 
     final URI uri = URI.create("http://somedomain.com/");
     when(runtimeContext.getP2pServerUri()).thenReturn(uri);
-    when(networkStore.getActiveNodes()).thenReturn(Stream.of());
+    when(networkStore.getActiveNode(NodeUri.create(uri))).thenReturn(Optional.empty());
 
     enclaveKeySynchroniser.syncKeys();
 
     verify(runtimeContext).getP2pServerUri();
-    verify(networkStore).getActiveNodes();
+    verify(networkStore).getActiveNode(any(NodeUri.class));
     mockedStaticRuntimeContext.verify(RuntimeContext::getInstance);
   }
 }
@@ -1,5 +1,6 @@
 package com.quorum.tessera.partyinfo;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.*;
 
 import com.quorum.tessera.serviceloader.ServiceLoaderUtil;
@@ -28,4 +29,11 @@ public class P2pClientTest {
       verifyNoInteractions(serviceLoader);
     }
   }
+
+  @Test
+  public void sendPartyInfoDeltaIsNotSupportedByDefault() {
+    final P2pClient p2pClient = (targetUrl, data) -> true;
+
+    assertThat(p2pClient.sendPartyInfoDelta("http://somenode.com", new byte[0])).isFalse();
+  }
 }
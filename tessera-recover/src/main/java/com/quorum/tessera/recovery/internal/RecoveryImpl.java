@@ -1,7 +1,5 @@
 package com.quorum.tessera.recovery.internal;
 
-import static java.util.stream.Collectors.toList;
-
 import com.quorum.tessera.data.staging.StagingEntityDAO;
 import com.quorum.tessera.data.staging.StagingTransaction;
 import com.quorum.tessera.discovery.Discovery;
@@ -11,15 +9,18 @@ import com.quorum.tessera.partyinfo.node.NodeInfo;
 import com.quorum.tessera.recovery.Recovery;
 import com.quorum.tessera.recovery.RecoveryResult;
 import com.quorum.tessera.recovery.resend.BatchTransactionRequester;
+import com.quorum.tessera.threading.ExecutorFactory;
 import com.quorum.tessera.transaction.TransactionManager;
 import com.quorum.tessera.transaction.exception.PrivacyViolationException;
 import com.quorum.tessera.version.EnhancedPrivacyVersion;
 import jakarta.persistence.PersistenceException;
 import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Predicate;
-import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -30,6 +31,8 @@ class RecoveryImpl implements Recovery {
 
   private static final int BATCH_SIZE = 10000;
 
+  static final int TASKS_IN_FLIGHT_PER_THREAD = 2;
+
   private final StagingEntityDAO stagingEntityDAO;
 
   private final Discovery discovery;
@@ -38,15 +41,35 @@ class RecoveryImpl implements Recovery {
 
   private final TransactionManager transactionManager;
 
+  private final int parallelism;
+
   RecoveryImpl(
       StagingEntityDAO stagingEntityDAO,
       Discovery discovery,
       BatchTransactionRequester transactionRequester,
       TransactionManager transactionManager) {
+    this(
+        stagingEntityDAO,
+        discovery,
+        transactionRequester,
+        transactionManager,
+        Runtime.getRuntime().availableProcessors());
+  }
+
+  RecoveryImpl(
+      StagingEntityDAO stagingEntityDAO,
+      Discovery discovery,
+      BatchTransactionRequester transactionRequester,
+      TransactionManager transactionManager,
+      int parallelism) {
+    if (parallelism < 1) {
+      throw new IllegalArgumentException("Sync parallelism must be at least 1");
+    }
     this.stagingEntityDAO = Objects.requireNonNull(stagingEntityDAO);
     this.discovery = Objects.requireNonNull(discovery);
     this.transactionRequester = Objects.requireNonNull(transactionRequester);
     this.transactionManager = Objects.requireNonNull(transactionManager);
+    this.parallelism = parallelism;
   }
 
   @Override
@@ -104,34 +127,15 @@ class RecoveryImpl implements Recovery {
     final AtomicInteger payloadCount = new AtomicInteger(0);
     final AtomicInteger syncFailureCount = new AtomicInteger(0);
 
-    final int maxResult = BATCH_SIZE;
-
-    for (int offset = 0; offset < stagingEntityDAO.countAll(); offset += maxResult) {
-
-      final List<StagingTransaction> transactions =
-          stagingEntityDAO.retrieveTransactionBatchOrderByStageAndHash(offset, maxResult);
-
-      final Map<String, List<StagingTransaction>> grouped =
-          transactions.stream()
-              .collect(
-                  Collectors.groupingBy(StagingTransaction::getHash, LinkedHashMap::new, toList()));
-
-      grouped.forEach(
-          (key, value) ->
-              value.stream()
-                  .filter(
-                      t -> {
-                        payloadCount.incrementAndGet();
-                        EncodedPayload encodedPayload = t.getEncodedPayload();
-                        try {
-                          transactionManager.storePayload(encodedPayload);
-                        } catch (PrivacyViolationException | PersistenceException ex) {
-                          LOGGER.error("An error occurred during batch resend sync stage.", ex);
-                          syncFailureCount.incrementAndGet();
-                        }
-                        return PrivacyMode.PRIVATE_STATE_VALIDATION == t.getPrivacyMode();
-                      })
-                  .findFirst());
+    final ExecutorService executorService =
+        ExecutorFactory.createDaemonPool("recovery-sync", parallelism);
+    try {
+      final StagingTransactionReader reader = new StagingTransactionReader();
+      while (reader.hasNext()) {
+        syncStage(reader, executorService, payloadCount, syncFailureCount);
+      }
+    } finally {
+      executorService.shutdownNow();
     }
 
     if (syncFailureCount.get() > 0) {
@@ -146,6 +150,142 @@ class RecoveryImpl implements Recovery {
     return RecoveryResult.SUCCESS;
   }
 
+  /*
+   * Transactions in the same validation stage do not depend on each other, so each transaction
+   * (all the versions of a hash) is stored by its own task. Only a few tasks per thread are handed
+   * to the pool at once, and the next transaction is only read once one of them has finished, so
+   * no more than a page of the stage is held in memory. Transactions that could not be staged may
+   * still depend on each other, so those are stored one after another. Returns once every
+   * transaction of the stage has been stored, as the next stage may depend on them.
+   */
+  private void syncStage(
+      StagingTransactionReader reader,
+      ExecutorService executorService,
+      AtomicInteger payloadCount,
+      AtomicInteger syncFailureCount) {
+
+    final Long validationStage = reader.peek().getValidationStage();
+    final int maxInFlight =
+        Objects.isNull(validationStage) ? 1 : parallelism * TASKS_IN_FLIGHT_PER_THREAD;
+    final Semaphore inFlight = new Semaphore(maxInFlight);
+    final AtomicReference<RuntimeException> failure = new AtomicReference<>();
+
+    final long startTime = System.nanoTime();
+    int transactionCount = 0;
+
+    while (Objects.isNull(failure.get())) {
+      inFlight.acquireUninterruptibly();
+      final List<StagingTransaction> versions = reader.nextVersions(validationStage);
+      if (versions.isEmpty()) {
+        inFlight.release();
+        break;
+      }
+      transactionCount += versions.size();
+      executorService.execute(
+          () -> {
+            try {
+              syncVersions(versions, payloadCount, syncFailureCount);
+            } catch (RuntimeException ex) {
+              failure.compareAndSet(null, ex);
+            } finally {
+              inFlight.release();
+            }
+          });
+    }
+
+    // waits for the tasks still running
+    inFlight.acquireUninterruptibly(maxInFlight);
+
+    if (Objects.nonNull(failure.get())) {
+      throw failure.get();
+    }
+
+    final long elapsedMillis = Math.max(1, (System.nanoTime() - startTime) / 1000000);
+    LOGGER.info(
+        "Synchronised {} transactions of stage {} in {} ms ({} tx/s)",
+        transactionCount,
+        Optional.ofNullable(validationStage).map(String::valueOf).orElse("unstaged"),
+        elapsedMillis,
+        transactionCount * 1000L / elapsedMillis);
+  }
+
+  private void syncVersions(
+      List<StagingTransaction> versions,
+      AtomicInteger payloadCount,
+      AtomicInteger syncFailureCount) {
+    for (StagingTransaction t : versions) {
+      payloadCount.incrementAndGet();
+      EncodedPayload encodedPayload = t.getEncodedPayload();
+      try {
+        transactionManager.storePayload(encodedPayload);
+      } catch (PrivacyViolationException | PersistenceException ex) {
+        LOGGER.error("An error occurred during batch resend sync stage.", ex);
+        syncFailureCount.incrementAndGet();
+      }
+      if (PrivacyMode.PRIVATE_STATE_VALIDATION == t.getPrivacyMode()) {
+        return;
+      }
+    }
+  }
+
+  /**
+   * Reads the staging transactions in the order they were staged, fetching them from the database
+   * a page at a time, and hands them out one hash at a time.
+   */
+  private class StagingTransactionReader {
+
+    private final Deque<StagingTransaction> buffer = new ArrayDeque<>();
+
+    private int offset = 0;
+
+    private boolean exhausted = false;
+
+    boolean hasNext() {
+      return !buffer.isEmpty() || readPage();
+    }
+
+    /**
+     * @return the next transaction, without reading it
+     * @throws NoSuchElementException once every transaction has been read
+     */
+    StagingTransaction peek() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      return buffer.peek();
+    }
+
+    /**
+     * @param validationStage the stage being read
+     * @return all the versions of the next hash of the stage, or an empty list once every
+     *     transaction of the stage has been read
+     */
+    List<StagingTransaction> nextVersions(Long validationStage) {
+      final List<StagingTransaction> versions = new ArrayList<>();
+      while (hasNext()) {
+        final StagingTransaction next = buffer.peek();
+        final boolean nextHash =
+            !versions.isEmpty() && !Objects.equals(versions.get(0).getHash(), next.getHash());
+        if (nextHash || !Objects.equals(validationStage, next.getValidationStage())) {
+          break;
+        }
+        versions.add(buffer.poll());
+      }
+      return versions;
+    }
+
+    private boolean readPage() {
+      if (exhausted || offset >= stagingEntityDAO.countAll()) {
+        exhausted = true;
+        return false;
+      }
+      buffer.addAll(
+          stagingEntityDAO.retrieveTransactionBatchOrderByStageAndHash(offset, BATCH_SIZE));
+      offset += BATCH_SIZE;
+      return !buffer.isEmpty();
+    }
+  }
+
   @Override
   public int recover() {
 
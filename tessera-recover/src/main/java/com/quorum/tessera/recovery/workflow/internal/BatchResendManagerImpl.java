@@ -1,7 +1,9 @@
 package com.quorum.tessera.recovery.workflow.internal;
 
+import com.quorum.tessera.data.EncryptedTransaction;
 import com.quorum.tessera.data.EncryptedTransactionDAO;
 import com.quorum.tessera.data.staging.StagingEntityDAO;
+import com.quorum.tessera.data.staging.StagingTransaction;
 import com.quorum.tessera.data.staging.StagingTransactionUtils;
 import com.quorum.tessera.encryption.PublicKey;
 import com.quorum.tessera.recovery.resend.PushBatchRequest;
@@ -14,7 +16,8 @@ import com.quorum.tessera.recovery.workflow.BatchWorkflowFactory;
 import java.util.Base64;
 import java.util.List;
 import java.util.Objects;
-import java.util.stream.IntStream;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 public class BatchResendManagerImpl implements BatchResendManager {
 
@@ -39,10 +42,6 @@ public class BatchResendManagerImpl implements BatchResendManager {
     this.batchWorkflowFactory = batchWorkflowFactory;
   }
 
-  static int calculateBatchCount(long maxResults, long total) {
-    return (int) Math.ceil((double) total / maxResults);
-  }
-
   @Override
   public ResendBatchResponse resendBatch(ResendBatchRequest request) {
 
@@ -50,33 +49,42 @@ public class BatchResendManagerImpl implements BatchResendManager {
     final byte[] publicKeyData = Base64.getDecoder().decode(request.getPublicKey());
     final PublicKey recipientPublicKey = PublicKey.from(publicKeyData);
 
-    final long transactionCount = encryptedTransactionDAO.transactionCount();
-    final long batchCount = calculateBatchCount(maxResults, transactionCount);
+    // only the rows the requested key is party to need to be read, once they are all indexed
+    final boolean useRecipientIndex = encryptedTransactionDAO.isRecipientIndexComplete();
+
+    final long transactionCount =
+        useRecipientIndex
+            ? encryptedTransactionDAO.transactionCountForRecipient(recipientPublicKey)
+            : encryptedTransactionDAO.transactionCount();
 
     final BatchWorkflow batchWorkflow = batchWorkflowFactory.create(transactionCount);
 
-    IntStream.range(0, (int) batchCount)
-        .map(i -> i * maxResults)
-        .mapToObj(offset -> encryptedTransactionDAO.retrieveTransactions(offset, maxResults))
-        .flatMap(List::stream)
-        .forEach(
-            encryptedTransaction -> {
-              final BatchWorkflowContext context = new BatchWorkflowContext();
-              context.setEncryptedTransaction(encryptedTransaction);
-              context.setEncodedPayload(encryptedTransaction.getPayload());
-              context.setRecipientKey(recipientPublicKey);
-              context.setBatchSize(batchSize);
-              batchWorkflow.execute(context);
-            });
+    final Stream<EncryptedTransaction> transactions =
+        useRecipientIndex
+            ? encryptedTransactionDAO.streamTransactionsForRecipient(recipientPublicKey, maxResults)
+            : encryptedTransactionDAO.streamTransactions(maxResults);
+
+    transactions.forEach(
+        encryptedTransaction -> {
+          final BatchWorkflowContext context = new BatchWorkflowContext();
+          context.setEncryptedTransaction(encryptedTransaction);
+          context.setEncodedPayload(encryptedTransaction.getPayload());
+          context.setRecipientKey(recipientPublicKey);
+          context.setBatchSize(batchSize);
+          batchWorkflow.execute(context);
+        });
 
     return ResendBatchResponse.from(batchWorkflow.getPublishedMessageCount());
   }
 
   @Override
-  public synchronized void storeResendBatch(PushBatchRequest request) {
-    request.getEncodedPayloads().stream()
-        .map(p -> StagingTransactionUtils.fromRawPayload(p, request.getEncodedPayloadCodec()))
-        .forEach(stagingEntityDAO::save);
+  public void storeResendBatch(PushBatchRequest request) {
+    final List<StagingTransaction> stagingTransactions =
+        request.getEncodedPayloads().stream()
+            .map(p -> StagingTransactionUtils.fromRawPayload(p, request.getEncodedPayloadCodec()))
+            .collect(Collectors.toList());
+
+    stagingEntityDAO.saveAll(stagingTransactions);
   }
 
   private int validateRequestBatchSize(int s) {
@@ -33,6 +33,8 @@ public class BatchResendManagerProvider {
         new BatchResendManagerImpl(
             stagingEntityDAO, encryptedTransactionDAO, defaultMaxResults, batchWorkflowFactory);
 
+    RecipientIndexBackfill.INSTANCE.start(encryptedTransactionDAO);
+
     return BatchResendManagerHolder.INSTANCE.setBatchResendManager(batchResendManager);
   }
 }
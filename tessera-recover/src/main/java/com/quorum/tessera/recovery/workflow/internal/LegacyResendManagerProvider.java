@@ -15,6 +15,8 @@ public class LegacyResendManagerProvider {
     final PayloadPublisher payloadPublisher = PayloadPublisher.create();
     final Discovery discovery = Discovery.create();
 
+    RecipientIndexBackfill.INSTANCE.start(encryptedTransactionDAO);
+
     return new LegacyResendManagerImpl(
         enclave, encryptedTransactionDAO, resendFetchSize, payloadPublisher, discovery);
   }
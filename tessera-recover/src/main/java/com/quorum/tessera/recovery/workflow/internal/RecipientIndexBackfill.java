@@ -0,0 +1,49 @@
+package com.quorum.tessera.recovery.workflow.internal;
+
+import com.quorum.tessera.data.EncryptedTransactionDAO;
+import com.quorum.tessera.threading.ExecutorFactory;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/*
+ * Adds the transactions stored before the recipient index existed to it, in the background. Both
+ * the legacy and the batch resend fall back to scanning every transaction until it is complete,
+ * so whichever of them is created first starts it, and it only ever runs once
+ */
+enum RecipientIndexBackfill {
+  INSTANCE;
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(RecipientIndexBackfill.class);
+
+  static final int BATCH_SIZE = 1000;
+
+  private Future<?> backfill;
+
+  synchronized Future<?> start(final EncryptedTransactionDAO encryptedTransactionDAO) {
+    if (backfill != null) {
+      return backfill;
+    }
+
+    final ExecutorService executor =
+        ExecutorFactory.createDaemonPool("recipient-index-backfill", 1);
+    backfill =
+        executor.submit(
+            () -> {
+              try {
+                encryptedTransactionDAO.indexRecipients(BATCH_SIZE);
+              } catch (RuntimeException ex) {
+                LOGGER.warn("Unable to complete recipient index: {}", ex.getMessage());
+                LOGGER.debug("", ex);
+              }
+            });
+    // lets the pool's thread exit as soon as the backfill is done
+    executor.shutdown();
+    return backfill;
+  }
+
+  synchronized void clear() {
+    backfill = null;
+  }
+}
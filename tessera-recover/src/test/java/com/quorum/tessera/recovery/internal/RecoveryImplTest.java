@@ -1,6 +1,7 @@
 package com.quorum.tessera.recovery.internal;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
 import static org.mockito.Mockito.*;
 
 import com.quorum.tessera.data.MessageHash;
@@ -17,9 +18,13 @@ import com.quorum.tessera.transaction.TransactionManager;
 import com.quorum.tessera.transaction.exception.PrivacyViolationException;
 import jakarta.persistence.PersistenceException;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.InOrder;
 
 public class RecoveryImplTest extends RecoveryTestCase {
 
@@ -296,6 +301,161 @@ public class RecoveryImplTest extends RecoveryTestCase {
     verify(transactionManager).storePayload(encodedPayload2);
   }
 
+  @Test
+  public void testSyncStoresStagesInOrder() {
+
+    final StagingTransaction stage1 = stagingTransaction("TXN1", 1L);
+    final StagingTransaction stage2a = stagingTransaction("TXN2", 2L);
+    final StagingTransaction stage2b = stagingTransaction("TXN3", 2L);
+    final StagingTransaction unstaged = stagingTransaction("TXN4", null);
+
+    final EncodedPayload stage1Payload = stage1.getEncodedPayload();
+    final EncodedPayload stage2aPayload = stage2a.getEncodedPayload();
+    final EncodedPayload stage2bPayload = stage2b.getEncodedPayload();
+    final EncodedPayload unstagedPayload = unstaged.getEncodedPayload();
+
+    // the second stage is split across two pages
+    when(stagingEntityDAO.retrieveTransactionBatchOrderByStageAndHash(0, 10000))
+        .thenReturn(List.of(stage1, stage2a));
+    when(stagingEntityDAO.retrieveTransactionBatchOrderByStageAndHash(10000, 10000))
+        .thenReturn(List.of(stage2b, unstaged));
+    when(stagingEntityDAO.countAll()).thenReturn(10004L);
+
+    final RecoveryResult result =
+        new RecoveryImpl(stagingEntityDAO, discovery, transactionRequester, transactionManager, 4)
+            .sync();
+
+    assertThat(result).isEqualTo(RecoveryResult.SUCCESS);
+
+    final InOrder inOrder = inOrder(transactionManager);
+    inOrder.verify(transactionManager).storePayload(stage1Payload);
+    inOrder
+        .verify(transactionManager, times(2))
+        .storePayload(argThat(p -> p == stage2aPayload || p == stage2bPayload));
+    inOrder.verify(transactionManager).storePayload(unstagedPayload);
+
+    verify(stagingEntityDAO).retrieveTransactionBatchOrderByStageAndHash(0, 10000);
+    verify(stagingEntityDAO).retrieveTransactionBatchOrderByStageAndHash(10000, 10000);
+    verify(stagingEntityDAO, times(3)).countAll();
+  }
+
+  @Test
+  public void testSyncStoresTransactionsOfAStageConcurrently() {
+
+    final StagingTransaction first = stagingTransaction("TXN1", 1L);
+    final StagingTransaction second = stagingTransaction("TXN2", 1L);
+    final EncodedPayload firstPayload = first.getEncodedPayload();
+    final EncodedPayload secondPayload = second.getEncodedPayload();
+
+    when(stagingEntityDAO.retrieveTransactionBatchOrderByStageAndHash(anyInt(), anyInt()))
+        .thenReturn(List.of(first, second));
+    when(stagingEntityDAO.countAll()).thenReturn(2L);
+
+    // each store only returns once the other one has started
+    final CountDownLatch bothStarted = new CountDownLatch(2);
+    when(transactionManager.storePayload(any()))
+        .then(
+            invocation -> {
+              bothStarted.countDown();
+              if (!bothStarted.await(10, TimeUnit.SECONDS)) {
+                throw new PersistenceException("Transactions were not stored concurrently");
+              }
+              return new MessageHash("hash".getBytes());
+            });
+
+    final RecoveryResult result =
+        new RecoveryImpl(stagingEntityDAO, discovery, transactionRequester, transactionManager, 2)
+            .sync();
+
+    assertThat(result).isEqualTo(RecoveryResult.SUCCESS);
+
+    verify(stagingEntityDAO).retrieveTransactionBatchOrderByStageAndHash(anyInt(), anyInt());
+    verify(stagingEntityDAO, times(2)).countAll();
+    verify(transactionManager).storePayload(firstPayload);
+    verify(transactionManager).storePayload(secondPayload);
+  }
+
+  @Test
+  public void testSyncOnlyReadsAheadOfTheTransactionsInFlight() {
+
+    final StagingTransaction first = stagingTransaction("TXN1", 1L);
+    final StagingTransaction second = stagingTransaction("TXN2", 1L);
+    final StagingTransaction third = stagingTransaction("TXN3", 1L);
+    final StagingTransaction fourth = stagingTransaction("TXN4", 1L);
+    final EncodedPayload firstPayload = first.getEncodedPayload();
+
+    final AtomicInteger storedCount = new AtomicInteger();
+    final AtomicInteger storedBeforeSecondPage = new AtomicInteger(-1);
+
+    when(stagingEntityDAO.retrieveTransactionBatchOrderByStageAndHash(0, 10000))
+        .thenReturn(List.of(first, second, third));
+    when(stagingEntityDAO.retrieveTransactionBatchOrderByStageAndHash(10000, 10000))
+        .then(
+            invocation -> {
+              storedBeforeSecondPage.set(storedCount.get());
+              return List.of(fourth);
+            });
+    when(stagingEntityDAO.countAll()).thenReturn(10001L);
+
+    // the first store is slow, so the reader would run ahead of it if it were not held back
+    when(transactionManager.storePayload(any()))
+        .then(
+            invocation -> {
+              if (invocation.getArgument(0) == firstPayload) {
+                Thread.sleep(200);
+              }
+              storedCount.incrementAndGet();
+              return new MessageHash("hash".getBytes());
+            });
+
+    final RecoveryResult result =
+        new RecoveryImpl(stagingEntityDAO, discovery, transactionRequester, transactionManager, 1)
+            .sync();
+
+    assertThat(result).isEqualTo(RecoveryResult.SUCCESS);
+
+    // TXN1 and TXN2 are in flight, so TXN3 (and the page after it) is only read once TXN1 is stored
+    assertThat(storedBeforeSecondPage.get()).isGreaterThan(0);
+
+    verify(stagingEntityDAO).retrieveTransactionBatchOrderByStageAndHash(0, 10000);
+    verify(stagingEntityDAO).retrieveTransactionBatchOrderByStageAndHash(10000, 10000);
+    verify(stagingEntityDAO, times(3)).countAll();
+    verify(transactionManager, times(4)).storePayload(any());
+  }
+
+  @Test
+  public void testSyncRethrowsUnexpectedFailure() {
+
+    final StagingTransaction stagingTransaction = stagingTransaction("TXN1", 1L);
+    final EncodedPayload encodedPayload = stagingTransaction.getEncodedPayload();
+
+    when(stagingEntityDAO.retrieveTransactionBatchOrderByStageAndHash(anyInt(), anyInt()))
+        .thenReturn(List.of(stagingTransaction));
+    when(stagingEntityDAO.countAll()).thenReturn(1L);
+    when(transactionManager.storePayload(any())).thenThrow(new IllegalStateException("OUCH"));
+
+    final Throwable throwable = catchThrowable(recovery::sync);
+
+    assertThat(throwable).isInstanceOf(IllegalStateException.class).hasMessage("OUCH");
+
+    verify(stagingEntityDAO).retrieveTransactionBatchOrderByStageAndHash(anyInt(), anyInt());
+    verify(stagingEntityDAO, times(2)).countAll();
+    verify(transactionManager).storePayload(encodedPayload);
+  }
+
+  @Test
+  public void parallelismMustBeAtLeastOne() {
+    final Throwable throwable =
+        catchThrowable(
+            () ->
+                new RecoveryImpl(
+                    stagingEntityDAO, discovery, transactionRequester, transactionManager, 0));
+
+    assertThat(throwable)
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("Sync parallelism must be at least 1");
+  }
+
   @Test
   public void testRecoverSuccess() {
 
@@ -389,4 +549,14 @@ public class RecoveryImplTest extends RecoveryTestCase {
 
     verify(stagingEntityDAO).countAll();
   }
+
+  private static StagingTransaction stagingTransaction(String hash, Long validationStage) {
+    final StagingTransaction stagingTransaction = mock(StagingTransaction.class);
+    final EncodedPayload encodedPayload = mock(EncodedPayload.class);
+    when(stagingTransaction.getHash()).thenReturn(hash);
+    when(stagingTransaction.getValidationStage()).thenReturn(validationStage);
+    when(stagingTransaction.getEncodedPayload()).thenReturn(encodedPayload);
+    when(stagingTransaction.getPrivacyMode()).thenReturn(PrivacyMode.STANDARD_PRIVATE);
+    return stagingTransaction;
+  }
 }
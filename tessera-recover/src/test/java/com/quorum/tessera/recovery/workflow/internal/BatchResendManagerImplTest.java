@@ -3,8 +3,6 @@ package com.quorum.tessera.recovery.workflow.internal;
 import static java.util.Collections.emptyMap;
 import static java.util.Collections.singletonList;
 import static org.assertj.core.api.Assertions.assertThat;
-import static org.mockito.AdditionalMatchers.gt;
-import static org.mockito.AdditionalMatchers.lt;
 import static org.mockito.Mockito.*;
 
 import com.quorum.tessera.base64.Base64Codec;
@@ -74,15 +72,13 @@ public class BatchResendManagerImplTest {
         ResendBatchRequest.Builder.create().withBatchSize(3).withPublicKey(KEY_STRING).build();
 
     List<EncryptedTransaction> transactions =
-        IntStream.range(0, 5)
+        IntStream.range(0, 101)
             .mapToObj(i -> mock(EncryptedTransaction.class))
             .collect(Collectors.toUnmodifiableList());
 
     when(encryptedTransactionDAO.transactionCount()).thenReturn(101L);
 
-    when(encryptedTransactionDAO.retrieveTransactions(lt(100), anyInt())).thenReturn(transactions);
-    when(encryptedTransactionDAO.retrieveTransactions(gt(99), anyInt()))
-        .thenReturn(singletonList(mock(EncryptedTransaction.class)));
+    when(encryptedTransactionDAO.streamTransactions(5)).thenReturn(transactions.stream());
 
     BatchWorkflow batchWorkflow = mock(BatchWorkflow.class);
     when(batchWorkflow.getPublishedMessageCount()).thenReturn(999L);
@@ -96,7 +92,8 @@ public class BatchResendManagerImplTest {
 
     verify(batchWorkflow, times(101)).execute(any(BatchWorkflowContext.class));
 
-    verify(encryptedTransactionDAO, times(21)).retrieveTransactions(anyInt(), anyInt());
+    verify(encryptedTransactionDAO).isRecipientIndexComplete();
+    verify(encryptedTransactionDAO).streamTransactions(5);
 
     verify(encryptedTransactionDAO).transactionCount();
 
@@ -110,7 +107,7 @@ public class BatchResendManagerImplTest {
         ResendBatchRequest.Builder.create().withPublicKey(KEY_STRING).build();
 
     List<EncryptedTransaction> transactions =
-        IntStream.range(0, 5)
+        IntStream.range(0, 101)
             .mapToObj(i -> mock(EncryptedTransaction.class))
             .collect(Collectors.toUnmodifiableList());
 
@@ -123,9 +120,7 @@ public class BatchResendManagerImplTest {
 
     when(batchWorkflowFactory.create(101L)).thenReturn(batchWorkflow);
 
-    when(encryptedTransactionDAO.retrieveTransactions(lt(100), anyInt())).thenReturn(transactions);
-    when(encryptedTransactionDAO.retrieveTransactions(gt(99), anyInt()))
-        .thenReturn(List.of(mock(EncryptedTransaction.class)));
+    when(encryptedTransactionDAO.streamTransactions(5)).thenReturn(transactions.stream());
 
     final ResendBatchResponse result = manager.resendBatch(request);
 
@@ -133,7 +128,8 @@ public class BatchResendManagerImplTest {
 
     verify(batchWorkflow, times(101)).execute(any(BatchWorkflowContext.class));
 
-    verify(encryptedTransactionDAO, times(21)).retrieveTransactions(anyInt(), anyInt());
+    verify(encryptedTransactionDAO).isRecipientIndexComplete();
+    verify(encryptedTransactionDAO).streamTransactions(5);
     verify(encryptedTransactionDAO).transactionCount();
 
     verify(batchWorkflowFactory).create(101L);
@@ -149,15 +145,13 @@ public class BatchResendManagerImplTest {
             .build();
 
     List<EncryptedTransaction> transactions =
-        IntStream.range(0, 5)
+        IntStream.range(0, 101)
             .mapToObj(i -> mock(EncryptedTransaction.class))
             .collect(Collectors.toUnmodifiableList());
 
     when(encryptedTransactionDAO.transactionCount()).thenReturn(101L);
 
-    when(encryptedTransactionDAO.retrieveTransactions(lt(100), anyInt())).thenReturn(transactions);
-    when(encryptedTransactionDAO.retrieveTransactions(gt(99), anyInt()))
-        .thenReturn(singletonList(mock(EncryptedTransaction.class)));
+    when(encryptedTransactionDAO.streamTransactions(5)).thenReturn(transactions.stream());
 
     final BatchWorkflow batchWorkflow = mock(BatchWorkflow.class);
     when(batchWorkflow.getPublishedMessageCount()).thenReturn(999L);
@@ -168,7 +162,8 @@ public class BatchResendManagerImplTest {
 
     verify(batchWorkflow, times(101)).execute(any(BatchWorkflowContext.class));
 
-    verify(encryptedTransactionDAO, times(21)).retrieveTransactions(anyInt(), anyInt());
+    verify(encryptedTransactionDAO).isRecipientIndexComplete();
+    verify(encryptedTransactionDAO).streamTransactions(5);
 
     verify(encryptedTransactionDAO).transactionCount();
 
@@ -176,31 +171,43 @@ public class BatchResendManagerImplTest {
   }
 
   @Test
-  public void createWithMinimalConstructor() {
-    assertThat(
-            new BatchResendManagerImpl(
-                stagingEntityDAO, encryptedTransactionDAO, 1, mock(BatchWorkflowFactory.class)))
-        .isNotNull();
-  }
+  public void resendBatchUsesRecipientIndexWhenComplete() {
 
-  @Test
-  public void calculateBatchCount() {
-    long numberOfRecords = 10;
-    long maxResults = 3;
+    final ResendBatchRequest request =
+        ResendBatchRequest.Builder.create().withBatchSize(3).withPublicKey(KEY_STRING).build();
 
-    int batchCount = BatchResendManagerImpl.calculateBatchCount(maxResults, numberOfRecords);
+    final List<EncryptedTransaction> transactions =
+        IntStream.range(0, 7)
+            .mapToObj(i -> mock(EncryptedTransaction.class))
+            .collect(Collectors.toUnmodifiableList());
 
-    assertThat(batchCount).isEqualTo(4);
-  }
+    when(encryptedTransactionDAO.isRecipientIndexComplete()).thenReturn(true);
+    when(encryptedTransactionDAO.transactionCountForRecipient(publicKey)).thenReturn(7L);
+    when(encryptedTransactionDAO.streamTransactionsForRecipient(publicKey, 5))
+        .thenReturn(transactions.stream());
 
-  @Test
-  public void calculateBatchCountTotalLowerThanBatchSizeIsSingleBatch() {
-    long numberOfRecords = 100;
-    long maxResults = 10;
+    final BatchWorkflow batchWorkflow = mock(BatchWorkflow.class);
+    when(batchWorkflow.getPublishedMessageCount()).thenReturn(7L);
+    when(batchWorkflowFactory.create(7L)).thenReturn(batchWorkflow);
+
+    final ResendBatchResponse result = manager.resendBatch(request);
 
-    int batchCount = BatchResendManagerImpl.calculateBatchCount(maxResults, numberOfRecords);
+    assertThat(result.getTotal()).isEqualTo(7L);
+    verify(batchWorkflow, times(7)).execute(any(BatchWorkflowContext.class));
+    verify(batchWorkflow).getPublishedMessageCount();
+
+    verify(encryptedTransactionDAO).isRecipientIndexComplete();
+    verify(encryptedTransactionDAO).transactionCountForRecipient(publicKey);
+    verify(encryptedTransactionDAO).streamTransactionsForRecipient(publicKey, 5);
+    verify(batchWorkflowFactory).create(7L);
+  }
 
-    assertThat(batchCount).isEqualTo(10);
+  @Test
+  public void createWithMinimalConstructor() {
+    assertThat(
+            new BatchResendManagerImpl(
+                stagingEntityDAO, encryptedTransactionDAO, 1, mock(BatchWorkflowFactory.class)))
+        .isNotNull();
   }
 
   @Test
@@ -264,7 +271,8 @@ public class BatchResendManagerImplTest {
 
       manager.storeResendBatch(request);
 
-      verify(stagingEntityDAO).save(any(StagingTransaction.class));
+      verify(stagingEntityDAO)
+          .saveAll(argThat(stagingTransactions -> stagingTransactions.size() == 1));
       verify(payloadEncoder).decode(any());
       verify(payloadEncoder).encodedPayloadCodec();
       payloadDigestMockedStatic.verify(PayloadDigest::create);
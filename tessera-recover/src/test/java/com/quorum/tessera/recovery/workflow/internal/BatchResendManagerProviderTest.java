@@ -7,10 +7,19 @@ import com.quorum.tessera.data.EncryptedTransactionDAO;
 import com.quorum.tessera.data.staging.StagingEntityDAO;
 import com.quorum.tessera.recovery.workflow.BatchResendManager;
 import com.quorum.tessera.recovery.workflow.BatchWorkflowFactory;
+import org.junit.After;
+import org.junit.Before;
 import org.junit.Test;
 
 public class BatchResendManagerProviderTest {
 
+  @Before
+  @After
+  public void clear() {
+    BatchResendManagerHolder.INSTANCE.setBatchResendManager(null);
+    RecipientIndexBackfill.INSTANCE.clear();
+  }
+
   @Test
   public void defaultConstructorForCoverage() {
     assertThat(new BatchResendManagerProvider()).isNotNull();
@@ -23,9 +32,10 @@ public class BatchResendManagerProviderTest {
         var staticStagingEntityDAO = mockStatic(StagingEntityDAO.class);
         var staticBatchWorkflowFactory = mockStatic(BatchWorkflowFactory.class); ) {
 
+      final EncryptedTransactionDAO encryptedTransactionDAO = mock(EncryptedTransactionDAO.class);
       staticEncryptedTransactionDAO
           .when(EncryptedTransactionDAO::create)
-          .thenReturn(mock(EncryptedTransactionDAO.class));
+          .thenReturn(encryptedTransactionDAO);
       staticStagingEntityDAO
           .when(StagingEntityDAO::create)
           .thenReturn(mock(StagingEntityDAO.class));
@@ -49,6 +59,9 @@ public class BatchResendManagerProviderTest {
           .containsSame(batchResendManager);
 
       assertThat(BatchResendManagerProvider.provider()).isSameAs(batchResendManager);
+
+      verify(encryptedTransactionDAO, timeout(1000))
+          .indexRecipients(RecipientIndexBackfill.BATCH_SIZE);
     }
   }
 }
@@ -19,9 +19,8 @@ import com.quorum.tessera.recovery.workflow.LegacyResendManager;
 import com.quorum.tessera.transaction.exception.EnhancedPrivacyNotSupportedException;
 import com.quorum.tessera.transaction.exception.TransactionNotFoundException;
 import com.quorum.tessera.transaction.publish.PayloadPublisher;
-import java.util.List;
 import java.util.Optional;
-import java.util.Set;
+import java.util.stream.Stream;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
@@ -163,8 +162,7 @@ public class LegacyResendManagerImplTest {
             .build();
 
     when(dao.retrieveByHash(any(MessageHash.class))).thenReturn(Optional.of(databaseTx));
-    when(enclave.getPublicKeys()).thenReturn(Set.of(localRecipientKey));
-    when(enclave.unencryptTransaction(any(), eq(localRecipientKey))).thenReturn(new byte[0]);
+    when(enclave.findRecipientKey(any())).thenReturn(Optional.of(localRecipientKey));
 
     final ResendResponse response = resendManager.resend(request);
 
@@ -174,8 +172,7 @@ public class LegacyResendManagerImplTest {
     assertThat(response.getPayload()).isEqualToComparingFieldByFieldRecursively(expected);
 
     verify(dao).retrieveByHash(txHash);
-    verify(enclave).getPublicKeys();
-    verify(enclave).unencryptTransaction(any(), eq(localRecipientKey));
+    verify(enclave).findRecipientKey(any());
   }
 
   @Test
@@ -192,17 +189,37 @@ public class LegacyResendManagerImplTest {
     // We are not testing the workflow itself, only that the workflow gets the right amount of
     // transactions
 
-    when(dao.transactionCount()).thenReturn(2L);
-    when(dao.retrieveTransactions(0, 1)).thenReturn(List.of(new EncryptedTransaction()));
-    when(dao.retrieveTransactions(1, 1)).thenReturn(List.of(new EncryptedTransaction()));
+    when(dao.streamTransactions(1))
+        .thenReturn(Stream.of(new EncryptedTransaction(), new EncryptedTransaction()));
 
     final ResendResponse response = resendManager.resend(request);
     assertThat(response).isNotNull();
     assertThat(response.getPayload()).isNull();
 
     verify(enclave, times(2)).status();
-    verify(dao).transactionCount();
-    verify(dao).retrieveTransactions(0, 1);
-    verify(dao).retrieveTransactions(1, 1);
+    verify(dao).isRecipientIndexComplete();
+    verify(dao).streamTransactions(1);
+  }
+
+  @Test
+  public void performResendAllUsesRecipientIndexWhenComplete() {
+    final PublicKey targetResendKey = PublicKey.from("target".getBytes());
+    final ResendRequest request =
+        ResendRequest.Builder.create()
+            .withType(ResendRequest.ResendRequestType.ALL)
+            .withRecipient(targetResendKey)
+            .build();
+
+    when(dao.isRecipientIndexComplete()).thenReturn(true);
+    when(dao.streamTransactionsForRecipient(targetResendKey, 1))
+        .thenReturn(Stream.of(new EncryptedTransaction()));
+
+    final ResendResponse response = resendManager.resend(request);
+    assertThat(response).isNotNull();
+    assertThat(response.getPayload()).isNull();
+
+    verify(enclave).status();
+    verify(dao).isRecipientIndexComplete();
+    verify(dao).streamTransactionsForRecipient(targetResendKey, 1);
   }
 }
@@ -1,18 +1,25 @@
 package com.quorum.tessera.recovery.workflow.internal;
 
 import static org.assertj.core.api.Assertions.assertThat;
-import static org.mockito.Mockito.mock;
-import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.*;
 
 import com.quorum.tessera.data.EncryptedTransactionDAO;
 import com.quorum.tessera.discovery.Discovery;
 import com.quorum.tessera.enclave.Enclave;
 import com.quorum.tessera.recovery.workflow.LegacyResendManager;
 import com.quorum.tessera.transaction.publish.PayloadPublisher;
+import org.junit.After;
+import org.junit.Before;
 import org.junit.Test;
 
 public class LegacyResendManagerProviderTest {
 
+  @Before
+  @After
+  public void clear() {
+    RecipientIndexBackfill.INSTANCE.clear();
+  }
+
   @Test
   public void provider() {
 
@@ -21,9 +28,10 @@ public class LegacyResendManagerProviderTest {
         var payloadPublisherMockedStatic = mockStatic(PayloadPublisher.class);
         var discoveryMockedStatic = mockStatic(Discovery.class)) {
       enclaveMockedStatic.when(Enclave::create).thenReturn(mock(Enclave.class));
+      final EncryptedTransactionDAO encryptedTransactionDAO = mock(EncryptedTransactionDAO.class);
       encryptedTransactionDAOMockedStatic
           .when(EncryptedTransactionDAO::create)
-          .thenReturn(mock(EncryptedTransactionDAO.class));
+          .thenReturn(encryptedTransactionDAO);
       payloadPublisherMockedStatic
           .when(PayloadPublisher::create)
           .thenReturn(mock(PayloadPublisher.class));
@@ -43,6 +51,9 @@ public class LegacyResendManagerProviderTest {
 
       discoveryMockedStatic.verify(Discovery::create);
       discoveryMockedStatic.verifyNoMoreInteractions();
+
+      verify(encryptedTransactionDAO, timeout(1000))
+          .indexRecipients(RecipientIndexBackfill.BATCH_SIZE);
     }
   }
 
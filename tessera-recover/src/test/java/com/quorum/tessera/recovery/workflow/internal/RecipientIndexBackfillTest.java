@@ -0,0 +1,48 @@
+package com.quorum.tessera.recovery.workflow.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+import com.quorum.tessera.data.EncryptedTransactionDAO;
+import java.util.concurrent.Future;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class RecipientIndexBackfillTest {
+
+  @Before
+  @After
+  public void clear() {
+    RecipientIndexBackfill.INSTANCE.clear();
+  }
+
+  @Test
+  public void startIndexesRecipientsOnlyOnce() throws Exception {
+    final EncryptedTransactionDAO encryptedTransactionDAO = mock(EncryptedTransactionDAO.class);
+    final EncryptedTransactionDAO otherEncryptedTransactionDAO =
+        mock(EncryptedTransactionDAO.class);
+
+    final Future<?> backfill = RecipientIndexBackfill.INSTANCE.start(encryptedTransactionDAO);
+    backfill.get();
+
+    assertThat(RecipientIndexBackfill.INSTANCE.start(otherEncryptedTransactionDAO))
+        .isSameAs(backfill);
+
+    verify(encryptedTransactionDAO).indexRecipients(RecipientIndexBackfill.BATCH_SIZE);
+    verifyNoMoreInteractions(encryptedTransactionDAO);
+    verifyNoInteractions(otherEncryptedTransactionDAO);
+  }
+
+  @Test
+  public void failureToIndexRecipientsIsLogged() throws Exception {
+    final EncryptedTransactionDAO encryptedTransactionDAO = mock(EncryptedTransactionDAO.class);
+    when(encryptedTransactionDAO.indexRecipients(anyInt()))
+        .thenThrow(new RuntimeException("Ouch"));
+
+    final Future<?> backfill = RecipientIndexBackfill.INSTANCE.start(encryptedTransactionDAO);
+
+    assertThat(backfill.get()).isNull();
+    verify(encryptedTransactionDAO).indexRecipients(RecipientIndexBackfill.BATCH_SIZE);
+  }
+}
@@ -0,0 +1,139 @@
+package com.quorum.tessera.benchmark;
+
+import com.quorum.tessera.data.EncryptedRawTransactionDAO;
+import com.quorum.tessera.data.EncryptedTransactionDAO;
+import com.quorum.tessera.data.MessageHash;
+import com.quorum.tessera.data.internal.EncryptedRawTransactionDAOImpl;
+import com.quorum.tessera.data.internal.EncryptedTransactionDAOImpl;
+import com.quorum.tessera.enclave.Enclave;
+import com.quorum.tessera.enclave.EncodedPayload;
+import com.quorum.tessera.enclave.PayloadDigest;
+import com.quorum.tessera.enclave.PrivacyMetadata;
+import com.quorum.tessera.enclave.PrivacyMode;
+import com.quorum.tessera.enclave.SHA512256PayloadDigest;
+import com.quorum.tessera.encryption.Encryptor;
+import com.quorum.tessera.encryption.EncryptorFactory;
+import com.quorum.tessera.encryption.KeyPair;
+import com.quorum.tessera.encryption.PublicKey;
+import com.quorum.tessera.transaction.TransactionManager;
+import com.quorum.tessera.transaction.internal.PrivacyHelperImpl;
+import com.quorum.tessera.transaction.internal.TransactionManagerImpl;
+import com.quorum.tessera.transaction.resend.internal.ResendManagerImpl;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.Persistence;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+/**
+ * Measures the throughput of {@link TransactionManager#storePayload} for distinct transactions
+ * arriving on one thread and on several threads at once, as they do when many peers push to a node.
+ * Stores of different transactions do not share a lock, so the multi-threaded throughput should be
+ * higher than the single-threaded one on a multi-core host.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ConcurrentStorePayloadBenchmark {
+
+  private EntityManagerFactory entityManagerFactory;
+
+  private TransactionManager transactionManager;
+
+  private Enclave remoteEnclave;
+
+  private PublicKey remoteSender;
+
+  private List<PublicKey> remoteRecipients;
+
+  private final byte[] message = new byte[1024];
+
+  private final PrivacyMetadata privacyMetadata =
+      PrivacyMetadata.Builder.create().withPrivacyMode(PrivacyMode.STANDARD_PRIVATE).build();
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    final Encryptor encryptor = EncryptorFactory.newFactory("NACL").create();
+    final KeyPair localKeys = encryptor.generateNewKeys();
+    final KeyPair remoteKeys = encryptor.generateNewKeys();
+
+    this.entityManagerFactory =
+        Persistence.createEntityManagerFactory(
+            "tessera",
+            Map.of(
+                "jakarta.persistence.jdbc.url", "jdbc:h2:mem:concurrent-store;DB_CLOSE_DELAY=-1",
+                "jakarta.persistence.jdbc.user", "sa",
+                "jakarta.persistence.jdbc.password", "",
+                "eclipselink.logging.level", "WARNING",
+                "jakarta.persistence.schema-generation.database.action", "create"));
+
+    final EncryptedTransactionDAO encryptedTransactionDAO =
+        new EncryptedTransactionDAOImpl(entityManagerFactory);
+    final EncryptedRawTransactionDAO encryptedRawTransactionDAO =
+        new EncryptedRawTransactionDAOImpl(entityManagerFactory);
+
+    final Enclave enclave = BenchmarkEnclaves.createLocal(List.of(localKeys), Map.of());
+    final PayloadDigest payloadDigest = new SHA512256PayloadDigest();
+
+    this.transactionManager =
+        new TransactionManagerImpl(
+            enclave,
+            encryptedTransactionDAO,
+            encryptedRawTransactionDAO,
+            new ResendManagerImpl(encryptedTransactionDAO, enclave, payloadDigest),
+            (payload, recipientKeys) -> {},
+            new PrivacyHelperImpl(encryptedTransactionDAO, false),
+            payloadDigest);
+
+    this.remoteEnclave = BenchmarkEnclaves.createLocal(List.of(remoteKeys), Map.of());
+    this.remoteSender = remoteKeys.getPublicKey();
+    this.remoteRecipients = List.of(localKeys.getPublicKey(), remoteSender);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    entityManagerFactory.close();
+  }
+
+  /** The payload each benchmark thread stores next, so threads never store the same transaction. */
+  @State(Scope.Thread)
+  public static class IncomingPayload {
+
+    private EncodedPayload payload;
+
+    @Setup(Level.Invocation)
+    public void prepare(ConcurrentStorePayloadBenchmark benchmark) {
+      final EncodedPayload encrypted =
+          benchmark.remoteEnclave.encryptPayload(
+              benchmark.message,
+              benchmark.remoteSender,
+              benchmark.remoteRecipients,
+              benchmark.privacyMetadata);
+      this.payload =
+          EncodedPayload.Builder.forRecipient(encrypted, benchmark.remoteRecipients.get(0))
+              .build();
+    }
+  }
+
+  @Benchmark
+  @Threads(1)
+  public MessageHash storePayloadOneThread(IncomingPayload incoming) {
+    return transactionManager.storePayload(incoming.payload);
+  }
+
+  @Benchmark
+  @Threads(4)
+  public MessageHash storePayloadFourThreads(IncomingPayload incoming) {
+    return transactionManager.storePayload(incoming.payload);
+  }
+}
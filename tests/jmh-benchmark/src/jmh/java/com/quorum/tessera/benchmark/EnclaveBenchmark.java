@@ -0,0 +1,78 @@
+package com.quorum.tessera.benchmark;
+
+import com.quorum.tessera.enclave.Enclave;
+import com.quorum.tessera.enclave.EncodedPayload;
+import com.quorum.tessera.enclave.PrivacyMetadata;
+import com.quorum.tessera.enclave.PrivacyMode;
+import com.quorum.tessera.encryption.Encryptor;
+import com.quorum.tessera.encryption.EncryptorFactory;
+import com.quorum.tessera.encryption.KeyPair;
+import com.quorum.tessera.encryption.PublicKey;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Measures {@link Enclave#encryptPayload} and {@link Enclave#unencryptTransaction} with the default
+ * enclave configuration, as the number of recipients grows. The sender is listed as a recipient,
+ * as {@code TransactionManagerImpl#send} does.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class EnclaveBenchmark {
+
+  @Param({"1", "10", "50"})
+  public int recipientCount;
+
+  private Enclave enclave;
+
+  private PublicKey sender;
+
+  private List<PublicKey> recipients;
+
+  private EncodedPayload encryptedPayload;
+
+  private final byte[] message = new byte[1024];
+
+  private final PrivacyMetadata privacyMetadata =
+      PrivacyMetadata.Builder.create().withPrivacyMode(PrivacyMode.STANDARD_PRIVATE).build();
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    final Encryptor encryptor = EncryptorFactory.newFactory("NACL").create();
+    final KeyPair senderKeys = encryptor.generateNewKeys();
+
+    this.enclave = BenchmarkEnclaves.createLocal(List.of(senderKeys), Map.of());
+    this.sender = senderKeys.getPublicKey();
+    this.recipients =
+        Stream.concat(
+                IntStream.range(0, recipientCount)
+                    .mapToObj(i -> encryptor.generateNewKeys().getPublicKey()),
+                Stream.of(sender))
+            .collect(Collectors.toList());
+    this.encryptedPayload = enclave.encryptPayload(message, sender, recipients, privacyMetadata);
+  }
+
+  @Benchmark
+  public EncodedPayload encryptPayload() {
+    return enclave.encryptPayload(message, sender, recipients, privacyMetadata);
+  }
+
+  @Benchmark
+  public byte[] unencryptTransaction() {
+    return enclave.unencryptTransaction(encryptedPayload, sender);
+  }
+}
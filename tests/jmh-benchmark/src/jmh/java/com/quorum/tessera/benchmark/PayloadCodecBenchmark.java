@@ -0,0 +1,87 @@
+package com.quorum.tessera.benchmark;
+
+import com.quorum.tessera.enclave.EncodedPayload;
+import com.quorum.tessera.enclave.EncodedPayloadCodec;
+import com.quorum.tessera.enclave.PayloadEncoder;
+import com.quorum.tessera.enclave.PrivacyMode;
+import com.quorum.tessera.encryption.PublicKey;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Compares encoding and decoding an {@link EncodedPayload} with the CBOR codec ({@code
+ * CBOREncoder}) and the legacy binary codec ({@code PayloadEncoderImpl}) across cipher text sizes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PayloadCodecBenchmark {
+
+  @Param({"CBOR", "LEGACY"})
+  public EncodedPayloadCodec codec;
+
+  @Param({"128", "16384", "1048576"})
+  public int cipherTextSize;
+
+  @Param({"5"})
+  public int recipientCount;
+
+  private PayloadEncoder payloadEncoder;
+
+  private EncodedPayload payload;
+
+  private byte[] encoded;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    // fixed seed so every run encodes the same bytes
+    final Random random = new Random(cipherTextSize);
+
+    this.payloadEncoder = PayloadEncoder.create(codec);
+    this.payload =
+        EncodedPayload.Builder.create()
+            .withSenderKey(PublicKey.from(randomBytes(random, 32)))
+            .withCipherText(randomBytes(random, cipherTextSize))
+            .withCipherTextNonce(randomBytes(random, 24))
+            .withRecipientNonce(randomBytes(random, 24))
+            .withRecipientBoxes(
+                IntStream.range(0, recipientCount)
+                    .mapToObj(i -> randomBytes(random, 48))
+                    .collect(Collectors.toList()))
+            .withRecipientKeys(
+                IntStream.range(0, recipientCount)
+                    .mapToObj(i -> PublicKey.from(randomBytes(random, 32)))
+                    .collect(Collectors.toList()))
+            .withPrivacyMode(PrivacyMode.STANDARD_PRIVATE)
+            .build();
+    this.encoded = payloadEncoder.encode(payload);
+  }
+
+  @Benchmark
+  public byte[] encode() {
+    return payloadEncoder.encode(payload);
+  }
+
+  @Benchmark
+  public EncodedPayload decode() {
+    return payloadEncoder.decode(encoded);
+  }
+
+  private static byte[] randomBytes(Random random, int length) {
+    final byte[] bytes = new byte[length];
+    random.nextBytes(bytes);
+    return bytes;
+  }
+}
@@ -0,0 +1,51 @@
+package com.quorum.tessera.benchmark;
+
+import com.quorum.tessera.enclave.DefaultPayloadDigest;
+import com.quorum.tessera.enclave.PayloadDigest;
+import com.quorum.tessera.enclave.SHA512256PayloadDigest;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Compares the two {@link PayloadDigest} implementations used to derive transaction hashes from
+ * cipher text.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PayloadDigestBenchmark {
+
+  @Param({"128", "16384", "1048576"})
+  public int cipherTextSize;
+
+  private final PayloadDigest defaultDigest = new DefaultPayloadDigest();
+
+  private final PayloadDigest sha512256Digest = new SHA512256PayloadDigest();
+
+  private byte[] cipherText;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    this.cipherText = new byte[cipherTextSize];
+    new Random(cipherTextSize).nextBytes(cipherText);
+  }
+
+  @Benchmark
+  public byte[] defaultDigest() {
+    return defaultDigest.digest(cipherText);
+  }
+
+  @Benchmark
+  public byte[] sha512256Digest() {
+    return sha512256Digest.digest(cipherText);
+  }
+}
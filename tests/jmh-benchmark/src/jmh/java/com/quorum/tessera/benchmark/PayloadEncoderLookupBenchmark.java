@@ -0,0 +1,41 @@
+package com.quorum.tessera.benchmark;
+
+import com.quorum.tessera.enclave.EncodedPayloadCodec;
+import com.quorum.tessera.enclave.PayloadEncoder;
+import java.util.ServiceLoader;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Compares resolving a {@link PayloadEncoder} with a service loader scan on every call (the
+ * previous behaviour of {@link PayloadEncoder#create(EncodedPayloadCodec)}) against the shared
+ * instances now returned by it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PayloadEncoderLookupBenchmark {
+
+  @Param({"CBOR", "LEGACY"})
+  public EncodedPayloadCodec codec;
+
+  @Benchmark
+  public PayloadEncoder serviceLoaderScan() {
+    return ServiceLoader.load(PayloadEncoder.class).stream()
+        .map(ServiceLoader.Provider::get)
+        .filter(e -> e.encodedPayloadCodec() == codec)
+        .findFirst()
+        .orElseThrow();
+  }
+
+  @Benchmark
+  public PayloadEncoder create() {
+    return PayloadEncoder.create(codec);
+  }
+}
@@ -0,0 +1,119 @@
+package com.quorum.tessera.benchmark;
+
+import com.quorum.tessera.enclave.EncodedPayload;
+import com.quorum.tessera.enclave.EncodedPayloadCodec;
+import com.quorum.tessera.enclave.PayloadEncoder;
+import com.quorum.tessera.enclave.PrivacyMode;
+import com.quorum.tessera.enclave.TxHash;
+import com.quorum.tessera.encryption.PublicKey;
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Compares pushing a CBOR encoded payload with many recipients through an entity stream as a byte
+ * array, as {@code /push} used to, with encoding and decoding it straight to and from the stream.
+ *
+ * <p>Intended to be run with the GC profiler ({@code -PjmhProfilers=gc}), whose {@code
+ * gc.alloc.rate.norm} gives the bytes allocated per payload.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PayloadStreamingBenchmark {
+
+  @Param({"1024", "102400", "1048576", "10485760"})
+  public int cipherTextSize;
+
+  @Param({"50"})
+  public int recipientCount;
+
+  @Param({"20"})
+  public int affectedContractCount;
+
+  private final OutputStream requestStream = OutputStream.nullOutputStream();
+
+  private PayloadEncoder payloadEncoder;
+
+  private EncodedPayload payload;
+
+  private byte[] encoded;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    // fixed seed so every run encodes the same bytes
+    final Random random = new Random(cipherTextSize);
+
+    this.payloadEncoder = PayloadEncoder.create(EncodedPayloadCodec.CBOR);
+    this.payload =
+        EncodedPayload.Builder.create()
+            .withSenderKey(PublicKey.from(randomBytes(random, 32)))
+            .withCipherText(randomBytes(random, cipherTextSize))
+            .withCipherTextNonce(randomBytes(random, 24))
+            .withRecipientNonce(randomBytes(random, 24))
+            .withRecipientBoxes(
+                IntStream.range(0, recipientCount)
+                    .mapToObj(i -> randomBytes(random, 48))
+                    .collect(Collectors.toList()))
+            .withRecipientKeys(
+                IntStream.range(0, recipientCount)
+                    .mapToObj(i -> PublicKey.from(randomBytes(random, 32)))
+                    .collect(Collectors.toList()))
+            .withPrivacyMode(PrivacyMode.PARTY_PROTECTION)
+            .withAffectedContractTransactions(
+                IntStream.range(0, affectedContractCount)
+                    .boxed()
+                    .collect(
+                        Collectors.toMap(
+                            i -> TxHash.from(randomBytes(random, 64)),
+                            i -> randomBytes(random, 32))))
+            .build();
+    this.encoded = payloadEncoder.encode(payload);
+  }
+
+  @Benchmark
+  public void encodeToByteArray() throws IOException {
+    requestStream.write(payloadEncoder.encode(payload));
+  }
+
+  @Benchmark
+  public void encodeToStream() {
+    payloadEncoder.encode(payload, requestStream);
+  }
+
+  @Benchmark
+  public EncodedPayload decodeFromByteArray() throws IOException {
+    return payloadEncoder.decode(entityStream().readAllBytes());
+  }
+
+  @Benchmark
+  public EncodedPayload decodeFromStream() {
+    return payloadEncoder.decode(entityStream());
+  }
+
+  /* buffered so that reading it whole copies through chunks, as reading a network stream does */
+  private InputStream entityStream() {
+    return new BufferedInputStream(new ByteArrayInputStream(encoded));
+  }
+
+  private static byte[] randomBytes(Random random, int length) {
+    final byte[] bytes = new byte[length];
+    random.nextBytes(bytes);
+    return bytes;
+  }
+}
@@ -0,0 +1,93 @@
+package com.quorum.tessera.benchmark;
+
+import com.quorum.tessera.discovery.ActiveNode;
+import com.quorum.tessera.discovery.NetworkStore;
+import com.quorum.tessera.discovery.NodeUri;
+import com.quorum.tessera.discovery.internal.DefaultNetworkStore;
+import com.quorum.tessera.encryption.PublicKey;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Compares resolving the node hosting a recipient key by scanning every active node (the previous
+ * behaviour of {@code DiscoveryHelperImpl#buildRemoteNodeInfo}) against the key index kept by
+ * {@link DefaultNetworkStore}, and measures the cost of storing a node update.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class RecipientLookupBenchmark {
+
+  @Param({"100", "1000"})
+  public int nodeCount;
+
+  @Param({"10"})
+  public int keysPerNode;
+
+  private final NetworkStore networkStore = DefaultNetworkStore.INSTANCE;
+
+  private final List<PublicKey> keys = new ArrayList<>();
+
+  private final List<ActiveNode> nodes = new ArrayList<>();
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    for (int n = 0; n < nodeCount; n++) {
+      final List<PublicKey> nodeKeys = new ArrayList<>(keysPerNode);
+      for (int k = 0; k < keysPerNode; k++) {
+        nodeKeys.add(key(n * keysPerNode + k));
+      }
+      final ActiveNode activeNode =
+          ActiveNode.Builder.create()
+              .withUri(NodeUri.create("http://node" + n + ".com"))
+              .withKeys(nodeKeys)
+              .build();
+      networkStore.store(activeNode);
+      nodes.add(activeNode);
+      keys.addAll(nodeKeys);
+    }
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    nodes.forEach(node -> networkStore.remove(node.getUri()));
+  }
+
+  @Benchmark
+  public Optional<ActiveNode> linearScan() {
+    final PublicKey key = randomKey();
+    return networkStore.getActiveNodes().filter(node -> node.getKeys().contains(key)).findAny();
+  }
+
+  @Benchmark
+  public Optional<ActiveNode> indexedLookup() {
+    return networkStore.getActiveNodeForKey(randomKey());
+  }
+
+  @Benchmark
+  public NetworkStore storeUpdate() {
+    return networkStore.store(nodes.get(ThreadLocalRandom.current().nextInt(nodes.size())));
+  }
+
+  private PublicKey randomKey() {
+    return keys.get(ThreadLocalRandom.current().nextInt(keys.size()));
+  }
+
+  private static PublicKey key(int index) {
+    return PublicKey.from(ByteBuffer.allocate(32).putInt(index).array());
+  }
+}
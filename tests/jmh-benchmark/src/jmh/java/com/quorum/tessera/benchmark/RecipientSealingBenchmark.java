@@ -0,0 +1,75 @@
+package com.quorum.tessera.benchmark;
+
+import com.quorum.tessera.enclave.Enclave;
+import com.quorum.tessera.enclave.EncodedPayload;
+import com.quorum.tessera.enclave.PrivacyMetadata;
+import com.quorum.tessera.enclave.PrivacyMode;
+import com.quorum.tessera.encryption.Encryptor;
+import com.quorum.tessera.encryption.EncryptorFactory;
+import com.quorum.tessera.encryption.KeyPair;
+import com.quorum.tessera.encryption.PublicKey;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Measures {@link Enclave#encryptPayload} as the number of recipients grows, with recipient boxes
+ * sealed sequentially or on a bounded worker pool.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RecipientSealingBenchmark {
+
+  @Param({"1", "10", "50", "200"})
+  public int recipientCount;
+
+  @Param({"1", "4"})
+  public String sealingParallelism;
+
+  private Enclave enclave;
+
+  private PublicKey sender;
+
+  private List<PublicKey> recipients;
+
+  private final byte[] message = new byte[1024];
+
+  private final PrivacyMetadata privacyMetadata =
+      PrivacyMetadata.Builder.create().withPrivacyMode(PrivacyMode.STANDARD_PRIVATE).build();
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    final Encryptor encryptor = EncryptorFactory.newFactory("NACL").create();
+    final KeyPair senderKeys = encryptor.generateNewKeys();
+
+    // the shared key cache is disabled so every iteration pays for the key agreement
+    this.enclave =
+        BenchmarkEnclaves.createLocal(
+            List.of(senderKeys),
+            Map.of(
+                "recipientSealingParallelism", sealingParallelism,
+                "sharedKeyCacheSize", "0"));
+    this.sender = senderKeys.getPublicKey();
+    this.recipients =
+        IntStream.range(0, recipientCount)
+            .mapToObj(i -> encryptor.generateNewKeys().getPublicKey())
+            .collect(Collectors.toList());
+  }
+
+  @Benchmark
+  public EncodedPayload encryptPayload() {
+    return enclave.encryptPayload(message, sender, recipients, privacyMetadata);
+  }
+}
@@ -0,0 +1,131 @@
+package com.quorum.tessera.benchmark;
+
+import com.quorum.tessera.data.EncryptedTransaction;
+import com.quorum.tessera.data.EncryptedTransactionDAO;
+import com.quorum.tessera.data.MessageHash;
+import com.quorum.tessera.data.internal.EncryptedTransactionDAOImpl;
+import com.quorum.tessera.enclave.EncodedPayload;
+import com.quorum.tessera.enclave.PrivacyMode;
+import com.quorum.tessera.encryption.PublicKey;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.Persistence;
+import java.nio.ByteBuffer;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Scans every stored transaction page by page, as a resend or migration does, over an in-memory H2
+ * database of {@code rowCount} rows.
+ *
+ * <p>{@code scanWithoutReadingPayloads} only reads what paging needs, as is the case for rows that
+ * are dropped before their payload is looked at, now that payloads are decoded on first read.
+ * {@code scanReadingEveryPayload} decodes every row, which is what every scan cost when rows were
+ * decoded as they were loaded.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ResendScanBenchmark {
+
+  private static final int PAGE_SIZE = 1000;
+
+  @Param({"100000"})
+  public int rowCount;
+
+  @Param({"1024"})
+  public int cipherTextSize;
+
+  private EntityManagerFactory entityManagerFactory;
+
+  private EncryptedTransactionDAO encryptedTransactionDAO;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    this.entityManagerFactory =
+        Persistence.createEntityManagerFactory(
+            "tessera",
+            Map.of(
+                "jakarta.persistence.jdbc.url", "jdbc:h2:mem:resend-scan;DB_CLOSE_DELAY=-1",
+                "jakarta.persistence.jdbc.user", "sa",
+                "jakarta.persistence.jdbc.password", "",
+                "eclipselink.logging.level", "WARNING",
+                "eclipselink.cache.shared.default", "false",
+                "jakarta.persistence.schema-generation.database.action", "create"));
+    this.encryptedTransactionDAO = new EncryptedTransactionDAOImpl(entityManagerFactory);
+
+    final EncodedPayload payload = payload(new Random(rowCount));
+
+    // written directly rather than through the DAO, as only the transaction rows are scanned
+    for (int offset = 0; offset < rowCount; offset += PAGE_SIZE) {
+      final EntityManager entityManager = entityManagerFactory.createEntityManager();
+      entityManager.getTransaction().begin();
+      IntStream.range(offset, Math.min(offset + PAGE_SIZE, rowCount))
+          .mapToObj(i -> ByteBuffer.allocate(Integer.BYTES).putInt(i).array())
+          .map(MessageHash::new)
+          .map(hash -> new EncryptedTransaction(hash, payload))
+          .forEach(entityManager::persist);
+      entityManager.getTransaction().commit();
+      entityManager.close();
+    }
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    entityManagerFactory.close();
+  }
+
+  @Benchmark
+  public long scanWithoutReadingPayloads() {
+    return encryptedTransactionDAO
+        .streamTransactions(PAGE_SIZE)
+        .mapToLong(EncryptedTransaction::getTimestamp)
+        .sum();
+  }
+
+  @Benchmark
+  public long scanReadingEveryPayload() {
+    return encryptedTransactionDAO
+        .streamTransactions(PAGE_SIZE)
+        .map(EncryptedTransaction::getPayload)
+        .mapToInt(payload -> payload.getRecipientKeys().size())
+        .sum();
+  }
+
+  private EncodedPayload payload(Random random) {
+    return EncodedPayload.Builder.create()
+        .withSenderKey(PublicKey.from(randomBytes(random, 32)))
+        .withCipherText(randomBytes(random, cipherTextSize))
+        .withCipherTextNonce(randomBytes(random, 24))
+        .withRecipientNonce(randomBytes(random, 24))
+        .withRecipientBoxes(
+            IntStream.range(0, 2)
+                .mapToObj(i -> randomBytes(random, 48))
+                .collect(Collectors.toList()))
+        .withRecipientKeys(
+            IntStream.range(0, 2)
+                .mapToObj(i -> PublicKey.from(randomBytes(random, 32)))
+                .collect(Collectors.toList()))
+        .withPrivacyMode(PrivacyMode.STANDARD_PRIVATE)
+        .build();
+  }
+
+  private static byte[] randomBytes(Random random, int length) {
+    final byte[] bytes = new byte[length];
+    random.nextBytes(bytes);
+    return bytes;
+  }
+}
@@ -0,0 +1,174 @@
+package com.quorum.tessera.benchmark;
+
+import com.quorum.tessera.data.EncryptedRawTransactionDAO;
+import com.quorum.tessera.data.EncryptedTransaction;
+import com.quorum.tessera.data.EncryptedTransactionDAO;
+import com.quorum.tessera.data.MessageHash;
+import com.quorum.tessera.data.internal.EncryptedRawTransactionDAOImpl;
+import com.quorum.tessera.data.internal.EncryptedTransactionDAOImpl;
+import com.quorum.tessera.enclave.Enclave;
+import com.quorum.tessera.enclave.EncodedPayload;
+import com.quorum.tessera.enclave.PayloadDigest;
+import com.quorum.tessera.enclave.PrivacyMetadata;
+import com.quorum.tessera.enclave.PrivacyMode;
+import com.quorum.tessera.enclave.SHA512256PayloadDigest;
+import com.quorum.tessera.encryption.Encryptor;
+import com.quorum.tessera.encryption.EncryptorFactory;
+import com.quorum.tessera.encryption.KeyPair;
+import com.quorum.tessera.encryption.PublicKey;
+import com.quorum.tessera.transaction.SendRequest;
+import com.quorum.tessera.transaction.SendResponse;
+import com.quorum.tessera.transaction.TransactionManager;
+import com.quorum.tessera.transaction.internal.PrivacyHelperImpl;
+import com.quorum.tessera.transaction.internal.TransactionManagerImpl;
+import com.quorum.tessera.transaction.publish.BatchPayloadPublisher;
+import com.quorum.tessera.transaction.resend.internal.ResendManagerImpl;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.Persistence;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+/**
+ * Measures send throughput from more client threads than there are pooled database connections,
+ * when every push to the remote recipient takes {@code peerLatencyMillis}.
+ *
+ * <p>{@code publishInsideDatabaseTransaction} pushes while the database transaction is open, as
+ * sends used to, so throughput is capped at pool size / peer latency. {@code
+ * sendWaitingForDelivery} commits the transaction and its pending delivery before pushing, so it
+ * should scale with the number of client threads instead.
+ *
+ * <p>No results have been recorded for this benchmark yet. {@code SlowPeerSendTest} checks that
+ * sends pushing to the slow peer neither hold nor wait for a pooled connection.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class SlowPeerSendBenchmark {
+
+  private static final int POOL_SIZE = 2;
+
+  @Param({"20"})
+  public long peerLatencyMillis;
+
+  private HikariDataSource dataSource;
+
+  private EntityManagerFactory entityManagerFactory;
+
+  private EncryptedTransactionDAO encryptedTransactionDAO;
+
+  private BatchPayloadPublisher slowPeer;
+
+  private TransactionManager transactionManager;
+
+  private Enclave enclave;
+
+  private PayloadDigest payloadDigest;
+
+  private SendRequest sendRequest;
+
+  private PublicKey sender;
+
+  private List<PublicKey> recipients;
+
+  private final byte[] message = new byte[1024];
+
+  private final PrivacyMetadata privacyMetadata =
+      PrivacyMetadata.Builder.create().withPrivacyMode(PrivacyMode.STANDARD_PRIVATE).build();
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    final Encryptor encryptor = EncryptorFactory.newFactory("NACL").create();
+    final KeyPair localKeys = encryptor.generateNewKeys();
+    final PublicKey remoteKey = encryptor.generateNewKeys().getPublicKey();
+
+    final HikariConfig hikariConfig = new HikariConfig();
+    hikariConfig.setJdbcUrl("jdbc:h2:mem:slow-peer;DB_CLOSE_DELAY=-1");
+    hikariConfig.setUsername("sa");
+    hikariConfig.setPassword("");
+    hikariConfig.setMaximumPoolSize(POOL_SIZE);
+    this.dataSource = new HikariDataSource(hikariConfig);
+
+    this.entityManagerFactory =
+        Persistence.createEntityManagerFactory(
+            "tessera",
+            Map.of(
+                "jakarta.persistence.nonJtaDataSource", dataSource,
+                "eclipselink.logging.level", "WARNING",
+                "jakarta.persistence.schema-generation.database.action", "create"));
+
+    this.encryptedTransactionDAO = new EncryptedTransactionDAOImpl(entityManagerFactory);
+    final EncryptedRawTransactionDAO encryptedRawTransactionDAO =
+        new EncryptedRawTransactionDAOImpl(entityManagerFactory);
+
+    this.enclave = BenchmarkEnclaves.createLocal(List.of(localKeys), Map.of());
+    this.payloadDigest = new SHA512256PayloadDigest();
+    this.slowPeer =
+        (payload, recipientKeys) -> {
+          try {
+            Thread.sleep(peerLatencyMillis);
+          } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+          }
+        };
+
+    this.transactionManager =
+        new TransactionManagerImpl(
+            enclave,
+            encryptedTransactionDAO,
+            encryptedRawTransactionDAO,
+            new ResendManagerImpl(encryptedTransactionDAO, enclave, payloadDigest),
+            slowPeer,
+            new PrivacyHelperImpl(encryptedTransactionDAO, false),
+            payloadDigest);
+
+    this.sender = localKeys.getPublicKey();
+    this.recipients = List.of(remoteKey, sender);
+    this.sendRequest =
+        SendRequest.Builder.create()
+            .withSender(sender)
+            .withRecipients(List.of(remoteKey))
+            .withPayload(message)
+            .withPrivacyMode(PrivacyMode.STANDARD_PRIVATE)
+            .build();
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    entityManagerFactory.close();
+    dataSource.close();
+  }
+
+  @Benchmark
+  @Threads(8)
+  public EncryptedTransaction publishInsideDatabaseTransaction() {
+    final EncodedPayload payload =
+        enclave.encryptPayload(message, sender, recipients, privacyMetadata);
+    final MessageHash hash = new MessageHash(payloadDigest.digest(payload.getCipherText()));
+    return encryptedTransactionDAO.save(
+        new EncryptedTransaction(hash, payload),
+        () -> {
+          slowPeer.publishPayload(payload, recipients.subList(0, 1));
+          return null;
+        });
+  }
+
+  @Benchmark
+  @Threads(8)
+  public SendResponse sendWaitingForDelivery() {
+    return transactionManager.send(sendRequest);
+  }
+}
@@ -0,0 +1,153 @@
+package com.quorum.tessera.benchmark;
+
+import com.quorum.tessera.data.EncryptedRawTransactionDAO;
+import com.quorum.tessera.data.EncryptedTransactionDAO;
+import com.quorum.tessera.data.MessageHash;
+import com.quorum.tessera.data.internal.EncryptedRawTransactionDAOImpl;
+import com.quorum.tessera.data.internal.EncryptedTransactionDAOImpl;
+import com.quorum.tessera.enclave.Enclave;
+import com.quorum.tessera.enclave.EncodedPayload;
+import com.quorum.tessera.enclave.PayloadDigest;
+import com.quorum.tessera.enclave.PrivacyMetadata;
+import com.quorum.tessera.enclave.PrivacyMode;
+import com.quorum.tessera.enclave.SHA512256PayloadDigest;
+import com.quorum.tessera.encryption.Encryptor;
+import com.quorum.tessera.encryption.EncryptorFactory;
+import com.quorum.tessera.encryption.KeyPair;
+import com.quorum.tessera.encryption.PublicKey;
+import com.quorum.tessera.transaction.PrivacyHelper;
+import com.quorum.tessera.transaction.SendRequest;
+import com.quorum.tessera.transaction.SendResponse;
+import com.quorum.tessera.transaction.TransactionManager;
+import com.quorum.tessera.transaction.internal.PrivacyHelperImpl;
+import com.quorum.tessera.transaction.internal.TransactionManagerImpl;
+import com.quorum.tessera.transaction.publish.BatchPayloadPublisher;
+import com.quorum.tessera.transaction.resend.internal.ResendManagerImpl;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.Persistence;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Measures {@link TransactionManager#send} and {@link TransactionManager#storePayload} end to end
+ * against an in-memory H2 database. Payloads are not pushed anywhere, so the numbers cover the
+ * enclave, digest, codec and persistence work only.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TransactionManagerBenchmark {
+
+  @Param({"1", "10"})
+  public int recipientCount;
+
+  private EntityManagerFactory entityManagerFactory;
+
+  private TransactionManager transactionManager;
+
+  private SendRequest sendRequest;
+
+  private Enclave remoteEnclave;
+
+  private PublicKey remoteSender;
+
+  private List<PublicKey> remoteRecipients;
+
+  private EncodedPayload incomingPayload;
+
+  private final byte[] message = new byte[1024];
+
+  private final PrivacyMetadata privacyMetadata =
+      PrivacyMetadata.Builder.create().withPrivacyMode(PrivacyMode.STANDARD_PRIVATE).build();
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    final Encryptor encryptor = EncryptorFactory.newFactory("NACL").create();
+    final KeyPair localKeys = encryptor.generateNewKeys();
+    final KeyPair remoteKeys = encryptor.generateNewKeys();
+
+    this.entityManagerFactory =
+        Persistence.createEntityManagerFactory(
+            "tessera",
+            Map.of(
+                "jakarta.persistence.jdbc.url", "jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1",
+                "jakarta.persistence.jdbc.user", "sa",
+                "jakarta.persistence.jdbc.password", "",
+                "eclipselink.logging.level", "WARNING",
+                "jakarta.persistence.schema-generation.database.action", "create"));
+
+    final EncryptedTransactionDAO encryptedTransactionDAO =
+        new EncryptedTransactionDAOImpl(entityManagerFactory);
+    final EncryptedRawTransactionDAO encryptedRawTransactionDAO =
+        new EncryptedRawTransactionDAOImpl(entityManagerFactory);
+
+    final Enclave enclave = BenchmarkEnclaves.createLocal(List.of(localKeys), Map.of());
+    final PayloadDigest payloadDigest = new SHA512256PayloadDigest();
+    final PrivacyHelper privacyHelper = new PrivacyHelperImpl(encryptedTransactionDAO, false);
+    final BatchPayloadPublisher batchPayloadPublisher = (payload, recipientKeys) -> {};
+
+    this.transactionManager =
+        new TransactionManagerImpl(
+            enclave,
+            encryptedTransactionDAO,
+            encryptedRawTransactionDAO,
+            new ResendManagerImpl(encryptedTransactionDAO, enclave, payloadDigest),
+            batchPayloadPublisher,
+            privacyHelper,
+            payloadDigest);
+
+    final List<PublicKey> recipients =
+        IntStream.range(0, recipientCount)
+            .mapToObj(i -> encryptor.generateNewKeys().getPublicKey())
+            .collect(Collectors.toList());
+
+    this.sendRequest =
+        SendRequest.Builder.create()
+            .withSender(localKeys.getPublicKey())
+            .withRecipients(recipients)
+            .withPayload(message)
+            .withPrivacyMode(PrivacyMode.STANDARD_PRIVATE)
+            .build();
+
+    this.remoteEnclave = BenchmarkEnclaves.createLocal(List.of(remoteKeys), Map.of());
+    this.remoteSender = remoteKeys.getPublicKey();
+    this.remoteRecipients = List.of(localKeys.getPublicKey(), remoteSender);
+  }
+
+  /** Every stored payload needs fresh cipher text, otherwise it is treated as a duplicate. */
+  @Setup(Level.Invocation)
+  public void prepareIncomingPayload() {
+    final EncodedPayload payload =
+        remoteEnclave.encryptPayload(message, remoteSender, remoteRecipients, privacyMetadata);
+    this.incomingPayload =
+        EncodedPayload.Builder.forRecipient(payload, remoteRecipients.get(0)).build();
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    entityManagerFactory.close();
+  }
+
+  @Benchmark
+  public SendResponse send() {
+    return transactionManager.send(sendRequest);
+  }
+
+  @Benchmark
+  public MessageHash storePayload() {
+    return transactionManager.storePayload(incomingPayload);
+  }
+}
@@ -0,0 +1,42 @@
+package com.quorum.tessera.benchmark;
+
+import com.quorum.tessera.config.Config;
+import com.quorum.tessera.config.EncryptorConfig;
+import com.quorum.tessera.config.EncryptorType;
+import com.quorum.tessera.config.KeyConfiguration;
+import com.quorum.tessera.config.KeyData;
+import com.quorum.tessera.enclave.Enclave;
+import com.quorum.tessera.enclave.EnclaveFactoryImpl;
+import com.quorum.tessera.encryption.KeyPair;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/** Builds in-process NaCl enclaves for the benchmarks and their tests, without a config file. */
+final class BenchmarkEnclaves {
+
+  private BenchmarkEnclaves() {}
+
+  static Enclave createLocal(List<KeyPair> keys, Map<String, String> encryptorProperties) {
+    final EncryptorConfig encryptorConfig = new EncryptorConfig();
+    encryptorConfig.setType(EncryptorType.NACL);
+    encryptorConfig.setProperties(encryptorProperties);
+
+    final KeyConfiguration keyConfiguration = new KeyConfiguration();
+    keyConfiguration.setKeyData(
+        keys.stream().map(BenchmarkEnclaves::toKeyData).collect(Collectors.toList()));
+
+    final Config config = new Config();
+    config.setEncryptor(encryptorConfig);
+    config.setKeys(keyConfiguration);
+
+    return new EnclaveFactoryImpl(config).createLocal();
+  }
+
+  private static KeyData toKeyData(KeyPair keyPair) {
+    final KeyData keyData = new KeyData();
+    keyData.setPublicKey(keyPair.getPublicKey().encodeToBase64());
+    keyData.setPrivateKey(keyPair.getPrivateKey().encodeToBase64());
+    return keyData;
+  }
+}
@@ -0,0 +1,155 @@
+package com.quorum.tessera.benchmark;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.quorum.tessera.data.EncryptedTransactionDAO;
+import com.quorum.tessera.data.internal.EncryptedRawTransactionDAOImpl;
+import com.quorum.tessera.data.internal.EncryptedTransactionDAOImpl;
+import com.quorum.tessera.enclave.Enclave;
+import com.quorum.tessera.enclave.PayloadDigest;
+import com.quorum.tessera.enclave.PrivacyMode;
+import com.quorum.tessera.enclave.SHA512256PayloadDigest;
+import com.quorum.tessera.encryption.Encryptor;
+import com.quorum.tessera.encryption.EncryptorFactory;
+import com.quorum.tessera.encryption.KeyPair;
+import com.quorum.tessera.encryption.PublicKey;
+import com.quorum.tessera.transaction.SendRequest;
+import com.quorum.tessera.transaction.SendResponse;
+import com.quorum.tessera.transaction.TransactionManager;
+import com.quorum.tessera.transaction.internal.PrivacyHelperImpl;
+import com.quorum.tessera.transaction.internal.TransactionManagerImpl;
+import com.quorum.tessera.transaction.publish.BatchPayloadPublisher;
+import com.quorum.tessera.transaction.resend.internal.ResendManagerImpl;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.Persistence;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/*
+ * The case SlowPeerSendBenchmark measures, as a pass/fail check: more sends than there are pooled
+ * connections are pushing to a slow peer at once, and none of them holds or waits for a connection
+ * while it does
+ */
+public class SlowPeerSendTest {
+
+  private static final int POOL_SIZE = 2;
+
+  private static final int SENDS = 4 * POOL_SIZE;
+
+  private static final long PEER_LATENCY_MILLIS = 100;
+
+  private HikariDataSource dataSource;
+
+  private EntityManagerFactory entityManagerFactory;
+
+  private final AtomicInteger threadsAwaitingConnection = new AtomicInteger(-1);
+
+  private final AtomicInteger activeConnections = new AtomicInteger(-1);
+
+  private TransactionManager transactionManager;
+
+  private SendRequest sendRequest;
+
+  @Before
+  public void setUp() {
+    final Encryptor encryptor = EncryptorFactory.newFactory("NACL").create();
+    final KeyPair localKeys = encryptor.generateNewKeys();
+    final PublicKey remoteKey = encryptor.generateNewKeys().getPublicKey();
+
+    final HikariConfig hikariConfig = new HikariConfig();
+    hikariConfig.setJdbcUrl("jdbc:h2:mem:slow-peer-send-test;DB_CLOSE_DELAY=-1");
+    hikariConfig.setUsername("sa");
+    hikariConfig.setPassword("");
+    hikariConfig.setMaximumPoolSize(POOL_SIZE);
+    this.dataSource = new HikariDataSource(hikariConfig);
+
+    this.entityManagerFactory =
+        Persistence.createEntityManagerFactory(
+            "tessera",
+            Map.of(
+                "jakarta.persistence.nonJtaDataSource", dataSource,
+                "eclipselink.logging.level", "WARNING",
+                "jakarta.persistence.schema-generation.database.action", "drop-and-create"));
+
+    final EncryptedTransactionDAO encryptedTransactionDAO =
+        new EncryptedTransactionDAOImpl(entityManagerFactory);
+    final Enclave enclave = BenchmarkEnclaves.createLocal(List.of(localKeys), Map.of());
+    final PayloadDigest payloadDigest = new SHA512256PayloadDigest();
+
+    // holds every push until all the sends are pushing, then takes the pool's figures while
+    // they still are
+    final HikariPoolMXBean pool = dataSource.getHikariPoolMXBean();
+    final CyclicBarrier allPushing =
+        new CyclicBarrier(
+            SENDS,
+            () -> {
+              threadsAwaitingConnection.set(pool.getThreadsAwaitingConnection());
+              activeConnections.set(pool.getActiveConnections());
+            });
+    final BatchPayloadPublisher slowPeer =
+        (payload, recipientKeys) -> {
+          try {
+            allPushing.await(30, TimeUnit.SECONDS);
+            Thread.sleep(PEER_LATENCY_MILLIS);
+          } catch (Exception ex) {
+            throw new IllegalStateException("Sends did not push concurrently", ex);
+          }
+        };
+
+    this.transactionManager =
+        new TransactionManagerImpl(
+            enclave,
+            encryptedTransactionDAO,
+            new EncryptedRawTransactionDAOImpl(entityManagerFactory),
+            new ResendManagerImpl(encryptedTransactionDAO, enclave, payloadDigest),
+            slowPeer,
+            new PrivacyHelperImpl(encryptedTransactionDAO, false),
+            payloadDigest);
+
+    this.sendRequest =
+        SendRequest.Builder.create()
+            .withSender(localKeys.getPublicKey())
+            .withRecipients(List.of(remoteKey))
+            .withPayload(new byte[1024])
+            .withPrivacyMode(PrivacyMode.STANDARD_PRIVATE)
+            .build();
+  }
+
+  @After
+  public void tearDown() {
+    entityManagerFactory.close();
+    dataSource.close();
+  }
+
+  @Test
+  public void sendsPushingToSlowPeerHoldNoConnections() throws Exception {
+    final ExecutorService clients = Executors.newFixedThreadPool(SENDS);
+    try {
+      final List<Future<SendResponse>> sends = new ArrayList<>();
+      for (int i = 0; i < SENDS; i++) {
+        sends.add(clients.submit(() -> transactionManager.send(sendRequest)));
+      }
+      for (Future<SendResponse> send : sends) {
+        assertThat(send.get(1, TimeUnit.MINUTES).getTransactionHash()).isNotNull();
+      }
+    } finally {
+      clients.shutdownNow();
+    }
+
+    assertThat(threadsAwaitingConnection).hasValue(0);
+    assertThat(activeConnections).hasValue(0);
+  }
+}